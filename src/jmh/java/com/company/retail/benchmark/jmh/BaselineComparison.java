@@ -0,0 +1,132 @@
+package com.company.retail.benchmark.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ✅ Compares a JMH JSON result file with the committed baseline.
+ * Exits with 1 when any benchmark is slower than the baseline by more than the tolerance (percent)
+ * AND its 99.9% confidence interval lies entirely on the slow side of the baseline's. A slowdown
+ * inside the noise (intervals overlap, or no error estimate, e.g. a single iteration) is
+ * reported as "noisy" and does not fail the build; re-run with more forks to settle it.
+ *
+ * Usage: BaselineComparison <baseline.json> <results.json> [tolerancePercent]
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <results.json> [tolerancePercent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File resultsFile = new File(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 15.0;
+
+        if (!resultsFile.exists()) {
+            System.err.println("❌ No results at " + resultsFile + " — run `mvn -Pjmh test-compile exec:exec` first.");
+            System.exit(2);
+        }
+
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(resultsFile);
+
+        int regressions = 0;
+        int noisy = 0;
+        System.out.printf("%-75s %16s %16s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-75s %16s %16s %9s%n", entry.getKey(), "-", now, "new");
+                continue;
+            }
+            // ✅ Positive change = slower, whatever the mode's unit direction
+            double change = now.higherIsBetter()
+                    ? (before.value - now.value) / before.value * 100
+                    : (now.value - before.value) / before.value * 100;
+            String verdict = "";
+            if (change > tolerance) {
+                if (now.clearlyWorseThan(before)) {
+                    regressions++;
+                    verdict = "  ❌ REGRESSION";
+                } else {
+                    noisy++;
+                    verdict = "  ⚠️ noisy (intervals overlap)";
+                }
+            }
+            System.out.printf("%-75s %16s %16s %+8.1f%%%s%n", entry.getKey(), before, now, change, verdict);
+        }
+
+        if (noisy > 0) {
+            System.out.printf("⚠️ %d benchmark(s) slower by more than %.0f%% but within the error margins%n",
+                    noisy, tolerance);
+        }
+        if (regressions > 0) {
+            System.out.printf("❌ %d benchmark(s) regressed by more than %.0f%% beyond the error margins%n",
+                    regressions, tolerance);
+            System.exit(1);
+        }
+        System.out.printf("✅ No regressions beyond %.0f%%%n", tolerance);
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText()
+                    .replace("com.company.retail.benchmark.jmh.", ""));
+            if (run.has("params")) {
+                Map<String, String> params = new TreeMap<>();
+                run.get("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+                key.append(params);
+            }
+            JsonNode metric = run.get("primaryMetric");
+            JsonNode confidence = metric.get("scoreConfidence");
+            scores.put(key.toString(), new Score(
+                    run.get("mode").asText(),
+                    metric.get("score").asDouble(),
+                    bound(confidence, 0),
+                    bound(confidence, 1),
+                    metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    // "NaN" (no error estimate) is written as a string
+    private static double bound(JsonNode confidence, int index) {
+        if (confidence == null || !confidence.has(index)) {
+            return Double.NaN;
+        }
+        JsonNode bound = confidence.get(index);
+        return bound.isNumber() ? bound.asDouble() : Double.NaN;
+    }
+
+    private record Score(String mode, double value, double low, double high, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        // ✅ The whole interval is on the slow side of the other's (false without error estimates)
+        boolean clearlyWorseThan(Score baseline) {
+            if (Double.isNaN(low) || Double.isNaN(high) || Double.isNaN(baseline.low) || Double.isNaN(baseline.high)) {
+                return false;
+            }
+            return higherIsBetter() ? high < baseline.low : low > baseline.high;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f %s", value, unit);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.retail.benchmark.jmh;
+
+import com.company.retail.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ JWT work done on every authenticated request (parse + verify) and on every login (sign).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        token = jwtService.generateToken(new SyntheticData().cashier);
+    }
+
+    @Benchmark
+    public String generateToken(SyntheticUser user) {
+        return jwtService.generateToken(user.data.cashier);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public List<String> extractRoles() {
+        return jwtService.extractRoles(token);
+    }
+
+    // What JwtAuthenticationFilter runs per request
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, "cashier");
+    }
+
+    @State(Scope.Benchmark)
+    public static class SyntheticUser {
+        final SyntheticData data = new SyntheticData();
+    }
+}
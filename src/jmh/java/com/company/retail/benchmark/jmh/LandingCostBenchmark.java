@@ -0,0 +1,57 @@
+package com.company.retail.benchmark.jmh;
+
+import com.company.retail.purchaseorder.LandingCostCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Landing-cost allocation and moving-average cost for one purchase order,
+ * the arithmetic PurchaseOrderReceiver runs per line when an order is received.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LandingCostBenchmark {
+
+    @Param({"50", "1000"})
+    public int lines;
+
+    private double[] lineCost;
+    private int[] quantity;
+    private double[] existingCost;
+    private double[] existingQty;
+    private double orderItemsCost;
+    private double orderExpenses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        lineCost = new double[lines];
+        quantity = new int[lines];
+        existingCost = new double[lines];
+        existingQty = new double[lines];
+        for (int i = 0; i < lines; i++) {
+            quantity[i] = 1 + random.nextInt(200);
+            lineCost[i] = quantity[i] * (0.5 + random.nextInt(5000) / 100.0);
+            existingCost[i] = random.nextInt(5000) / 100.0;
+            existingQty[i] = random.nextInt(500);
+            orderItemsCost += lineCost[i];
+        }
+        orderExpenses = orderItemsCost * 0.12;
+    }
+
+    @Benchmark
+    public double calculateOrder() {
+        double checksum = 0;
+        for (int i = 0; i < lines; i++) {
+            double landing = LandingCostCalculator.unitLandingCost(lineCost[i], orderItemsCost, orderExpenses, quantity[i]);
+            checksum += LandingCostCalculator.movingAverageCost(existingCost[i], existingQty[i], landing, quantity[i]);
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.retail.benchmark.jmh;
+
+import com.company.retail.product.dto.ProductSearchResult;
+import com.company.retail.product.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Till lookups against the in-memory product index at catalog sizes up to 100k SKUs.
+ * Names are "<brand> <item> <size>" from a few thousand generated brands, so common
+ * prefixes ("ch", "mil") hit thousands of products.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] ITEMS = {"Milk", "Bread", "Sugar", "Rice", "Maize Meal", "Cooking Oil", "Tea", "Coffee",
+            "Chocolate", "Biscuits", "Juice", "Cola", "Soap", "Toothpaste", "Margarine", "Jam", "Peanut Butter", "Flour",
+            "Beans", "Chicken", "Sausages", "Yoghurt", "Cheese", "Eggs", "Salt", "Crisps", "Washing Powder", "Candles"};
+    private static final String[] SIZES = {"250g", "500g", "1kg", "2kg", "5kg", "330ml", "500ml", "1l", "2l", "x6", "x12"};
+    private static final String[] CATEGORIES = {"Groceries", "Beverages", "Dairy", "Bakery", "Household", "Personal Care", "Snacks", "Frozen"};
+    private static final String[] SYLLABLES = {"ka", "zi", "mo", "ta", "ra", "ne", "chi", "wa", "lo", "pa", "su", "de", "ba", "ko", "mi"};
+
+    @Param({"10000", "100000"})
+    public int products;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] brands = new String[3000];
+        for (int b = 0; b < brands.length; b++) {
+            StringBuilder brand = new StringBuilder();
+            for (int s = 2 + random.nextInt(2); s > 0; s--) {
+                brand.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            brand.setCharAt(0, Character.toUpperCase(brand.charAt(0)));
+            brands[b] = brand.toString();
+        }
+        index = new ProductSearchIndex();
+        for (long id = 1; id <= products; id++) {
+            String item = ITEMS[random.nextInt(ITEMS.length)];
+            index.put(ProductSearchResult.builder()
+                    .productId(id)
+                    .productName(brands[random.nextInt(brands.length)] + " " + item + " "
+                            + SIZES[random.nextInt(SIZES.length)] + " " + id)
+                    .category(CATEGORIES[Math.floorMod(item.hashCode(), CATEGORIES.length)])
+                    .unit("each")
+                    .sellingPriceUSD(1.0 + random.nextInt(5000) / 100.0)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ProductSearchResult> shortPrefix() {
+        return index.search("ch", null, 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchResult> twoWords() {
+        return index.search("cola 2l", null, 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchResult> typo() {
+        return index.search("chocolte", null, 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchResult> withCategory() {
+        return index.search("mil", "Dairy", 20);
+    }
+}
@@ -0,0 +1,94 @@
+package com.company.retail.benchmark.jmh;
+
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.expense.ExpenseRepository;
+import com.company.retail.observability.RetailMetrics;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.purchaseorder.PurchaseOrderRepository;
+import com.company.retail.report.ReportExcelExporter;
+import com.company.retail.report.ReportPdfExporter;
+import com.company.retail.report.ReportService;
+import com.company.retail.report.dto.DashboardSummaryDTO;
+import com.company.retail.report.dto.ProfitReportDTO;
+import com.company.retail.report.dto.SalesReportDTO;
+import com.company.retail.report.dto.StockReportDTO;
+import com.company.retail.saleItem.SaleItemRepository;
+import com.company.retail.sales.SalesModel;
+import com.company.retail.sales.SalesRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ✅ ReportService aggregation over synthetic in-memory data.
+ * Repositories are stubbed, so this measures only the Java-side grouping and summing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReportAggregationBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @Param({"10000", "100000"})
+    public int sales;
+
+    private ReportService reportService;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData();
+        List<SalesModel> saleRows = data.sales(sales, 3);
+
+        SalesRepository salesRepository = mock(SalesRepository.class);
+        SaleItemRepository saleItemRepository = mock(SaleItemRepository.class);
+        ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+        ShopStockRepository shopStockRepository = mock(ShopStockRepository.class);
+
+        when(salesRepository.findBySaleDateBetween(any(), any())).thenReturn(saleRows);
+        when(saleItemRepository.findBySale_SaleDateBetween(any(), any())).thenReturn(SyntheticData.lines(saleRows));
+        when(expenseRepository.findByDateBetween(any(), any())).thenReturn(data.expenses(sales / 10));
+        when(shopStockRepository.findAll()).thenReturn(data.shopStock());
+
+        reportService = new ReportService(
+                salesRepository,
+                saleItemRepository,
+                mock(ProductRepository.class),
+                expenseRepository,
+                mock(PurchaseOrderRepository.class),
+                shopStockRepository,
+                new ReportExcelExporter(),
+                new ReportPdfExporter(),
+                new RetailMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public List<SalesReportDTO> salesReport() {
+        return reportService.generateSalesReport(DAY, DAY, null);
+    }
+
+    @Benchmark
+    public ProfitReportDTO profitReport() {
+        return reportService.generateProfitReport(DAY, DAY, null);
+    }
+
+    @Benchmark
+    public DashboardSummaryDTO dashboardSummary() {
+        return reportService.generateDashboardSummary(DAY);
+    }
+
+    @Benchmark
+    public List<StockReportDTO> stockReport() {
+        return reportService.generateStockReport(null);
+    }
+}
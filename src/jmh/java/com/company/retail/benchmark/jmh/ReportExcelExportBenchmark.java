@@ -0,0 +1,37 @@
+package com.company.retail.benchmark.jmh;
+
+import com.company.retail.report.ReportExcelExporter;
+import com.company.retail.report.dto.SalesReportDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Sales report export to XLSX.
+ * One export per invocation; at 100k rows a single call takes seconds, hence single-shot timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportExcelExportBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private final ReportExcelExporter excelExporter = new ReportExcelExporter();
+    private List<SalesReportDTO> data;
+
+    @Setup
+    public void setUp() {
+        data = new SyntheticData().salesReportRows(rows);
+    }
+
+    @Benchmark
+    public byte[] export() {
+        return excelExporter.export("sales", data);
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.retail.benchmark.jmh;
+
+import com.company.retail.report.ReportPdfExporter;
+import com.company.retail.report.dto.SalesReportDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Sales report export to PDF.
+ * iText lays the whole table out in memory: 10k rows already takes ~25s per export and
+ * 100k rows does not finish within 10 minutes on a 4g heap, so 100k is not part of the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportPdfExportBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private final ReportPdfExporter pdfExporter = new ReportPdfExporter();
+    private List<SalesReportDTO> data;
+
+    @Setup
+    public void setUp() {
+        data = new SyntheticData().salesReportRows(rows);
+    }
+
+    @Benchmark
+    public byte[] export() {
+        return pdfExporter.export("sales", data);
+    }
+}
@@ -0,0 +1,147 @@
+package com.company.retail.benchmark.jmh;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.expense.ExpenseModel;
+import com.company.retail.expensecategory.ExpenseCategoryModel;
+import com.company.retail.product.ProductModel;
+import com.company.retail.report.dto.SalesReportDTO;
+import com.company.retail.saleItem.SaleItemModel;
+import com.company.retail.sales.SalesModel;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.user.UserModel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * ✅ Deterministic in-memory fixtures for the benchmarks (fixed seed, no database).
+ */
+final class SyntheticData {
+
+    static final int PRODUCTS = 500;
+    static final int SHOPS = 5;
+
+    private final Random random = new Random(42);
+    private final LocalDateTime day = LocalDateTime.of(2025, 1, 15, 8, 0);
+
+    final List<ShopModel> shops = new ArrayList<>();
+    final List<ProductModel> products = new ArrayList<>();
+    final UserModel cashier;
+
+    SyntheticData() {
+        for (long i = 1; i <= SHOPS; i++) {
+            ShopModel shop = new ShopModel();
+            shop.setId(i);
+            shop.setShopName("Shop " + i);
+            shops.add(shop);
+        }
+        for (long i = 1; i <= PRODUCTS; i++) {
+            ProductModel product = new ProductModel();
+            product.setProductId(i);
+            product.setProductName("Product " + i);
+            product.setCategory("Category " + (i % 20));
+            product.setReorderLevel(10);
+            product.setSellingPriceUSD(1.0 + random.nextInt(5000) / 100.0);
+            product.setSellingPriceZWL(0.0);
+            products.add(product);
+        }
+        cashier = UserModel.builder()
+                .userId(1L)
+                .username("cashier")
+                .fullName("Bench Cashier")
+                .shop(shops.get(0))
+                .build();
+        cashier.setRoles(Set.of(UserModel.Role.ROLE_CASHIER, UserModel.Role.ROLE_SUPERVISOR));
+    }
+
+    // 🧾 Sales with linesPerSale lines each, sale.saleItems populated
+    List<SalesModel> sales(int count, int linesPerSale) {
+        List<SalesModel> sales = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            SalesModel sale = new SalesModel();
+            sale.setSaleId(i);
+            sale.setShop(shops.get((int) (i % SHOPS)));
+            sale.setCashier(cashier);
+            sale.setSaleDate(day.plusSeconds(i));
+            double total = 0;
+            for (int l = 0; l < linesPerSale; l++) {
+                ProductModel product = products.get(random.nextInt(PRODUCTS));
+                int qty = 1 + random.nextInt(5);
+                SaleItemModel item = new SaleItemModel();
+                item.setSaleItemId(i * linesPerSale + l);
+                item.setSale(sale);
+                item.setProduct(product);
+                item.setQuantity(qty);
+                item.setSellingPriceUSD(product.getSellingPriceUSD());
+                item.setCostPriceUSD(product.getSellingPriceUSD() * 0.7);
+                item.setCostPriceZWL(0.0);
+                item.setTotalUSD(product.getSellingPriceUSD() * qty);
+                item.setProfitUSD(product.getSellingPriceUSD() * 0.3 * qty);
+                item.setProfitZWL(0.0);
+                sale.getSaleItems().add(item);
+                total += item.getTotalUSD();
+            }
+            sale.setTotalAmountUSD(total);
+            sale.setTotalAmountZWL(0.0);
+            sales.add(sale);
+        }
+        return sales;
+    }
+
+    static List<SaleItemModel> lines(List<SalesModel> sales) {
+        return sales.stream().flatMap(s -> s.getSaleItems().stream()).toList();
+    }
+
+    List<ExpenseModel> expenses(int count) {
+        ExpenseCategoryModel category = new ExpenseCategoryModel();
+        category.setName("Rent");
+        List<ExpenseModel> expenses = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            ExpenseModel expense = new ExpenseModel();
+            expense.setExpenseId(i);
+            expense.setShop(shops.get((int) (i % SHOPS)));
+            expense.setCategory(category);
+            expense.setAmountUSD(random.nextInt(10000) / 100.0);
+            expense.setAmountZWL(0.0);
+            expense.setDate(day.plusMinutes(i));
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    List<ShopStockModel> shopStock() {
+        List<ShopStockModel> stock = new ArrayList<>();
+        for (ShopModel shop : shops) {
+            for (ProductModel product : products) {
+                ShopStockModel row = new ShopStockModel(shop, product);
+                row.setQuantityInStock(random.nextInt(100));
+                row.setAvgLandingCostUSD(product.getSellingPriceUSD() * 0.7);
+                row.setAvgLandingCostZWL(0.0);
+                stock.add(row);
+            }
+        }
+        return stock;
+    }
+
+    // 📤 Export rows shaped like the sales report output
+    List<SalesReportDTO> salesReportRows(int count) {
+        List<SalesReportDTO> rows = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            rows.add(SalesReportDTO.builder()
+                    .saleId(i)
+                    .shopName(shops.get((int) (i % SHOPS)).getShopName())
+                    .cashierName(cashier.getUsername())
+                    .totalAmountUSD(random.nextInt(100000) / 100.0)
+                    .totalAmountZWL(0.0)
+                    .totalProfitUSD(random.nextInt(30000) / 100.0)
+                    .totalProfitZWL(0.0)
+                    .totalItemsSold(1 + random.nextInt(20))
+                    .saleDate(day.plusSeconds(i))
+                    .build());
+        }
+        return rows;
+    }
+}
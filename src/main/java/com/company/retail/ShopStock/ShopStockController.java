@@ -1,10 +1,16 @@
 package com.company.retail.ShopStock;
 
+import com.company.retail.ShopStock.availability.AvailabilityService;
+import com.company.retail.ShopStock.dto.ShopStockView;
+import com.company.retail.ShopStock.stream.StockStreamHub;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,19 +20,22 @@ import java.util.List;
 public class ShopStockController {
 
     private final ShopStockService shopStockService;
+    private final StockStreamHub stockStreamHub;
+    private final StockBatchService stockBatchService;
+    private final AvailabilityService availabilityService;
 
     /** ✅ View all stock (Admins and SuperAdmins only) */
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
     @GetMapping
-    public ResponseEntity<List<ShopStockModel>> getAll() {
+    public ResponseEntity<List<ShopStockView>> getAll() {
         return ResponseEntity.ok(shopStockService.getAll());
     }
 
     /** ✅ View stock by shop (accessible to any authenticated user) */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/shop/{shopId}")
-    public ResponseEntity<List<ShopStockModel>> getByShop(@PathVariable Long shopId) {
-        List<ShopStockModel> stocks = shopStockService.getByShop(shopId);
+    public ResponseEntity<List<ShopStockView>> getByShop(@PathVariable Long shopId) {
+        List<ShopStockView> stocks = shopStockService.getByShop(shopId);
         if (stocks == null) {
             stocks = new ArrayList<>();
         }
@@ -35,10 +44,54 @@ public class ShopStockController {
     /** ✅ View stock by product (accessible to any authenticated user) */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<ShopStockModel>> getByProduct(@PathVariable Long productId) {
+    public ResponseEntity<List<ShopStockView>> getByProduct(@PathVariable Long productId) {
         return ResponseEntity.ok(shopStockService.getByProduct(productId));
     }
 
+    /**
+     * ✅ Nearest shops with at least minQuantity units, for many products at once (in-memory index)
+     * Example: GET /api/shop-stock/availability?productIds=5,9&minQuantity=10&shopId=1&limit=3
+     * Origin: latitude/longitude if given, else the coordinates of shopId (which is itself excluded).
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailability(@RequestParam List<Long> productIds,
+                                             @RequestParam(defaultValue = "1") int minQuantity,
+                                             @RequestParam(required = false) Long shopId,
+                                             @RequestParam(required = false) Double latitude,
+                                             @RequestParam(required = false) Double longitude,
+                                             @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(availabilityService.findShopsWithStock(productIds, minQuantity, shopId,
+                    latitude, longitude, limit));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /** ✅ Chain-wide units on hand per product (in-memory index) */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/availability/on-hand")
+    public ResponseEntity<?> getOnHand(@RequestParam List<Long> productIds) {
+        try {
+            return ResponseEntity.ok(availabilityService.onHand(productIds));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Live stock changes for one shop (Server-Sent Events), replaces polling /shop/{shopId}.
+     * Events: "ready" (load the snapshot now), "stock" (array of StockDelta), "reset" (reload snapshot).
+     * Reconnects with Last-Event-ID receive only the changes they missed.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping(value = "/shop/{shopId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long shopId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return stockStreamHub.subscribe(shopId, lastEventId);
+    }
+
     /**
      * ✅ Adjust stock quantity
      * 🔒 Restricted to ADMIN and SUPERADMIN only
@@ -59,4 +112,32 @@ public class ShopStockController {
             return ResponseEntity.badRequest().body("❌ Failed to adjust stock: " + e.getMessage());
         }
     }
+
+    /**
+     * ✅ Record an expiry-dated batch for stock already on hand (received batches come from purchase orders)
+     * 🔒 Restricted to ADMIN and SUPERADMIN only
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PostMapping("/batches")
+    public ResponseEntity<?> recordBatch(
+            @RequestParam Long shopId,
+            @RequestParam Long productId,
+            @RequestParam Integer quantity,
+            @RequestParam LocalDate expiryDate,
+            @RequestParam(required = false) String batchNumber
+    ) {
+        try {
+            return ResponseEntity.ok(stockBatchService.recordBatch(shopId, productId, quantity, expiryDate, batchNumber, null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ Failed to record batch: " + e.getMessage());
+        }
+    }
+
+    /** ✅ Batches in a shop expiring within the given number of days */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/shop/{shopId}/expiring")
+    public ResponseEntity<List<StockBatchModel>> getExpiring(@PathVariable Long shopId,
+                                                             @RequestParam(defaultValue = "14") int days) {
+        return ResponseEntity.ok(stockBatchService.getExpiring(shopId, days));
+    }
 }
\ No newline at end of file
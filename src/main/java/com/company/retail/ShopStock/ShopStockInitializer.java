@@ -0,0 +1,118 @@
+package com.company.retail.ShopStock;
+
+import com.company.retail.configs.DatabaseSequences;
+import com.company.retail.sync.CatalogVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ✅ Creates the zero-quantity shop_stock rows every (shop, product) pair needs, with one
+ * INSERT ... SELECT per call instead of one save per shop. Pairs that already have a
+ * row are skipped, so every method is safe to repeat.
+ *
+ * Rows are written with plain JDBC: the caller must have flushed the new product/shop,
+ * and no entity listeners run (new rows carry quantity 0, so the stock stream has
+ * nothing to send; the catalog version is stamped here instead).
+ */
+@Component
+@RequiredArgsConstructor
+public class ShopStockInitializer {
+
+    // Keeps IN lists well below driver/database parameter limits
+    public static final int CHUNK = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSequences sequences;
+    private final CatalogVersions catalogVersions;
+
+    // ✅ New product -> a row in every shop
+    public int initializeForProduct(Long productId) {
+        return initializeForProducts(List.of(productId));
+    }
+
+    // ✅ Many new products (bulk create/import) -> products x shops rows, one statement per chunk
+    public int initializeForProducts(List<Long> productIds) {
+        long version = catalogVersions.next();
+        int inserted = 0;
+        for (int from = 0; from < productIds.size(); from += CHUNK) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + CHUNK, productIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = version;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            inserted += jdbcTemplate.update(insertSelect()
+                    + "FROM shops s CROSS JOIN products p WHERE p.product_id IN (" + placeholders + ") "
+                    + "AND NOT EXISTS (SELECT 1 FROM shop_stock x WHERE x.shop_id = s.id AND x.product_id = p.product_id)", args);
+        }
+        return inserted;
+    }
+
+    // ✅ New shop -> a row for every product
+    public int initializeForShop(Long shopId) {
+        return jdbcTemplate.update(insertSelect()
+                + "FROM shops s CROSS JOIN products p WHERE s.id = ? "
+                + "AND NOT EXISTS (SELECT 1 FROM shop_stock x WHERE x.shop_id = s.id AND x.product_id = p.product_id)",
+                catalogVersions.next(), shopId);
+    }
+
+    /*
+     * ✅ Some products in one shop (transfer destination) -> the rows it is missing.
+     * Two transfers into the same shop can both find a row missing: rows go in in product
+     * order (so the unique index entries are taken in one order) and a row created
+     * meanwhile by the other transfer is left alone instead of failing the transfer.
+     */
+    public int initializeForShopProducts(Long shopId, List<Long> productIds) {
+        List<Long> sorted = productIds.stream().distinct().sorted().toList();
+        long version = catalogVersions.next();
+        int inserted = 0;
+        for (int from = 0; from < sorted.size(); from += CHUNK) {
+            List<Long> chunk = sorted.subList(from, Math.min(from + CHUNK, sorted.size()));
+            Object[] args = new Object[chunk.size() + 2];
+            args[0] = version;
+            args[1] = shopId;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 2] = chunk.get(i);
+            }
+            String sql = insertSelect() + "FROM shops s CROSS JOIN products p WHERE s.id = ? AND p.product_id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") "
+                    + "AND NOT EXISTS (SELECT 1 FROM shop_stock x WHERE x.shop_id = s.id AND x.product_id = p.product_id) "
+                    + "ORDER BY p.product_id";
+            if (sequences.isPostgres()) {
+                inserted += jdbcTemplate.update(sql + " ON CONFLICT (shop_id, product_id) DO NOTHING", args);
+                continue;
+            }
+            // H2 has no ON CONFLICT, but a failed statement leaves the transaction usable: retry row by row
+            try {
+                inserted += jdbcTemplate.update(sql, args);
+            } catch (DuplicateKeyException e) {
+                for (Long productId : chunk) {
+                    inserted += insertUnlessPresent(version, shopId, productId);
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private int insertUnlessPresent(long version, Long shopId, Long productId) {
+        try {
+            return jdbcTemplate.update(insertSelect() + "FROM shops s CROSS JOIN products p WHERE s.id = ? AND p.product_id = ? "
+                    + "AND NOT EXISTS (SELECT 1 FROM shop_stock x WHERE x.shop_id = s.id AND x.product_id = p.product_id)",
+                    version, shopId, productId);
+        } catch (DuplicateKeyException e) {
+            return 0; // created by a concurrent transfer
+        }
+    }
+
+    private String insertSelect() {
+        return "INSERT INTO shop_stock (shop_stock_id, shop_id, product_id, quantity_in_stock, "
+                + "avg_landing_costusd, avg_landing_costzwl, selling_priceusd, selling_pricezwl, price_version) "
+                + "SELECT " + sequences.nextValue("shop_stock_seq") + ", s.id, p.product_id, 0, 0, 0, 0, 0, ? ";
+    }
+}
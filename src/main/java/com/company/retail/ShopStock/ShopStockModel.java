@@ -1,11 +1,16 @@
 package com.company.retail.ShopStock;
 
+import com.company.retail.ShopStock.stream.ShopStockEntityListener;
 import com.company.retail.product.ProductModel;
 import com.company.retail.shop.ShopModel;
+import com.company.retail.sync.CatalogVersionListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.Objects;
+
 @Entity
 @Table(
         name = "shop_stock",
@@ -18,10 +23,12 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners({ShopStockEntityListener.class, CatalogVersionListener.class}) // ✅ stock stream + catalog sync
 public class ShopStockModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shop_stock_seq")
+    @SequenceGenerator(name = "shop_stock_seq", sequenceName = "shop_stock_seq", allocationSize = 50)
     private Long shopStockId;
 
     // ✅ Relationship to Shop
@@ -43,6 +50,38 @@ public class ShopStockModel {
     private Double sellingPriceUSD = 0.0;
     private Double sellingPriceZWL = 0.0;
 
+    // ✅ Catalog version of the last selling price change (see /api/sync/catalog)
+    @Column(nullable = false)
+    private Long priceVersion;
+
+    // ✅ +1 per write of this row; orders its change events (see AvailabilityIndex)
+    @Column(name = "change_version", nullable = false)
+    @JsonIgnore
+    private int changeVersion;
+
+    // Prices as loaded, to tell price changes from quantity-only updates
+    @Transient
+    @JsonIgnore
+    private Double loadedPriceUSD;
+    @Transient
+    @JsonIgnore
+    private Double loadedPriceZWL;
+
+    @PostLoad
+    public void rememberPrices() {
+        loadedPriceUSD = sellingPriceUSD;
+        loadedPriceZWL = sellingPriceZWL;
+    }
+
+    @PreUpdate
+    public void bumpChangeVersion() {
+        changeVersion++;
+    }
+
+    public boolean pricesChanged() {
+        return !Objects.equals(loadedPriceUSD, sellingPriceUSD) || !Objects.equals(loadedPriceZWL, sellingPriceZWL);
+    }
+
     // ✅ Constructor for quick creation
     public ShopStockModel(ShopModel shop, ProductModel product) {
         this.shop = shop;
@@ -1,11 +1,16 @@
 package com.company.retail.ShopStock;
 
+import com.company.retail.ShopStock.dto.ShopStockView;
 import com.company.retail.product.ProductModel;
 import com.company.retail.shop.ShopModel;
+import com.company.retail.sync.dto.ShopPriceDTO;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +28,44 @@ public interface ShopStockRepository extends JpaRepository<ShopStockModel, Long>
     List<ShopStockModel> findByShop_Id(Long shopId);
 
     Optional<ShopStockModel> findByShop_IdAndProduct_ProductId(Long shopId, Long productId);
+
+    // ✅ Checkout / receiving: rows locked FOR UPDATE in product order, the order stock transfers lock them in
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ShopStockModel s WHERE s.shop.id = :shopId AND s.product.productId IN :productIds " +
+            "ORDER BY s.product.productId")
+    List<ShopStockModel> lockByShopIdAndProductIds(@Param("shopId") Long shopId,
+                                                   @Param("productIds") Collection<Long> productIds);
+
+    // ============================================================
+    // 📋 READ MODELS (single query, no entity graph)
+    // ============================================================
+    String SHOP_STOCK_VIEW = "SELECT new com.company.retail.ShopStock.dto.ShopStockView(" +
+            "s.shopStockId, sh.id, sh.shopName, p.productId, p.productName, p.category, p.unit, " +
+            "s.quantityInStock, p.reorderLevel, s.avgLandingCostUSD, s.avgLandingCostZWL, " +
+            "s.sellingPriceUSD, s.sellingPriceZWL) " +
+            "FROM ShopStockModel s JOIN s.shop sh JOIN s.product p ";
+
+    // ✅ Till scan: on-hand quantity via the (shop_id, product_id) unique index
+    @Query("SELECT s.quantityInStock FROM ShopStockModel s WHERE s.shop.id = :shopId AND s.product.productId = :productId")
+    Optional<Integer> findQuantity(@Param("shopId") Long shopId, @Param("productId") Long productId);
+
+    // ✅ Catalog delta sync: shop selling prices changed in (since, upTo]
+    @Query("SELECT new com.company.retail.sync.dto.ShopPriceDTO(s.product.productId, s.sellingPriceUSD, s.sellingPriceZWL) " +
+            "FROM ShopStockModel s WHERE s.shop.id = :shopId AND s.priceVersion > :since AND s.priceVersion <= :upTo " +
+            "ORDER BY s.product.productId")
+    List<ShopPriceDTO> findCatalogPriceChanges(@Param("shopId") Long shopId,
+                                               @Param("since") long since,
+                                               @Param("upTo") long upTo);
+
+    @Query(SHOP_STOCK_VIEW + "ORDER BY sh.shopName, p.productName")
+    List<ShopStockView> findAllViews();
+
+    @Query(SHOP_STOCK_VIEW + "WHERE sh.id = :shopId ORDER BY p.productName")
+    List<ShopStockView> findViewsByShopId(@Param("shopId") Long shopId);
+
+    @Query(SHOP_STOCK_VIEW + "WHERE p.productId = :productId ORDER BY sh.shopName")
+    List<ShopStockView> findViewsByProductId(@Param("productId") Long productId);
+
+    @Query(SHOP_STOCK_VIEW + "WHERE sh.id = :shopId AND s.quantityInStock <= :maxQty ORDER BY p.productName")
+    List<ShopStockView> findViewsByShopIdAndQuantityAtMost(@Param("shopId") Long shopId, @Param("maxQty") int maxQty);
 }
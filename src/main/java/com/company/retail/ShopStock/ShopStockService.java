@@ -1,11 +1,13 @@
 package com.company.retail.ShopStock;
 
+import com.company.retail.ShopStock.dto.ShopStockView;
 import com.company.retail.product.ProductModel;
 import com.company.retail.product.ProductRepository;
 import com.company.retail.shop.ShopModel;
 import com.company.retail.shop.ShopRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -20,31 +22,35 @@ public class ShopStockService {
     /**
      * ✅ Get all stock records (global view)
      */
-    public List<ShopStockModel> getAll() {
-        return shopStockRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<ShopStockView> getAll() {
+        return shopStockRepository.findAllViews();
     }
 
     /**
      * ✅ Get stock for a specific shop
      */
-    public List<ShopStockModel> getByShop(Long shopId) {
-        ShopModel shop = shopRepository.findById(shopId)
+    @Transactional(readOnly = true)
+    public List<ShopStockView> getByShop(Long shopId) {
+        shopRepository.findById(shopId) // ✅ L2-cached existence check
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
-        return shopStockRepository.findByShop(shop);
+        return shopStockRepository.findViewsByShopId(shopId);
     }
 
     /**
      * ✅ Get stock for a specific product across all shops
      */
-    public List<ShopStockModel> getByProduct(Long productId) {
-        ProductModel product = productRepository.findById(productId)
+    @Transactional(readOnly = true)
+    public List<ShopStockView> getByProduct(Long productId) {
+        productRepository.findById(productId) // ✅ L2-cached existence check
                 .orElseThrow(() -> new RuntimeException("Product not found"));
-        return shopStockRepository.findByProduct(product);
+        return shopStockRepository.findViewsByProductId(productId);
     }
 
     /**
      * ✅ Adjust stock quantity (used by purchase order or stock transfer)
      */
+    @Transactional
     public ShopStockModel adjustStock(Long shopId, Long productId, Integer deltaQty, Double newCostUSD, Double newCostZWL) {
         ShopModel shop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
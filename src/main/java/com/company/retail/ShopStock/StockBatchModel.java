@@ -0,0 +1,60 @@
+package com.company.retail.ShopStock;
+
+import com.company.retail.product.ProductModel;
+import com.company.retail.shop.ShopModel;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ✅ A received batch of a product in a shop, with its expiry date.
+ * Drives the expiry markdown job; on-hand quantity itself stays on ShopStockModel.
+ */
+@Entity
+@Table(name = "stock_batches")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockBatchModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_batches_seq")
+    @SequenceGenerator(name = "stock_batches_seq", sequenceName = "stock_batches_seq", allocationSize = 50)
+    private Long batchId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "shop_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private ShopModel shop;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private ProductModel product;
+
+    @Column(length = 64)
+    private String batchNumber;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private LocalDate expiryDate;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    private Long purchaseOrderId;
+
+    @PrePersist
+    public void onCreate() {
+        if (receivedAt == null) {
+            receivedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.retail.ShopStock;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StockBatchRepository extends JpaRepository<StockBatchModel, Long> {
+
+    List<StockBatchModel> findByShop_IdAndProduct_ProductIdOrderByReceivedAtDesc(Long shopId, Long productId);
+
+    // ✅ Batches in a shop expiring by the given date (soonest first)
+    List<StockBatchModel> findByShop_IdAndExpiryDateLessThanEqualOrderByExpiryDateAsc(Long shopId, LocalDate expiringBy);
+}
@@ -0,0 +1,60 @@
+package com.company.retail.ShopStock;
+
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * ✅ Expiry-dated batches: recorded when stock is received (purchase orders) or by hand
+ * for stock already on the shelf.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockBatchService {
+
+    private final StockBatchRepository stockBatchRepository;
+    private final ShopRepository shopRepository;
+    private final ProductRepository productRepository;
+
+    @Transactional
+    public StockBatchModel recordBatch(Long shopId, Long productId, Integer quantity, LocalDate expiryDate,
+                                       String batchNumber, Long purchaseOrderId) {
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Batch quantity must be positive");
+        }
+        if (expiryDate == null) {
+            throw new RuntimeException("Batch expiry date is required");
+        }
+        ShopModel shop = shopRepository.findById(shopId)
+                .orElseThrow(() -> new RuntimeException("Shop not found"));
+        ProductModel product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+
+        return stockBatchRepository.save(StockBatchModel.builder()
+                .shop(shop)
+                .product(product)
+                .quantity(quantity)
+                .expiryDate(expiryDate)
+                .batchNumber(batchNumber)
+                .purchaseOrderId(purchaseOrderId)
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockBatchModel> getBatches(Long shopId, Long productId) {
+        return stockBatchRepository.findByShop_IdAndProduct_ProductIdOrderByReceivedAtDesc(shopId, productId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockBatchModel> getExpiring(Long shopId, int withinDays) {
+        return stockBatchRepository.findByShop_IdAndExpiryDateLessThanEqualOrderByExpiryDateAsc(
+                shopId, LocalDate.now().plusDays(withinDays));
+    }
+}
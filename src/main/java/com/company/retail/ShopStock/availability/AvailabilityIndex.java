@@ -0,0 +1,134 @@
+package com.company.retail.ShopStock.availability;
+
+import com.company.retail.ShopStock.stream.ShopStockChangedEvent;
+import com.company.retail.shop.ShopChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ In-memory stock availability: product -> shop -> quantity on hand, plus shop locations.
+ *
+ * - Loaded once the application is ready, then reloaded every reload interval (built
+ *   aside and swapped; changes committed while it loads are replayed onto the new table).
+ * - Every committed shop_stock change (ShopStockChangedEvent: JPA writes through the
+ *   entity listener, transfers) is applied as soon as it commits. After-commit listeners
+ *   of two transactions can run in either order, so each change carries the row's
+ *   change_version and one older than what the table holds is ignored.
+ * - Writes made elsewhere (other instances, bulk SQL) are picked up by the next reload.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile AvailabilityTable table = new AvailabilityTable();
+    private final Object lock = new Object();
+    private List<Object> duringReload; // changes committed while a reload is building (else null)
+
+    // ✅ Units of a product in a shop (0 when none)
+    public int quantity(Long productId, Long shopId) {
+        return table.quantity(productId, shopId);
+    }
+
+    // ✅ Units on hand across all shops
+    public long onHand(Long productId) {
+        return table.onHand(productId);
+    }
+
+    // ✅ Current table, for several lookups against the same snapshot of shops
+    public AvailabilityTable table() {
+        return table;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    // ============================================================
+    // 🔄 Loading
+    // ============================================================
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.availability.reload-interval-ms:300000}",
+            initialDelayString = "${app.availability.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        long started = System.currentTimeMillis();
+        AvailabilityTable fresh = new AvailabilityTable();
+        synchronized (lock) {
+            duringReload = new ArrayList<>();
+        }
+        try {
+            jdbcTemplate.query("SELECT id, shop_name, latitude, longitude FROM shops",
+                    rs -> {
+                        fresh.putShop(rs.getLong(1), rs.getString(2), number(rs, 3), number(rs, 4));
+                    });
+            jdbcTemplate.query("SELECT product_id, shop_id, quantity_in_stock, change_version FROM shop_stock "
+                            + "WHERE quantity_in_stock > 0",
+                    rs -> {
+                        fresh.set(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getInt(4));
+                    });
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                duringReload = null; // keep serving the current table
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            duringReload.forEach(event -> apply(fresh, event));
+            table = fresh;
+            duringReload = null;
+        }
+        log.info("Availability index loaded: {} products in {} shops ({} ms)",
+                fresh.size(), fresh.shops().size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(ShopStockChangedEvent event) {
+        changed(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onShopChanged(ShopChangedEvent event) {
+        changed(event);
+    }
+
+    private void changed(Object event) {
+        synchronized (lock) {
+            if (duringReload != null) {
+                duringReload.add(event);
+            }
+            apply(table, event);
+        }
+    }
+
+    private static void apply(AvailabilityTable target, Object event) {
+        if (event instanceof ShopStockChangedEvent stock) {
+            if (!target.set(stock.delta().getProductId(), stock.shopId(), stock.delta().getQuantity(), stock.version())) {
+                log.debug("Stale stock change ignored: shop {} product {} version {}",
+                        stock.shopId(), stock.delta().getProductId(), stock.version());
+            }
+        } else if (event instanceof ShopChangedEvent shop && shop.shop() == null) {
+            target.removeShop(shop.shopId());
+        } else if (event instanceof ShopChangedEvent shop) {
+            target.putShop(shop.shopId(), shop.shop().getShopName(), shop.shop().getLatitude(), shop.shop().getLongitude());
+        }
+    }
+
+    private static Double number(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,124 @@
+package com.company.retail.ShopStock.availability;
+
+import com.company.retail.ShopStock.dto.ShopAvailabilityDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * ✅ Which shops have a product, answered from the in-memory AvailabilityIndex (no queries).
+ *
+ * Nearest-first needs an origin: a point, or the asking shop's coordinates. Shops are
+ * ranked by distance once per call and every product walks that one list, so asking
+ * for many products at once costs little more than asking for one. Without an origin,
+ * shops with the most units come first.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    static final int MAX_PRODUCTS = 1_000;
+    static final int MAX_SHOPS = 50;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final AvailabilityIndex index;
+
+    // ✅ Chain-wide units on hand per product
+    public Map<Long, Long> onHand(Collection<Long> productIds) {
+        checkProducts(productIds);
+        AvailabilityTable table = index.table();
+        Map<Long, Long> totals = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            totals.put(productId, table.onHand(productId));
+        }
+        return totals;
+    }
+
+    /**
+     * ✅ Per product, up to limit shops with at least minQuantity units (the asking shop
+     * itself excluded), nearest first. Products nobody has map to an empty list.
+     */
+    public Map<Long, List<ShopAvailabilityDTO>> findShopsWithStock(Collection<Long> productIds, int minQuantity,
+                                                                   Long fromShopId, Double latitude, Double longitude,
+                                                                   int limit) {
+        checkProducts(productIds);
+        if (minQuantity < 1) {
+            throw new RuntimeException("minQuantity must be at least 1");
+        }
+        if (limit < 1 || limit > MAX_SHOPS) {
+            throw new RuntimeException("limit must be between 1 and " + MAX_SHOPS);
+        }
+        if ((latitude == null) != (longitude == null)) {
+            throw new RuntimeException("latitude and longitude go together");
+        }
+
+        AvailabilityTable table = index.table();
+        if (latitude == null && fromShopId != null) {
+            AvailabilityTable.Shop from = table.shop(fromShopId);
+            if (from != null && from.located()) {
+                latitude = from.latitude();
+                longitude = from.longitude();
+            }
+        }
+
+        // Candidate shops, ranked once: by distance (unlocated shops last), or by id without an origin
+        List<Ranked> ranked = new ArrayList<>(table.shops().size());
+        for (AvailabilityTable.Shop shop : table.shops()) {
+            if (!shop.shopId().equals(fromShopId)) {
+                Double distance = latitude != null && shop.located()
+                        ? distanceKm(latitude, longitude, shop.latitude(), shop.longitude()) : null;
+                ranked.add(new Ranked(shop, distance));
+            }
+        }
+        boolean byDistance = latitude != null;
+        ranked.sort(Comparator.comparing(Ranked::distanceKm, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(r -> r.shop().shopId()));
+
+        Map<Long, List<ShopAvailabilityDTO>> result = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            AtomicIntegerArray byShop = table.byShop(productId);
+            List<ShopAvailabilityDTO> shops = new ArrayList<>();
+            for (Ranked candidate : ranked) {
+                int quantity = AvailabilityTable.quantity(byShop, candidate.shop());
+                if (quantity >= minQuantity) {
+                    shops.add(new ShopAvailabilityDTO(candidate.shop().shopId(), candidate.shop().shopName(),
+                            quantity, candidate.distanceKm()));
+                    if (byDistance && shops.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            if (!byDistance) {
+                shops.sort(Comparator.comparingInt(ShopAvailabilityDTO::getQuantity).reversed());
+                if (shops.size() > limit) {
+                    shops = new ArrayList<>(shops.subList(0, limit));
+                }
+            }
+            result.put(productId, shops);
+        }
+        return result;
+    }
+
+    // Great-circle distance (haversine)
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static void checkProducts(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new RuntimeException("At least one productId is required");
+        }
+        if (productIds.size() > MAX_PRODUCTS) {
+            throw new RuntimeException("At most " + MAX_PRODUCTS + " products per request");
+        }
+    }
+
+    private record Ranked(AvailabilityTable.Shop shop, Double distanceKm) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.retail.ShopStock.availability;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * ✅ The data behind AvailabilityIndex.
+ *
+ * Every shop gets a slot number; a product keeps one int per slot, so a lookup is a hash
+ * get plus an array read. Reads are lock-free; writes must come from one thread at a time
+ * (AvailabilityIndex serializes them). Only products with stock somewhere are held;
+ * quantities below zero count as none.
+ *
+ * Next to each quantity the writer keeps the change_version it came from, and a write
+ * older than that is dropped: about 8 bytes per shop per product in all.
+ */
+public final class AvailabilityTable {
+
+    public record Shop(Long shopId, String shopName, Double latitude, Double longitude, int slot) {
+
+        public boolean located() {
+            return latitude != null && longitude != null;
+        }
+    }
+
+    private final Map<Long, Shop> shops = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicIntegerArray> quantities = new ConcurrentHashMap<>();
+    private final Map<Long, int[]> versions = new HashMap<>(); // writer only
+    private int nextSlot;
+
+    public int quantity(Long productId, Long shopId) {
+        Shop shop = shops.get(shopId);
+        AtomicIntegerArray byShop = quantities.get(productId);
+        return shop == null || byShop == null || shop.slot() >= byShop.length() ? 0 : byShop.get(shop.slot());
+    }
+
+    public static int quantity(AtomicIntegerArray byShop, Shop shop) {
+        return byShop == null || shop.slot() >= byShop.length() ? 0 : byShop.get(shop.slot());
+    }
+
+    // ✅ Quantities of one product by slot (null = no stock anywhere); read with quantity(byShop, shop)
+    public AtomicIntegerArray byShop(Long productId) {
+        return quantities.get(productId);
+    }
+
+    public long onHand(Long productId) {
+        AtomicIntegerArray byShop = quantities.get(productId);
+        long total = 0;
+        if (byShop != null) {
+            for (int slot = 0; slot < byShop.length(); slot++) {
+                total += byShop.get(slot);
+            }
+        }
+        return total;
+    }
+
+    public Collection<Shop> shops() {
+        return shops.values();
+    }
+
+    public Shop shop(Long shopId) {
+        return shops.get(shopId);
+    }
+
+    // Products with stock in at least one shop (or that had some since the last reload)
+    public int size() {
+        return quantities.size();
+    }
+
+    // ============================================================
+    // ✏️ Writes (one thread at a time)
+    // ============================================================
+
+    // ✅ false when the row already holds a later version; a negative version (deleted row) always applies
+    boolean set(Long productId, Long shopId, Integer quantity, int version) {
+        int units = quantity == null ? 0 : Math.max(quantity, 0);
+        Shop shop = shops.get(shopId);
+        if (shop == null) {
+            // Stock for a shop not seen yet (created on another instance): placeholder until the next reload
+            shop = putShop(shopId, null, null, null);
+        }
+        int[] seen = versions.get(productId);
+        if (version >= 0 && seen != null && shop.slot() < seen.length && version < seen[shop.slot()]) {
+            return false;
+        }
+        if (seen == null || shop.slot() >= seen.length) {
+            seen = seen == null ? new int[nextSlot] : Arrays.copyOf(seen, nextSlot);
+            versions.put(productId, seen);
+        }
+        seen[shop.slot()] = Math.max(version, 0); // a row created again after a delete starts over
+        AtomicIntegerArray byShop = quantities.get(productId);
+        if (byShop == null) {
+            if (units == 0) {
+                return true;
+            }
+            byShop = new AtomicIntegerArray(nextSlot);
+            quantities.put(productId, byShop);
+        } else if (shop.slot() >= byShop.length()) {
+            AtomicIntegerArray grown = new AtomicIntegerArray(nextSlot);
+            for (int slot = 0; slot < byShop.length(); slot++) {
+                grown.set(slot, byShop.get(slot));
+            }
+            byShop = grown;
+            quantities.put(productId, byShop);
+        }
+        byShop.set(shop.slot(), units);
+        return true;
+    }
+
+    Shop putShop(Long shopId, String shopName, Double latitude, Double longitude) {
+        Shop existing = shops.get(shopId);
+        Shop shop = new Shop(shopId, shopName, latitude, longitude, existing != null ? existing.slot() : nextSlot++);
+        shops.put(shopId, shop);
+        return shop;
+    }
+
+    void removeShop(Long shopId) {
+        Shop shop = shops.remove(shopId);
+        if (shop != null) {
+            quantities.values().forEach(byShop -> {
+                if (shop.slot() < byShop.length()) {
+                    byShop.set(shop.slot(), 0);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.company.retail.ShopStock.dto;
+
+import lombok.*;
+
+/**
+ * ✅ A shop holding a product: units on hand and distance from the asking shop / point
+ * (null when either side has no coordinates).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShopAvailabilityDTO {
+    private Long shopId;
+    private String shopName;
+    private int quantity;
+    private Double distanceKm;
+}
@@ -0,0 +1,33 @@
+package com.company.retail.ShopStock.dto;
+
+import lombok.*;
+
+/**
+ * ✅ Flat read model for shop stock listings (one row per shop/product).
+ * Filled directly by JPQL constructor queries in ShopStockRepository.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShopStockView {
+
+    private Long shopStockId;
+
+    private Long shopId;
+    private String shopName;
+
+    private Long productId;
+    private String productName;
+    private String category;
+    private String unit;
+
+    private Integer quantityInStock;
+    private Integer reorderLevel;
+
+    private Double avgLandingCostUSD;
+    private Double avgLandingCostZWL;
+    private Double sellingPriceUSD;
+    private Double sellingPriceZWL;
+}
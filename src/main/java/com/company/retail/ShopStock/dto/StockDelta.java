@@ -0,0 +1,19 @@
+package com.company.retail.ShopStock.dto;
+
+import lombok.*;
+
+/**
+ * ✅ Compact stock change pushed to tills: absolute values, so applying one twice is harmless.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockDelta {
+
+    private Long productId;
+    private Integer quantity;
+    private Double avgCostUSD;
+    private Double avgCostZWL;
+}
@@ -0,0 +1,13 @@
+package com.company.retail.ShopStock.stream;
+
+import com.company.retail.ShopStock.dto.StockDelta;
+
+/**
+ * ✅ Raised for every insert/update/delete of a shop_stock row; delivered after commit.
+ * version = the row's change_version after this write (REMOVED for a delete). Listeners
+ * run in no particular order, so one holding absolute values should skip older versions.
+ */
+public record ShopStockChangedEvent(Long shopId, StockDelta delta, int version) {
+
+    public static final int REMOVED = -1;
+}
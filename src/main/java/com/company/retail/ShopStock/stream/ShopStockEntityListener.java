@@ -0,0 +1,42 @@
+package com.company.retail.ShopStock.stream;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.dto.StockDelta;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ Turns every ShopStockModel write (sales, transfers, purchase orders, adjustments)
+ * into a ShopStockChangedEvent, so no service has to remember to publish one.
+ * The stream hub only receives it once the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShopStockEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    public void changed(ShopStockModel stock) {
+        publish(stock, stock.getQuantityInStock(), stock.getChangeVersion());
+    }
+
+    @PostRemove
+    public void removed(ShopStockModel stock) {
+        publish(stock, 0, ShopStockChangedEvent.REMOVED);
+    }
+
+    private void publish(ShopStockModel stock, Integer quantity, int version) {
+        publisher.publishEvent(new ShopStockChangedEvent(stock.getShop().getId(), StockDelta.builder()
+                .productId(stock.getProduct().getProductId())
+                .quantity(quantity)
+                .avgCostUSD(stock.getAvgLandingCostUSD())
+                .avgCostZWL(stock.getAvgLandingCostZWL())
+                .build(), version));
+    }
+}
@@ -0,0 +1,224 @@
+package com.company.retail.ShopStock.stream;
+
+import com.company.retail.ShopStock.dto.StockDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * ✅ Fan-out of committed shop stock changes to Server-Sent Event subscribers, per shop.
+ *
+ * - Every change gets a per-shop sequence number; the last replayBuffer changes are kept
+ *   so a reconnecting client (Last-Event-ID) only receives what it missed.
+ * - Each connection has a bounded pending map keyed by product: rapid updates to the same
+ *   product coalesce into the latest value and are flushed together every flush interval.
+ * - When a client falls too far behind (pending overflow, or a Last-Event-ID outside the
+ *   replay buffer / from before a restart) it gets a "reset" event and must reload
+ *   GET /api/shop-stock/shop/{shopId} instead.
+ *
+ * Event ids look like "<startup millis>:<sequence>", so ids from a previous run are never
+ * mistaken for current ones.
+ */
+@Slf4j
+@Component
+public class StockStreamHub {
+
+    static final String EVENT_STOCK = "stock";
+    static final String EVENT_READY = "ready";
+    static final String EVENT_RESET = "reset";
+
+    private final String epoch = Long.toString(System.currentTimeMillis());
+    private final Map<Long, ShopChannel> channels = new ConcurrentHashMap<>();
+
+    @Value("${app.stock-stream.replay-buffer:1024}")
+    private int replayBuffer;
+    @Value("${app.stock-stream.max-pending:1000}")
+    private int maxPending;
+    @Value("${app.stock-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // ============================================================
+    // 📡 Subscribe
+    // ============================================================
+    public SseEmitter subscribe(Long shopId, String lastEventId) {
+        ShopChannel channel = channel(shopId);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        String initialEvent;
+        synchronized (channel) {
+            Long resumeFrom = parseSequence(lastEventId);
+            if (lastEventId == null) {
+                initialEvent = EVENT_READY;
+            } else if (resumeFrom != null && channel.canReplayFrom(resumeFrom)) {
+                channel.replayed(resumeFrom).forEach(subscriber::offer);
+                initialEvent = null;
+            } else {
+                initialEvent = EVENT_RESET;
+            }
+            channel.subscribers.add(subscriber);
+        }
+
+        emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> channel.subscribers.remove(subscriber));
+        emitter.onError(e -> channel.subscribers.remove(subscriber));
+
+        if (initialEvent != null) {
+            send(channel, subscriber, initialEvent, List.of());
+        }
+        return emitter;
+    }
+
+    // ============================================================
+    // 📦 Publish (only after the stock change is committed)
+    // ============================================================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(ShopStockChangedEvent event) {
+        ShopChannel channel = channel(event.shopId());
+        synchronized (channel) {
+            long sequence = ++channel.sequence;
+            channel.recent.addLast(new Sequenced(sequence, event.delta()));
+            if (channel.recent.size() > replayBuffer) {
+                channel.recent.removeFirst();
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(new Sequenced(sequence, event.delta()));
+            }
+        }
+    }
+
+    // ============================================================
+    // 🚿 Flush coalesced changes / keep idle connections alive
+    // ============================================================
+    @Scheduled(fixedDelayString = "${app.stock-stream.flush-interval-ms:250}")
+    public void flush() {
+        for (ShopChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                Batch batch = subscriber.drain();
+                if (batch.reset()) {
+                    send(channel, subscriber, EVENT_RESET, List.of());
+                } else if (!batch.deltas().isEmpty()) {
+                    subscriber.lastSent = batch.lastSequence();
+                    send(channel, subscriber, EVENT_STOCK, batch.deltas());
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock-stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (ShopChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } catch (IOException | IllegalStateException e) {
+                    drop(channel, subscriber);
+                }
+            }
+        }
+    }
+
+    public int subscriberCount(Long shopId) {
+        ShopChannel channel = channels.get(shopId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    // ============================================================
+    // 🧰 Internals
+    // ============================================================
+    private void send(ShopChannel channel, Subscriber subscriber, String name, List<StockDelta> deltas) {
+        long sequence = name.equals(EVENT_STOCK) ? subscriber.lastSent : channel.sequence;
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(epoch + ":" + sequence)
+                    .name(name)
+                    .data(deltas, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            drop(channel, subscriber);
+        }
+    }
+
+    private void drop(ShopChannel channel, Subscriber subscriber) {
+        channel.subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(new IOException("Stock stream client went away"));
+        log.debug("Dropped stock stream subscriber");
+    }
+
+    private ShopChannel channel(Long shopId) {
+        return channels.computeIfAbsent(shopId, id -> new ShopChannel());
+    }
+
+    private Long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + ":")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Sequenced(long sequence, StockDelta delta) { }
+
+    private record Batch(boolean reset, List<StockDelta> deltas, long lastSequence) { }
+
+    private static final class ShopChannel {
+        private volatile long sequence;
+        private final Deque<Sequenced> recent = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        boolean canReplayFrom(long lastSeen) {
+            long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence();
+            return lastSeen <= sequence && lastSeen >= oldest - 1;
+        }
+
+        List<Sequenced> replayed(long lastSeen) {
+            return recent.stream().filter(s -> s.sequence() > lastSeen).toList();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        // productId -> latest change, insertion-ordered; bounded by maxPending
+        private final LinkedHashMap<Long, StockDelta> pending = new LinkedHashMap<>();
+        private long pendingSequence;
+        private boolean overflowed;
+        private volatile long lastSent;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(Sequenced change) {
+            if (overflowed) return;
+            pending.remove(change.delta().getProductId());
+            pending.put(change.delta().getProductId(), change.delta());
+            pendingSequence = change.sequence();
+            if (pending.size() > maxPending) {
+                pending.clear();
+                overflowed = true;
+            }
+        }
+
+        synchronized Batch drain() {
+            if (overflowed) {
+                overflowed = false;
+                return new Batch(true, List.of(), pendingSequence);
+            }
+            List<StockDelta> deltas = new ArrayList<>(pending.values());
+            pending.clear();
+            return new Batch(false, deltas, pendingSequence);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.retail.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ Threads for long-running background jobs (purchase order receiving, nightly markdowns).
+ *
+ * @Scheduled methods share a small pool with the stock stream flush, replica lag checks
+ * and cache refreshes; the long jobs' triggers only hand their work over here, so a big
+ * receipt or markdown run never holds a scheduler thread. A job still running (or
+ * waiting) under the same name is not submitted again.
+ */
+@Slf4j
+@Component
+public class BackgroundJobs implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+
+    public BackgroundJobs(@Value("${app.background-jobs.threads:2}") int threads) {
+        executor.setThreadNamePrefix("background-job-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.initialize();
+    }
+
+    // ✅ false when a job with this name is already running or waiting
+    public boolean submit(String name, Runnable job) {
+        if (!active.add(name)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    job.run();
+                } catch (RuntimeException e) {
+                    log.error("Background job {} failed: {}", name, e.getMessage(), e);
+                } finally {
+                    active.remove(name);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            active.remove(name);
+            log.warn("Background job {} not started: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,39 @@
+package com.company.retail.configs;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ Sequence SQL that works on both PostgreSQL (prod) and H2 (tests), for code that
+ * inserts rows with plain JDBC instead of through Hibernate.
+ *
+ * Mixing is safe with the pooled generators: every nextval taken here is a single id,
+ * while Hibernate's block for a value v is (v - 50, v], and no two values overlap.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseSequences {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    // ✅ Expression to use inside INSERT ... SELECT (evaluated once per row)
+    public String nextValue(String sequence) {
+        return isPostgres() ? "nextval('" + sequence + "')" : "NEXT VALUE FOR " + sequence;
+    }
+
+    public long next(String sequence) {
+        Long value = jdbcTemplate.queryForObject("SELECT " + nextValue(sequence), Long.class);
+        return value == null ? 0 : value;
+    }
+
+    public boolean isPostgres() {
+        if (postgres == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(database);
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,60 @@
+package com.company.retail.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * ✅ Periodically measures replica lag (seconds) and decides whether read-only
+ * traffic may use the replica. Starts "unusable" so nothing is routed to the
+ * replica before the first successful check.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replicaJdbc;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile boolean replicaUsable = false;
+    private volatile double lastLagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, double maxLagSeconds) {
+        this.replicaJdbc = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbc.setQueryTimeout(2);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        boolean usable;
+        try {
+            Double lag = replicaJdbc.queryForObject(lagQuery, Double.class);
+            lastLagSeconds = (lag == null) ? 0 : lag;
+            usable = lastLagSeconds <= maxLagSeconds;
+            if (!usable && replicaUsable) {
+                log.warn("⚠️ Replica lag {}s exceeds {}s, routing reads to primary", lastLagSeconds, maxLagSeconds);
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            if (replicaUsable) {
+                log.warn("⚠️ Replica unreachable, routing reads to primary: {}", e.getMessage());
+            }
+        }
+        if (usable && !replicaUsable) {
+            log.info("✅ Replica available (lag {}s), routing read-only transactions to replica", lastLagSeconds);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public double getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+}
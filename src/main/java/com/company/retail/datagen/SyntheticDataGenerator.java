@@ -0,0 +1,382 @@
+package com.company.retail.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ✅ Fills the database with a synthetic retail history for load testing.
+ * Runs only under the "datagen" profile (see application-datagen.properties).
+ *
+ * Rows are written with plain JDBC batches (no entities), ids are taken above the
+ * current maximum and the pooled sequences are moved past them afterwards, so the
+ * application keeps working normally on top of the generated data.
+ *
+ * Distributions:
+ *  - shop traffic and product popularity are Zipf-like (a few busy shops, a long product tail)
+ *  - basket size is geometric (mean ≈ 3 lines), quantities mostly 1
+ *  - sale times follow opening hours with lunch and after-work peaks, weekends busier
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    static final String SHOP_PREFIX = "LT Shop ";
+    static final String CASHIER_PREFIX = "lt-cashier-";
+    static final String ADMIN_USERNAME = "lt-admin";
+
+    private static final double ZWL_RATE = 26.5;
+    private static final int SEQUENCE_INCREMENT = 50;
+    private static final String[] CATEGORIES = {"Groceries", "Beverages", "Dairy", "Bakery", "Household", "Personal Care", "Snacks", "Frozen"};
+    private static final String[] EXPENSE_CATEGORIES = {"Rent", "Utilities", "Transport", "Salaries", "Security"};
+    private static final String[] PAYMENT_METHODS = {"CASH", "ECOCASH", "CARD", "SWIPE"};
+    private static final double[] PAYMENT_WEIGHTS = {45, 30, 15, 10};
+    // 08:00 .. 19:00, peaks over lunch and after work
+    private static final double[] HOUR_WEIGHTS = {3, 5, 6, 7, 10, 9, 6, 6, 8, 10, 9, 5};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationContext applicationContext;
+
+    @Value("${app.datagen.shops:20}")
+    private int shops;
+    @Value("${app.datagen.products:5000}")
+    private int products;
+    @Value("${app.datagen.cashiers-per-shop:4}")
+    private int cashiersPerShop;
+    @Value("${app.datagen.sales:1000000}")
+    private int sales;
+    @Value("${app.datagen.days:180}")
+    private int days;
+    @Value("${app.datagen.expenses-per-shop-per-day:2}")
+    private int expensesPerShopPerDay;
+    @Value("${app.datagen.stock-per-product:100000}")
+    private int stockPerProduct;
+    @Value("${app.datagen.batch-size:5000}")
+    private int batchSize;
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+    @Value("${app.datagen.password:loadtest}")
+    private String password;
+    @Value("${app.datagen.exit-when-done:false}")
+    private boolean exitWhenDone;
+
+    private Random random;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM shops WHERE shop_name = ?", Integer.class, SHOP_PREFIX + 1);
+        if (existing != null && existing > 0) {
+            log.info("ℹ️ Synthetic data already present, skipping generation.");
+        } else {
+            generate();
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void generate() {
+        long started = System.currentTimeMillis();
+        random = new Random(seed);
+        log.info("⏳ Generating {} shops, {} products, {} sales over {} days", shops, products, sales, days);
+
+        long[] shopIds = insertShops();
+        long adminId = insertUsers(shopIds);
+        long[][] cashierIds = cashiersByShop(shopIds);
+        double[] prices = new double[products];
+        double[] costs = new double[products];
+        long[] productIds = insertProducts(prices, costs);
+        insertShopStock(shopIds, productIds, costs);
+        insertExpenses(shopIds, adminId);
+        insertSales(shopIds, cashierIds, productIds, prices, costs);
+
+        restartSequence("shops_seq", "shops", "id");
+        restartSequence("users_seq", "users", "user_id");
+        restartSequence("products_seq", "products", "product_id");
+        restartSequence("shop_stock_seq", "shop_stock", "shop_stock_id");
+        restartSequence("expense_categories_seq", "expense_categories", "id");
+        restartSequence("expenses_seq", "expenses", "expense_id");
+        restartSequence("sales_seq", "sales", "sale_id");
+        restartSequence("sale_items_seq", "sale_items", "sale_item_id");
+        restartSequence("stock_logs_seq", "stock_logs", "stock_log_id");
+
+        log.info("✅ Synthetic data generated in {}s (login: {}<shop>-<n> / {})",
+                (System.currentTimeMillis() - started) / 1000, CASHIER_PREFIX, password);
+    }
+
+    // ============================================================
+    // 🏪 SHOPS, USERS, PRODUCTS, STOCK
+    // ============================================================
+    private long[] insertShops() {
+        long next = nextId("shops", "id");
+        long[] ids = new long[shops];
+        List<Object[]> rows = new ArrayList<>();
+        for (int s = 0; s < shops; s++) {
+            ids[s] = next++;
+            rows.add(new Object[]{ids[s], SHOP_PREFIX + (s + 1), "Location " + (s + 1), "+2637" + (10000000 + s),
+                    "Manager " + (s + 1), Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO shops (id, shop_name, location, contact_number, manager_name, date_created) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    private long insertUsers(long[] shopIds) {
+        String hash = passwordEncoder.encode(password);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long next = nextId("users", "user_id");
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> roles = new ArrayList<>();
+
+        long adminId = next++;
+        users.add(new Object[]{adminId, ADMIN_USERNAME, hash, "Load Test Admin", "Active", null, now});
+        roles.add(new Object[]{adminId, "ROLE_ADMIN"});
+        for (int s = 0; s < shopIds.length; s++) {
+            for (int c = 1; c <= cashiersPerShop; c++) {
+                long id = next++;
+                users.add(new Object[]{id, CASHIER_PREFIX + (s + 1) + "-" + c, hash, "Cashier " + (s + 1) + "-" + c,
+                        "Active", shopIds[s], now});
+                roles.add(new Object[]{id, "ROLE_CASHIER"});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_id, username, password, full_name, status, id, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role) VALUES (?, ?)", roles);
+        return adminId;
+    }
+
+    private long[][] cashiersByShop(long[] shopIds) {
+        long[][] ids = new long[shopIds.length][];
+        for (int s = 0; s < shopIds.length; s++) {
+            ids[s] = jdbcTemplate.queryForList("SELECT user_id FROM users WHERE id = ? AND username LIKE ? ORDER BY user_id",
+                    Long.class, shopIds[s], CASHIER_PREFIX + "%").stream().mapToLong(Long::longValue).toArray();
+        }
+        return ids;
+    }
+
+    private long[] insertProducts(double[] prices, double[] costs) {
+        long next = nextId("products", "product_id");
+        long[] ids = new long[products];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int p = 0; p < products; p++) {
+            ids[p] = next++;
+            // Log-normal prices: most items a few dollars, a tail of expensive ones
+            prices[p] = round(Math.exp(1.0 + 0.8 * random.nextGaussian()));
+            costs[p] = round(prices[p] * (0.55 + 0.25 * random.nextDouble()));
+            rows.add(new Object[]{ids[p], "LT Product " + (p + 1), CATEGORIES[p % CATEGORIES.length], "each",
+                    10 + random.nextInt(40), prices[p], round(prices[p] * ZWL_RATE), now, now});
+            flushIfFull("INSERT INTO products (product_id, product_name, category, unit, reorder_level, "
+                    + "selling_priceusd, selling_pricezwl, date_created, date_updated) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+        flush("INSERT INTO products (product_id, product_name, category, unit, reorder_level, "
+                + "selling_priceusd, selling_pricezwl, date_created, date_updated) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    private void insertShopStock(long[] shopIds, long[] productIds, double[] costs) {
+        String sql = "INSERT INTO shop_stock (shop_stock_id, shop_id, product_id, quantity_in_stock, "
+                + "avg_landing_costusd, avg_landing_costzwl) VALUES (?, ?, ?, ?, ?, ?)";
+        long next = nextId("shop_stock", "shop_stock_id");
+        List<Object[]> rows = new ArrayList<>();
+        for (long shopId : shopIds) {
+            for (int p = 0; p < productIds.length; p++) {
+                rows.add(new Object[]{next++, shopId, productIds[p], stockPerProduct, costs[p], round(costs[p] * ZWL_RATE)});
+                flushIfFull(sql, rows);
+            }
+        }
+        flush(sql, rows);
+    }
+
+    // ============================================================
+    // 💰 EXPENSES
+    // ============================================================
+    private void insertExpenses(long[] shopIds, long adminId) {
+        long[] categoryIds = new long[EXPENSE_CATEGORIES.length];
+        for (int c = 0; c < EXPENSE_CATEGORIES.length; c++) {
+            List<Long> found = jdbcTemplate.queryForList(
+                    "SELECT id FROM expense_categories WHERE name = ?", Long.class, EXPENSE_CATEGORIES[c]);
+            if (found.isEmpty()) {
+                categoryIds[c] = nextId("expense_categories", "id");
+                jdbcTemplate.update("INSERT INTO expense_categories (id, name) VALUES (?, ?)",
+                        categoryIds[c], EXPENSE_CATEGORIES[c]);
+            } else {
+                categoryIds[c] = found.get(0);
+            }
+        }
+
+        String sql = "INSERT INTO expenses (expense_id, shop_id, expense_type, amountusd, amountzwl, category_id, "
+                + "date, recorded_by, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long next = nextId("expenses", "expense_id");
+        LocalDate firstDay = LocalDate.now().minusDays(days - 1L);
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 0; d < days; d++) {
+            for (long shopId : shopIds) {
+                for (int e = 0; e < expensesPerShopPerDay; e++) {
+                    int category = random.nextInt(EXPENSE_CATEGORIES.length);
+                    double amount = round(20 + Math.abs(random.nextGaussian()) * 150);
+                    rows.add(new Object[]{next++, shopId, "OPERATIONAL", amount, round(amount * ZWL_RATE),
+                            categoryIds[category], Timestamp.valueOf(firstDay.plusDays(d).atTime(9 + random.nextInt(8), 0)),
+                            adminId, EXPENSE_CATEGORIES[category] + " " + firstDay.plusDays(d)});
+                    flushIfFull(sql, rows);
+                }
+            }
+        }
+        flush(sql, rows);
+    }
+
+    // ============================================================
+    // 🧾 SALES, SALE ITEMS, STOCK LOGS
+    // ============================================================
+    private void insertSales(long[] shopIds, long[][] cashierIds, long[] productIds, double[] prices, double[] costs) {
+        String saleSql = "INSERT INTO sales (sale_id, shop_id, cashier_id, sale_date, total_amountusd, total_amountzwl, "
+                + "payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO sale_items (sale_item_id, sale_id, product_id, quantity, selling_priceusd, "
+                + "selling_pricezwl, cost_priceusd, cost_pricezwl, totalusd, totalzwl, profitusd, profitzwl) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String logSql = "INSERT INTO stock_logs (stock_log_id, product_id, shop_id, quantity_changed, transaction_type, "
+                + "reason, reference_id, date, unit_costusd, unit_costzwl, total_costusd, total_costzwl) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        double[] shopWeights = zipf(shopIds.length, 0.8);
+        double[] productWeights = zipf(productIds.length, 1.1);
+        double[] dayWeights = new double[days];
+        LocalDate firstDay = LocalDate.now().minusDays(days - 1L);
+        for (int d = 0; d < days; d++) {
+            int dow = firstDay.plusDays(d).getDayOfWeek().getValue();
+            dayWeights[d] = dow >= 6 ? 1.3 : 1.0;
+        }
+        dayWeights = cumulative(dayWeights);
+        double[] hourWeights = cumulative(HOUR_WEIGHTS);
+        double[] paymentWeights = cumulative(PAYMENT_WEIGHTS);
+
+        long saleId = nextId("sales", "sale_id");
+        long itemId = nextId("sale_items", "sale_item_id");
+        long logId = nextId("stock_logs", "stock_log_id");
+        List<Object[]> saleRows = new ArrayList<>();
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Object[]> logRows = new ArrayList<>();
+
+        for (int n = 0; n < sales; n++, saleId++) {
+            int shop = pick(shopWeights);
+            long shopId = shopIds[shop];
+            long cashierId = cashierIds[shop][random.nextInt(cashierIds[shop].length)];
+            LocalDateTime saleDate = firstDay.plusDays(pick(dayWeights))
+                    .atTime(8 + pick(hourWeights), random.nextInt(60), random.nextInt(60));
+            Timestamp at = Timestamp.valueOf(saleDate);
+
+            int lines = Math.min(30, 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(0.65)));
+            double total = 0;
+            for (int l = 0; l < lines; l++) {
+                int p = pick(productWeights);
+                double r = random.nextDouble();
+                int qty = r < 0.7 ? 1 : r < 0.9 ? 2 : 3 + random.nextInt(4);
+                double lineTotal = prices[p] * qty;
+                double lineProfit = (prices[p] - costs[p]) * qty;
+                total += lineTotal;
+                itemRows.add(new Object[]{itemId++, saleId, productIds[p], qty, prices[p], round(prices[p] * ZWL_RATE),
+                        costs[p], round(costs[p] * ZWL_RATE), round(lineTotal), round(lineTotal * ZWL_RATE),
+                        round(lineProfit), round(lineProfit * ZWL_RATE)});
+                logRows.add(new Object[]{logId++, productIds[p], shopId, -qty, "OUT", "Sale #" + saleId, "SALE-" + saleId,
+                        at, costs[p], round(costs[p] * ZWL_RATE), round(costs[p] * qty), round(costs[p] * qty * ZWL_RATE)});
+            }
+            saleRows.add(new Object[]{saleId, shopId, cashierId, at, round(total), round(total * ZWL_RATE),
+                    PAYMENT_METHODS[pick(paymentWeights)]});
+
+            if (saleRows.size() >= batchSize) {
+                // Parents first so the FK checks pass
+                flush(saleSql, saleRows);
+                flush(itemSql, itemRows);
+                flush(logSql, logRows);
+            }
+            if ((n + 1) % 100_000 == 0) {
+                log.info("⏳ {} / {} sales", n + 1, sales);
+            }
+        }
+        flush(saleSql, saleRows);
+        flush(itemSql, itemRows);
+        flush(logSql, logRows);
+    }
+
+    // ============================================================
+    // 🧰 Utilities
+    // ============================================================
+    private long nextId(String table, String idColumn) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        return (max == null ? 0 : max) + 1;
+    }
+
+    // ✅ Move the pooled sequence past the generated ids so Hibernate never hands out a used one
+    private void restartSequence(String sequence, String table, String idColumn) {
+        long restartWith = nextId(table, idColumn) + SEQUENCE_INCREMENT;
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartWith);
+    }
+
+    private void flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() >= batchSize) {
+            flush(sql, rows);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    // Cumulative Zipf weights: rank k gets 1 / k^s
+    private static double[] zipf(int n, double s) {
+        double[] weights = new double[n];
+        for (int k = 0; k < n; k++) {
+            weights[k] = 1.0 / Math.pow(k + 1, s);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    // Index drawn from cumulative weights (binary search)
+    private int pick(double[] cumulative) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < target) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
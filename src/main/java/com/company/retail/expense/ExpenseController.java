@@ -20,8 +20,12 @@ public class ExpenseController {
      */
     @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
     @PostMapping
-    public ResponseEntity<ExpenseModel> addExpense(@RequestBody ExpenseModel expense) {
-        return ResponseEntity.ok(expenseService.addExpense(expense));
+    public ResponseEntity<?> addExpense(@RequestBody ExpenseModel expense) {
+        try {
+            return ResponseEntity.ok(expenseService.addExpense(expense));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
     }
 
     /**
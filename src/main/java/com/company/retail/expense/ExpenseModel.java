@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Builder
 public class ExpenseModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+    @SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = 50)
     private Long expenseId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,11 +1,12 @@
 package com.company.retail.expense;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ExpenseRepository extends JpaRepository<ExpenseModel, Long> {
     List<ExpenseModel> findByPurchaseOrder_PurchaseOrderId(Long purchaseOrderId);
     List<ExpenseModel> findByShop_Id(Long shopId);
-
-
+    List<ExpenseModel> findByDateBetween(LocalDateTime start, LocalDateTime end);
+    List<ExpenseModel> findByShop_IdAndDateBetween(Long shopId, LocalDateTime start, LocalDateTime end);
 }
@@ -1,8 +1,10 @@
 package com.company.retail.expense;
 
+import com.company.retail.purchaseorder.PurchaseOrderModel;
 import com.company.retail.purchaseorder.PurchaseOrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -14,17 +16,28 @@ public class ExpenseService {
     private final ExpenseRepository expenseRepository;
     private final PurchaseOrderRepository purchaseOrderRepository;
 
-    // ✅ Record expense
+    // ✅ Record expense; one on a purchase order only while the order is pending (it is part of its landing cost)
+    @Transactional
     public ExpenseModel addExpense(ExpenseModel expense) {
+        if (expense.getPurchaseOrder() != null && expense.getPurchaseOrder().getPurchaseOrderId() != null) {
+            PurchaseOrderModel order = purchaseOrderRepository.lockById(expense.getPurchaseOrder().getPurchaseOrderId())
+                    .orElseThrow(() -> new RuntimeException("Purchase order not found"));
+            if (order.getStatus() != PurchaseOrderModel.Status.PENDING) {
+                throw new RuntimeException("Expenses can only be added to a pending order (this one is "
+                        + order.getStatus() + ")");
+            }
+        }
         return expenseRepository.save(expense);
     }
 
     // ✅ Get all expenses for a given purchase order
+    @Transactional(readOnly = true)
     public List<ExpenseModel> getExpensesByPurchaseOrder(Long purchaseOrderId) {
         return expenseRepository.findByPurchaseOrder_PurchaseOrderId(purchaseOrderId);
     }
 
     // ✅ Calculate landing cost (total of all expenses in a purchase order)
+    @Transactional(readOnly = true)
     public BigDecimal calculateLandingCost(Long purchaseOrderId) {
         List<ExpenseModel> expenses = expenseRepository.findByPurchaseOrder_PurchaseOrderId(purchaseOrderId);
         return expenses.stream()
@@ -33,6 +46,7 @@ public class ExpenseService {
     }
 
     // ✅ Get all operational expenses for a shop
+    @Transactional(readOnly = true)
     public List<ExpenseModel> getShopOperationalExpenses(Long shopId) {
         return expenseRepository.findByShop_Id(shopId)
                 .stream()
@@ -2,9 +2,13 @@ package com.company.retail.expensecategory;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "expense_categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "retail.expenseCategories")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,7 +16,8 @@ import lombok.*;
 @Builder
 public class ExpenseCategoryModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_categories_seq")
+    @SequenceGenerator(name = "expense_categories_seq", sequenceName = "expense_categories_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -3,6 +3,7 @@ package com.company.retail.expensecategory;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -12,6 +13,7 @@ public class ExpenseCategoryService {
 
     private final ExpenseCategoryRepository categoryRepository;
 
+    @Transactional
     public ExpenseCategoryModel createCategory(ExpenseCategoryModel category) {
         if (categoryRepository.existsByName(category.getName())) {
             throw new RuntimeException("Category already exists");
@@ -19,10 +21,12 @@ public class ExpenseCategoryService {
         return categoryRepository.save(category);
     }
 
+    @Transactional(readOnly = true)
     public List<ExpenseCategoryModel> getAllCategories() {
         return categoryRepository.findAll();
     }
 
+    @Transactional
     public ExpenseCategoryModel updateCategory(Long id, ExpenseCategoryModel updated) {
         ExpenseCategoryModel existing = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
@@ -31,6 +35,7 @@ public class ExpenseCategoryService {
         return categoryRepository.save(existing);
     }
 
+    @Transactional
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
     }
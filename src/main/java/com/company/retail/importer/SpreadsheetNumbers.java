@@ -0,0 +1,89 @@
+package com.company.retail.importer;
+
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+/**
+ * ✅ Strict number cells for the spreadsheet imports.
+ *
+ * Spaces and a currency symbol or code ("$", "US$", "USD", "ZWL", "ZiG") before or after
+ * the number are dropped. What is left must be a plain number: digits, thousands groups of
+ * exactly three digits, one decimal separator. Anything else ("12abc", "1.2.3", "1,50"
+ * where ',' groups thousands) is rejected, never guessed at.
+ */
+public final class SpreadsheetNumbers {
+
+    /** Which decimal separator a file uses. */
+    public enum Decimals {
+        /** "1,234.50": XLSX (formatted in Locale.ROOT) and ','-separated CSV */
+        POINT,
+        /**
+         * ';'-separated CSV: "1.234,50" or "1,234.50", decided per cell. A single separator
+         * followed by exactly three digits ("1.500") could be either and is rejected.
+         */
+        EITHER
+    }
+
+    private static final Pattern SPACES = Pattern.compile("[\\s\\u00A0\\u2007\\u202F]+");
+    private static final Pattern CURRENCY = Pattern.compile(
+            "^(?:US\\$|USD|ZWL|ZWG|ZIG|\\p{Sc})|(?:US\\$|USD|ZWL|ZWG|ZIG|\\p{Sc})$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern POINT_NUMBER = Pattern.compile("(?:\\d{1,3}(?:,\\d{3})+|\\d+)(?:\\.\\d+)?");
+    private static final Pattern COMMA_NUMBER = Pattern.compile("(?:\\d{1,3}(?:\\.\\d{3})+|\\d+)(?:,\\d+)?");
+
+    private SpreadsheetNumbers() {
+    }
+
+    public static BigDecimal decimal(String value, Decimals decimals) {
+        String number = SPACES.matcher(value).replaceAll("");
+        boolean negative = number.startsWith("-");
+        if (negative) {
+            number = number.substring(1);
+        }
+        number = CURRENCY.matcher(number).replaceAll("");
+        if (!negative && number.startsWith("-")) { // "$-5"
+            negative = true;
+            number = number.substring(1);
+        }
+
+        char point = decimals == Decimals.POINT ? '.' : pointOf(number);
+        if (!(point == '.' ? POINT_NUMBER : COMMA_NUMBER).matcher(number).matches()) {
+            throw new NumberFormatException("Not a number: " + value);
+        }
+        String plain = point == '.'
+                ? number.replace(",", "")
+                : number.replace(".", "").replace(',', '.');
+        BigDecimal result = new BigDecimal(plain);
+        return negative ? result.negate() : result;
+    }
+
+    // ✅ Whole numbers only: "5" and "5.0" pass, "5.7" does not
+    public static int integer(String value, Decimals decimals) {
+        BigDecimal number = decimal(value, decimals);
+        try {
+            return number.stripTrailingZeros().intValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Not a whole number: " + value);
+        }
+    }
+
+    // Decimal separator of one cell in an EITHER file
+    private static char pointOf(String number) {
+        int dot = number.lastIndexOf('.');
+        int comma = number.lastIndexOf(',');
+        if (dot < 0 && comma < 0) {
+            return '.';
+        }
+        if (dot >= 0 && comma >= 0) {
+            return dot > comma ? '.' : ','; // the last one is the decimal separator
+        }
+        char only = dot >= 0 ? '.' : ',';
+        int at = Math.max(dot, comma);
+        if (number.indexOf(only) != at) {
+            return only == '.' ? ',' : '.'; // repeated: it groups thousands ("1.234.567")
+        }
+        if (number.length() - at - 1 == 3 && !number.substring(0, at).equals("0")) {
+            throw new NumberFormatException("Ambiguous number (thousands or decimals?): " + number);
+        }
+        return only;
+    }
+}
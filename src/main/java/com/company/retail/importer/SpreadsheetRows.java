@@ -0,0 +1,203 @@
+package com.company.retail.importer;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ✅ Streams the rows of an uploaded CSV or XLSX file to a handler, one row at a time,
+ * without building the whole sheet in memory (XLSX goes through POI's SAX event model,
+ * not XSSFWorkbook). Only the first sheet of a workbook is read; its date cells come
+ * out as yyyy-MM-dd.
+ *
+ * Row numbers are 1-based as shown in Excel, so error reports match what users see.
+ * Number cells are left as text; SpreadsheetNumbers parses them with the file's separator.
+ */
+public final class SpreadsheetRows {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(int rowNumber, List<String> cells);
+
+        // Called once, before the first row: how number cells of this file are written
+        default void decimals(SpreadsheetNumbers.Decimals decimals) {
+        }
+    }
+
+    private SpreadsheetRows() {
+    }
+
+    public static void read(InputStream in, String filename, RowHandler handler) throws IOException {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".xlsx")) {
+            readXlsx(in, handler);
+        } else if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            readCsv(in, handler);
+        } else {
+            throw new RuntimeException("Unsupported file type (use .csv or .xlsx): " + filename);
+        }
+    }
+
+    // ============================================================
+    // 📄 CSV (RFC 4180 quoting; ',' or ';' picked from the header line)
+    // ============================================================
+    public static void readCsv(InputStream in, RowHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') { // skip a UTF-8 BOM (Excel "CSV UTF-8")
+            reader.reset();
+        }
+
+        char delimiter = 0;
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        int rowNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (delimiter == 0) {
+                delimiter = count(line, ';') > count(line, ',') ? ';' : ',';
+                // ',' files cannot hold an unquoted decimal comma; ';' files come from locales that write 1,5
+                handler.decimals(delimiter == ';' ? SpreadsheetNumbers.Decimals.EITHER : SpreadsheetNumbers.Decimals.POINT);
+            }
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cell.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        cell.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == delimiter) {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else {
+                    cell.append(c);
+                }
+            }
+            if (quoted) {
+                cell.append('\n'); // line break inside a quoted cell
+                continue;
+            }
+            cells.add(cell.toString());
+            cell.setLength(0);
+            if (!isBlank(cells)) {
+                handler.row(rowNumber, cells);
+            }
+            cells = new ArrayList<>(cells.size());
+            rowNumber++;
+        }
+    }
+
+    // ============================================================
+    // 📗 XLSX (first sheet, SAX)
+    // ============================================================
+    public static void readXlsx(InputStream in, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(in)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            handler.decimals(SpreadsheetNumbers.Decimals.POINT); // cells are formatted in Locale.ROOT
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                        new SheetRows(handler), new IsoDates(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new RuntimeException("Could not read XLSX file: " + e.getMessage(), e);
+        }
+    }
+
+    // Date cells as yyyy-MM-dd whatever their display format: "3/4/26" could be either day
+    private static final class IsoDates extends DataFormatter {
+        IsoDates() {
+            super(Locale.ROOT);
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                LocalDateTime at = DateUtil.getLocalDateTime(value, use1904Windowing);
+                return at.toLocalTime().equals(LocalTime.MIDNIGHT) ? at.toLocalDate().toString() : at.toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
+    }
+
+    // Cells arrive sparse (empty ones are skipped); place them by column letter
+    private static final class SheetRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private List<String> cells = new ArrayList<>();
+        private int rowNumber;
+
+        SheetRows(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            rowNumber = rowNum + 1;
+            cells = new ArrayList<>(cells.size());
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!isBlank(cells)) {
+                handler.row(rowNumber, cells);
+            }
+        }
+
+        @Override
+        public void cell(String reference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(reference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue == null ? "" : formattedValue);
+        }
+    }
+
+    private static boolean isBlank(List<String> cells) {
+        return cells.stream().allMatch(c -> c == null || c.isBlank());
+    }
+
+    private static int count(String line, char c) {
+        int n = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == c) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.retail.importer.dto;
+
+import lombok.*;
+
+/**
+ * ✅ One rejected row of an uploaded file (row number as shown in Excel).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowErrorDTO {
+    private int row;
+    private String message;
+}
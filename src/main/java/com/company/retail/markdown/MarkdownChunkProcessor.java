@@ -0,0 +1,283 @@
+package com.company.retail.markdown;
+
+import com.company.retail.configs.DatabaseSequences;
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import com.company.retail.pricing.ShopPriceChangedEvent;
+import com.company.retail.sync.CatalogVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * ✅ One chunk of the markdown run, in its own transaction: the next shop_stock rows (by id)
+ * that have a batch expiring within the horizon or an active markdown.
+ *
+ * Which units are still on hand is worked out first-in-first-out: a batch has units left
+ * while the shop holds more than the batches received after it. Stock received without
+ * a batch is not counted, so it errs towards marking down.
+ *
+ * All writes of the chunk are JDBC batches under one catalog version: shop prices,
+ * markdown rows and EXPIRY pricing_adjustments audit rows. The rows are read without
+ * locks, so each price write only lands if the price is still the one that was read; a
+ * manual reprice that commits in between wins (its markdown, if any, is ended).
+ */
+@Component
+@RequiredArgsConstructor
+public class MarkdownChunkProcessor {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSequences sequences;
+    private final CatalogVersions catalogVersions;
+    private final MarkdownRules rules;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public record ChunkResult(int pairs, long lastShopStockId, int started, int repriced, int ended, int unchanged) {
+    }
+
+    @Transactional
+    public ChunkResult process(long afterShopStockId, int chunkSize, LocalDate today) {
+        LocalDate horizon = today.plusDays(rules.horizonDays());
+
+        List<Pair> pairs = jdbcTemplate.query("""
+                SELECT ss.shop_stock_id, ss.shop_id, ss.product_id, ss.quantity_in_stock,
+                       ss.selling_priceusd, ss.selling_pricezwl, p.selling_priceusd, p.selling_pricezwl
+                FROM shop_stock ss JOIN products p ON p.product_id = ss.product_id
+                WHERE ss.shop_stock_id > ?
+                  AND (EXISTS (SELECT 1 FROM stock_batches b WHERE b.shop_id = ss.shop_id AND b.product_id = ss.product_id
+                                 AND b.expiry_date >= ? AND b.expiry_date <= ?)
+                    OR EXISTS (SELECT 1 FROM price_markdowns m WHERE m.shop_id = ss.shop_id AND m.product_id = ss.product_id
+                                 AND m.ended_at IS NULL))
+                ORDER BY ss.shop_stock_id
+                LIMIT ?
+                """, (rs, i) -> new Pair(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getInt(4),
+                number(rs, 5), number(rs, 6), number(rs, 7), number(rs, 8)),
+                afterShopStockId, Date.valueOf(today), Date.valueOf(horizon), chunkSize);
+        if (pairs.isEmpty()) {
+            return new ChunkResult(0, afterShopStockId, 0, 0, 0, 0);
+        }
+        long first = afterShopStockId;
+        long last = pairs.get(pairs.size() - 1).shopStockId;
+        Map<Long, Pair> byStockId = new HashMap<>(pairs.size() * 2);
+        pairs.forEach(p -> byStockId.put(p.shopStockId, p));
+
+        // Unexpired batches within the horizon, with the quantity received after each one
+        jdbcTemplate.query("""
+                SELECT ss.shop_stock_id, b.batch_id, b.quantity, b.expiry_date,
+                       (SELECT COALESCE(SUM(n.quantity), 0) FROM stock_batches n
+                        WHERE n.shop_id = b.shop_id AND n.product_id = b.product_id
+                          AND (n.received_at > b.received_at OR (n.received_at = b.received_at AND n.batch_id > b.batch_id)))
+                FROM stock_batches b JOIN shop_stock ss ON ss.shop_id = b.shop_id AND ss.product_id = b.product_id
+                WHERE ss.shop_stock_id > ? AND ss.shop_stock_id <= ? AND b.expiry_date >= ? AND b.expiry_date <= ?
+                """, rs -> {
+            Pair pair = byStockId.get(rs.getLong(1));
+            if (pair == null) {
+                return;
+            }
+            int onHandFromBatch = Math.min(rs.getInt(3), pair.quantity - rs.getInt(5));
+            LocalDate expiry = rs.getDate(4).toLocalDate();
+            if (onHandFromBatch > 0 && (pair.expiry == null || expiry.isBefore(pair.expiry))) {
+                pair.expiry = expiry;
+                pair.batchId = rs.getLong(2);
+            }
+        }, first, last, Date.valueOf(today), Date.valueOf(horizon));
+
+        jdbcTemplate.query("""
+                SELECT ss.shop_stock_id, m.markdown_id, m.markdown_percent, m.base_priceusd, m.base_pricezwl,
+                       m.markdown_priceusd, m.markdown_pricezwl, m.original_priceusd, m.original_pricezwl
+                FROM price_markdowns m JOIN shop_stock ss ON ss.shop_id = m.shop_id AND ss.product_id = m.product_id
+                WHERE ss.shop_stock_id > ? AND ss.shop_stock_id <= ? AND m.ended_at IS NULL
+                """, rs -> {
+            Pair pair = byStockId.get(rs.getLong(1));
+            if (pair != null) {
+                pair.active = new Active(rs.getLong(2), rs.getInt(3), number(rs, 4), number(rs, 5),
+                        number(rs, 6), number(rs, 7), number(rs, 8), number(rs, 9));
+            }
+        }, first, last);
+
+        return apply(pairs, today, last);
+    }
+
+    // ============================================================
+    // 🏷️ Decide per pair, then write the chunk in batches
+    // ============================================================
+
+    private ChunkResult apply(List<Pair> pairs, LocalDate today, long last) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Change> changes = new ArrayList<>();
+        List<Object[]> ends = new ArrayList<>();
+        int unchanged = 0;
+        int ended = 0;
+
+        for (Pair pair : pairs) {
+            Integer percent = pair.expiry == null ? null : rules.percentFor(ChronoUnit.DAYS.between(today, pair.expiry));
+            Active active = pair.active;
+
+            if (active != null && !active.isCurrentPrice(pair)) {
+                ends.add(new Object[]{now, active.markdownId}); // price changed by hand since: leave it alone
+                ended++;
+            } else if (active == null && percent == null) {
+                unchanged++;
+            } else if (active == null) {
+                Double baseUSD = effective(pair.shopUSD, pair.globalUSD);
+                Double baseZWL = effective(pair.shopZWL, pair.globalZWL);
+                if (baseUSD == null || baseUSD <= 0) {
+                    unchanged++; // nothing to mark down from
+                    continue;
+                }
+                changes.add(new Change(Kind.START, pair, percent, baseUSD, baseZWL,
+                        markdown(baseUSD, percent), markdown(baseZWL, percent)));
+            } else if (percent == null) {
+                changes.add(new Change(Kind.END, pair, null, null, null, active.originalUSD, active.originalZWL));
+            } else if (percent == active.percent) {
+                unchanged++;
+            } else {
+                changes.add(new Change(Kind.REPRICE, pair, percent, null, null,
+                        markdown(active.baseUSD, percent), markdown(active.baseZWL, percent)));
+            }
+        }
+
+        // ✅ Prices first, each guarded on the price read above: a manual change committed since wins
+        int[] written = new int[0];
+        long version = 0;
+        if (!changes.isEmpty()) {
+            version = catalogVersions.next();
+            List<Object[]> priceUpdates = new ArrayList<>(changes.size());
+            for (Change change : changes) {
+                priceUpdates.add(new Object[]{change.newUSD, change.newZWL, version, change.pair.shopStockId,
+                        change.pair.shopUSD, change.pair.shopZWL});
+            }
+            written = jdbcTemplate.batchUpdate("UPDATE shop_stock SET selling_priceusd = ?, selling_pricezwl = ?, "
+                    + "price_version = ? WHERE shop_stock_id = ? "
+                    + "AND selling_priceusd IS NOT DISTINCT FROM ? AND selling_pricezwl IS NOT DISTINCT FROM ?", priceUpdates);
+        }
+
+        List<Object[]> audits = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<ShopPriceChangedEvent> events = new ArrayList<>();
+        int started = 0;
+        int repriced = 0;
+        for (int i = 0; i < changes.size(); i++) {
+            Change change = changes.get(i);
+            Pair pair = change.pair;
+            boolean applied = written[i] != 0; // SUCCESS_NO_INFO counts as written
+            if (change.kind == Kind.END) {
+                ends.add(new Object[]{now, pair.active.markdownId});
+                ended++;
+            } else if (!applied && change.kind == Kind.REPRICE) {
+                ends.add(new Object[]{now, pair.active.markdownId}); // repriced by hand meanwhile
+                ended++;
+            } else if (!applied) {
+                unchanged++; // not started: next run starts from the new price
+            } else if (change.kind == Kind.START) {
+                inserts.add(new Object[]{pair.shopId, pair.productId, pair.batchId, change.percent, change.baseUSD,
+                        change.baseZWL, change.newUSD, change.newZWL, pair.shopUSD, pair.shopZWL, now, now});
+                started++;
+            } else {
+                updates.add(new Object[]{change.percent, change.newUSD, change.newZWL, pair.batchId, now,
+                        pair.active.markdownId});
+                repriced++;
+            }
+            if (applied) {
+                audits.add(new Object[]{pair.productId, pair.shopId, pair.shopUSD, change.newUSD, pair.shopZWL,
+                        change.newZWL, PricingAdjustmentModel.AdjustmentType.EXPIRY.name(), now, version});
+                events.add(new ShopPriceChangedEvent(pair.shopId, pair.productId, change.newUSD, change.newZWL));
+            }
+        }
+
+        if (!audits.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO pricing_adjustments (adjustment_id, product_id, shop_id, adjusted_by, "
+                    + "old_priceusd, new_priceusd, old_pricezwl, new_pricezwl, reason, adjustment_date, change_version) "
+                    + "VALUES (" + sequences.nextValue("pricing_adjustments_seq") + ", ?, ?, NULL, ?, ?, ?, ?, ?, ?, ?)", audits);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO price_markdowns (markdown_id, shop_id, product_id, batch_id, markdown_percent, "
+                    + "base_priceusd, base_pricezwl, markdown_priceusd, markdown_pricezwl, original_priceusd, original_pricezwl, "
+                    + "started_at, updated_at) VALUES (" + sequences.nextValue("price_markdowns_seq")
+                    + ", ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE price_markdowns SET markdown_percent = ?, markdown_priceusd = ?, "
+                    + "markdown_pricezwl = ?, batch_id = ?, updated_at = ? WHERE markdown_id = ?", updates);
+        }
+        if (!ends.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE price_markdowns SET ended_at = ? WHERE markdown_id = ?", ends);
+        }
+        events.forEach(eventPublisher::publishEvent);
+
+        return new ChunkResult(pairs.size(), last, started, repriced, ended, unchanged);
+    }
+
+    private static Double effective(Double shopPrice, Double globalPrice) {
+        return shopPrice != null && shopPrice > 0 ? shopPrice : globalPrice;
+    }
+
+    static Double markdown(Double base, int percent) {
+        if (base == null || base <= 0) {
+            return base;
+        }
+        return BigDecimal.valueOf(base)
+                .multiply(BigDecimal.valueOf(100 - percent))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+
+    private static Double number(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static final class Pair {
+        final long shopStockId;
+        final long shopId;
+        final long productId;
+        final int quantity;
+        final Double shopUSD;
+        final Double shopZWL;
+        final Double globalUSD;
+        final Double globalZWL;
+        LocalDate expiry;  // soonest expiry among batches with units on hand
+        Long batchId;
+        Active active;
+
+        Pair(long shopStockId, long shopId, long productId, int quantity,
+             Double shopUSD, Double shopZWL, Double globalUSD, Double globalZWL) {
+            this.shopStockId = shopStockId;
+            this.shopId = shopId;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.shopUSD = shopUSD;
+            this.shopZWL = shopZWL;
+            this.globalUSD = globalUSD;
+            this.globalZWL = globalZWL;
+        }
+    }
+
+    private enum Kind { START, REPRICE, END }
+
+    // A price write the chunk wants to make (END restores the original price)
+    private record Change(Kind kind, Pair pair, Integer percent, Double baseUSD, Double baseZWL,
+                          Double newUSD, Double newZWL) {
+    }
+
+    private record Active(long markdownId, int percent, Double baseUSD, Double baseZWL,
+                          Double markdownUSD, Double markdownZWL, Double originalUSD, Double originalZWL) {
+
+        boolean isCurrentPrice(Pair pair) {
+            return Objects.equals(markdownUSD, pair.shopUSD) && Objects.equals(markdownZWL, pair.shopZWL);
+        }
+    }
+}
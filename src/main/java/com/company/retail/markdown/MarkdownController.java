@@ -0,0 +1,55 @@
+package com.company.retail.markdown;
+
+import com.company.retail.markdown.dto.MarkdownRunResultDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for expiry markdowns
+ */
+@RestController
+@RequestMapping("/api/markdowns")
+@RequiredArgsConstructor
+public class MarkdownController {
+
+    private final MarkdownService markdownService;
+
+    /**
+     * ✅ Run the markdown job now (normally nightly); date defaults to today
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PostMapping("/run")
+    public ResponseEntity<?> run(@RequestParam(required = false)
+                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            MarkdownRunResultDTO result = markdownService.run(date != null ? date : LocalDate.now());
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Markdowns currently in force in a shop
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/active")
+    public ResponseEntity<List<MarkdownModel>> getActive(@RequestParam Long shopId) {
+        return ResponseEntity.ok(markdownService.getActive(shopId));
+    }
+
+    /**
+     * ✅ Markdown history of one product in a shop
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/history")
+    public ResponseEntity<List<MarkdownModel>> getHistory(@RequestParam Long shopId, @RequestParam Long productId) {
+        return ResponseEntity.ok(markdownService.getHistory(shopId, productId));
+    }
+}
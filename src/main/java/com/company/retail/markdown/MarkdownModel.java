@@ -0,0 +1,50 @@
+package com.company.retail.markdown;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ An expiry markdown on a shop's price. Active while endedAt is null.
+ * basePrice* is what the percentage applies to; originalPrice* is the shop's own price
+ * before the markdown (0 = none), restored when the markdown ends.
+ * Written by the markdown job with plain JDBC; mapped here for reading.
+ */
+@Entity
+@Table(name = "price_markdowns")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarkdownModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_markdowns_seq")
+    @SequenceGenerator(name = "price_markdowns_seq", sequenceName = "price_markdowns_seq", allocationSize = 50)
+    private Long markdownId;
+
+    @Column(nullable = false)
+    private Long shopId;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    private Long batchId;
+
+    @Column(nullable = false)
+    private Integer markdownPercent;
+
+    private Double basePriceUSD;
+    private Double basePriceZWL;
+    private Double markdownPriceUSD;
+    private Double markdownPriceZWL;
+    private Double originalPriceUSD;
+    private Double originalPriceZWL;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime endedAt;
+}
@@ -0,0 +1,14 @@
+package com.company.retail.markdown;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MarkdownRepository extends JpaRepository<MarkdownModel, Long> {
+
+    List<MarkdownModel> findByShopIdAndEndedAtIsNullOrderByProductId(Long shopId);
+
+    List<MarkdownModel> findByShopIdAndProductIdOrderByStartedAtDesc(Long shopId, Long productId);
+}
@@ -0,0 +1,61 @@
+package com.company.retail.markdown;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * ✅ Expiry markdown tiers, e.g. app.markdown.tiers=14:20,7:35,2:50
+ * ("14 days or less to expiry: 20% off, 7 or less: 35%, 2 or less: 50%").
+ * Percentages always apply to the price before the markdown, so tiers never compound.
+ */
+@Component
+public class MarkdownRules {
+
+    private record Tier(int days, int percent) {
+    }
+
+    private final Tier[] tiers; // tightest (fewest days) first
+
+    public MarkdownRules(@Value("${app.markdown.tiers:14:20,7:35,2:50}") String spec) {
+        this.tiers = Arrays.stream(spec.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(MarkdownRules::parse)
+                .sorted(Comparator.comparingInt(Tier::days))
+                .toArray(Tier[]::new);
+        if (tiers.length == 0) {
+            throw new IllegalArgumentException("app.markdown.tiers must define at least one days:percent tier");
+        }
+    }
+
+    // ✅ Longest horizon any tier looks at
+    public int horizonDays() {
+        return tiers[tiers.length - 1].days();
+    }
+
+    // ✅ Markdown % for a batch with this many days left, or null when none applies
+    public Integer percentFor(long daysLeft) {
+        for (Tier tier : tiers) {
+            if (daysLeft <= tier.days()) {
+                return tier.percent();
+            }
+        }
+        return null;
+    }
+
+    private static Tier parse(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid markdown tier '" + spec + "', expected days:percent");
+        }
+        int days = Integer.parseInt(parts[0].trim());
+        int percent = Integer.parseInt(parts[1].trim());
+        if (days < 0 || percent <= 0 || percent >= 100) {
+            throw new IllegalArgumentException("Invalid markdown tier '" + spec + "'");
+        }
+        return new Tier(days, percent);
+    }
+}
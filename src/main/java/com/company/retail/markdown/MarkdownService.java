@@ -0,0 +1,92 @@
+package com.company.retail.markdown;
+
+import com.company.retail.configs.BackgroundJobs;
+import com.company.retail.markdown.dto.MarkdownRunResultDTO;
+import com.company.retail.observability.RetailMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ✅ Nightly expiry markdowns (replaces the old "20% off everything updated in the last
+ * 14 days" job).
+ *
+ * Shop stock is walked by id in chunks, each chunk committed on its own, so a long run
+ * holds no locks for long and a failure only loses the chunk it happened in. Every rule
+ * is recomputed from the stored base price, so running twice in a day (or resuming after
+ * a failure) changes nothing the first run already did.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarkdownService {
+
+    private final MarkdownChunkProcessor chunkProcessor;
+    private final MarkdownRepository markdownRepository;
+    private final RetailMetrics metrics;
+    private final BackgroundJobs backgroundJobs;
+
+    @Value("${app.markdown.chunk-size:500}")
+    private int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Triggered on the scheduler, runs on a background job thread
+    @Scheduled(cron = "${app.markdown.cron:0 30 2 * * *}")
+    public void runNightly() {
+        backgroundJobs.submit("markdown", () -> run(LocalDate.now()));
+    }
+
+    public MarkdownRunResultDTO run(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A markdown run is already in progress");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            MarkdownRunResultDTO result = MarkdownRunResultDTO.builder().runDate(today).build();
+            long after = 0;
+            while (true) {
+                MarkdownChunkProcessor.ChunkResult chunk = chunkProcessor.process(after, chunkSize, today);
+                if (chunk.pairs() == 0) {
+                    break;
+                }
+                result.setChunks(result.getChunks() + 1);
+                result.setPairs(result.getPairs() + chunk.pairs());
+                result.setStarted(result.getStarted() + chunk.started());
+                result.setRepriced(result.getRepriced() + chunk.repriced());
+                result.setEnded(result.getEnded() + chunk.ended());
+                result.setUnchanged(result.getUnchanged() + chunk.unchanged());
+                after = chunk.lastShopStockId();
+                if (chunk.pairs() < chunkSize) {
+                    break;
+                }
+            }
+            result.setDurationMs(System.currentTimeMillis() - started);
+            metrics.recordMarkdownRun(result.getDurationMs(), result.getPairs(),
+                    result.getStarted(), result.getRepriced(), result.getEnded());
+            log.info("Markdown run for {}: {} pairs in {} chunks, {} started, {} repriced, {} ended, {} unchanged ({} ms)",
+                    today, result.getPairs(), result.getChunks(), result.getStarted(), result.getRepriced(),
+                    result.getEnded(), result.getUnchanged(), result.getDurationMs());
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<MarkdownModel> getActive(Long shopId) {
+        return markdownRepository.findByShopIdAndEndedAtIsNullOrderByProductId(shopId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MarkdownModel> getHistory(Long shopId, Long productId) {
+        return markdownRepository.findByShopIdAndProductIdOrderByStartedAtDesc(shopId, productId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.retail.markdown.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * ✅ One markdown run: shop/product pairs looked at and what happened to them.
+ * unchanged = already at the right markdown (a repeated run is all unchanged).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarkdownRunResultDTO {
+    private LocalDate runDate;
+    private int chunks;
+    private int pairs;
+    private int started;
+    private int repriced;
+    private int ended;
+    private int unchanged;
+    private long durationMs;
+}
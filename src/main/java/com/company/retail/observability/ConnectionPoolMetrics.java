@@ -0,0 +1,36 @@
+package com.company.retail.observability;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ retail.db.pool.saturation{pool} = (active + waiting threads) / max pool size.
+ * Above 1.0 requests are queueing for a connection. Complements the raw hikaricp.* meters.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private final ObjectProvider<HikariDataSource> pools;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pools.orderedStream().forEach(pool ->
+                Gauge.builder("retail.db.pool.saturation", pool, ConnectionPoolMetrics::saturation)
+                        .description("Connection demand relative to maximum pool size")
+                        .tag("pool", pool.getPoolName() != null ? pool.getPoolName() : "default")
+                        .register(registry));
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        if (bean == null || pool.getMaximumPoolSize() <= 0) return 0.0; // pool not started yet
+        return (bean.getActiveConnections() + bean.getThreadsAwaitingConnection()) / (double) pool.getMaximumPoolSize();
+    }
+}
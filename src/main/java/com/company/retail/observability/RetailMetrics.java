@@ -0,0 +1,105 @@
+package com.company.retail.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ✅ Business metrics for the hot paths (checkout, stock movement, purchasing, reporting).
+ * Service latency itself comes from @Timed on the services (meter: retail.service).
+ */
+@Component
+@RequiredArgsConstructor
+public class RetailMetrics {
+
+    private final MeterRegistry registry;
+
+    // 🛒 Checkout basket shape
+    public void recordBasket(int lines, int units) {
+        DistributionSummary.builder("retail.checkout.basket.lines")
+                .description("Lines per completed sale")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(200.0)
+                .register(registry)
+                .record(lines);
+        DistributionSummary.builder("retail.checkout.basket.units")
+                .description("Units per completed sale")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000.0)
+                .register(registry)
+                .record(units);
+    }
+
+    // 📦 Stock requests rejected for lack of stock (operation = checkout, stock_movement, transfer)
+    public void recordStockInsufficient(String operation) {
+        registry.counter("retail.stock.insufficient", "operation", operation).increment();
+    }
+
+    // 🧾 Lines processed per purchase order landing-cost run
+    public void recordPurchaseOrderLines(int lines) {
+        DistributionSummary.builder("retail.purchase_order.lines")
+                .description("Lines per purchase order landing-cost calculation")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(5000.0)
+                .register(registry)
+                .record(lines);
+    }
+
+    // 📊 Rows produced per report
+    public void recordReportRows(String report, int rows) {
+        DistributionSummary.builder("retail.report.rows")
+                .description("Rows returned per report")
+                .tag("report", report)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000_000.0)
+                .register(registry)
+                .record(rows);
+    }
+
+    // 📤 Size of exported report files
+    public void recordExportBytes(String report, String format, int bytes) {
+        DistributionSummary.builder("retail.report.export.size")
+                .description("Exported report size")
+                .baseUnit("bytes")
+                .tags("report", report, "format", format)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(100_000_000.0)
+                .register(registry)
+                .record(bytes);
+    }
+
+    // 🏷️ Expiry markdown run: duration, pairs scanned and price changes by action
+    public void recordMarkdownRun(long durationMs, int pairs, int started, int repriced, int ended) {
+        Timer.builder("retail.markdown.run")
+                .description("Duration of an expiry markdown run")
+                .register(registry)
+                .record(Duration.ofMillis(durationMs));
+        DistributionSummary.builder("retail.markdown.pairs")
+                .description("Shop/product pairs scanned per markdown run")
+                .maximumExpectedValue(10_000_000.0)
+                .register(registry)
+                .record(pairs);
+        registry.counter("retail.markdown.changes", "action", "started").increment(started);
+        registry.counter("retail.markdown.changes", "action", "repriced").increment(repriced);
+        registry.counter("retail.markdown.changes", "action", "ended").increment(ended);
+    }
+
+    // 📦 Replenishment run: duration, pairs scanned, lines ordered and draft orders created
+    public void recordReplenishmentRun(long durationMs, int pairs, int lines, int orders) {
+        Timer.builder("retail.replenishment.run")
+                .description("Duration of a replenishment run")
+                .register(registry)
+                .record(Duration.ofMillis(durationMs));
+        DistributionSummary.builder("retail.replenishment.pairs")
+                .description("Shop/product pairs scanned per replenishment run")
+                .maximumExpectedValue(10_000_000.0)
+                .register(registry)
+                .record(pairs);
+        registry.counter("retail.replenishment.lines").increment(lines);
+        registry.counter("retail.replenishment.orders").increment(orders);
+    }
+}
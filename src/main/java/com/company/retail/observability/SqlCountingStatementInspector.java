@@ -0,0 +1,16 @@
+package com.company.retail.observability;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * ✅ Hibernate hook invoked for every SQL statement it prepares.
+ * Registered via hibernate.session_factory.statement_inspector; never rewrites SQL.
+ */
+public class SqlCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.recordStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.retail.observability;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * ✅ Thread-bound registry of open {@link SqlStats} scopes.
+ * Hibernate hooks ({@link SqlCountingStatementInspector}, {@link SqlTimingSessionListener})
+ * report into every scope open on the current thread, so a test scope nested in a
+ * request scope sees its own statements while the request still sees all of them.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Deque<SqlStats>> SCOPES = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static SqlStats open() {
+        Deque<SqlStats> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        SqlStats stats = new SqlStats();
+        scopes.push(stats);
+        return stats;
+    }
+
+    static void close(SqlStats stats) {
+        Deque<SqlStats> scopes = SCOPES.get();
+        if (scopes == null) return;
+        scopes.remove(stats);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void recordStatement(String sql) {
+        Deque<SqlStats> scopes = SCOPES.get();
+        if (scopes == null) return;
+        for (SqlStats stats : scopes) {
+            stats.recordStatement(sql);
+        }
+    }
+
+    static void recordJdbcNanos(long nanos) {
+        Deque<SqlStats> scopes = SCOPES.get();
+        if (scopes == null) return;
+        for (SqlStats stats : scopes) {
+            stats.recordJdbcNanos(nanos);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.retail.observability;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * ✅ SQL statements + JDBC time recorded while a scope is open (one HTTP request,
+ * or a block of test code). Obtained from {@link SqlStatementCounter#open()};
+ * closing it detaches it from the current thread.
+ */
+public class SqlStats implements AutoCloseable {
+
+    public static final String REQUEST_ATTRIBUTE = SqlStats.class.getName();
+
+    private static final int MAX_KEPT_STATEMENTS = 200;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private int statementCount;
+    private long jdbcNanos;
+    private final Map<String, Integer> countsBySql = new LinkedHashMap<>();
+    private final List<String> statements = new ArrayList<>();
+
+    void recordStatement(String sql) {
+        statementCount++;
+        String normalized = normalize(sql);
+        countsBySql.merge(normalized, 1, Integer::sum);
+        if (statements.size() < MAX_KEPT_STATEMENTS) {
+            statements.add(normalized);
+        }
+    }
+
+    void recordJdbcNanos(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+
+    /** First statements of the scope, normalized (for failure messages / logs). */
+    public List<String> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * ✅ Statements executed at least {@code threshold} times in this scope — the
+     * signature of an N+1 (same SELECT issued once per parent row). Most frequent first.
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        countsBySql.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        SqlStatementCounter.close(this);
+    }
+
+    static String normalize(String sql) {
+        String s = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(s).replaceAll("(?..)");
+    }
+}
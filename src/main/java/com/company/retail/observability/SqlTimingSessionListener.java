@@ -0,0 +1,33 @@
+package com.company.retail.observability;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * ✅ Measures time spent executing JDBC statements/batches for each Hibernate session.
+ * Registered via hibernate.session.events.auto (one instance per session).
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.recordJdbcNanos(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.recordJdbcNanos(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,40 @@
+package com.company.retail.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * ✅ Counts transaction rollbacks (and failed commits) per transactional method,
+ * e.g. retail.tx.rollbacks{name="SalesService.createSale"}.
+ * Spring Boot registers TransactionExecutionListener beans on the transaction manager.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionMetricsListener implements TransactionExecutionListener {
+
+    private final MeterRegistry registry;
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        registry.counter("retail.tx.rollbacks", "name", shortName(transaction)).increment();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null) {
+            registry.counter("retail.tx.commit.failures", "name", shortName(transaction)).increment();
+        }
+    }
+
+    // "com.company.retail.sales.SalesService.createSale" -> "SalesService.createSale"
+    private String shortName(TransactionExecution transaction) {
+        String name = transaction.getTransactionName();
+        if (name == null || name.isBlank()) return "programmatic";
+        int method = name.lastIndexOf('.');
+        int type = (method > 0) ? name.lastIndexOf('.', method - 1) : -1;
+        return name.substring(type + 1);
+    }
+}
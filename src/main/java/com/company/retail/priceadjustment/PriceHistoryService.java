@@ -0,0 +1,190 @@
+package com.company.retail.priceadjustment;
+
+import com.company.retail.priceadjustment.dto.PriceHistoryDTO;
+import com.company.retail.priceadjustment.dto.PricePointDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Price history as a compact time series (no entities, no lazy proxies).
+ *
+ * Rows are read in (adjustment_date, adjustment_id) order off the
+ * (product_id, adjustment_date, adjustment_id) index and paged by keyset: the cursor is
+ * the last row returned, so deep pages cost the same as the first one.
+ * With bucket=DAY or WEEK the page holds up to `limit` buckets, the last value of each.
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryService {
+
+    public enum Bucket { NONE, DAY, WEEK }
+
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 5000;
+    private static final int SCAN_PAGE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Row(long id, LocalDateTime at, Double oldUSD, Double newUSD, Double oldZWL, Double newZWL,
+                       PricingAdjustmentModel.AdjustmentType reason) {
+    }
+
+    @Transactional(readOnly = true)
+    public PriceHistoryDTO getHistory(Long productId, Long shopId, LocalDateTime from, LocalDateTime to,
+                                      Bucket bucket, String cursor, Integer limit) {
+        if (productId == null) {
+            throw new RuntimeException("productId is required");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new RuntimeException("from must be before to");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        Bucket by = bucket == null ? Bucket.NONE : bucket;
+        Row after = decode(cursor);
+
+        List<PricePointDTO> points = new ArrayList<>();
+        Row last = null;       // last row of the last emitted point
+        boolean more = false;
+
+        if (by == Bucket.NONE) {
+            List<Row> rows = fetch(productId, shopId, from, to, after, size + 1);
+            more = rows.size() > size;
+            for (Row row : rows.subList(0, Math.min(size, rows.size()))) {
+                points.add(point(row, row, null, 1));
+                last = row;
+            }
+        } else {
+            // Buckets end when the next one starts, so scan until one more bucket shows up
+            Row first = null, prev = null;
+            LocalDate current = null;
+            int changes = 0;
+            scan:
+            while (true) {
+                List<Row> rows = fetch(productId, shopId, from, to, after, SCAN_PAGE);
+                for (Row row : rows) {
+                    LocalDate key = bucketOf(row.at(), by);
+                    if (current != null && !key.equals(current)) {
+                        points.add(point(first, prev, current, changes));
+                        last = prev;
+                        if (points.size() == size) {
+                            more = true;
+                            break scan;
+                        }
+                        first = null;
+                        changes = 0;
+                    }
+                    if (first == null) {
+                        first = row;
+                    }
+                    current = key;
+                    prev = row;
+                    changes++;
+                }
+                if (rows.size() < SCAN_PAGE) {
+                    break;
+                }
+                after = rows.get(rows.size() - 1);
+            }
+            if (!more && first != null) {
+                points.add(point(first, prev, current, changes));
+                last = prev;
+            }
+        }
+
+        return PriceHistoryDTO.builder()
+                .productId(productId)
+                .shopId(shopId)
+                .from(from)
+                .to(to)
+                .bucket(by.name())
+                .points(points)
+                .nextCursor(more && last != null ? encode(last) : null)
+                .build();
+    }
+
+    private List<Row> fetch(Long productId, Long shopId, LocalDateTime from, LocalDateTime to, Row after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT adjustment_id, adjustment_date, old_priceusd, new_priceusd, "
+                + "old_pricezwl, new_pricezwl, reason FROM pricing_adjustments WHERE product_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(productId);
+        if (shopId == null) {
+            sql.append(" AND shop_id IS NULL");
+        } else {
+            sql.append(" AND shop_id = ?");
+            args.add(shopId);
+        }
+        if (from != null) {
+            sql.append(" AND adjustment_date >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND adjustment_date < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (after != null) {
+            sql.append(" AND (adjustment_date > ? OR (adjustment_date = ? AND adjustment_id > ?))");
+            args.add(Timestamp.valueOf(after.at()));
+            args.add(Timestamp.valueOf(after.at()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY adjustment_date, adjustment_id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> new Row(
+                rs.getLong(1),
+                rs.getTimestamp(2).toLocalDateTime(),
+                rs.getObject(3, Double.class),
+                rs.getObject(4, Double.class),
+                rs.getObject(5, Double.class),
+                rs.getObject(6, Double.class),
+                rs.getString(7) == null ? null : PricingAdjustmentModel.AdjustmentType.valueOf(rs.getString(7))
+        ), args.toArray());
+    }
+
+    private static PricePointDTO point(Row first, Row last, LocalDate bucket, int changes) {
+        return PricePointDTO.builder()
+                .at(last.at())
+                .bucket(bucket)
+                .changes(changes)
+                .oldPriceUSD(first.oldUSD())
+                .newPriceUSD(last.newUSD())
+                .oldPriceZWL(first.oldZWL())
+                .newPriceZWL(last.newZWL())
+                .reason(last.reason())
+                .build();
+    }
+
+    private static LocalDate bucketOf(LocalDateTime at, Bucket bucket) {
+        LocalDate day = at.toLocalDate();
+        return bucket == Bucket.WEEK ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+
+    // Cursor = "<adjustment_date>_<adjustment_id>" of the last row served
+    private static String encode(Row row) {
+        return row.at() + "_" + row.id();
+    }
+
+    private static Row decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int split = cursor.lastIndexOf('_');
+        try {
+            return new Row(Long.parseLong(cursor.substring(split + 1)), LocalDateTime.parse(cursor.substring(0, split)),
+                    null, null, null, null, null);
+        } catch (NumberFormatException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.company.retail.priceadjustment;
 
 import com.company.retail.ShopStock.ShopStockModel;
 import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.priceadjustment.dto.RepricingRequestDTO;
 import com.company.retail.product.ProductModel;
 import com.company.retail.product.ProductRepository;
 import com.company.retail.shop.ShopModel;
@@ -9,6 +10,7 @@ import com.company.retail.shop.ShopRepository;
 import com.company.retail.user.UserModel;
 import com.company.retail.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,6 +18,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +28,8 @@ import java.util.Map;
 public class PricingAdjustmentController {
 
     private final PricingAdjustmentService pricingAdjustmentService;
+    private final RepricingService repricingService;
+    private final PriceHistoryService priceHistoryService;
     private final ProductRepository productRepository;
     private final ShopRepository shopRepository;
     private final ShopStockRepository shopStockRepository;
@@ -52,6 +57,29 @@ public class PricingAdjustmentController {
         return ResponseEntity.ok(pricingAdjustmentService.getAllAdjustments());
     }
 
+    /**
+     * ✅ Price history series for charts: one product, global (no shopId) or one shop,
+     * over [from, to), optionally downsampled to the last value per DAY or WEEK.
+     * e.g. /api/pricing-adjustments/history?productId=12&shopId=3&from=2025-01-01T00:00:00&bucket=DAY
+     */
+    @PreAuthorize("hasAnyRole('CASHIER','SUPERVISOR','ADMIN','SUPERADMIN')")
+    @GetMapping("/history")
+    public ResponseEntity<?> getPriceHistory(
+            @RequestParam Long productId,
+            @RequestParam(required = false) Long shopId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NONE") PriceHistoryService.Bucket bucket,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(priceHistoryService.getHistory(productId, shopId, from, to, bucket, cursor, limit));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
     // ============================================================
     // 🧠 HELPER — get logged-in user safely from Security Context
     // ============================================================
@@ -131,15 +159,38 @@ public class PricingAdjustmentController {
         Double oldUSD = product.getSellingPriceUSD();
         Double oldZWL = product.getSellingPriceZWL();
 
-        if (newSellingUSD != null) product.setSellingPriceUSD(newSellingUSD);
-        if (newSellingZWL != null) product.setSellingPriceZWL(newSellingZWL);
-        productRepository.save(product);
-
-        pricingAdjustmentService.logGlobalAdjustment(
+        // ✅ The service applies the new prices and logs them in one transaction (one product update)
+        PricingAdjustmentModel adjustment = pricingAdjustmentService.logGlobalAdjustment(
                 productId, oldUSD, newSellingUSD, oldZWL, newSellingZWL, reason, currentUser
         );
 
-        return ResponseEntity.ok(product);
+        return ResponseEntity.ok(adjustment.getProduct());
+    }
+
+    // ============================================================
+    // 📦 BULK REPRICING — rule + scope, preview first, then apply
+    // ============================================================
+
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @PostMapping("/bulk/preview")
+    public ResponseEntity<?> previewBulkRepricing(@RequestBody RepricingRequestDTO request) {
+        try {
+            return ResponseEntity.ok(repricingService.preview(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @PostMapping("/bulk/apply")
+    public ResponseEntity<?> applyBulkRepricing(@RequestBody RepricingRequestDTO request) {
+        UserModel currentUser = getCurrentUser();
+        ensureAdmin(currentUser);
+        try {
+            return ResponseEntity.ok(repricingService.apply(request, currentUser));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
     }
 
     // ============================================================
@@ -2,6 +2,7 @@ package com.company.retail.priceadjustment;
 
 import com.company.retail.product.ProductModel;
 import com.company.retail.shop.ShopModel;
+import com.company.retail.sync.CatalogVersionListener;
 import com.company.retail.user.UserModel;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
@@ -16,10 +17,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(CatalogVersionListener.class) // ✅ catalog delta sync
 public class PricingAdjustmentModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pricing_adjustments_seq")
+    @SequenceGenerator(name = "pricing_adjustments_seq", sequenceName = "pricing_adjustments_seq", allocationSize = 50)
     private Long adjustmentId;
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -47,12 +50,17 @@ public class PricingAdjustmentModel {
 
     private LocalDateTime adjustmentDate;
 
+    // ✅ Catalog version of this adjustment (see /api/sync/catalog)
+    @Column(nullable = false)
+    private Long changeVersion;
+
     public enum AdjustmentType {
         MANUAL,
         BROKERAGE,
         EXPIRY,
         PROMOTION,
-        SUPPLIER_CHANGE
+        SUPPLIER_CHANGE,
+        SCHEDULED
     }
 
     @PrePersist
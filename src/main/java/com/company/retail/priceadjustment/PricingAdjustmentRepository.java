@@ -1,6 +1,9 @@
 package com.company.retail.priceadjustment;
 
+import com.company.retail.sync.dto.PriceAdjustmentDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,14 @@ import java.util.List;
 public interface PricingAdjustmentRepository extends JpaRepository<PricingAdjustmentModel, Long> {
     List<PricingAdjustmentModel> findByProduct_ProductId(Long productId);
     List<PricingAdjustmentModel> findByShop_Id(Long shopId);
+
+    // ✅ Catalog delta sync: adjustments for all shops or this shop in (since, upTo]
+    @Query("SELECT new com.company.retail.sync.dto.PriceAdjustmentDTO(" +
+            "a.adjustmentId, a.product.productId, s.id, a.newPriceUSD, a.newPriceZWL, a.reason, a.adjustmentDate) " +
+            "FROM PricingAdjustmentModel a LEFT JOIN a.shop s " +
+            "WHERE a.changeVersion > :since AND a.changeVersion <= :upTo AND (s IS NULL OR s.id = :shopId) " +
+            "ORDER BY a.changeVersion")
+    List<PriceAdjustmentDTO> findCatalogChanges(@Param("shopId") Long shopId,
+                                                @Param("since") long since,
+                                                @Param("upTo") long upTo);
 }
@@ -99,6 +99,7 @@ public class PricingAdjustmentService {
     /**
      * 🔹 Get all price adjustments for a given product.
      */
+    @Transactional(readOnly = true)
     public List<PricingAdjustmentModel> getAdjustmentsByProduct(Long productId) {
         return pricingAdjustmentRepository.findByProduct_ProductId(productId);
     }
@@ -106,6 +107,7 @@ public class PricingAdjustmentService {
     /**
      * 🔹 Get all price adjustments for a given shop.
      */
+    @Transactional(readOnly = true)
     public List<PricingAdjustmentModel> getAdjustmentsByShop(Long shopId) {
         return pricingAdjustmentRepository.findByShop_Id(shopId);
     }
@@ -113,6 +115,7 @@ public class PricingAdjustmentService {
     /**
      * 🔹 Get all price adjustments (system-wide).
      */
+    @Transactional(readOnly = true)
     public List<PricingAdjustmentModel> getAllAdjustments() {
         return pricingAdjustmentRepository.findAll();
     }
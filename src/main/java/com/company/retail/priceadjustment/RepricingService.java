@@ -0,0 +1,359 @@
+package com.company.retail.priceadjustment;
+
+import com.company.retail.configs.DatabaseSequences;
+import com.company.retail.priceadjustment.dto.RepricingLineDTO;
+import com.company.retail.priceadjustment.dto.RepricingRequestDTO;
+import com.company.retail.priceadjustment.dto.RepricingRequestDTO.Rounding;
+import com.company.retail.priceadjustment.dto.RepricingRequestDTO.RuleType;
+import com.company.retail.priceadjustment.dto.RepricingResultDTO;
+import com.company.retail.pricing.ShopPriceChangedEvent;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.dto.ProductSearchResult;
+import com.company.retail.product.search.ProductChangedEvent;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.sync.CatalogVersions;
+import com.company.retail.user.UserModel;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * ✅ Rule-based bulk repricing (by category, shop and/or product list).
+ *
+ * Prices in scope are read with one query and the rule is applied in memory, so preview
+ * and apply always agree. Apply then writes everything in one transaction: one JDBC batch
+ * of price updates, one batch of pricing_adjustments audit rows, all stamped with a single
+ * catalog version. Apply locks the rows in scope before reading them, so a concurrent
+ * price edit either lands first (and is repriced from) or waits for the bulk change; the
+ * audit rows' old prices are the ones actually overwritten. Rows are written without
+ * entity listeners, so the products L2 cache region is evicted and search index / price
+ * table updates are published here.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RepricingService {
+
+    private static final int DEFAULT_PREVIEW_LIMIT = 100;
+    private static final int ID_CHUNK = 1_000;
+
+    /*
+     * Landing cost a global MARGIN reprice works from: the average over the shops holding
+     * stock, weighted by their quantity on hand (what the units on shelves cost overall).
+     * Where no shop holds any, the plain average of the shops' known costs; 0 = unknown.
+     */
+    private static final String GLOBAL_COST = "COALESCE("
+            + "SUM(CASE WHEN quantity_in_stock > 0 AND avg_landing_cost%1$s > 0 "
+            + "THEN avg_landing_cost%1$s * quantity_in_stock END) "
+            + "/ SUM(CASE WHEN quantity_in_stock > 0 AND avg_landing_cost%1$s > 0 THEN quantity_in_stock END), "
+            + "AVG(NULLIF(avg_landing_cost%1$s, 0)))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSequences sequences;
+    private final CatalogVersions catalogVersions;
+    private final ProductRepository productRepository;
+    private final ShopRepository shopRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public RepricingResultDTO preview(RepricingRequestDTO request) {
+        long started = System.currentTimeMillis();
+        Plan plan = plan(request, false);
+        return plan.result(false, null, request, started);
+    }
+
+    @Transactional
+    public RepricingResultDTO apply(RepricingRequestDTO request, UserModel adjustedBy) {
+        long started = System.currentTimeMillis();
+        Plan plan = plan(request, true);
+        if (plan.changes.isEmpty()) {
+            return plan.result(true, null, request, started);
+        }
+
+        long version = catalogVersions.next();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long shopId = request.getShopId();
+
+        List<Object[]> updates = new ArrayList<>(plan.changes.size());
+        List<Object[]> audits = new ArrayList<>(plan.changes.size());
+        String reason = (request.getReason() != null ? request.getReason() : PricingAdjustmentModel.AdjustmentType.MANUAL).name();
+        Long userId = adjustedBy != null ? adjustedBy.getUserId() : null;
+        for (Line line : plan.changes) {
+            updates.add(shopId == null
+                    ? new Object[]{line.newUSD, line.newZWL, version, now, line.productId}
+                    : new Object[]{line.newUSD, line.newZWL, version, shopId, line.productId});
+            audits.add(new Object[]{line.productId, shopId, userId, line.oldUSD, line.newUSD,
+                    line.oldZWL, line.newZWL, reason, now, version});
+        }
+
+        if (shopId == null) {
+            jdbcTemplate.batchUpdate("UPDATE products SET selling_priceusd = ?, selling_pricezwl = ?, "
+                    + "change_version = ?, date_updated = ? WHERE product_id = ?", updates);
+        } else {
+            jdbcTemplate.batchUpdate("UPDATE shop_stock SET selling_priceusd = ?, selling_pricezwl = ?, "
+                    + "price_version = ? WHERE shop_id = ? AND product_id = ?", updates);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pricing_adjustments (adjustment_id, product_id, shop_id, adjusted_by, "
+                + "old_priceusd, new_priceusd, old_pricezwl, new_pricezwl, reason, adjustment_date, change_version) "
+                + "VALUES (" + sequences.nextValue("pricing_adjustments_seq") + ", ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", audits);
+
+        if (shopId == null) {
+            evictProductCache();
+            for (ProductSearchResult product : productRepository.findSearchDocuments(version - 1, version)) {
+                eventPublisher.publishEvent(new ProductChangedEvent(product.getProductId(), product));
+            }
+        } else {
+            for (Line line : plan.changes) {
+                eventPublisher.publishEvent(new ShopPriceChangedEvent(shopId, line.productId, line.newUSD, line.newZWL));
+            }
+        }
+
+        RepricingResultDTO result = plan.result(true, version, request, started);
+        log.info("Repriced {} of {} prices ({}) in {} ms", result.getChanged(), result.getMatched(),
+                shopId == null ? "global" : "shop " + shopId, result.getDurationMs());
+        return result;
+    }
+
+    // ============================================================
+    // 🧮 Read prices in scope and work out the new ones
+    // ============================================================
+
+    // lock: take row locks on the rows in scope (id order) before reading them, for apply
+    private Plan plan(RepricingRequestDTO request, boolean lock) {
+        validate(request);
+        Long shopId = request.getShopId();
+        if (shopId != null && !shopRepository.existsById(shopId)) {
+            throw new RuntimeException("Shop not found with ID: " + shopId);
+        }
+
+        // Shop scope reprices from the shop's own price, or the global one while it has none
+        String sql = shopId == null
+                ? "SELECT p.product_id, p.product_name, p.selling_priceusd, p.selling_pricezwl, c.cost_usd, c.cost_zwl "
+                + "FROM products p LEFT JOIN (SELECT product_id, " + GLOBAL_COST.formatted("usd") + " AS cost_usd, "
+                + GLOBAL_COST.formatted("zwl") + " AS cost_zwl FROM shop_stock GROUP BY product_id) c "
+                + "ON c.product_id = p.product_id WHERE 1 = 1"
+                : "SELECT p.product_id, p.product_name, "
+                + "CASE WHEN ss.selling_priceusd > 0 THEN ss.selling_priceusd ELSE p.selling_priceusd END, "
+                + "CASE WHEN ss.selling_pricezwl > 0 THEN ss.selling_pricezwl ELSE p.selling_pricezwl END, "
+                + "NULLIF(ss.avg_landing_costusd, 0), NULLIF(ss.avg_landing_costzwl, 0) "
+                + "FROM shop_stock ss JOIN products p ON p.product_id = ss.product_id WHERE ss.shop_id = ?";
+        String filter = "";
+        List<Object> args = new ArrayList<>();
+        if (shopId != null) {
+            args.add(shopId);
+        }
+        if (request.getCategory() != null && !request.getCategory().isBlank()) {
+            filter += " AND LOWER(p.category) = ?";
+            args.add(request.getCategory().trim().toLowerCase(Locale.ROOT));
+        }
+
+        Plan plan = new Plan();
+        List<Long> ids = request.getProductIds();
+        if (ids == null || ids.isEmpty()) {
+            query(sql, filter, args, lock, request, plan);
+        } else {
+            List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+            distinct.sort(Comparator.nullsLast(Comparator.naturalOrder())); // chunks lock in id order too
+            for (int from = 0; from < distinct.size(); from += ID_CHUNK) {
+                List<Long> chunk = distinct.subList(from, Math.min(from + ID_CHUNK, distinct.size()));
+                List<Object> chunkArgs = new ArrayList<>(args);
+                chunkArgs.addAll(chunk);
+                query(sql, filter + " AND p.product_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                        chunkArgs, lock, request, plan);
+            }
+        }
+        return plan;
+    }
+
+    private void query(String sql, String filter, List<Object> args, boolean lock, RepricingRequestDTO request, Plan plan) {
+        if (lock) {
+            // Only the rows that get written: products, or the shop's shop_stock rows (not the joined products)
+            jdbcTemplate.queryForList(request.getShopId() == null
+                    ? "SELECT p.product_id FROM products p WHERE 1 = 1" + filter + " ORDER BY p.product_id FOR UPDATE"
+                    : "SELECT ss.shop_stock_id FROM shop_stock ss WHERE ss.shop_id = ? AND ss.product_id IN "
+                    + "(SELECT p.product_id FROM products p WHERE 1 = 1" + filter + ") ORDER BY ss.shop_stock_id FOR UPDATE",
+                    Long.class, args.toArray());
+        }
+        jdbcTemplate.query(sql + filter, rs -> {
+            Line line = new Line(rs.getLong(1), rs.getString(2), request.getShopId(),
+                    nullable(rs.getDouble(3), rs.wasNull()), nullable(rs.getDouble(4), rs.wasNull()),
+                    nullable(rs.getDouble(5), rs.wasNull()), nullable(rs.getDouble(6), rs.wasNull()));
+            plan.add(line, request);
+        }, args.toArray());
+    }
+
+    private static Double nullable(double value, boolean wasNull) {
+        return wasNull ? null : value;
+    }
+
+    private static void validate(RepricingRequestDTO request) {
+        if (request.getType() == null) {
+            throw new RuntimeException("Rule type is required (PERCENT, AMOUNT or MARGIN)");
+        }
+        if (request.getValue() == null && !(request.getType() == RuleType.AMOUNT && request.getValueZWL() != null)) {
+            throw new RuntimeException("Rule value is required");
+        }
+        if (request.getType() == RuleType.PERCENT && request.getValue() <= -100) {
+            throw new RuntimeException("Percentage change must be greater than -100");
+        }
+        if (request.getType() == RuleType.MARGIN && (request.getValue() < 0 || request.getValue() >= 100)) {
+            throw new RuntimeException("Target margin must be between 0 and 100 (exclusive)");
+        }
+        if (request.getPreviewLimit() != null && request.getPreviewLimit() < 0) {
+            throw new RuntimeException("previewLimit cannot be negative");
+        }
+    }
+
+    // ✅ New price for one currency, or the old one when the rule has nothing to work from
+    static Double reprice(RuleType type, Double value, Rounding rounding, Double price, Double cost) {
+        if (value == null) {
+            return price;
+        }
+        BigDecimal raw;
+        switch (type) {
+            case PERCENT -> {
+                if (price == null) return null;
+                raw = BigDecimal.valueOf(price).multiply(BigDecimal.ONE.add(BigDecimal.valueOf(value).movePointLeft(2)));
+            }
+            case AMOUNT -> {
+                if (price == null) return null;
+                raw = BigDecimal.valueOf(price).add(BigDecimal.valueOf(value));
+            }
+            default -> {
+                if (cost == null) return null;
+                raw = BigDecimal.valueOf(cost).divide(BigDecimal.ONE.subtract(BigDecimal.valueOf(value).movePointLeft(2)),
+                        6, RoundingMode.HALF_UP);
+            }
+        }
+        return round(raw, rounding != null ? rounding : Rounding.CENT).doubleValue();
+    }
+
+    static BigDecimal round(BigDecimal price, Rounding rounding) {
+        return switch (rounding) {
+            case NONE -> price;
+            case CENT -> price.setScale(2, RoundingMode.HALF_UP);
+            case FIVE_CENTS -> price.multiply(BigDecimal.valueOf(20)).setScale(0, RoundingMode.HALF_UP)
+                    .divide(BigDecimal.valueOf(20), 2, RoundingMode.UNNECESSARY);
+            case TEN_CENTS -> price.setScale(1, RoundingMode.HALF_UP).setScale(2, RoundingMode.UNNECESSARY);
+            case END_99 -> price.add(new BigDecimal("0.01")).setScale(0, RoundingMode.CEILING).subtract(new BigDecimal("0.01"));
+        };
+    }
+
+    // Bulk JDBC updates bypass Hibernate: drop cached products now and again once committed,
+    // so a read racing this transaction cannot put an old price back into the cache
+    private void evictProductCache() {
+        entityManagerFactory.getCache().evict(ProductModel.class);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManagerFactory.getCache().evict(ProductModel.class);
+                }
+            });
+        }
+    }
+
+    // ============================================================
+    // 📋 Lines in scope, tallied as they stream in
+    // ============================================================
+
+    private static final class Line {
+        final Long productId;
+        final String productName;
+        final Long shopId;
+        final Double oldUSD;
+        final Double oldZWL;
+        final Double costUSD;
+        final Double costZWL;
+        Double newUSD;
+        Double newZWL;
+
+        Line(Long productId, String productName, Long shopId, Double oldUSD, Double oldZWL, Double costUSD, Double costZWL) {
+            this.productId = productId;
+            this.productName = productName;
+            this.shopId = shopId;
+            this.oldUSD = oldUSD;
+            this.oldZWL = oldZWL;
+            this.costUSD = costUSD;
+            this.costZWL = costZWL;
+        }
+
+        RepricingLineDTO toDto() {
+            return RepricingLineDTO.builder()
+                    .productId(productId)
+                    .productName(productName)
+                    .shopId(shopId)
+                    .oldPriceUSD(oldUSD)
+                    .newPriceUSD(newUSD)
+                    .oldPriceZWL(oldZWL)
+                    .newPriceZWL(newZWL)
+                    .costUSD(costUSD)
+                    .build();
+        }
+    }
+
+    private static final class Plan {
+        final List<Line> changes = new ArrayList<>();
+        int matched;
+        int skipped;
+        int belowCost;
+
+        void add(Line line, RepricingRequestDTO request) {
+            matched++;
+            RuleType type = request.getType();
+            Double valueZWL = type == RuleType.AMOUNT ? request.getValueZWL() : request.getValue();
+            line.newUSD = reprice(type, request.getValue(), request.getRounding(), line.oldUSD, line.costUSD);
+            line.newZWL = reprice(type, valueZWL, request.getRounding(), line.oldZWL, line.costZWL);
+
+            if ((request.getValue() != null && line.newUSD == null) || isNegative(line.newUSD) || isNegative(line.newZWL)) {
+                skipped++;
+                return;
+            }
+            if (line.newUSD == null) {
+                line.newUSD = line.oldUSD;
+            }
+            if (line.newZWL == null) {
+                line.newZWL = line.oldZWL;
+            }
+            if (Objects.equals(line.newUSD, line.oldUSD) && Objects.equals(line.newZWL, line.oldZWL)) {
+                return;
+            }
+            if (line.costUSD != null && line.newUSD != null && line.newUSD < line.costUSD) {
+                belowCost++;
+            }
+            changes.add(line);
+        }
+
+        private static boolean isNegative(Double price) {
+            return price != null && price < 0;
+        }
+
+        RepricingResultDTO result(boolean applied, Long version, RepricingRequestDTO request, long started) {
+            int limit = request.getPreviewLimit() != null ? request.getPreviewLimit() : DEFAULT_PREVIEW_LIMIT;
+            return RepricingResultDTO.builder()
+                    .applied(applied)
+                    .matched(matched)
+                    .changed(changes.size())
+                    .skipped(skipped)
+                    .belowCost(belowCost)
+                    .catalogVersion(version)
+                    .durationMs(System.currentTimeMillis() - started)
+                    .lines(changes.stream().limit(limit).map(Line::toDto).toList())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.retail.priceadjustment.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ✅ A page of a product's price history (shopId null = global prices).
+ * nextCursor is null on the last page; otherwise pass it back as ?cursor= for the next one.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceHistoryDTO {
+    private Long productId;
+    private Long shopId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String bucket;
+    private List<PricePointDTO> points;
+    private String nextCursor;
+}
@@ -0,0 +1,28 @@
+package com.company.retail.priceadjustment.dto;
+
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ✅ One point of a price history series.
+ * Downsampled points cover a whole day/week (bucket): old prices are from before the
+ * first change in it, new prices and the reason from the last one.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricePointDTO {
+    private LocalDateTime at;
+    private LocalDate bucket;
+    private Integer changes;
+    private Double oldPriceUSD;
+    private Double newPriceUSD;
+    private Double oldPriceZWL;
+    private Double newPriceZWL;
+    private PricingAdjustmentModel.AdjustmentType reason;
+}
@@ -0,0 +1,22 @@
+package com.company.retail.priceadjustment.dto;
+
+import lombok.*;
+
+/**
+ * ✅ One repriced product (or shop price) with its old and new prices.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingLineDTO {
+    private Long productId;
+    private String productName;
+    private Long shopId;
+    private Double oldPriceUSD;
+    private Double newPriceUSD;
+    private Double oldPriceZWL;
+    private Double newPriceZWL;
+    private Double costUSD;
+}
@@ -0,0 +1,56 @@
+package com.company.retail.priceadjustment.dto;
+
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ✅ Bulk repricing: a rule (how the new price is derived) and a scope (which prices move).
+ *
+ * Rule:
+ * - PERCENT: price * (1 + value / 100), both currencies
+ * - AMOUNT:  price + value (USD) and price + valueZWL (ZWL, unchanged when null)
+ * - MARGIN:  avgLandingCost / (1 - value / 100), i.e. value is the gross margin in %
+ *            (the shop's cost with shopId; without it the cost averaged over all shops,
+ *            weighted by quantity on hand)
+ * then rounded with {@link Rounding}.
+ *
+ * Scope: category and/or productIds narrow it; with shopId the shop's own prices are
+ * repriced (shop_stock), without it the global product prices.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingRequestDTO {
+
+    private RuleType type;
+    private Double value;
+    private Double valueZWL;
+    private Rounding rounding;
+
+    private String category;
+    private Long shopId;
+    private List<Long> productIds;
+
+    private PricingAdjustmentModel.AdjustmentType reason;
+
+    // Changed lines returned in the response (counts always cover everything)
+    private Integer previewLimit;
+
+    public enum RuleType {
+        PERCENT,
+        AMOUNT,
+        MARGIN
+    }
+
+    public enum Rounding {
+        NONE,
+        CENT,
+        FIVE_CENTS,
+        TEN_CENTS,
+        END_99      // up to the next x.99
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.retail.priceadjustment.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ✅ Bulk repricing outcome (preview or applied).
+ * matched = prices in scope, changed = prices the rule moves, skipped = no base price or
+ * landing cost to work from, belowCost = new USD price under the average landing cost.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingResultDTO {
+    private boolean applied;
+    private int matched;
+    private int changed;
+    private int skipped;
+    private int belowCost;
+    private Long catalogVersion;
+    private long durationMs;
+    private List<RepricingLineDTO> lines;
+}
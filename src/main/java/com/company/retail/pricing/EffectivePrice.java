@@ -0,0 +1,27 @@
+package com.company.retail.pricing;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.product.ProductModel;
+
+/**
+ * ✅ The price a shop actually charges for a product: the shop's own price per currency
+ * when it has one (> 0), otherwise the global product price.
+ */
+public record EffectivePrice(Double sellingPriceUSD, Double sellingPriceZWL) {
+
+    public static EffectivePrice combine(EffectivePrice global, Double shopUSD, Double shopZWL) {
+        return new EffectivePrice(
+                isSet(shopUSD) ? shopUSD : global.sellingPriceUSD(),
+                isSet(shopZWL) ? shopZWL : global.sellingPriceZWL());
+    }
+
+    // ✅ Same rule straight from loaded entities (price table miss)
+    public static EffectivePrice of(ProductModel product, ShopStockModel stock) {
+        EffectivePrice global = new EffectivePrice(product.getSellingPriceUSD(), product.getSellingPriceZWL());
+        return stock == null ? global : combine(global, stock.getSellingPriceUSD(), stock.getSellingPriceZWL());
+    }
+
+    static boolean isSet(Double shopPrice) {
+        return shopPrice != null && shopPrice > 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.company.retail.pricing;
+
+import com.company.retail.pricing.dto.ScheduledPriceRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for effective prices and scheduled (future-dated) price changes
+ */
+@RestController
+@RequestMapping("/api/prices")
+@RequiredArgsConstructor
+public class PriceController {
+
+    private final PriceResolver priceResolver;
+    private final ScheduledPriceService scheduledPriceService;
+
+    /**
+     * ✅ Price a shop charges right now (shop override or global)
+     * e.g. /api/prices/effective?productId=12&shopId=3
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/effective")
+    public ResponseEntity<?> getEffectivePrice(@RequestParam Long productId,
+                                               @RequestParam(required = false) Long shopId) {
+        EffectivePrice price = priceResolver.resolve(shopId, productId);
+        return price != null ? ResponseEntity.ok(price) : ResponseEntity.status(404).body("❌ Product not found");
+    }
+
+    /**
+     * ✅ Pending scheduled prices, or every entry for one product
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/scheduled")
+    public ResponseEntity<List<ScheduledPriceModel>> getScheduled(@RequestParam(required = false) Long productId) {
+        return ResponseEntity.ok(productId != null
+                ? scheduledPriceService.getForProduct(productId)
+                : scheduledPriceService.getPending());
+    }
+
+    /**
+     * ✅ Schedule a global (no shopId) or shop price to take effect at effectiveFrom
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PostMapping("/scheduled")
+    public ResponseEntity<?> schedule(@RequestBody ScheduledPriceRequestDTO request) {
+        try {
+            return ResponseEntity.ok(scheduledPriceService.schedule(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Cancel a scheduled price that has not taken effect yet
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @DeleteMapping("/scheduled/{priceId}")
+    public ResponseEntity<?> cancel(@PathVariable Long priceId) {
+        try {
+            return ResponseEntity.ok(scheduledPriceService.cancel(priceId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+}
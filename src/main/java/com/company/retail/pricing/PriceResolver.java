@@ -0,0 +1,139 @@
+package com.company.retail.pricing;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.search.ProductChangedEvent;
+import com.company.retail.sync.CatalogVersions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * ✅ Resolves the effective selling price of a product in a shop from the in-memory PriceTable.
+ *
+ * - Full load once the application is ready (built aside, then swapped in).
+ * - Product and shop price changes made through JPA (including scheduled prices taking
+ *   effect) are applied as soon as they commit.
+ * - Changes made elsewhere (other instances, bulk SQL) are picked up every refresh
+ *   interval from the catalog change versions and tombstones.
+ * A pair that is not in the table yet falls back to the database rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceResolver {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersions catalogVersions;
+
+    private volatile PriceTable table = new PriceTable();
+    private boolean loaded;
+    private long version; // every catalog change up to here is in the table
+
+    // ✅ Checkout: product and shop stock rows are already loaded, so a miss costs no query
+    public EffectivePrice resolve(Long shopId, ProductModel product, ShopStockModel stock) {
+        EffectivePrice price = table.get(shopId, product.getProductId());
+        return price != null ? price : EffectivePrice.of(product, stock);
+    }
+
+    // ✅ By id (scan, price lookups): one query on a miss
+    public EffectivePrice resolve(Long shopId, Long productId) {
+        EffectivePrice price = table.get(shopId, productId);
+        if (price != null) {
+            return price;
+        }
+        List<EffectivePrice> rows = jdbcTemplate.query(
+                "SELECT p.selling_priceusd, p.selling_pricezwl, ss.selling_priceusd, ss.selling_pricezwl "
+                        + "FROM products p LEFT JOIN shop_stock ss ON ss.product_id = p.product_id AND ss.shop_id = ? "
+                        + "WHERE p.product_id = ?",
+                (rs, i) -> EffectivePrice.combine(new EffectivePrice(number(rs, 1), number(rs, 2)), number(rs, 3), number(rs, 4)),
+                shopId, productId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // ============================================================
+    // 🔄 Loading
+    // ============================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        long upTo = catalogVersions.current();
+        PriceTable fresh = new PriceTable();
+        loadProducts(fresh, -1, upTo);
+        loadShopPrices(fresh, -1, upTo);
+        table = fresh;
+        version = upTo;
+        loaded = true;
+        log.info("Price table built: {} shop prices in {} ms", fresh.size(), System.currentTimeMillis() - started);
+    }
+
+    // ✅ Catch up on (version, upTo]; upTo stops below any catalog write still open, so late commits are not skipped
+    @Scheduled(fixedDelayString = "${app.price-table.refresh-interval-ms:10000}")
+    public synchronized void refresh() {
+        if (!loaded) {
+            return; // not loaded yet
+        }
+        long upTo = catalogVersions.current();
+        if (upTo <= version) {
+            return;
+        }
+        PriceTable current = table;
+        loadProducts(current, version, upTo);
+        loadShopPrices(current, version, upTo);
+        jdbcTemplate.query("SELECT kind, entity_id, shop_id FROM catalog_tombstones WHERE change_version > ? AND change_version <= ?",
+                rs -> {
+                    if (CatalogVersions.PRODUCT.equals(rs.getString(1))) {
+                        current.removeProduct(rs.getLong(2));
+                    } else if (CatalogVersions.SHOP_PRICE.equals(rs.getString(1))) {
+                        current.removeShopPrice(rs.getLong(3), rs.getLong(2));
+                    }
+                }, version, upTo);
+        version = upTo;
+    }
+
+    private void loadProducts(PriceTable target, long since, long upTo) {
+        jdbcTemplate.query("SELECT product_id, selling_priceusd, selling_pricezwl FROM products "
+                + "WHERE change_version > ? AND change_version <= ?", rs -> {
+            target.putGlobal(rs.getLong(1), number(rs, 2), number(rs, 3));
+        }, since, upTo);
+    }
+
+    private void loadShopPrices(PriceTable target, long since, long upTo) {
+        jdbcTemplate.query("SELECT shop_id, product_id, selling_priceusd, selling_pricezwl FROM shop_stock "
+                + "WHERE price_version > ? AND price_version <= ?", rs -> {
+            target.putShopPrice(rs.getLong(1), rs.getLong(2), number(rs, 3), number(rs, 4));
+        }, since, upTo);
+    }
+
+    private static Double number(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    // ============================================================
+    // ✏️ Incremental updates once changes commit
+    // ============================================================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.product() == null) {
+            table.removeProduct(event.productId());
+        } else {
+            table.putGlobal(event.productId(), event.product().getSellingPriceUSD(), event.product().getSellingPriceZWL());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onShopPriceChanged(ShopPriceChangedEvent event) {
+        table.putShopPrice(event.shopId(), event.productId(), event.sellingPriceUSD(), event.sellingPriceZWL());
+    }
+}
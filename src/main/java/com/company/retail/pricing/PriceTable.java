@@ -0,0 +1,83 @@
+package com.company.retail.pricing;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ Precomputed effective prices keyed by (shop, product): a checkout price is one hash lookup.
+ *
+ * Global prices and shop overrides are kept alongside, so a change to either only
+ * recomputes the entries it affects (a global change: one entry per shop).
+ * Reads are lock-free; writes are serialized.
+ */
+public class PriceTable {
+
+    private record Key(long shopId, long productId) {
+    }
+
+    private final Map<Long, EffectivePrice> globals = new ConcurrentHashMap<>();
+    private final Map<Key, EffectivePrice> overrides = new ConcurrentHashMap<>();
+    private final Map<Key, EffectivePrice> effective = new ConcurrentHashMap<>();
+    private final Set<Long> shops = ConcurrentHashMap.newKeySet();
+
+    // ✅ Effective price, or null when this pair is not loaded (yet)
+    public EffectivePrice get(Long shopId, Long productId) {
+        if (productId == null) {
+            return null;
+        }
+        return shopId == null ? globals.get(productId) : effective.get(new Key(shopId, productId));
+    }
+
+    public synchronized void putGlobal(long productId, Double usd, Double zwl) {
+        EffectivePrice global = new EffectivePrice(usd, zwl);
+        globals.put(productId, global);
+        for (Long shopId : shops) {
+            Key key = new Key(shopId, productId);
+            effective.put(key, effectiveFor(global, overrides.get(key)));
+        }
+    }
+
+    // ✅ A shop_stock row's prices (0 / null = no override for that currency)
+    public synchronized void putShopPrice(long shopId, long productId, Double usd, Double zwl) {
+        shops.add(shopId);
+        Key key = new Key(shopId, productId);
+        EffectivePrice override = null;
+        if (EffectivePrice.isSet(usd) || EffectivePrice.isSet(zwl)) {
+            override = new EffectivePrice(usd, zwl);
+            overrides.put(key, override);
+        } else {
+            overrides.remove(key);
+        }
+        EffectivePrice global = globals.get(productId);
+        if (global == null) {
+            effective.remove(key); // product not loaded yet: callers fall back to the database
+        } else {
+            effective.put(key, effectiveFor(global, override));
+        }
+    }
+
+    public synchronized void removeProduct(long productId) {
+        globals.remove(productId);
+        for (Long shopId : shops) {
+            Key key = new Key(shopId, productId);
+            overrides.remove(key);
+            effective.remove(key);
+        }
+    }
+
+    public synchronized void removeShopPrice(long shopId, long productId) {
+        Key key = new Key(shopId, productId);
+        overrides.remove(key);
+        effective.remove(key);
+    }
+
+    public int size() {
+        return effective.size();
+    }
+
+    private static EffectivePrice effectiveFor(EffectivePrice global, EffectivePrice override) {
+        // no override: share the global instance instead of one copy per shop
+        return override == null ? global : EffectivePrice.combine(global, override.sellingPriceUSD(), override.sellingPriceZWL());
+    }
+}
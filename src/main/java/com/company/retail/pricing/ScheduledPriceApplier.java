@@ -0,0 +1,77 @@
+package com.company.retail.pricing;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.priceadjustment.PricingAdjustmentService;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ Applies one due scheduled price, in its own transaction: the claim and the price
+ * change commit together, and an entry that fails rolls back alone instead of taking
+ * the rest of the run with it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduledPriceApplier {
+
+    private final ScheduledPriceRepository scheduledPriceRepository;
+    private final ShopStockRepository shopStockRepository;
+    private final ProductService productService;
+    private final PricingAdjustmentService pricingAdjustmentService;
+
+    // ✅ APPLIED or SKIPPED; null when another instance (or a cancel) got there first
+    @Transactional
+    public ScheduledPriceModel.Status apply(Long priceId, LocalDateTime now) {
+        if (scheduledPriceRepository.claim(priceId, now) == 0) {
+            return null;
+        }
+        ScheduledPriceModel entry = scheduledPriceRepository.findById(priceId)
+                .orElseThrow(() -> new RuntimeException("Scheduled price not found"));
+        entry.setStatus(ScheduledPriceModel.Status.APPLIED); // keep an already loaded entity in step
+        entry.setAppliedAt(now);
+        ProductModel product = entry.getProduct();
+        if (entry.getShop() == null) {
+            productService.updatePricing(product.getProductId(),
+                    orElse(entry.getSellingPriceUSD(), product.getSellingPriceUSD()),
+                    orElse(entry.getSellingPriceZWL(), product.getSellingPriceZWL()),
+                    entry.getReason(), entry.getCreatedBy());
+            return entry.getStatus();
+        }
+
+        Long shopId = entry.getShop().getId();
+        ShopStockModel stock = shopStockRepository.findByShop_IdAndProduct_ProductId(shopId, product.getProductId()).orElse(null);
+        if (stock == null) {
+            entry.setStatus(ScheduledPriceModel.Status.SKIPPED);
+            entry.setError("Shop " + shopId + " has no stock row for product " + product.getProductId());
+            log.warn("Scheduled price {} skipped: {}", priceId, entry.getError());
+            return entry.getStatus();
+        }
+        Double oldUSD = stock.getSellingPriceUSD();
+        Double oldZWL = stock.getSellingPriceZWL();
+        stock.setSellingPriceUSD(orElse(entry.getSellingPriceUSD(), oldUSD));
+        stock.setSellingPriceZWL(orElse(entry.getSellingPriceZWL(), oldZWL));
+        shopStockRepository.save(stock);
+        pricingAdjustmentService.logShopAdjustment(product.getProductId(), shopId, oldUSD, stock.getSellingPriceUSD(),
+                oldZWL, stock.getSellingPriceZWL(), entry.getReason(), entry.getCreatedBy());
+        return entry.getStatus();
+    }
+
+    // ✅ After apply() rolled back: the entry is still PENDING, park it as FAILED
+    @Transactional
+    public void fail(Long priceId, LocalDateTime now, String error) {
+        String message = error == null ? "Unknown error" : error.substring(0, Math.min(error.length(), 1000));
+        scheduledPriceRepository.fail(priceId, now, message);
+    }
+
+    private static Double orElse(Double value, Double fallback) {
+        return value != null ? value : fallback;
+    }
+}
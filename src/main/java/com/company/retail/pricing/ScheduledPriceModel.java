@@ -0,0 +1,79 @@
+package com.company.retail.pricing;
+
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import com.company.retail.product.ProductModel;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.user.UserModel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ A future price: global (no shop) or for one shop. A null price leaves that currency as it is.
+ * Applied to products / shop_stock by ScheduledPriceService once effectiveFrom has passed.
+ */
+@Entity
+@Table(name = "scheduled_prices")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledPriceModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled_prices_seq")
+    @SequenceGenerator(name = "scheduled_prices_seq", sequenceName = "scheduled_prices_seq", allocationSize = 50)
+    private Long priceId;
+
+    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @JoinColumn(name = "product_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private ProductModel product;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "shop_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private ShopModel shop;
+
+    private Double sellingPriceUSD;
+    private Double sellingPriceZWL;
+
+    @Column(nullable = false)
+    private LocalDateTime effectiveFrom;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    private PricingAdjustmentModel.AdjustmentType reason;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by")
+    @JsonIgnore
+    private UserModel createdBy;
+
+    private LocalDateTime dateCreated;
+    private LocalDateTime appliedAt;   // when it was applied, skipped or failed
+    private String error;              // why it was skipped / failed
+
+    public enum Status {
+        PENDING,
+        APPLIED,
+        SKIPPED,   // shop price for a product the shop does not stock
+        FAILED,    // applying it threw; not retried
+        CANCELLED
+    }
+
+    @PrePersist
+    public void onCreate() {
+        dateCreated = LocalDateTime.now();
+        if (status == null) {
+            status = Status.PENDING;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.retail.pricing;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledPriceRepository extends JpaRepository<ScheduledPriceModel, Long> {
+
+    List<ScheduledPriceModel> findByProduct_ProductIdOrderByEffectiveFromDesc(Long productId);
+
+    List<ScheduledPriceModel> findByStatusOrderByEffectiveFromAsc(ScheduledPriceModel.Status status);
+
+    // ✅ Due entries, oldest first (a later entry for the same price wins)
+    @Query("SELECT s FROM ScheduledPriceModel s WHERE s.status = com.company.retail.pricing.ScheduledPriceModel.Status.PENDING " +
+            "AND s.effectiveFrom <= :now ORDER BY s.effectiveFrom, s.priceId")
+    List<ScheduledPriceModel> findDue(@Param("now") LocalDateTime now, Pageable page);
+
+    // ✅ Claims a pending entry; 0 when another instance (or a cancel) got there first
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ScheduledPriceModel s SET s.status = com.company.retail.pricing.ScheduledPriceModel.Status.APPLIED, " +
+            "s.appliedAt = :now WHERE s.priceId = :id AND s.status = com.company.retail.pricing.ScheduledPriceModel.Status.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // ✅ Parks a pending entry that could not be applied, so the job does not retry it forever
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ScheduledPriceModel s SET s.status = com.company.retail.pricing.ScheduledPriceModel.Status.FAILED, " +
+            "s.appliedAt = :now, s.error = :error " +
+            "WHERE s.priceId = :id AND s.status = com.company.retail.pricing.ScheduledPriceModel.Status.PENDING")
+    int fail(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("error") String error);
+}
@@ -0,0 +1,144 @@
+package com.company.retail.pricing;
+
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import com.company.retail.pricing.dto.ScheduledPriceRequestDTO;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.user.UserModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ✅ Effective-dated prices: scheduling, cancelling, and applying them once due.
+ *
+ * A due entry is written through the normal pricing paths (product / shop stock update
+ * plus a pricing_adjustments row), so catalog sync, the search index and the price
+ * table all see it like any other price change. Entries are claimed with a conditional
+ * update, so running the job on several instances applies each one once.
+ *
+ * A shop price for a product the shop does not stock is SKIPPED; an entry that throws is
+ * FAILED (with the error) and not retried. Neither counts as applied.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledPriceService {
+
+    static final int BATCH = 200;
+
+    private final ScheduledPriceRepository scheduledPriceRepository;
+    private final ProductRepository productRepository;
+    private final ShopRepository shopRepository;
+    private final ScheduledPriceApplier applier;
+
+    @Transactional
+    public ScheduledPriceModel schedule(ScheduledPriceRequestDTO request) {
+        if (request.getProductId() == null || request.getEffectiveFrom() == null) {
+            throw new RuntimeException("productId and effectiveFrom are required");
+        }
+        if (request.getSellingPriceUSD() == null && request.getSellingPriceZWL() == null) {
+            throw new RuntimeException("At least one of sellingPriceUSD / sellingPriceZWL is required");
+        }
+        if (isNegative(request.getSellingPriceUSD()) || isNegative(request.getSellingPriceZWL())) {
+            throw new RuntimeException("Prices cannot be negative");
+        }
+        ProductModel product = productRepository.findById(request.getProductId())
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        ShopModel shop = request.getShopId() == null ? null : shopRepository.findById(request.getShopId())
+                .orElseThrow(() -> new RuntimeException("Shop not found"));
+
+        return scheduledPriceRepository.save(ScheduledPriceModel.builder()
+                .product(product)
+                .shop(shop)
+                .sellingPriceUSD(request.getSellingPriceUSD())
+                .sellingPriceZWL(request.getSellingPriceZWL())
+                .effectiveFrom(request.getEffectiveFrom())
+                .reason(request.getReason() != null ? request.getReason() : PricingAdjustmentModel.AdjustmentType.SCHEDULED)
+                .createdBy(currentUser())
+                .build());
+    }
+
+    @Transactional
+    public ScheduledPriceModel cancel(Long priceId) {
+        ScheduledPriceModel entry = scheduledPriceRepository.findById(priceId)
+                .orElseThrow(() -> new RuntimeException("Scheduled price not found"));
+        if (entry.getStatus() != ScheduledPriceModel.Status.PENDING) {
+            throw new RuntimeException("Only pending prices can be cancelled (this one is " + entry.getStatus() + ")");
+        }
+        entry.setStatus(ScheduledPriceModel.Status.CANCELLED);
+        return scheduledPriceRepository.save(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledPriceModel> getForProduct(Long productId) {
+        return scheduledPriceRepository.findByProduct_ProductIdOrderByEffectiveFromDesc(productId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledPriceModel> getPending() {
+        return scheduledPriceRepository.findByStatusOrderByEffectiveFromAsc(ScheduledPriceModel.Status.PENDING);
+    }
+
+    // ============================================================
+    // ⏰ Apply due entries
+    // ============================================================
+    // Not one transaction: each entry commits (or fails) on its own, see ScheduledPriceApplier
+    @Scheduled(fixedDelayString = "${app.scheduled-prices.check-interval-ms:30000}")
+    public int applyDue() {
+        LocalDateTime now = LocalDateTime.now();
+        int applied = 0;
+        int skipped = 0;
+        int failed = 0;
+        while (true) {
+            List<ScheduledPriceModel> due = scheduledPriceRepository.findDue(now, PageRequest.of(0, BATCH));
+            int handled = 0;
+            for (ScheduledPriceModel entry : due) {
+                ScheduledPriceModel.Status status;
+                try {
+                    status = applier.apply(entry.getPriceId(), now);
+                } catch (RuntimeException e) {
+                    log.error("Scheduled price {} failed: {}", entry.getPriceId(), e.getMessage(), e);
+                    applier.fail(entry.getPriceId(), now, e.getMessage());
+                    failed++;
+                    handled++;
+                    continue;
+                }
+                if (status == ScheduledPriceModel.Status.APPLIED) {
+                    applied++;
+                } else if (status == ScheduledPriceModel.Status.SKIPPED) {
+                    skipped++;
+                }
+                if (status != null) {
+                    handled++;
+                }
+            }
+            if (handled == 0) {
+                break;
+            }
+        }
+        if (applied + skipped + failed > 0) {
+            log.info("Scheduled prices: {} applied, {} skipped, {} failed", applied, skipped, failed);
+        }
+        return applied;
+    }
+
+    private static boolean isNegative(Double value) {
+        return value != null && value < 0;
+    }
+
+    private static UserModel currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserModel user ? user : null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.retail.pricing;
+
+/**
+ * ✅ A shop's own selling price changed (published by CatalogVersionListener,
+ * applied to the price table once the transaction commits).
+ */
+public record ShopPriceChangedEvent(Long shopId, Long productId, Double sellingPriceUSD, Double sellingPriceZWL) {
+}
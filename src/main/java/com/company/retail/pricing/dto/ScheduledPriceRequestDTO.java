@@ -0,0 +1,23 @@
+package com.company.retail.pricing.dto;
+
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ Schedule a price change: shopId null = global price; a null price keeps that currency.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledPriceRequestDTO {
+    private Long productId;
+    private Long shopId;
+    private Double sellingPriceUSD;
+    private Double sellingPriceZWL;
+    private LocalDateTime effectiveFrom;
+    private PricingAdjustmentModel.AdjustmentType reason;
+}
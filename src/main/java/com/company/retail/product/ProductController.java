@@ -1,12 +1,24 @@
 package com.company.retail.product;
 
 import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.dto.ShopStockView;
 import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import com.company.retail.product.barcode.ProductBarcodeService;
+import com.company.retail.product.dto.ProductBarcodeDTO;
+import com.company.retail.product.dto.ProductSearchResult;
+import com.company.retail.product.importer.CatalogImportService;
+import com.company.retail.product.search.ProductSearchIndex;
+import com.company.retail.product.search.ProductSearchService;
 import com.company.retail.user.UserModel;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -20,6 +32,9 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final ProductBarcodeService productBarcodeService;
+    private final CatalogImportService catalogImportService;
 
     /**
      * ✅ View all products (any logged-in user can view)
@@ -30,6 +45,35 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
+    /**
+     * ✅ Till lookup: words match name, category or unit by prefix, with typo tolerance
+     * e.g. /api/products/search?q=coc 500&category=Drinks
+     * X-Search-Partial: true when the search gave up before checking every candidate
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchResult>> search(@RequestParam String q,
+                                                            @RequestParam(required = false) String category,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        ProductSearchIndex.Hits hits = productSearchService.search(q, category, limit);
+        return ResponseEntity.ok()
+                .header("X-Search-Partial", String.valueOf(hits.partial()))
+                .body(hits.products());
+    }
+
+    /**
+     * ✅ Till scan: barcode/SKU -> product, price and on-hand quantity in the given shop
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/scan/{code}")
+    public ResponseEntity<?> scan(@PathVariable String code, @RequestParam(required = false) Long shopId) {
+        try {
+            return ResponseEntity.ok(productBarcodeService.scan(code, shopId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body("❌ " + e.getMessage());
+        }
+    }
+
     /**
      * ✅ View product by ID (any logged-in user)
      */
@@ -58,6 +102,35 @@ public class ProductController {
         }
     }
 
+    /**
+     * ✅ Create many products in one request (all-or-nothing)
+     * Restricted to Admin or SuperAdmin
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createProducts(@RequestBody List<ProductModel> products) {
+        try {
+            return ResponseEntity.ok(productService.createProducts(products));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Catalogue import from an uploaded .csv or .xlsx (streamed)
+     * Valid rows are created in all shops; the report lists every rejected row
+     * Restricted to Admin or SuperAdmin
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importCatalog(@RequestParam("file") MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(catalogImportService.importCatalog(in, file.getOriginalFilename()));
+        } catch (RuntimeException | IOException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
     /**
      * ✅ Update product details
      * Restricted to Admin or SuperAdmin
@@ -124,7 +197,7 @@ public class ProductController {
     @GetMapping("/shop/{shopId}")
     public ResponseEntity<?> getProductsByShop(@PathVariable Long shopId) {
         try {
-            List<ShopStockModel> stocks = productService.getProductsByShop(shopId);
+            List<ShopStockView> stocks = productService.getProductsByShop(shopId);
             return ResponseEntity.ok(stocks);
         } catch (RuntimeException e) {
             return ResponseEntity.status(404).body("❌ " + e.getMessage());
@@ -139,13 +212,65 @@ public class ProductController {
     @GetMapping("/reorder/{shopId}")
     public ResponseEntity<?> getBelowReorder(@PathVariable Long shopId) {
         try {
-            List<ShopStockModel> lowStock = productService.getProductsBelowReorderLevel(shopId);
+            List<ShopStockView> lowStock = productService.getProductsBelowReorderLevel(shopId);
             return ResponseEntity.ok(lowStock);
         } catch (RuntimeException e) {
             return ResponseEntity.status(404).body("❌ " + e.getMessage());
         }
     }
 
+    /**
+     * ✅ Barcodes of a product (any logged-in user)
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/{productId}/barcodes")
+    public ResponseEntity<List<String>> getBarcodes(@PathVariable Long productId) {
+        return ResponseEntity.ok(productBarcodeService.getBarcodes(productId));
+    }
+
+    /**
+     * ✅ Assign barcodes to a product
+     * Restricted to Admin or SuperAdmin
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PostMapping("/{productId}/barcodes")
+    public ResponseEntity<?> addBarcodes(@PathVariable Long productId, @RequestBody List<String> codes) {
+        try {
+            return ResponseEntity.ok(productBarcodeService.addBarcodes(productId, codes));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Bulk barcode import: [{code, productId | productName}, ...]
+     * Valid rows are saved; the response lists rejected rows
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PostMapping("/barcodes/import")
+    public ResponseEntity<?> importBarcodes(@RequestBody List<ProductBarcodeDTO> rows) {
+        try {
+            return ResponseEntity.ok(productBarcodeService.importBarcodes(rows));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Remove a barcode
+     * Restricted to Admin or SuperAdmin
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @DeleteMapping("/barcodes/{code}")
+    public ResponseEntity<?> removeBarcode(@PathVariable String code) {
+        try {
+            productBarcodeService.removeBarcode(code);
+            return ResponseEntity.ok("✅ Barcode removed.");
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body("❌ " + e.getMessage());
+        }
+    }
+
     /**
      * ✅ Delete a product
      * Only Admin or SuperAdmin can delete
@@ -1,24 +1,33 @@
 package com.company.retail.product;
 
+import com.company.retail.sync.CatalogVersionListener;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "retail.products")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @JsonIgnoreProperties(ignoreUnknown = true)
+@EntityListeners(CatalogVersionListener.class) // ✅ catalog delta sync
 public class ProductModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long productId;
 
     @Column(nullable = false, unique = true)
@@ -36,6 +45,16 @@ public class ProductModel {
     private LocalDateTime dateCreated;
     private LocalDateTime dateUpdated;
 
+    // ✅ Barcodes to assign on create (stored in product_barcodes, not on this row)
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private List<String> barcodes;
+
+    // ✅ Catalog version of the last change (see /api/sync/catalog)
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long changeVersion;
+
     @PrePersist
     public void onCreate() {
         dateCreated = LocalDateTime.now();
@@ -1,11 +1,45 @@
 package com.company.retail.product;
 
+import com.company.retail.product.dto.ProductSearchResult;
+import com.company.retail.sync.dto.CatalogProductDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<ProductModel, Long> {
     boolean existsByProductNameIgnoreCase(String productName);
-}
\ No newline at end of file
+
+    // ✅ Catalog delta sync: products changed in (since, upTo]
+    @Query("SELECT new com.company.retail.sync.dto.CatalogProductDTO(" +
+            "p.productId, p.productName, p.category, p.unit, p.sellingPriceUSD, p.sellingPriceZWL) " +
+            "FROM ProductModel p WHERE p.changeVersion > :since AND p.changeVersion <= :upTo ORDER BY p.productId")
+    List<CatalogProductDTO> findCatalogChanges(@Param("since") long since, @Param("upTo") long upTo);
+
+    // ✅ Search index load / refresh: products changed in (since, upTo]
+    @Query("SELECT new com.company.retail.product.dto.ProductSearchResult(" +
+            "p.productId, p.productName, p.category, p.unit, p.sellingPriceUSD, p.sellingPriceZWL) " +
+            "FROM ProductModel p WHERE p.changeVersion > :since AND p.changeVersion <= :upTo")
+    List<ProductSearchResult> findSearchDocuments(@Param("since") long since, @Param("upTo") long upTo);
+
+    // ✅ Search documents by name (names passed lower case): rows just inserted with plain JDBC
+    @Query("SELECT new com.company.retail.product.dto.ProductSearchResult(" +
+            "p.productId, p.productName, p.category, p.unit, p.sellingPriceUSD, p.sellingPriceZWL) " +
+            "FROM ProductModel p WHERE LOWER(p.productName) IN :names")
+    List<ProductSearchResult> findSearchDocumentsByLowerNameIn(@Param("names") Collection<String> names);
+
+    // ✅ Batched name/id resolution for bulk imports (names passed lower case)
+    @Query("SELECT p FROM ProductModel p WHERE LOWER(p.productName) IN :names")
+    List<ProductModel> findByLowerProductNameIn(@Param("names") Collection<String> names);
+
+    @Query("SELECT p.productId FROM ProductModel p WHERE p.productId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // ✅ Catalogue import: every existing name, lower case, in one query
+    @Query("SELECT LOWER(p.productName) FROM ProductModel p")
+    List<String> findAllLowerNames();
+}
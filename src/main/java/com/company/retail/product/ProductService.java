@@ -2,16 +2,27 @@ package com.company.retail.product;
 
 import com.company.retail.ShopStock.ShopStockModel;
 import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.ShopStock.dto.ShopStockView;
 import com.company.retail.priceadjustment.PricingAdjustmentModel;
 import com.company.retail.priceadjustment.PricingAdjustmentService;
+import com.company.retail.ShopStock.ShopStockInitializer;
+import com.company.retail.product.barcode.ProductBarcodeService;
+import com.company.retail.product.dto.BarcodeImportResultDTO;
+import com.company.retail.product.dto.BulkProductResultDTO;
+import com.company.retail.product.dto.ProductBarcodeDTO;
+import com.company.retail.product.dto.ProductSearchResult;
+import com.company.retail.product.search.ProductChangedEvent;
 import com.company.retail.shop.ShopModel;
 import com.company.retail.shop.ShopRepository;
+import com.company.retail.sync.CatalogVersions;
 import com.company.retail.user.UserModel;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -21,38 +32,92 @@ public class ProductService {
     private final ShopRepository shopRepository;
     private final ShopStockRepository shopStockRepository;
     private final PricingAdjustmentService pricingAdjustmentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductBarcodeService productBarcodeService;
+    private final ShopStockInitializer shopStockInitializer;
+    private final CatalogVersions catalogVersions;
 
     /**
      * ✅ Create a new product globally, initialize in all shops
      */
+    @Transactional
     public ProductModel createProduct(ProductModel product) {
         if (productRepository.existsByProductNameIgnoreCase(product.getProductName())) {
             throw new RuntimeException("Product already exists globally");
         }
 
-        // Save global product info (name, category, selling prices)
-        ProductModel savedProduct = productRepository.save(product);
-
-        // Initialize shop-level stock records (each shop starts with zero)
-        List<ShopModel> shops = shopRepository.findAll();
-        for (ShopModel shop : shops) {
-            ShopStockModel stock = ShopStockModel.builder()
-                    .shop(shop)
-                    .product(savedProduct)
-                    .quantityInStock(0)
-                    .avgLandingCostUSD(0.0)
-                    .avgLandingCostZWL(0.0)
-                    .build();
-            shopStockRepository.save(stock);
+        // Save global product info (name, category, selling prices); flushed for the stock insert below
+        ProductModel savedProduct = productRepository.saveAndFlush(product);
+
+        // Initialize shop-level stock records (each shop starts with zero), one INSERT ... SELECT
+        shopStockInitializer.initializeForProduct(savedProduct.getProductId());
+
+        if (product.getBarcodes() != null && !product.getBarcodes().isEmpty()) {
+            productBarcodeService.addBarcodes(savedProduct.getProductId(), product.getBarcodes());
         }
 
+        publishSearchUpdate(savedProduct);
         return savedProduct;
     }
 
+    /**
+     * ✅ Create many products at once, initialized in all shops
+     * All-or-nothing: one batched name check, batched inserts, then one
+     * INSERT ... SELECT per chunk for the products x shops stock rows
+     */
+    @Transactional
+    public BulkProductResultDTO createProducts(List<ProductModel> products) {
+        Set<String> names = new HashSet<>();
+        for (ProductModel product : products) {
+            if (product.getProductName() == null || product.getProductName().isBlank()) {
+                throw new RuntimeException("Product name is required");
+            }
+            if (!names.add(product.getProductName().trim().toLowerCase(Locale.ROOT))) {
+                throw new RuntimeException("Duplicate product name in request: " + product.getProductName());
+            }
+        }
+        List<String> existing = new ArrayList<>();
+        List<String> nameList = new ArrayList<>(names);
+        for (int from = 0; from < nameList.size(); from += ShopStockInitializer.CHUNK) {
+            productRepository.findByLowerProductNameIn(nameList.subList(from, Math.min(from + ShopStockInitializer.CHUNK, nameList.size())))
+                    .forEach(p -> existing.add(p.getProductName()));
+        }
+        if (!existing.isEmpty()) {
+            throw new RuntimeException("Product already exists globally: " + String.join(", ", existing));
+        }
+
+        // One catalog version for the whole batch instead of a sequence call per row
+        long version = catalogVersions.next();
+        products.forEach(p -> p.setChangeVersion(version));
+        List<ProductModel> saved = productRepository.saveAll(products);
+        productRepository.flush();
+
+        List<Long> ids = saved.stream().map(ProductModel::getProductId).toList();
+        int stockRows = shopStockInitializer.initializeForProducts(ids);
+
+        List<ProductBarcodeDTO> barcodes = new ArrayList<>();
+        for (ProductModel product : saved) {
+            if (product.getBarcodes() != null) {
+                product.getBarcodes().forEach(code -> barcodes.add(ProductBarcodeDTO.builder()
+                        .code(code).productId(product.getProductId()).build()));
+            }
+        }
+        if (!barcodes.isEmpty()) {
+            BarcodeImportResultDTO imported = productBarcodeService.importBarcodes(barcodes);
+            if (!imported.getErrors().isEmpty()) {
+                throw new RuntimeException("Invalid barcodes: " + String.join("; ", imported.getErrors()));
+            }
+        }
+
+        saved.forEach(this::publishSearchUpdate);
+        return BulkProductResultDTO.builder().products(saved.size()).shopStockRows(stockRows).build();
+    }
+
     /**
      * ✅ Update general product details (name, category, unit, reorder)
      * Excludes pricing & cost (handled separately)
      */
+    @Transactional
     public ProductModel updateProduct(Long id, ProductModel updatedProduct) {
         ProductModel product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -63,13 +128,16 @@ public class ProductService {
         product.setReorderLevel(updatedProduct.getReorderLevel());
         product.setDateUpdated(LocalDateTime.now());
 
-        return productRepository.save(product);
+        ProductModel saved = productRepository.save(product);
+        publishSearchUpdate(saved);
+        return saved;
     }
 
     /**
      * ✅ Update product global selling prices
      * Logs change using PricingAdjustmentService
      */
+    @Transactional
     public ProductModel updatePricing(Long productId,
                                       Double newSellingUSD,
                                       Double newSellingZWL,
@@ -87,6 +155,7 @@ public class ProductService {
         product.setDateUpdated(LocalDateTime.now());
 
         ProductModel saved = productRepository.save(product);
+        publishSearchUpdate(saved);
 
         // 🧾 Log pricing adjustment
         pricingAdjustmentService.logGlobalAdjustment(
@@ -105,6 +174,7 @@ public class ProductService {
     /**
      * ✅ Adjust stock for a specific shop (increase or decrease)
      */
+    @Transactional
     public ShopStockModel adjustShopStock(Long shopId, Long productId, int quantityChange) {
         ShopModel shop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
@@ -126,6 +196,7 @@ public class ProductService {
     /**
      * ✅ Get all global products
      */
+    @Transactional(readOnly = true)
     public List<ProductModel> getAllProducts() {
         return productRepository.findAll();
     }
@@ -133,6 +204,7 @@ public class ProductService {
     /**
      * ✅ Get single product
      */
+    @Transactional(readOnly = true)
     public ProductModel getProductById(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -141,15 +213,17 @@ public class ProductService {
     /**
      * ✅ Get shop-specific stock view
      */
-    public List<ShopStockModel> getProductsByShop(Long shopId) {
-        ShopModel shop = shopRepository.findById(shopId)
+    @Transactional(readOnly = true)
+    public List<ShopStockView> getProductsByShop(Long shopId) {
+        shopRepository.findById(shopId) // ✅ L2-cached existence check
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
-        return shopStockRepository.findByShop(shop);
+        return shopStockRepository.findViewsByShopId(shopId);
     }
 
     /**
      * ✅ Delete product (also removes shop-level stock)
      */
+    @Transactional
     public void deleteProduct(Long id) {
         ProductModel product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -157,22 +231,26 @@ public class ProductService {
         // Remove all shop stock references
         List<ShopStockModel> stocks = shopStockRepository.findByProduct(product);
         shopStockRepository.deleteAll(stocks);
+        productBarcodeService.removeAllForProduct(id);
 
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
     }
 
     /**
      * ✅ Get products below reorder level in a shop
      */
-    public List<ShopStockModel> getProductsBelowReorderLevel(Long shopId) {
-        ShopModel shop = shopRepository.findById(shopId)
+    @Transactional(readOnly = true)
+    public List<ShopStockView> getProductsBelowReorderLevel(Long shopId) {
+        shopRepository.findById(shopId) // ✅ L2-cached existence check
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
-        return shopStockRepository.findByShopAndQuantityInStockLessThanEqual(shop, 0);
+        return shopStockRepository.findViewsByShopIdAndQuantityAtMost(shopId, 0);
     }
 
     /**
      * ✅ Update shop-specific landing cost (after purchase order completion)
      */
+    @Transactional
     public void updateLandingCostForShop(ProductModel product, ShopModel shop, double newCostUSD, double newCostZWL) {
         ShopStockModel stock = shopStockRepository.findByShopAndProduct(shop, product)
                 .orElseGet(() -> new ShopStockModel(shop, product));
@@ -182,26 +260,15 @@ public class ProductService {
         shopStockRepository.save(stock);
     }
 
-    /**
-     * ✅ Auto price drop near expiry (optional feature)
-     */
-    public void autoAdjustPriceForExpiry() {
-        LocalDateTime threshold = LocalDateTime.now().plusDays(14);
-        List<ProductModel> products = productRepository.findAll();
-
-        for (ProductModel p : products) {
-            if (p.getDateUpdated() != null && p.getDateUpdated().isBefore(threshold)) {
-                Double discountedUSD = p.getSellingPriceUSD() * 0.8;
-                Double discountedZWL = p.getSellingPriceZWL() * 0.8;
-
-                updatePricing(
-                        p.getProductId(),
-                        discountedUSD,
-                        discountedZWL,
-                        PricingAdjustmentModel.AdjustmentType.EXPIRY,
-                        null
-                );
-            }
-        }
+    // ✅ Search index picks this up once the transaction commits
+    private void publishSearchUpdate(ProductModel product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getProductId(), ProductSearchResult.builder()
+                .productId(product.getProductId())
+                .productName(product.getProductName())
+                .category(product.getCategory())
+                .unit(product.getUnit())
+                .sellingPriceUSD(product.getSellingPriceUSD())
+                .sellingPriceZWL(product.getSellingPriceZWL())
+                .build()));
     }
-}
\ No newline at end of file
+}
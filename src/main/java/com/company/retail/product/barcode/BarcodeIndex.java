@@ -0,0 +1,69 @@
+package com.company.retail.product.barcode;
+
+import com.company.retail.product.dto.ProductBarcodeDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ code -> product id hash map for till scans.
+ *
+ * - Loaded once the application is ready, then reloaded every reload interval
+ *   (built aside and swapped, so scans never see a half-built map).
+ * - Barcode writes through ProductBarcodeService are applied as soon as they commit.
+ * - A miss falls back to the database once and caches the answer, so a code added
+ *   on another instance resolves before the next reload.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BarcodeIndex {
+
+    private final ProductBarcodeRepository barcodeRepository;
+
+    private volatile Map<String, Long> codes = new ConcurrentHashMap<>();
+
+    public Long productIdFor(String code) {
+        Long productId = codes.get(code);
+        if (productId == null) {
+            productId = barcodeRepository.findProductIdByCode(code).orElse(null);
+            if (productId != null) {
+                codes.put(code, productId);
+            }
+        }
+        return productId;
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.barcode-index.reload-interval-ms:300000}",
+            initialDelayString = "${app.barcode-index.reload-interval-ms:300000}")
+    public void reload() {
+        List<ProductBarcodeDTO> mappings = barcodeRepository.findAllMappings();
+        Map<String, Long> fresh = new ConcurrentHashMap<>(Math.max(16, mappings.size() * 4 / 3 + 1));
+        for (ProductBarcodeDTO mapping : mappings) {
+            fresh.put(mapping.getCode(), mapping.getProductId());
+        }
+        codes = fresh;
+        log.debug("Barcode index loaded: {} codes", fresh.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBarcodesChanged(BarcodesChangedEvent event) {
+        Map<String, Long> current = codes;
+        event.removed().forEach(current::remove);
+        current.putAll(event.added());
+    }
+}
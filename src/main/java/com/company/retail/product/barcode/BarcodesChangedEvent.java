@@ -0,0 +1,10 @@
+package com.company.retail.product.barcode;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * ✅ Barcodes assigned (code -> product id) or removed in one transaction.
+ */
+public record BarcodesChangedEvent(Map<String, Long> added, Collection<String> removed) {
+}
@@ -0,0 +1,40 @@
+package com.company.retail.product.barcode;
+
+import com.company.retail.product.ProductModel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "product_barcodes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBarcodeModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_barcodes_seq")
+    @SequenceGenerator(name = "product_barcodes_seq", sequenceName = "product_barcodes_seq", allocationSize = 50)
+    private Long barcodeId;
+
+    // ✅ EAN/UPC or in-house SKU, stored upper case without spaces
+    @Column(nullable = false, unique = true, length = 64)
+    private String code;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false)
+    @JsonIgnore
+    private ProductModel product;
+
+    @Column(updatable = false)
+    private LocalDateTime dateCreated;
+
+    @PrePersist
+    public void onCreate() {
+        dateCreated = LocalDateTime.now();
+    }
+}
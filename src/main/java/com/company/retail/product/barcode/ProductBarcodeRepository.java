@@ -0,0 +1,41 @@
+package com.company.retail.product.barcode;
+
+import com.company.retail.product.dto.ProductBarcodeDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductBarcodeRepository extends JpaRepository<ProductBarcodeModel, Long> {
+
+    Optional<ProductBarcodeModel> findByCode(String code);
+
+    @Query("SELECT b.code FROM ProductBarcodeModel b WHERE b.product.productId = :productId ORDER BY b.code")
+    List<String> findCodesByProductId(@Param("productId") Long productId);
+
+    @Query("SELECT b.product.productId FROM ProductBarcodeModel b WHERE b.code = :code")
+    Optional<Long> findProductIdByCode(@Param("code") String code);
+
+    // ✅ One round trip to check a whole import for codes already in use
+    @Query("SELECT b.code FROM ProductBarcodeModel b WHERE b.code IN :codes")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
+    @Query("SELECT b.code FROM ProductBarcodeModel b")
+    List<String> findAllCodes();
+
+    // ✅ Scan index load: code -> product id only
+    @Query("SELECT new com.company.retail.product.dto.ProductBarcodeDTO(b.code, b.product.productId, null) FROM ProductBarcodeModel b")
+    List<ProductBarcodeDTO> findAllMappings();
+
+    // ✅ Batched code -> product id resolution (supplier invoice import)
+    @Query("SELECT new com.company.retail.product.dto.ProductBarcodeDTO(b.code, b.product.productId, null) " +
+            "FROM ProductBarcodeModel b WHERE b.code IN :codes")
+    List<ProductBarcodeDTO> findMappingsByCodeIn(@Param("codes") Collection<String> codes);
+
+    List<ProductBarcodeModel> findByProduct_ProductId(Long productId);
+}
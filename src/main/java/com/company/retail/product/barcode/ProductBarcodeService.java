@@ -0,0 +1,226 @@
+package com.company.retail.product.barcode;
+
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.pricing.EffectivePrice;
+import com.company.retail.pricing.PriceResolver;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.dto.BarcodeImportResultDTO;
+import com.company.retail.product.dto.ProductBarcodeDTO;
+import com.company.retail.product.dto.ProductSearchResult;
+import com.company.retail.product.dto.ScanResultDTO;
+import com.company.retail.product.search.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class ProductBarcodeService {
+
+    private static final Pattern CODE = Pattern.compile("[A-Z0-9._-]{1,64}");
+
+    private final ProductBarcodeRepository barcodeRepository;
+    private final ProductRepository productRepository;
+    private final ShopStockRepository shopStockRepository;
+    private final ProductSearchService productSearchService;
+    private final BarcodeIndex barcodeIndex;
+    private final PriceResolver priceResolver;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ============================================================
+    // 🔫 Scan lookup (hot path: hash lookups + one keyed stock read)
+    // ============================================================
+    public ScanResultDTO scan(String rawCode, Long shopId) {
+        String code = normalize(rawCode);
+        Long productId = barcodeIndex.productIdFor(code);
+        if (productId == null) {
+            throw new RuntimeException("Barcode not found: " + code);
+        }
+
+        ProductSearchResult product = productSearchService.get(productId);
+        if (product == null) {
+            // ✅ Not in the search index yet (created on another instance): L2-cached entity read
+            ProductModel entity = productRepository.findById(productId)
+                    .orElseThrow(() -> new RuntimeException("Barcode not found: " + code));
+            product = ProductSearchResult.builder()
+                    .productId(entity.getProductId())
+                    .productName(entity.getProductName())
+                    .category(entity.getCategory())
+                    .unit(entity.getUnit())
+                    .sellingPriceUSD(entity.getSellingPriceUSD())
+                    .sellingPriceZWL(entity.getSellingPriceZWL())
+                    .build();
+        }
+
+        // ✅ In a shop, the price checkout charges there (shop override or global)
+        EffectivePrice price = shopId == null ? null : priceResolver.resolve(shopId, productId);
+        if (price == null) {
+            price = new EffectivePrice(product.getSellingPriceUSD(), product.getSellingPriceZWL());
+        }
+
+        return ScanResultDTO.builder()
+                .barcode(code)
+                .productId(productId)
+                .productName(product.getProductName())
+                .category(product.getCategory())
+                .unit(product.getUnit())
+                .sellingPriceUSD(price.sellingPriceUSD())
+                .sellingPriceZWL(price.sellingPriceZWL())
+                .shopId(shopId)
+                .quantityInStock(shopId == null ? null
+                        : shopStockRepository.findQuantity(shopId, productId).orElse(null))
+                .build();
+    }
+
+    // ============================================================
+    // ✏️ Assign / remove
+    // ============================================================
+    @Transactional(readOnly = true)
+    public List<String> getBarcodes(Long productId) {
+        return barcodeRepository.findCodesByProductId(productId);
+    }
+
+    @Transactional
+    public List<String> addBarcodes(Long productId, List<String> rawCodes) {
+        ProductModel product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+
+        Set<String> codes = new LinkedHashSet<>();
+        for (String rawCode : rawCodes) {
+            String code = normalize(rawCode);
+            validate(code);
+            codes.add(code);
+        }
+        List<String> taken = barcodeRepository.findExistingCodes(codes);
+        if (!taken.isEmpty()) {
+            throw new RuntimeException("Barcode already assigned: " + String.join(", ", taken));
+        }
+
+        Map<String, Long> added = new LinkedHashMap<>();
+        List<ProductBarcodeModel> barcodes = new ArrayList<>();
+        for (String code : codes) {
+            barcodes.add(ProductBarcodeModel.builder().code(code).product(product).build());
+            added.put(code, productId);
+        }
+        barcodeRepository.saveAll(barcodes);
+        eventPublisher.publishEvent(new BarcodesChangedEvent(added, List.of()));
+        return new ArrayList<>(codes);
+    }
+
+    @Transactional
+    public void removeBarcode(String rawCode) {
+        String code = normalize(rawCode);
+        ProductBarcodeModel barcode = barcodeRepository.findByCode(code)
+                .orElseThrow(() -> new RuntimeException("Barcode not found: " + code));
+        barcodeRepository.delete(barcode);
+        eventPublisher.publishEvent(new BarcodesChangedEvent(Map.of(), List.of(code)));
+    }
+
+    // ✅ Called by ProductService.deleteProduct before the product row goes
+    @Transactional
+    public void removeAllForProduct(Long productId) {
+        List<ProductBarcodeModel> barcodes = barcodeRepository.findByProduct_ProductId(productId);
+        if (!barcodes.isEmpty()) {
+            barcodeRepository.deleteAll(barcodes);
+            eventPublisher.publishEvent(new BarcodesChangedEvent(Map.of(),
+                    barcodes.stream().map(ProductBarcodeModel::getCode).toList()));
+        }
+    }
+
+    // ============================================================
+    // 📥 Bulk import: rows name the product by id or exact name
+    // ============================================================
+    @Transactional
+    public BarcodeImportResultDTO importBarcodes(List<ProductBarcodeDTO> rows) {
+        List<String> errors = new ArrayList<>();
+
+        // One query for all product names used in the file
+        Set<String> names = new HashSet<>();
+        for (ProductBarcodeDTO row : rows) {
+            if (row.getProductId() == null && row.getProductName() != null) {
+                names.add(row.getProductName().trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<String, Long> idsByName = new HashMap<>();
+        if (!names.isEmpty()) {
+            for (ProductModel product : productRepository.findByLowerProductNameIn(names)) {
+                idsByName.put(product.getProductName().toLowerCase(Locale.ROOT), product.getProductId());
+            }
+        }
+
+        Map<String, Long> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProductBarcodeDTO row = rows.get(i);
+            String code = normalize(row.getCode());
+            try {
+                validate(code);
+            } catch (RuntimeException e) {
+                errors.add("Row " + (i + 1) + ": " + e.getMessage());
+                continue;
+            }
+            Long productId = row.getProductId() != null ? row.getProductId()
+                    : row.getProductName() == null ? null
+                    : idsByName.get(row.getProductName().trim().toLowerCase(Locale.ROOT));
+            if (productId == null) {
+                errors.add("Row " + (i + 1) + ": unknown product " + Objects.toString(row.getProductName(), ""));
+            } else if (accepted.putIfAbsent(code, productId) != null) {
+                errors.add("Row " + (i + 1) + ": duplicate barcode " + code + " in file");
+            }
+        }
+
+        // Ids given directly must exist; codes must not be in use already
+        if (accepted.isEmpty()) {
+            return BarcodeImportResultDTO.builder().imported(0).errors(errors).build();
+        }
+        Set<Long> knownIds = new HashSet<>(productRepository.findExistingIds(new HashSet<>(accepted.values())));
+        Set<String> taken = new HashSet<>(barcodeRepository.findExistingCodes(accepted.keySet()));
+        List<ProductBarcodeModel> barcodes = new ArrayList<>();
+        Map<String, Long> added = new LinkedHashMap<>();
+        accepted.forEach((code, productId) -> {
+            if (!knownIds.contains(productId)) {
+                errors.add("Barcode " + code + ": product " + productId + " not found");
+            } else if (taken.contains(code)) {
+                errors.add("Barcode " + code + ": already assigned");
+            } else {
+                barcodes.add(ProductBarcodeModel.builder().code(code).product(productRepository.getReferenceById(productId)).build());
+                added.put(code, productId);
+            }
+        });
+
+        barcodeRepository.saveAll(barcodes);
+        eventPublisher.publishEvent(new BarcodesChangedEvent(added, List.of()));
+        return BarcodeImportResultDTO.builder().imported(barcodes.size()).errors(errors).build();
+    }
+
+    // ============================================================
+    // 🧮 Code rules
+    // ============================================================
+    public static String normalize(String code) {
+        return code == null ? "" : code.replaceAll("\\s+", "").toUpperCase(Locale.ROOT);
+    }
+
+    // ✅ Letters/digits SKUs; all-digit EAN-8/UPC-A/EAN-13/GTIN-14 must have a valid check digit
+    public static void validate(String code) {
+        if (!CODE.matcher(code).matches()) {
+            throw new RuntimeException("Invalid barcode '" + code + "'");
+        }
+        boolean gtinLength = code.length() == 8 || code.length() == 12 || code.length() == 13 || code.length() == 14;
+        if (gtinLength && code.chars().allMatch(Character::isDigit) && !validCheckDigit(code)) {
+            throw new RuntimeException("Invalid check digit in barcode " + code);
+        }
+    }
+
+    static boolean validCheckDigit(String digits) {
+        int sum = 0;
+        // weights 3,1,3,1... from the digit left of the check digit
+        for (int i = digits.length() - 2, weight = 3; i >= 0; i--, weight = 4 - weight) {
+            sum += (digits.charAt(i) - '0') * weight;
+        }
+        return (10 - sum % 10) % 10 == digits.charAt(digits.length() - 1) - '0';
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.retail.product.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ✅ Outcome of a barcode import: rows saved, plus one message per rejected row.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BarcodeImportResultDTO {
+    private int imported;
+    private List<String> errors;
+}
@@ -0,0 +1,16 @@
+package com.company.retail.product.dto;
+
+import lombok.*;
+
+/**
+ * ✅ Bulk create outcome: products inserted and shop stock rows initialized for them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkProductResultDTO {
+    private int products;
+    private int shopStockRows;
+}
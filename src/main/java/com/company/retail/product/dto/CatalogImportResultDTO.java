@@ -0,0 +1,24 @@
+package com.company.retail.product.dto;
+
+import com.company.retail.importer.dto.ImportRowErrorDTO;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ✅ Catalogue import report: counts plus every rejected row and why.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogImportResultDTO {
+    private int rows;
+    private int imported;
+    private int rejected;
+    private int shopStockRows;
+    private int barcodes;
+    private long durationMs;
+    private List<ImportRowErrorDTO> errors;
+}
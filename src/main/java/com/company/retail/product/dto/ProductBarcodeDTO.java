@@ -0,0 +1,17 @@
+package com.company.retail.product.dto;
+
+import lombok.*;
+
+/**
+ * ✅ Barcode import row: code plus either productId or productName.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBarcodeDTO {
+    private String code;
+    private Long productId;
+    private String productName;
+}
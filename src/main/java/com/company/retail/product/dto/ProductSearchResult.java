@@ -0,0 +1,20 @@
+package com.company.retail.product.dto;
+
+import lombok.*;
+
+/**
+ * ✅ One product as returned by GET /api/products/search (and held in the search index).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchResult {
+    private Long productId;
+    private String productName;
+    private String category;
+    private String unit;
+    private Double sellingPriceUSD;
+    private Double sellingPriceZWL;
+}
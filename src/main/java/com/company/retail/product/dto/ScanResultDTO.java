@@ -0,0 +1,24 @@
+package com.company.retail.product.dto;
+
+import lombok.*;
+
+/**
+ * ✅ What the till needs after a scan: product, the price checkout will charge and
+ * the shop's on-hand quantity (null when the shop has no stock row for it).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScanResultDTO {
+    private String barcode;
+    private Long productId;
+    private String productName;
+    private String category;
+    private String unit;
+    private Double sellingPriceUSD;
+    private Double sellingPriceZWL;
+    private Long shopId;
+    private Integer quantityInStock;
+}
@@ -0,0 +1,272 @@
+package com.company.retail.product.importer;
+
+import com.company.retail.ShopStock.ShopStockInitializer;
+import com.company.retail.configs.DatabaseSequences;
+import com.company.retail.importer.SpreadsheetNumbers;
+import com.company.retail.importer.SpreadsheetRows;
+import com.company.retail.importer.dto.ImportRowErrorDTO;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.barcode.BarcodesChangedEvent;
+import com.company.retail.product.barcode.ProductBarcodeRepository;
+import com.company.retail.product.barcode.ProductBarcodeService;
+import com.company.retail.product.dto.CatalogImportResultDTO;
+import com.company.retail.product.dto.ProductSearchResult;
+import com.company.retail.product.search.ProductChangedEvent;
+import com.company.retail.sync.CatalogVersions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * ✅ Bulk catalogue import from a streamed CSV/XLSX file.
+ *
+ * Header row (any order, case/spaces ignored): productName (required), category, unit,
+ * reorderLevel, sellingPriceUSD, sellingPriceZWL, barcode ("|"-separated for several).
+ *
+ * - Existing names are loaded once (one query) and checked case-insensitively, as are
+ *   duplicates inside the file.
+ * - Valid rows are inserted in chunks: one JDBC batch for the products (all stamped with
+ *   one catalog version), one INSERT ... SELECT for their shop stock rows, one batch for
+ *   barcodes. Invalid rows are skipped and reported; the import itself is one transaction.
+ * - Prices and the reorder level are parsed strictly (SpreadsheetNumbers): a cell that is
+ *   not clearly a number rejects the row instead of importing a guessed value.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogImportService {
+
+    static final int CHUNK = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSequences sequences;
+    private final CatalogVersions catalogVersions;
+    private final ShopStockInitializer shopStockInitializer;
+    private final ProductRepository productRepository;
+    private final ProductBarcodeRepository barcodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public CatalogImportResultDTO importCatalog(InputStream in, String filename) throws IOException {
+        long started = System.currentTimeMillis();
+        Run run = new Run(new HashSet<>(productRepository.findAllLowerNames()),
+                new HashSet<>(barcodeRepository.findAllCodes()));
+
+        SpreadsheetRows.read(in, filename, run);
+        if (run.columns == null) {
+            throw new RuntimeException("File is empty");
+        }
+        run.flush();
+
+        CatalogImportResultDTO result = CatalogImportResultDTO.builder()
+                .rows(run.rows)
+                .imported(run.imported)
+                .rejected(run.errors.size())
+                .shopStockRows(run.shopStockRows)
+                .barcodes(run.barcodes)
+                .durationMs(System.currentTimeMillis() - started)
+                .errors(run.errors)
+                .build();
+        log.info("Catalogue import {}: {} rows, {} imported, {} rejected in {} ms",
+                filename, result.getRows(), result.getImported(), result.getRejected(), result.getDurationMs());
+        return result;
+    }
+
+    // ============================================================
+    // 🧾 One import: header mapping, validation, chunk buffer
+    // ============================================================
+    private final class Run implements SpreadsheetRows.RowHandler {
+        final Set<String> names;
+        final Set<String> codes;
+        final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        final List<Row> chunk = new ArrayList<>(CHUNK);
+        Map<String, Integer> columns;
+        SpreadsheetNumbers.Decimals decimals = SpreadsheetNumbers.Decimals.POINT;
+        int rows;
+        int imported;
+        int shopStockRows;
+        int barcodes;
+
+        Run(Set<String> names, Set<String> codes) {
+            this.names = names;
+            this.codes = codes;
+        }
+
+        @Override
+        public void decimals(SpreadsheetNumbers.Decimals decimals) {
+            this.decimals = decimals;
+        }
+
+        @Override
+        public void row(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                columns = header(cells);
+                return;
+            }
+            rows++;
+            try {
+                chunk.add(parse(rowNumber, cells));
+            } catch (RuntimeException e) {
+                errors.add(new ImportRowErrorDTO(rowNumber, e.getMessage()));
+                return;
+            }
+            if (chunk.size() == CHUNK) {
+                flush();
+            }
+        }
+
+        Row parse(int rowNumber, List<String> cells) {
+            String name = text(cells, "productname");
+            if (name == null) {
+                throw new RuntimeException("productName is required");
+            }
+            if (name.length() > 255) {
+                throw new RuntimeException("productName longer than 255 characters");
+            }
+            String key = name.toLowerCase(Locale.ROOT);
+            if (names.contains(key)) {
+                throw new RuntimeException("Product already exists: " + name);
+            }
+
+            List<String> rowCodes = new ArrayList<>();
+            String barcodeCell = text(cells, "barcode");
+            if (barcodeCell != null) {
+                for (String raw : barcodeCell.split("\\|")) {
+                    String code = ProductBarcodeService.normalize(raw);
+                    if (code.isEmpty()) {
+                        continue;
+                    }
+                    ProductBarcodeService.validate(code);
+                    if (codes.contains(code) || rowCodes.contains(code)) {
+                        throw new RuntimeException("Barcode already assigned: " + code);
+                    }
+                    rowCodes.add(code);
+                }
+            }
+
+            Row row = new Row(name, text(cells, "category"), text(cells, "unit"),
+                    integer(cells, "reorderlevel"), price(cells, "sellingpriceusd"), price(cells, "sellingpricezwl"), rowCodes);
+            names.add(key);       // only now: a rejected row must not block a later good one
+            codes.addAll(rowCodes);
+            return row;
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            long version = catalogVersions.next();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> args = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                args.add(new Object[]{row.name, row.category, row.unit, row.reorderLevel,
+                        row.priceUSD, row.priceZWL, now, now, version});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO products (product_id, product_name, category, unit, reorder_level, "
+                    + "selling_priceusd, selling_pricezwl, date_created, date_updated, change_version) "
+                    + "VALUES (" + sequences.nextValue("products_seq") + ", ?, ?, ?, ?, ?, ?, ?, ?, ?)", args);
+
+            // Ids were assigned by the database: read the chunk back by name (unique, case-insensitive;
+            // not by version, which the whole transaction shares)
+            List<ProductSearchResult> saved = productRepository.findSearchDocumentsByLowerNameIn(
+                    chunk.stream().map(row -> row.name.toLowerCase(Locale.ROOT)).toList());
+            Map<String, Long> idsByName = new HashMap<>(saved.size() * 2);
+            for (ProductSearchResult product : saved) {
+                idsByName.put(product.getProductName(), product.getProductId());
+                eventPublisher.publishEvent(new ProductChangedEvent(product.getProductId(), product));
+            }
+            shopStockRows += shopStockInitializer.initializeForProducts(new ArrayList<>(idsByName.values()));
+
+            List<Object[]> barcodeArgs = new ArrayList<>();
+            Map<String, Long> added = new LinkedHashMap<>();
+            for (Row row : chunk) {
+                for (String code : row.codes) {
+                    Long productId = idsByName.get(row.name);
+                    barcodeArgs.add(new Object[]{code, productId, now});
+                    added.put(code, productId);
+                }
+            }
+            if (!barcodeArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO product_barcodes (barcode_id, code, product_id, date_created) "
+                        + "VALUES (" + sequences.nextValue("product_barcodes_seq") + ", ?, ?, ?)", barcodeArgs);
+                eventPublisher.publishEvent(new BarcodesChangedEvent(added, List.of()));
+                barcodes += barcodeArgs.size();
+            }
+
+            imported += chunk.size();
+            chunk.clear();
+        }
+
+        private String text(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private Double price(List<String> cells, String column) {
+            String value = text(cells, column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                double price = SpreadsheetNumbers.decimal(value, decimals).doubleValue();
+                if (price < 0) {
+                    throw new NumberFormatException();
+                }
+                return price;
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid " + column + ": " + value);
+            }
+        }
+
+        private Integer integer(List<String> cells, String column) {
+            String value = text(cells, column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                int number = SpreadsheetNumbers.integer(value, decimals);
+                if (number < 0) {
+                    throw new NumberFormatException();
+                }
+                return number;
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid " + column + ": " + value);
+            }
+        }
+    }
+
+    // ✅ "Product Name", "product_name" and "productName" all map to productname
+    private static Map<String, Integer> header(List<String> cells) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            String key = cells.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+            if (key.equals("name") || key.equals("product")) {
+                key = "productname";
+            } else if (key.equals("barcodes") || key.equals("sku")) {
+                key = "barcode";
+            }
+            columns.putIfAbsent(key, i);
+        }
+        if (!columns.containsKey("productname")) {
+            throw new RuntimeException("Header row must contain a productName column");
+        }
+        return columns;
+    }
+
+    private record Row(String name, String category, String unit, Integer reorderLevel,
+                       Double priceUSD, Double priceZWL, List<String> codes) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.retail.product.search;
+
+import com.company.retail.product.dto.ProductSearchResult;
+
+/**
+ * ✅ Published by ProductService on create/update/delete; product is null when deleted.
+ */
+public record ProductChangedEvent(Long productId, ProductSearchResult product) {
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+}
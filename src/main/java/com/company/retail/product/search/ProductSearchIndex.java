@@ -0,0 +1,504 @@
+package com.company.retail.product.search;
+
+import com.company.retail.product.dto.ProductSearchResult;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ✅ In-memory product search over name, category and unit.
+ *
+ * - Every word of a product is put in a prefix trie; each trie node knows how many
+ *   postings sit under it, so a multi-word query walks only the most selective word
+ *   and checks the other words against the (few) candidates.
+ * - Typos: the distinct words (vocabulary, far smaller than the product count) are
+ *   indexed by trigram. A query word shares enough trigrams with its misspelt forms to
+ *   find them, and a bounded edit distance confirms the match (1 edit up to 5 letters,
+ *   2 beyond).
+ * - Ranking: exact word > prefix > fuzzy, name > category > unit, then shorter names.
+ *   Only the best `limit` are kept (bounded heap).
+ * - Candidates are checked (category, every word) as they are walked, shortest words
+ *   first. The walk stops once `limit` of them matched and at least MIN_SCORED were
+ *   scored, which keeps broad lookups ("c") well under a millisecond at 100k SKUs
+ *   (ProductSearchBenchmark). A filter that rejects most candidates just walks further,
+ *   up to MAX_SCANNED; a search cut off there with fewer than `limit` hits is reported
+ *   as partial rather than silently missing products.
+ *
+ * Reads share a read lock; add/remove take the write lock. Plain class so it can be
+ * benchmarked without Spring (see ProductSearchService for loading and updates).
+ */
+public class ProductSearchIndex {
+
+    // Candidates scored before settling for the first `limit` hits; the most walked for any query
+    static final int MIN_SCORED = 2_000;
+    static final int MAX_SCANNED = 50_000;
+    private static final double NAME = 3, CATEGORY = 2, UNIT = 1;
+    private static final double EXACT = 1.0, PREFIX = 0.75, FUZZY = 0.45;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Node root = new Node();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final int minScored;
+    private final int maxScanned;
+
+    public ProductSearchIndex() {
+        this(MIN_SCORED, MAX_SCANNED);
+    }
+
+    ProductSearchIndex(int minScored, int maxScanned) {
+        this.minScored = minScored;
+        this.maxScanned = maxScanned;
+    }
+
+    /** Best matches, ranked; partial when the walk was cut off before every candidate was checked. */
+    public record Hits(List<ProductSearchResult> products, boolean partial) {
+        static final Hits NONE = new Hits(List.of(), false);
+    }
+
+    // ============================================================
+    // ✏️ Updates
+    // ============================================================
+    public void put(ProductSearchResult product) {
+        Doc doc = new Doc(product);
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.put(product.getProductId(), doc);
+            if (old != null) {
+                unindex(old);
+            }
+            for (String token : doc.distinctTokens()) {
+                index(token, doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.remove(productId);
+            if (old != null) {
+                unindex(old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            root.children.clear();
+            root.docs = null;
+            root.count = 0;
+            trigrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ProductSearchResult get(Long productId) {
+        lock.readLock().lock();
+        try {
+            Doc doc = docs.get(productId);
+            return doc == null ? null : doc.product;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================================
+    // 🔍 Search
+    // ============================================================
+    public List<ProductSearchResult> search(String query, String category, int limit) {
+        return find(query, category, limit).products();
+    }
+
+    public Hits find(String query, String category, int limit) {
+        String[] words = tokenize(query);
+        if (words.length == 0 || limit <= 0) {
+            return Hits.NONE;
+        }
+        String categoryFilter = category == null || category.isBlank() ? null : normalize(category).trim();
+
+        lock.readLock().lock();
+        try {
+            // For every query word: trie node of its prefix + typo variants from the vocabulary
+            Node[] prefixNodes = new Node[words.length];
+            List<Set<String>> fuzzy = new ArrayList<>(words.length);
+            int driver = -1;
+            long driverCost = Long.MAX_VALUE;
+            for (int i = 0; i < words.length; i++) {
+                prefixNodes[i] = find(words[i]);
+                Set<String> variants = fuzzyVariants(words[i]);
+                fuzzy.add(variants);
+                long cost = prefixNodes[i] == null ? 0 : prefixNodes[i].count;
+                for (String variant : variants) {
+                    cost += find(variant).docs.size();
+                }
+                if (cost == 0) {
+                    return Hits.NONE; // ✅ a word that matches nothing at all
+                }
+                if (cost < driverCost) {
+                    driverCost = cost;
+                    driver = i;
+                }
+            }
+
+            // Candidates from the most selective word only, checked as they are walked
+            WordKeys[] keys = new WordKeys[words.length];
+            for (int i = 0; i < words.length; i++) {
+                keys[i] = new WordKeys(words[i], fuzzy.get(i));
+            }
+            Walk walk = new Walk(keys, categoryFilter, limit);
+            if (prefixNodes[driver] != null) {
+                walk.collect(prefixNodes[driver]);
+            }
+            for (String variant : fuzzy.get(driver)) {
+                for (Doc doc : find(variant).docs) {
+                    if (!walk.offer(doc)) {
+                        break;
+                    }
+                }
+                if (walk.done) {
+                    break;
+                }
+            }
+
+            List<Scored> ranked = new ArrayList<>(walk.best);
+            ranked.sort(RANKING);
+            List<ProductSearchResult> results = new ArrayList<>(ranked.size());
+            for (Scored scored : ranked) {
+                results.add(scored.doc.product);
+            }
+            return new Hits(results, walk.partial);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One query's pass over its candidates: filter, score, keep the best `limit` (worst on top)
+    private final class Walk {
+        final WordKeys[] keys;
+        final String categoryFilter;
+        final int limit;
+        final PriorityQueue<Scored> best;
+        // a product listed under several matching words comes up more than once
+        final Set<Doc> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        int matched;
+        boolean done;
+        boolean partial;
+
+        Walk(WordKeys[] keys, String categoryFilter, int limit) {
+            this.keys = keys;
+            this.categoryFilter = categoryFilter;
+            this.limit = limit;
+            this.best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        }
+
+        // Breadth first, so shorter completions ("milk") come before longer ones ("milkshake")
+        void collect(Node start) {
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                if (node.docs != null) {
+                    for (Doc doc : node.docs) {
+                        if (!offer(doc)) {
+                            return;
+                        }
+                    }
+                }
+                queue.addAll(node.children.values());
+            }
+        }
+
+        // false once the walk should stop
+        boolean offer(Doc doc) {
+            if (done) {
+                return false;
+            }
+            if (!seen.add(doc)) {
+                return true;
+            }
+            if (categoryFilter == null || categoryFilter.equals(doc.category)) {
+                double score = score(doc, keys);
+                if (score > 0) {
+                    matched++;
+                    Scored scored = new Scored(doc, score);
+                    if (best.size() < limit) {
+                        best.add(scored);
+                    } else if (RANKING.compare(scored, best.peek()) < 0) {
+                        best.poll();
+                        best.add(scored);
+                    }
+                }
+            }
+            if (matched >= limit && seen.size() >= minScored) {
+                done = true;
+            } else if (seen.size() >= maxScanned) {
+                done = true;
+                partial = true;
+            }
+            return !done;
+        }
+    }
+
+    /*
+     * Every query word must hit some field; best hit per word counts.
+     * Works on the doc's single " name \u0001 category \u0001 unit " string: one object
+     * to touch per candidate, and the first occurrence is always in the heaviest field.
+     */
+    private static double score(Doc doc, WordKeys[] keys) {
+        double total = 0;
+        for (WordKeys key : keys) {
+            double best = doc.weightAt(doc.text.indexOf(key.exact)) * EXACT;
+            best = Math.max(best, doc.weightAt(doc.text.indexOf(key.prefix)) * PREFIX);
+            for (String variant : key.variants) {
+                best = Math.max(best, doc.weightAt(doc.text.indexOf(variant)) * FUZZY);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        if (doc.text.startsWith(keys[0].prefix)) {
+            total += 0.5; // ✅ "coke" should rank "Coke 500ml" above "Diet Coke"
+        }
+        return total;
+    }
+
+    // Query word as it appears inside Doc.text: " word " (exact), " word" (prefix), " typo "
+    private static final class WordKeys {
+        final String exact;
+        final String prefix;
+        final String[] variants;
+
+        WordKeys(String word, Set<String> fuzzy) {
+            this.prefix = " " + word;
+            this.exact = prefix + " ";
+            this.variants = fuzzy.stream().map(v -> " " + v + " ").toArray(String[]::new);
+        }
+    }
+
+    private Set<String> fuzzyVariants(String word) {
+        if (word.length() < 3) {
+            return Set.of();
+        }
+        int maxEdits = word.length() <= 5 ? 1 : 2;
+        List<String> grams = trigramsOf(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<String> tokens = trigrams.get(gram);
+            if (tokens != null) {
+                for (String token : tokens) {
+                    shared.merge(token, 1, Integer::sum);
+                }
+            }
+        }
+        // q-gram lemma: k edits destroy at most 3k trigrams
+        int minShared = Math.max(1, grams.size() - 3 * maxEdits);
+        Set<String> variants = new HashSet<>();
+        for (Map.Entry<String, Integer> e : shared.entrySet()) {
+            String token = e.getKey();
+            if (e.getValue() >= minShared && !token.startsWith(word)
+                    && Math.abs(token.length() - word.length()) <= maxEdits
+                    && withinEdits(word, token, maxEdits)) {
+                variants.add(token);
+            }
+        }
+        return variants;
+    }
+
+    // Levenshtein with early exit once every cell in a row exceeds max
+    static boolean withinEdits(String a, String b, int max) {
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] swap = prev;
+            prev = curr;
+            curr = swap;
+        }
+        return prev[b.length()] <= max;
+    }
+
+    // ============================================================
+    // 🌳 Trie / trigram maintenance (write lock held)
+    // ============================================================
+    private void index(String token, Doc doc) {
+        List<Node> path = path(token, true);
+        Node leaf = path.get(path.size() - 1);
+        if (leaf.docs == null) {
+            leaf.docs = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        if (leaf.docs.add(doc)) {
+            path.forEach(n -> n.count++);
+            if (leaf.docs.size() == 1) {
+                for (String gram : trigramsOf(token)) {
+                    trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+                }
+            }
+        }
+    }
+
+    private void unindex(Doc doc) {
+        for (String token : doc.distinctTokens()) {
+            List<Node> path = path(token, false);
+            if (path == null) {
+                continue;
+            }
+            Node leaf = path.get(path.size() - 1);
+            if (leaf.docs == null || !leaf.docs.remove(doc)) {
+                continue;
+            }
+            path.forEach(n -> n.count--);
+            if (leaf.docs.isEmpty()) {
+                leaf.docs = null;
+                for (String gram : trigramsOf(token)) {
+                    Set<String> tokens = trigrams.get(gram);
+                    if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+                        trigrams.remove(gram);
+                    }
+                }
+                // prune empty branches bottom-up
+                for (int i = path.size() - 1; i > 0 && path.get(i).count == 0; i--) {
+                    path.get(i - 1).children.remove(token.charAt(i - 1));
+                }
+            }
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private List<Node> path(String token, boolean create) {
+        List<Node> path = new ArrayList<>(token.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < token.length(); i++) {
+            Node next = node.children.get(token.charAt(i));
+            if (next == null) {
+                if (!create) {
+                    return null;
+                }
+                next = new Node();
+                node.children.put(token.charAt(i), next);
+            }
+            node = next;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private static List<String> trigramsOf(String token) {
+        String padded = "$" + token + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // ============================================================
+    // 🔤 Normalization: lower case, no accents, split on anything not a letter/digit
+    // ============================================================
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    static String[] tokenize(String text) {
+        return Arrays.stream(normalize(text).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>(4);
+        Set<Doc> docs;  // products having exactly this word
+        int count;      // postings in this subtree
+    }
+
+    private static final class Doc {
+        final ProductSearchResult product;
+        final String name;
+        final String category;
+        final String[] nameTokens;
+        final String[] categoryTokens;
+        final String[] unitTokens;
+        final String text;
+        final int nameEnd;
+        final int categoryEnd;
+
+        Doc(ProductSearchResult product) {
+            this.product = product;
+            this.name = normalize(product.getProductName());
+            this.category = normalize(product.getCategory()).trim();
+            this.nameTokens = tokenize(product.getProductName());
+            this.categoryTokens = tokenize(product.getCategory());
+            this.unitTokens = tokenize(product.getUnit());
+            String nameText = " " + String.join(" ", nameTokens) + " ";
+            String categoryText = "\u0001 " + String.join(" ", categoryTokens) + " ";
+            this.text = nameText + categoryText + "\u0001 " + String.join(" ", unitTokens) + " ";
+            this.nameEnd = nameText.length();
+            this.categoryEnd = nameEnd + categoryText.length();
+        }
+
+        double weightAt(int position) {
+            if (position < 0) {
+                return 0;
+            }
+            return position < nameEnd ? NAME : position < categoryEnd ? CATEGORY : UNIT;
+        }
+
+        Set<String> distinctTokens() {
+            Set<String> tokens = new HashSet<>();
+            Collections.addAll(tokens, nameTokens);
+            Collections.addAll(tokens, categoryTokens);
+            Collections.addAll(tokens, unitTokens);
+            return tokens;
+        }
+    }
+
+    private record Scored(Doc doc, double score) { }
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingDouble(Scored::score).reversed()
+            .thenComparingInt((Scored s) -> s.doc.name.length())
+            .thenComparing(s -> s.doc.name);
+}
@@ -0,0 +1,88 @@
+package com.company.retail.product.search;
+
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.dto.ProductSearchResult;
+import com.company.retail.sync.CatalogVersions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * ✅ Keeps the in-memory ProductSearchIndex in line with the products table.
+ *
+ * - Full load once the application is ready (built aside, then swapped in).
+ * - ProductService changes are applied as soon as they commit.
+ * - Changes made elsewhere (other instances, bulk SQL) are picked up every refresh
+ *   interval from the catalog change versions and product tombstones, up to
+ *   CatalogVersions.current() (which stops below catalog writes still open, so a
+ *   change that commits after a later-numbered one is not skipped).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final ProductRepository productRepository;
+    private final CatalogVersions catalogVersions;
+
+    private volatile ProductSearchIndex index = new ProductSearchIndex();
+    private long indexedVersion = -1;
+
+    public ProductSearchIndex.Hits search(String query, String category, int limit) {
+        return index.find(query, category, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    // ✅ Product by id from memory (null if not indexed yet)
+    public ProductSearchResult get(Long productId) {
+        return index.get(productId);
+    }
+
+    // ============================================================
+    // 🔄 Loading
+    // ============================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        long upTo = catalogVersions.current(null);
+        ProductSearchIndex fresh = new ProductSearchIndex();
+        productRepository.findSearchDocuments(-1, upTo).forEach(fresh::put);
+        index = fresh;
+        indexedVersion = upTo;
+        log.info("Product search index built: {} products in {} ms", fresh.size(), System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${app.product-search.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        if (indexedVersion < 0) {
+            return; // not loaded yet
+        }
+        long upTo = catalogVersions.current(null);
+        if (upTo <= indexedVersion) {
+            return;
+        }
+        productRepository.findSearchDocuments(indexedVersion, upTo).forEach(index::put);
+        catalogVersions.deletedSince(CatalogVersions.PRODUCT, null, indexedVersion, upTo).forEach(index::remove);
+        indexedVersion = upTo;
+    }
+
+    // ============================================================
+    // ✏️ Incremental updates from ProductService
+    // ============================================================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.product() == null) {
+            index.remove(event.productId());
+        } else {
+            index.put(event.product());
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.company.retail.purchaseOrderItem;
 
+import com.company.retail.purchaseOrderItem.importer.InvoiceImportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -13,6 +18,7 @@ import java.util.List;
 public class PurchaseOrderItemController {
 
     private final PurchaseOrderItemService purchaseOrderItemService;
+    private final InvoiceImportService invoiceImportService;
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
     @GetMapping
@@ -40,20 +46,47 @@ public class PurchaseOrderItemController {
     @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
     @PostMapping
     public ResponseEntity<?> createPurchaseOrderItem(@RequestBody PurchaseOrderItemModel request) {
-        return ResponseEntity.ok(purchaseOrderItemService.createPurchaseOrderItem(request));
+        try {
+            return ResponseEntity.ok(purchaseOrderItemService.createPurchaseOrderItem(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ SUPERVISOR, ADMIN, or SUPERADMIN can load a supplier invoice (.csv / .xlsx) into a pending order.
+     * dateOrder (DAY_FIRST / MONTH_FIRST) says how to read expiry dates like 03/04/2026.
+     */
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
+    @PostMapping(value = "/order/{orderId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importInvoice(@PathVariable Long orderId, @RequestParam("file") MultipartFile file,
+                                           @RequestParam(required = false) InvoiceImportService.DateOrder dateOrder) {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(invoiceImportService.importInvoice(orderId, in, file.getOriginalFilename(), dateOrder));
+        } catch (RuntimeException | IOException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
     }
 
     @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<?> updatePurchaseOrderItem(@PathVariable Long id,
                                                      @RequestBody PurchaseOrderItemModel updatedItem) {
-        return ResponseEntity.ok(purchaseOrderItemService.updatePurchaseOrderItem(id, updatedItem));
+        try {
+            return ResponseEntity.ok(purchaseOrderItemService.updatePurchaseOrderItem(id, updatedItem));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletePurchaseOrderItem(@PathVariable Long id) {
-        purchaseOrderItemService.deletePurchaseOrderItem(id);
-        return ResponseEntity.ok("✅ Deleted successfully");
+        try {
+            purchaseOrderItemService.deletePurchaseOrderItem(id);
+            return ResponseEntity.ok("✅ Deleted successfully");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
     }
 }
\ No newline at end of file
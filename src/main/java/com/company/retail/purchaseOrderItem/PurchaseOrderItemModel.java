@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
+
 @Entity
 @Table(name = "purchase_order_items")
 @Getter
@@ -15,7 +17,8 @@ import lombok.*;
 @Builder
 public class PurchaseOrderItemModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_order_items_seq")
+    @SequenceGenerator(name = "purchase_order_items_seq", sequenceName = "purchase_order_items_seq", allocationSize = 50)
     private Long purchaseOrderItemId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,5 +36,10 @@ public class PurchaseOrderItemModel {
     private Double unitPurchasePriceZWL;
     private Double totalCostUSD;
     private Double totalCostZWL;
+
+    // ✅ Optional: items with an expiry date are recorded as stock batches when received
+    private LocalDate expiryDate;
+    @Column(length = 64)
+    private String batchNumber;
 }
 
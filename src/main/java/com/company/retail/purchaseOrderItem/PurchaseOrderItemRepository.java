@@ -2,7 +2,10 @@ package com.company.retail.purchaseOrderItem;
 
 import com.company.retail.product.ProductModel;
 import com.company.retail.purchaseorder.PurchaseOrderModel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,6 +17,17 @@ public interface PurchaseOrderItemRepository extends JpaRepository<PurchaseOrder
     // ✅ Get all items for a given order
     List<PurchaseOrderItemModel> findByPurchaseOrder_PurchaseOrderId(Long purchaseOrderId);
 
+    // ✅ Receiving: all lines of an order with their products, in one query
+    @Query("SELECT i FROM PurchaseOrderItemModel i JOIN FETCH i.product " +
+            "WHERE i.purchaseOrder.purchaseOrderId = :orderId ORDER BY i.purchaseOrderItemId")
+    List<PurchaseOrderItemModel> findWithProductByOrderId(@Param("orderId") Long orderId);
+
+    // ✅ Chunked receiving: the next lines after the checkpoint, by id
+    @Query("SELECT i FROM PurchaseOrderItemModel i JOIN FETCH i.product " +
+            "WHERE i.purchaseOrder.purchaseOrderId = :orderId AND i.purchaseOrderItemId > :afterId " +
+            "ORDER BY i.purchaseOrderItemId")
+    List<PurchaseOrderItemModel> findChunk(@Param("orderId") Long orderId, @Param("afterId") Long afterId, Pageable page);
+
     // ✅ Find a specific product already linked to a given order
     Optional<PurchaseOrderItemModel> findByPurchaseOrderAndProduct(
             PurchaseOrderModel purchaseOrder,
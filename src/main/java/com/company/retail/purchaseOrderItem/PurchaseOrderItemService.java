@@ -21,6 +21,7 @@ public class PurchaseOrderItemService {
     /**
      * ✅ Get all purchase order items
      */
+    @Transactional(readOnly = true)
     public List<PurchaseOrderItemModel> getAllItems() {
         return purchaseOrderItemRepository.findAll();
     }
@@ -28,6 +29,7 @@ public class PurchaseOrderItemService {
     /**
      * ✅ Get item by ID
      */
+    @Transactional(readOnly = true)
     public PurchaseOrderItemModel getItemById(Long id) {
         return purchaseOrderItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Purchase Order Item not found"));
@@ -36,6 +38,7 @@ public class PurchaseOrderItemService {
     /**
      * ✅ Get all items in a specific purchase order
      */
+    @Transactional(readOnly = true)
     public List<PurchaseOrderItemModel> getItemsByOrder(Long purchaseOrderId) {
         return purchaseOrderItemRepository.findByPurchaseOrder_PurchaseOrderId(purchaseOrderId);
     }
@@ -47,9 +50,8 @@ public class PurchaseOrderItemService {
     @Transactional
     public PurchaseOrderItemModel createPurchaseOrderItem(PurchaseOrderItemModel item) {
 
-        // Validate purchase order
-        PurchaseOrderModel order = purchaseOrderRepository.findById(item.getPurchaseOrder().getPurchaseOrderId())
-                .orElseThrow(() -> new RuntimeException("Purchase order not found"));
+        // Validate purchase order (lines only change while it is pending)
+        PurchaseOrderModel order = pendingOrder(item.getPurchaseOrder().getPurchaseOrderId());
 
         // Validate product
         ProductModel product = productRepository.findById(item.getProduct().getProductId())
@@ -77,15 +79,7 @@ public class PurchaseOrderItemService {
         item.setTotalCostZWL(item.getUnitPurchasePriceZWL() * item.getQuantity());
 
         // 🏗️ Save the new item
-        PurchaseOrderItemModel savedItem = purchaseOrderItemRepository.save(item);
-
-        // 📦 Update stock if the order is already completed
-        if (order.getStatus() == PurchaseOrderModel.Status.COMPLETED) {
-            // We’ll rely on stock module to handle per-shop updates later
-            // (Purchase order completion triggers landing cost + stock updates)
-        }
-
-        return savedItem;
+        return purchaseOrderItemRepository.save(item);
     }
 
     /**
@@ -95,6 +89,7 @@ public class PurchaseOrderItemService {
     public PurchaseOrderItemModel updatePurchaseOrderItem(Long id, PurchaseOrderItemModel updatedItem) {
         PurchaseOrderItemModel existing = purchaseOrderItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Purchase order item not found"));
+        pendingOrder(existing.getPurchaseOrder().getPurchaseOrderId());
 
         existing.setQuantity(updatedItem.getQuantity());
         existing.setUnitPurchasePriceUSD(updatedItem.getUnitPurchasePriceUSD());
@@ -110,6 +105,24 @@ public class PurchaseOrderItemService {
      */
     @Transactional
     public void deletePurchaseOrderItem(Long id) {
-        purchaseOrderItemRepository.deleteById(id);
+        PurchaseOrderItemModel existing = purchaseOrderItemRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Purchase order item not found"));
+        pendingOrder(existing.getPurchaseOrder().getPurchaseOrderId());
+        purchaseOrderItemRepository.delete(existing);
+    }
+
+    /*
+     * Receiving / completion reads the lines once and costs stock from them: a line changed
+     * afterwards would be out of step with the stock. The order row stays locked until this
+     * transaction ends, so a receive that starts meanwhile waits and then sees the change.
+     */
+    private PurchaseOrderModel pendingOrder(Long orderId) {
+        PurchaseOrderModel order = purchaseOrderRepository.lockById(orderId)
+                .orElseThrow(() -> new RuntimeException("Purchase order not found"));
+        if (order.getStatus() != PurchaseOrderModel.Status.PENDING) {
+            throw new RuntimeException("Lines can only be changed on a pending order (this one is "
+                    + order.getStatus() + ")");
+        }
+        return order;
     }
 }
@@ -0,0 +1,29 @@
+package com.company.retail.purchaseOrderItem.dto;
+
+import com.company.retail.importer.dto.ImportRowErrorDTO;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ✅ Supplier invoice import report.
+ * linesAdded = new order lines, linesUpdated = existing order lines topped up,
+ * merged = file rows folded into another row for the same product/batch.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceImportResultDTO {
+    private Long purchaseOrderId;
+    private int rows;
+    private int linesAdded;
+    private int linesUpdated;
+    private int merged;
+    private int rejected;
+    private double totalCostUSD;
+    private double totalCostZWL;
+    private long durationMs;
+    private List<ImportRowErrorDTO> errors;
+}
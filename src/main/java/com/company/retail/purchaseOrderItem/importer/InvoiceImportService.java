@@ -0,0 +1,396 @@
+package com.company.retail.purchaseOrderItem.importer;
+
+import com.company.retail.importer.SpreadsheetNumbers;
+import com.company.retail.importer.SpreadsheetRows;
+import com.company.retail.importer.dto.ImportRowErrorDTO;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.barcode.ProductBarcodeRepository;
+import com.company.retail.product.barcode.ProductBarcodeService;
+import com.company.retail.product.dto.ProductBarcodeDTO;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import com.company.retail.purchaseOrderItem.dto.InvoiceImportResultDTO;
+import com.company.retail.purchaseorder.PurchaseOrderModel;
+import com.company.retail.purchaseorder.PurchaseOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ✅ Supplier invoice import: a streamed CSV/XLSX file becomes the lines of a pending
+ * purchase order.
+ *
+ * Header row (any order, case/spaces ignored): productName and/or barcode (sku),
+ * quantity (required), unitPriceUSD, unitPriceZWL, expiryDate, batchNumber.
+ *
+ * - Products are resolved once for the whole file: one query for the names, one for
+ *   the barcodes (a known barcode wins over the name).
+ * - Rows for the same product and batch (expiry + batch number) are merged, and added
+ *   to a matching line already on the order, as single-line entry does.
+ * - New lines are inserted with saveAll (JDBC batches); invalid rows are skipped and
+ *   reported. The import is one transaction.
+ * - Each import is recorded under a hash of the file's cells (purchase_order_imports),
+ *   so uploading the same invoice to the same order again is rejected instead of
+ *   doubling its quantities.
+ * - Numbers are parsed strictly (SpreadsheetNumbers). Expiry dates are yyyy-MM-dd, or
+ *   day/month/year in the order given by dateOrder. Without it, only dates whose order is
+ *   clear from the value (31/03/2026, 03/31/2026) are read; 03/04/2026 rejects the row.
+ *   XLSX date cells always arrive as yyyy-MM-dd.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InvoiceImportService {
+
+    // Day, month and year (2 or 4 digits) in either order of the first two
+    private static final Pattern NUMERIC_DATE = Pattern.compile("(\\d{1,2})[/.-](\\d{1,2})[/.-](\\d{4}|\\d{2})");
+
+    /** How to read a date like 03/04/2026 */
+    public enum DateOrder {
+        DAY_FIRST, MONTH_FIRST
+    }
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+    private final ProductRepository productRepository;
+    private final ProductBarcodeRepository barcodeRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public InvoiceImportResultDTO importInvoice(Long orderId, InputStream in, String filename) throws IOException {
+        return importInvoice(orderId, in, filename, null);
+    }
+
+    @Transactional
+    public InvoiceImportResultDTO importInvoice(Long orderId, InputStream in, String filename, DateOrder dateOrder)
+            throws IOException {
+        long started = System.currentTimeMillis();
+        PurchaseOrderModel order = purchaseOrderRepository.lockById(orderId) // receiving waits for the import
+                .orElseThrow(() -> new RuntimeException("Purchase order not found"));
+        if (order.getStatus() != PurchaseOrderModel.Status.PENDING) {
+            throw new RuntimeException("Lines can only be imported into a pending order (this one is "
+                    + order.getStatus() + ")");
+        }
+
+        Run run = new Run(dateOrder);
+        SpreadsheetRows.read(in, filename, run);
+        if (run.columns == null) {
+            throw new RuntimeException("File is empty");
+        }
+        record(orderId, run.hash(), filename);
+
+        // ✅ One lookup per key type for the whole file
+        Map<String, Long> byName = new HashMap<>();
+        if (!run.names.isEmpty()) {
+            for (ProductModel product : productRepository.findByLowerProductNameIn(run.names)) {
+                byName.put(product.getProductName().toLowerCase(Locale.ROOT), product.getProductId());
+            }
+        }
+        Map<String, Long> byCode = new HashMap<>();
+        if (!run.codes.isEmpty()) {
+            for (ProductBarcodeDTO mapping : barcodeRepository.findMappingsByCodeIn(run.codes)) {
+                byCode.put(mapping.getCode(), mapping.getProductId());
+            }
+        }
+
+        // ✅ Lines already on the order, by product + batch
+        Map<LineKey, PurchaseOrderItemModel> lines = new LinkedHashMap<>();
+        for (PurchaseOrderItemModel item : purchaseOrderItemRepository.findByPurchaseOrder_PurchaseOrderId(orderId)) {
+            lines.putIfAbsent(new LineKey(item.getProduct().getProductId(), item.getExpiryDate(), item.getBatchNumber()), item);
+        }
+        Set<PurchaseOrderItemModel> existing = new HashSet<>(lines.values());
+
+        int merged = 0;
+        Set<PurchaseOrderItemModel> touched = new HashSet<>();
+        for (Row row : run.parsed) {
+            Long productId = row.code() != null ? byCode.get(row.code()) : null;
+            if (productId == null && row.name() != null) {
+                productId = byName.get(row.name().toLowerCase(Locale.ROOT));
+            }
+            if (productId == null) {
+                run.errors.add(new ImportRowErrorDTO(row.rowNumber(), "Unknown product: "
+                        + (row.code() != null ? row.code() : "") + (row.code() != null && row.name() != null ? " / " : "")
+                        + (row.name() != null ? row.name() : "")));
+                continue;
+            }
+            LineKey key = new LineKey(productId, row.expiry(), row.batch());
+            PurchaseOrderItemModel line = lines.get(key);
+            if (line == null) {
+                line = PurchaseOrderItemModel.builder()
+                        .purchaseOrder(order)
+                        .product(productRepository.getReferenceById(productId))
+                        .quantity(0)
+                        .totalCostUSD(0.0)
+                        .totalCostZWL(0.0)
+                        .expiryDate(row.expiry())
+                        .batchNumber(row.batch())
+                        .build();
+                lines.put(key, line);
+            } else if (!existing.contains(line) || touched.contains(line)) {
+                merged++;
+            }
+            touched.add(line);
+            add(line, row);
+        }
+
+        List<PurchaseOrderItemModel> added = lines.values().stream().filter(l -> !existing.contains(l)).toList();
+        purchaseOrderItemRepository.saveAll(added);
+
+        run.errors.sort(Comparator.comparingInt(ImportRowErrorDTO::getRow));
+        InvoiceImportResultDTO result = InvoiceImportResultDTO.builder()
+                .purchaseOrderId(orderId)
+                .rows(run.rows)
+                .linesAdded(added.size())
+                .linesUpdated((int) touched.stream().filter(existing::contains).count())
+                .merged(merged)
+                .rejected(run.errors.size())
+                .totalCostUSD(touched.stream().mapToDouble(PurchaseOrderItemModel::getTotalCostUSD).sum())
+                .totalCostZWL(touched.stream().mapToDouble(PurchaseOrderItemModel::getTotalCostZWL).sum())
+                .durationMs(System.currentTimeMillis() - started)
+                .errors(run.errors)
+                .build();
+        log.info("Invoice import {} into order {}: {} rows, {} lines added, {} updated, {} rejected in {} ms", filename,
+                orderId, result.getRows(), result.getLinesAdded(), result.getLinesUpdated(), result.getRejected(),
+                result.getDurationMs());
+        return result;
+    }
+
+    // ✅ One row per imported file; the primary key also stops two concurrent uploads of it
+    private void record(Long orderId, String hash, String filename) {
+        String duplicate = "This invoice was already imported into purchase order #" + orderId;
+        Integer seen = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_order_imports "
+                + "WHERE purchase_order_id = ? AND content_hash = ?", Integer.class, orderId, hash);
+        if (seen != null && seen > 0) {
+            throw new RuntimeException(duplicate);
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO purchase_order_imports (purchase_order_id, content_hash, filename, imported_at) "
+                    + "VALUES (?, ?, ?, ?)", orderId, hash, filename, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException(duplicate);
+        }
+    }
+
+    // ✅ Quantities and totals add up; the unit price becomes the average over the line
+    private static void add(PurchaseOrderItemModel line, Row row) {
+        int quantity = line.getQuantity() + row.quantity();
+        double totalUSD = nz(line.getTotalCostUSD()) + row.unitUSD() * row.quantity();
+        double totalZWL = nz(line.getTotalCostZWL()) + row.unitZWL() * row.quantity();
+        line.setQuantity(quantity);
+        line.setTotalCostUSD(totalUSD);
+        line.setTotalCostZWL(totalZWL);
+        line.setUnitPurchasePriceUSD(totalUSD / quantity);
+        line.setUnitPurchasePriceZWL(totalZWL / quantity);
+    }
+
+    private static double nz(Double value) {
+        return value == null ? 0.0 : value;
+    }
+
+    // ============================================================
+    // 🧾 Parsing (rows are small; the file itself is streamed)
+    // ============================================================
+    private static final class Run implements SpreadsheetRows.RowHandler {
+        final DateOrder dateOrder;
+        final List<Row> parsed = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        final Set<String> codes = new HashSet<>();
+        final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        final MessageDigest digest = sha256();
+        Map<String, Integer> columns;
+        SpreadsheetNumbers.Decimals decimals = SpreadsheetNumbers.Decimals.POINT;
+        int rows;
+
+        Run(DateOrder dateOrder) {
+            this.dateOrder = dateOrder;
+        }
+
+        @Override
+        public void decimals(SpreadsheetNumbers.Decimals decimals) {
+            this.decimals = decimals;
+        }
+
+        @Override
+        public void row(int rowNumber, List<String> cells) {
+            // Cell contents, not file bytes: the same invoice saved again still matches
+            int last = cells.size();
+            while (last > 0 && cells.get(last - 1).isBlank()) {
+                last--;
+            }
+            for (String cell : cells.subList(0, last)) {
+                digest.update(cell.trim().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0x1F);
+            }
+            digest.update((byte) 0x1E);
+            if (columns == null) {
+                columns = header(cells);
+                return;
+            }
+            rows++;
+            try {
+                Row row = parse(rowNumber, cells);
+                parsed.add(row);
+                if (row.name() != null) {
+                    names.add(row.name().toLowerCase(Locale.ROOT));
+                }
+                if (row.code() != null) {
+                    codes.add(row.code());
+                }
+            } catch (RuntimeException e) {
+                errors.add(new ImportRowErrorDTO(rowNumber, e.getMessage()));
+            }
+        }
+
+        String hash() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        Row parse(int rowNumber, List<String> cells) {
+            String name = text(cells, "productname");
+            String rawCode = text(cells, "barcode");
+            String code = rawCode == null ? null : ProductBarcodeService.normalize(rawCode);
+            if (code != null && code.isEmpty()) {
+                code = null;
+            }
+            if (name == null && code == null) {
+                throw new RuntimeException("productName or barcode is required");
+            }
+            String quantityText = text(cells, "quantity");
+            int quantity;
+            try {
+                quantity = quantityText == null ? 0 : SpreadsheetNumbers.integer(quantityText, decimals);
+                if (quantity <= 0) {
+                    throw new NumberFormatException();
+                }
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("quantity must be a positive whole number: " + quantityText);
+            }
+            Double unitUSD = price(cells, "unitpriceusd");
+            Double unitZWL = price(cells, "unitpricezwl");
+            if (unitUSD == null && unitZWL == null) {
+                throw new RuntimeException("unitPriceUSD or unitPriceZWL is required");
+            }
+            String batch = text(cells, "batchnumber");
+            if (batch != null && batch.length() > 64) {
+                throw new RuntimeException("batchNumber longer than 64 characters");
+            }
+            return new Row(rowNumber, name, code, quantity, unitUSD == null ? 0.0 : unitUSD,
+                    unitZWL == null ? 0.0 : unitZWL, date(cells, "expirydate"), batch);
+        }
+
+        private String text(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private Double price(List<String> cells, String column) {
+            String value = text(cells, column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                double price = SpreadsheetNumbers.decimal(value, decimals).doubleValue();
+                if (price < 0) {
+                    throw new NumberFormatException();
+                }
+                return price;
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid " + column + ": " + value);
+            }
+        }
+
+        private LocalDate date(List<String> cells, String column) {
+            String value = text(cells, column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException ignored) {
+                // not yyyy-MM-dd
+            }
+            Matcher m = NUMERIC_DATE.matcher(value);
+            if (m.matches()) {
+                int first = Integer.parseInt(m.group(1));
+                int second = Integer.parseInt(m.group(2));
+                int year = Integer.parseInt(m.group(3)) + (m.group(3).length() == 2 ? 2000 : 0);
+                boolean dayFirst;
+                if (dateOrder != null) {
+                    dayFirst = dateOrder == DateOrder.DAY_FIRST;
+                } else if (first > 12 || second > 12 || first == second) {
+                    dayFirst = first > 12 || first == second; // both above 12 fails below
+                } else {
+                    throw new RuntimeException("Ambiguous " + column + " (use yyyy-MM-dd or set dateOrder): " + value);
+                }
+                try {
+                    return dayFirst ? LocalDate.of(year, second, first) : LocalDate.of(year, first, second);
+                } catch (DateTimeException ignored) {
+                    // e.g. 31/02
+                }
+            }
+            throw new RuntimeException("Invalid " + column + " (use yyyy-MM-dd): " + value);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    // ✅ Supplier headers vary: "Description", "SKU", "Qty", "Unit Cost USD", "Lot" ...
+    private static Map<String, Integer> header(List<String> cells) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            String key = cells.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+            key = switch (key) {
+                case "name", "product", "description", "item" -> "productname";
+                case "barcodes", "sku", "code", "ean" -> "barcode";
+                case "qty", "units" -> "quantity";
+                case "unitpriceusd", "unitcostusd", "priceusd", "costusd", "unitprice", "price", "cost" -> "unitpriceusd";
+                case "unitcostzwl", "pricezwl", "costzwl" -> "unitpricezwl";
+                case "expiry", "bestbefore", "expires" -> "expirydate";
+                case "batch", "lot", "lotnumber" -> "batchnumber";
+                default -> key;
+            };
+            columns.putIfAbsent(key, i);
+        }
+        if (!columns.containsKey("productname") && !columns.containsKey("barcode")) {
+            throw new RuntimeException("Header row must contain a productName or barcode column");
+        }
+        if (!columns.containsKey("quantity")) {
+            throw new RuntimeException("Header row must contain a quantity column");
+        }
+        return columns;
+    }
+
+    private record Row(int rowNumber, String name, String code, int quantity, double unitUSD, double unitZWL,
+                       LocalDate expiry, String batch) {
+    }
+
+    private record LineKey(Long productId, LocalDate expiry, String batch) {
+    }
+}
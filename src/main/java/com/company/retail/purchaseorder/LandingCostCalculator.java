@@ -0,0 +1,24 @@
+package com.company.retail.purchaseorder;
+
+/**
+ * ✅ Landing-cost math for purchase orders.
+ * Kept free of JPA types so it can be unit-tested and benchmarked on its own.
+ */
+public final class LandingCostCalculator {
+
+    private LandingCostCalculator() {
+    }
+
+    // ✅ Unit landing cost = (line cost + line's value-weighted share of order expenses) / quantity
+    public static double unitLandingCost(double lineCost, double orderItemsCost, double orderExpenses, int quantity) {
+        double share = orderItemsCost == 0 ? 0 : lineCost / orderItemsCost;
+        return (lineCost + orderExpenses * share) / quantity;
+    }
+
+    // ✅ Moving-average cost after receiving quantity units at landingCost
+    public static double movingAverageCost(double existingCost, double existingQty, double landingCost, int quantity) {
+        double totalQty = existingQty + quantity;
+        return totalQty == 0 ? landingCost
+                : ((existingCost * existingQty) + (landingCost * quantity)) / totalQty;
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
 public class PurchaseOrderController {
 
     private final PurchaseOrderService purchaseOrderService;
+    private final PurchaseOrderReceivingService purchaseOrderReceivingService;
 
     /** ✅ ADMIN & SUPERADMIN can view all orders */
     @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
@@ -114,7 +115,7 @@ public class PurchaseOrderController {
         }
     }
 
-    /** ✅ ADMIN, SUPERADMIN - Recalculate landing cost */
+    /** ✅ ADMIN, SUPERADMIN - Landing cost totals (read-only; stock moves on completion) */
     @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
     @GetMapping("/{orderId}/landing-cost")
     public ResponseEntity<?> calculateLandingCost(@PathVariable Long orderId) {
@@ -136,12 +137,45 @@ public class PurchaseOrderController {
         }
     }
 
-    /** ✅ ADMIN, SUPERADMIN - Auto-generate purchase order */
+    /** ✅ SUPERVISOR, ADMIN, SUPERADMIN - Receive a large order in the background (poll the receipt for progress) */
+    @PreAuthorize("hasAnyRole('SUPERVISOR','ADMIN','SUPERADMIN')")
+    @PostMapping("/{orderId}/receive")
+    public ResponseEntity<?> receiveAsync(@PathVariable Long orderId) {
+        try {
+            return ResponseEntity.accepted().body(purchaseOrderReceivingService.queue(orderId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /** ✅ SUPERVISOR, ADMIN, SUPERADMIN - Receiving progress and status */
+    @PreAuthorize("hasAnyRole('SUPERVISOR','ADMIN','SUPERADMIN')")
+    @GetMapping("/{orderId}/receipt")
+    public ResponseEntity<?> getReceipt(@PathVariable Long orderId) {
+        try {
+            return ResponseEntity.ok(purchaseOrderReceivingService.getReceipt(orderId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body("❌ " + e.getMessage());
+        }
+    }
+
+    /** ✅ ADMIN, SUPERADMIN - Resume a failed receipt from its checkpoint */
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @PostMapping("/{orderId}/receipt/retry")
+    public ResponseEntity<?> retryReceipt(@PathVariable Long orderId) {
+        try {
+            return ResponseEntity.accepted().body(purchaseOrderReceivingService.retry(orderId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /** ✅ ADMIN, SUPERADMIN - Auto-generate draft purchase orders (one per shop; shopId limits it to one shop) */
     @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
     @PostMapping("/auto-generate")
-    public ResponseEntity<?> autoGenerateOrder() {
+    public ResponseEntity<?> autoGenerateOrder(@RequestParam(required = false) Long shopId) {
         try {
-            return ResponseEntity.ok(purchaseOrderService.autoGenerateOrder());
+            return ResponseEntity.ok(purchaseOrderService.autoGenerateOrder(shopId));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("❌ " + e.getMessage());
         }
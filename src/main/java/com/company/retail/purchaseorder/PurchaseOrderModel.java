@@ -18,7 +18,8 @@ import java.util.List;
 @Builder
 public class PurchaseOrderModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_orders_seq")
+    @SequenceGenerator(name = "purchase_orders_seq", sequenceName = "purchase_orders_seq", allocationSize = 50)
     private Long purchaseOrderId;
 
     private String supplierName;
@@ -26,7 +27,7 @@ public class PurchaseOrderModel {
     private LocalDateTime receivedDate;
 
     @Enumerated(EnumType.STRING)
-    private Status status; // Pending, Completed, Cancelled
+    private Status status; // Pending, Receiving (async receipt running), Completed, Cancelled
 
     private Double totalCostUSD;
     private Double totalCostZWL;
@@ -47,7 +48,7 @@ public class PurchaseOrderModel {
     private List<PurchaseOrderItemModel> items;
 
     public enum Status {
-        PENDING, COMPLETED, CANCELLED
+        PENDING, RECEIVING, COMPLETED, CANCELLED
     }
 
     // ✅ Lightweight constructor for ID-only references
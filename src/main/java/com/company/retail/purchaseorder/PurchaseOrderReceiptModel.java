@@ -0,0 +1,77 @@
+package com.company.retail.purchaseorder;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ An asynchronous receive of one purchase order (at most one per order).
+ * lastItemId is the checkpoint: lines with a higher id have not been received yet.
+ */
+@Entity
+@Table(name = "purchase_order_receipts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurchaseOrderReceiptModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_order_receipts_seq")
+    @SequenceGenerator(name = "purchase_order_receipts_seq", sequenceName = "purchase_order_receipts_seq", allocationSize = 50)
+    private Long receiptId;
+
+    @Column(nullable = false, unique = true)
+    private Long purchaseOrderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false)
+    private Integer totalLines;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer processedLines = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long lastItemId = 0L;
+
+    // ✅ Order totals when queued: every chunk allocates expenses against the whole order
+    private Double itemCostUSD;
+    private Double itemCostZWL;
+    private Double expenseUSD;
+    private Double expenseZWL;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(length = 1000)
+    private String error;
+
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;  // heartbeat, bumped by every chunk
+    private LocalDateTime finishedAt;
+
+    // ✅ A worker that lost its claim (stale heartbeat, picked up elsewhere) fails its chunk
+    @Version
+    private Long version;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public int getProgressPercent() {
+        return totalLines == null || totalLines == 0 ? 100 : (int) (processedLines * 100L / totalLines);
+    }
+
+    PurchaseOrderReceiver.Totals totals() {
+        return new PurchaseOrderReceiver.Totals(itemCostUSD, itemCostZWL, expenseUSD, expenseZWL);
+    }
+}
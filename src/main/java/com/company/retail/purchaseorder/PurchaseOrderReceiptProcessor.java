@@ -0,0 +1,90 @@
+package com.company.retail.purchaseorder;
+
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ✅ The steps of an asynchronous receive, each in its own transaction.
+ * A chunk's stock writes and its checkpoint commit together, so a crash either loses the
+ * whole chunk (and it is received again on resume) or none of it.
+ */
+@Component
+@RequiredArgsConstructor
+public class PurchaseOrderReceiptProcessor {
+
+    private final PurchaseOrderReceiptRepository receiptRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+    private final PurchaseOrderReceiver receiver;
+
+    @Transactional
+    public boolean claim(Long receiptId, LocalDateTime staleBefore) {
+        return receiptRepository.claim(receiptId, LocalDateTime.now(), staleBefore) == 1;
+    }
+
+    // ✅ Receives the next chunk; false once there is nothing left
+    @Transactional
+    public boolean processChunk(Long receiptId, int chunkSize) {
+        PurchaseOrderReceiptModel receipt = receiptRepository.findById(receiptId)
+                .orElseThrow(() -> new RuntimeException("Receipt not found"));
+        if (receipt.getStatus() != PurchaseOrderReceiptModel.Status.RUNNING) {
+            return false;
+        }
+        List<PurchaseOrderItemModel> items = purchaseOrderItemRepository.findChunk(
+                receipt.getPurchaseOrderId(), receipt.getLastItemId(), PageRequest.of(0, chunkSize));
+        if (items.isEmpty()) {
+            return false;
+        }
+        PurchaseOrderModel order = purchaseOrderRepository.findById(receipt.getPurchaseOrderId())
+                .orElseThrow(() -> new RuntimeException("Purchase Order not found"));
+
+        receiver.receive(order.getShop(), order.getPurchaseOrderId(), items, receipt.totals());
+
+        receipt.setProcessedLines(receipt.getProcessedLines() + items.size());
+        receipt.setLastItemId(items.get(items.size() - 1).getPurchaseOrderItemId());
+        receipt.setUpdatedAt(LocalDateTime.now());
+        return items.size() == chunkSize;
+    }
+
+    // ✅ RECEIVING -> COMPLETED, with the totals the lines were costed against
+    @Transactional
+    public PurchaseOrderReceiptModel complete(Long receiptId) {
+        PurchaseOrderReceiptModel receipt = receiptRepository.findById(receiptId)
+                .orElseThrow(() -> new RuntimeException("Receipt not found"));
+        if (receipt.getStatus() != PurchaseOrderReceiptModel.Status.RUNNING) {
+            return receipt;
+        }
+        PurchaseOrderModel order = purchaseOrderRepository.findById(receipt.getPurchaseOrderId())
+                .orElseThrow(() -> new RuntimeException("Purchase Order not found"));
+        purchaseOrderRepository.transition(order.getPurchaseOrderId(),
+                PurchaseOrderModel.Status.RECEIVING, PurchaseOrderModel.Status.COMPLETED);
+        order.setStatus(PurchaseOrderModel.Status.COMPLETED);
+        order.setReceivedDate(LocalDateTime.now());
+        order.setTotalCostUSD(receipt.getItemCostUSD());
+        order.setTotalCostZWL(receipt.getItemCostZWL());
+        order.setExpensesUSD(receipt.getExpenseUSD());
+        order.setExpensesZWL(receipt.getExpenseZWL());
+
+        receipt.setStatus(PurchaseOrderReceiptModel.Status.COMPLETED);
+        receipt.setFinishedAt(LocalDateTime.now());
+        receipt.setUpdatedAt(receipt.getFinishedAt());
+        return receipt;
+    }
+
+    // ✅ Lines up to the checkpoint stay received; a retry carries on from there
+    @Transactional
+    public void fail(Long receiptId, String error) {
+        receiptRepository.findById(receiptId).ifPresent(receipt -> {
+            receipt.setStatus(PurchaseOrderReceiptModel.Status.FAILED);
+            receipt.setError(error == null ? "Unknown error" : error.substring(0, Math.min(error.length(), 1000)));
+            receipt.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.company.retail.purchaseorder;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PurchaseOrderReceiptRepository extends JpaRepository<PurchaseOrderReceiptModel, Long> {
+
+    Optional<PurchaseOrderReceiptModel> findByPurchaseOrderId(Long purchaseOrderId);
+
+    String RUNNABLE = "(r.status = com.company.retail.purchaseorder.PurchaseOrderReceiptModel.Status.QUEUED " +
+            "OR (r.status = com.company.retail.purchaseorder.PurchaseOrderReceiptModel.Status.RUNNING " +
+            "AND r.updatedAt < :staleBefore))";
+
+    // ✅ Queued jobs, and running ones whose worker stopped (crash, restart)
+    @Query("SELECT r.receiptId FROM PurchaseOrderReceiptModel r WHERE " + RUNNABLE + " ORDER BY r.receiptId")
+    List<Long> findRunnable(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // ✅ Take a job; only one worker gets 1 back
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PurchaseOrderReceiptModel r SET " +
+            "r.status = com.company.retail.purchaseorder.PurchaseOrderReceiptModel.Status.RUNNING, " +
+            "r.startedAt = COALESCE(r.startedAt, :now), r.updatedAt = :now, r.attempts = r.attempts + 1, " +
+            "r.error = NULL, r.version = r.version + 1 " +
+            "WHERE r.receiptId = :id AND " + RUNNABLE)
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,127 @@
+package com.company.retail.purchaseorder;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.ShopStock.StockBatchModel;
+import com.company.retail.ShopStock.StockBatchRepository;
+import com.company.retail.expense.ExpenseModel;
+import com.company.retail.observability.RetailMetrics;
+import com.company.retail.product.ProductModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.stock.StockModel;
+import com.company.retail.stock.StockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ✅ Receives purchase order lines into shop stock: moving-average landing cost,
+ * IN stock logs and expiry batches.
+ *
+ * The shop's stock rows are loaded and locked in one query (product order, like stock
+ * transfers), so a checkout or transfer touching them waits instead of being overwritten
+ * by the absolute quantities written back here; costs are averaged in memory and the
+ * stock rows, logs and batches are written back as JDBC batches when the transaction
+ * flushes. Order totals are passed in, so receiving in chunks allocates expenses
+ * exactly like receiving the whole order at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class PurchaseOrderReceiver {
+
+    private final ShopStockRepository shopStockRepository;
+    private final StockRepository stockRepository;
+    private final StockBatchRepository stockBatchRepository;
+    private final RetailMetrics metrics;
+
+    public record Totals(double itemCostUSD, double itemCostZWL, double expenseUSD, double expenseZWL) {
+
+        public static Totals of(List<PurchaseOrderItemModel> items, List<ExpenseModel> expenses) {
+            return new Totals(
+                    items.stream().mapToDouble(PurchaseOrderItemModel::getTotalCostUSD).sum(),
+                    items.stream().mapToDouble(PurchaseOrderItemModel::getTotalCostZWL).sum(),
+                    expenses.stream().mapToDouble(e -> e.getAmountUSD() == null ? 0.0 : e.getAmountUSD()).sum(),
+                    expenses.stream().mapToDouble(e -> e.getAmountZWL() == null ? 0.0 : e.getAmountZWL()).sum());
+        }
+    }
+
+    public void receive(ShopModel shop, Long orderId, List<PurchaseOrderItemModel> items, Totals totals) {
+        metrics.recordPurchaseOrderLines(items.size());
+
+        // ✅ Shop stock rows for every product on the order (a line repeating a product
+        // averages into the same row)
+        Set<Long> productIds = items.stream()
+                .map(i -> i.getProduct().getProductId())
+                .collect(Collectors.toSet());
+        Map<Long, ShopStockModel> stockByProduct = shopStockRepository
+                .lockByShopIdAndProductIds(shop.getId(), productIds).stream()
+                .collect(Collectors.toMap(s -> s.getProduct().getProductId(), Function.identity()));
+
+        // ✅ Compute landing costs for each item
+        List<StockModel> logs = new ArrayList<>(items.size());
+        List<StockBatchModel> batches = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (PurchaseOrderItemModel item : items) {
+            ProductModel product = item.getProduct();
+
+            double landingUSD = LandingCostCalculator.unitLandingCost(
+                    item.getTotalCostUSD(), totals.itemCostUSD(), totals.expenseUSD(), item.getQuantity());
+            double landingZWL = LandingCostCalculator.unitLandingCost(
+                    item.getTotalCostZWL(), totals.itemCostZWL(), totals.expenseZWL(), item.getQuantity());
+
+            ShopStockModel shopStock = stockByProduct.computeIfAbsent(product.getProductId(),
+                    id -> new ShopStockModel(shop, product));
+
+            double existingQty = shopStock.getQuantityInStock() == null ? 0.0 : shopStock.getQuantityInStock();
+            double existingCostUSD = shopStock.getAvgLandingCostUSD() == null ? 0.0 : shopStock.getAvgLandingCostUSD();
+            double existingCostZWL = shopStock.getAvgLandingCostZWL() == null ? 0.0 : shopStock.getAvgLandingCostZWL();
+
+            double newAvgCostUSD = LandingCostCalculator.movingAverageCost(
+                    existingCostUSD, existingQty, landingUSD, item.getQuantity());
+            double newAvgCostZWL = LandingCostCalculator.movingAverageCost(
+                    existingCostZWL, existingQty, landingZWL, item.getQuantity());
+
+            shopStock.setAvgLandingCostUSD(newAvgCostUSD);
+            shopStock.setAvgLandingCostZWL(newAvgCostZWL);
+            shopStock.setQuantityInStock((int) existingQty + item.getQuantity());
+
+            logs.add(StockModel.builder()
+                    .product(product)
+                    .shop(shop)
+                    .quantityChanged(item.getQuantity())
+                    .transactionType(StockModel.TransactionType.IN)
+                    .reason("Purchase order #" + orderId)
+                    .referenceId("PO-" + orderId)
+                    .unitCostUSD(landingUSD)
+                    .unitCostZWL(landingZWL)
+                    .totalCostUSD(landingUSD * item.getQuantity())
+                    .totalCostZWL(landingZWL * item.getQuantity())
+                    .date(now)
+                    .build());
+
+            if (item.getExpiryDate() != null) {
+                batches.add(StockBatchModel.builder()
+                        .shop(shop)
+                        .product(product)
+                        .quantity(item.getQuantity())
+                        .expiryDate(item.getExpiryDate())
+                        .batchNumber(item.getBatchNumber())
+                        .purchaseOrderId(orderId)
+                        .build());
+            }
+        }
+
+        shopStockRepository.saveAll(stockByProduct.values());
+        stockRepository.saveAll(logs);
+        // ✅ Expiry-dated batches (markdown job input)
+        stockBatchRepository.saveAll(batches);
+    }
+}
@@ -0,0 +1,139 @@
+package com.company.retail.purchaseorder;
+
+import com.company.retail.configs.BackgroundJobs;
+import com.company.retail.expense.ExpenseModel;
+import com.company.retail.expense.ExpenseRepository;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ✅ Asynchronous purchase order receiving for orders too big to receive in one request.
+ *
+ * Queueing moves the order PENDING -> RECEIVING and records a receipt job; a worker
+ * (polling, so it survives restarts) receives the lines in committed chunks and finally
+ * moves the order to COMPLETED. Queueing the same order again returns the existing job,
+ * and a job whose worker died is resumed from its checkpoint, so no line is ever
+ * received twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurchaseOrderReceivingService {
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+    private final ExpenseRepository expenseRepository;
+    private final PurchaseOrderReceiptRepository receiptRepository;
+    private final PurchaseOrderReceiptProcessor processor;
+    private final BackgroundJobs backgroundJobs;
+
+    @Value("${app.receiving.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.receiving.stale-after-ms:300000}")
+    private long staleAfterMs;
+
+    @Transactional
+    public PurchaseOrderReceiptModel queue(Long orderId) {
+        PurchaseOrderReceiptModel existing = receiptRepository.findByPurchaseOrderId(orderId).orElse(null);
+        if (existing != null) {
+            return existing; // ✅ retried request: same job
+        }
+        PurchaseOrderModel order = purchaseOrderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Purchase Order not found with ID " + orderId));
+        if (order.getStatus() != PurchaseOrderModel.Status.PENDING) {
+            throw new RuntimeException("Cannot receive order — it is " + order.getStatus() + ".");
+        }
+        List<PurchaseOrderItemModel> items = purchaseOrderItemRepository.findByPurchaseOrder_PurchaseOrderId(orderId);
+        List<ExpenseModel> expenses = expenseRepository.findByPurchaseOrder_PurchaseOrderId(orderId);
+        if (items.isEmpty()) {
+            throw new RuntimeException("Cannot complete order — no products found.");
+        }
+        if (expenses.isEmpty()) {
+            throw new RuntimeException("Cannot complete order — no expenses recorded.");
+        }
+        if (purchaseOrderRepository.transition(orderId, PurchaseOrderModel.Status.PENDING,
+                PurchaseOrderModel.Status.RECEIVING) == 0) {
+            throw new RuntimeException("Order is already being completed.");
+        }
+        order.setStatus(PurchaseOrderModel.Status.RECEIVING);
+
+        PurchaseOrderReceiver.Totals totals = PurchaseOrderReceiver.Totals.of(items, expenses);
+        LocalDateTime now = LocalDateTime.now();
+        return receiptRepository.save(PurchaseOrderReceiptModel.builder()
+                .purchaseOrderId(orderId)
+                .status(PurchaseOrderReceiptModel.Status.QUEUED)
+                .totalLines(items.size())
+                .itemCostUSD(totals.itemCostUSD())
+                .itemCostZWL(totals.itemCostZWL())
+                .expenseUSD(totals.expenseUSD())
+                .expenseZWL(totals.expenseZWL())
+                .queuedAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public PurchaseOrderReceiptModel getReceipt(Long orderId) {
+        return receiptRepository.findByPurchaseOrderId(orderId)
+                .orElseThrow(() -> new RuntimeException("No receipt for purchase order " + orderId));
+    }
+
+    // ✅ A failed job goes back on the queue and resumes after its checkpoint
+    @Transactional
+    public PurchaseOrderReceiptModel retry(Long orderId) {
+        PurchaseOrderReceiptModel receipt = getReceipt(orderId);
+        if (receipt.getStatus() != PurchaseOrderReceiptModel.Status.FAILED) {
+            throw new RuntimeException("Only failed receipts can be retried (this one is " + receipt.getStatus() + ")");
+        }
+        receipt.setStatus(PurchaseOrderReceiptModel.Status.QUEUED);
+        receipt.setUpdatedAt(LocalDateTime.now());
+        return receiptRepository.save(receipt);
+    }
+
+    // ============================================================
+    // ⚙️ Worker
+    // ============================================================
+    // Polls on the scheduler, receives on a background job thread
+    @Scheduled(fixedDelayString = "${app.receiving.poll-interval-ms:2000}")
+    public void poll() {
+        backgroundJobs.submit("purchase-order-receiving", this::processQueued);
+    }
+
+    public void processQueued() {
+        for (Long receiptId : receiptRepository.findRunnable(staleBefore())) {
+            run(receiptId);
+        }
+    }
+
+    public void run(Long receiptId) {
+        if (!processor.claim(receiptId, staleBefore())) {
+            return; // another worker has it
+        }
+        long started = System.currentTimeMillis();
+        try {
+            while (processor.processChunk(receiptId, chunkSize)) {
+                // next chunk
+            }
+            PurchaseOrderReceiptModel receipt = processor.complete(receiptId);
+            log.info("Purchase order {} received: {} lines in {} ms (attempt {})", receipt.getPurchaseOrderId(),
+                    receipt.getProcessedLines(), System.currentTimeMillis() - started, receipt.getAttempts());
+        } catch (RuntimeException e) {
+            log.error("Receipt {} failed: {}", receiptId, e.getMessage(), e);
+            processor.fail(receiptId, e.getMessage());
+        }
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000);
+    }
+}
@@ -1,9 +1,16 @@
 package com.company.retail.purchaseorder;
 
 import com.company.retail.shop.ShopModel;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrderModel, Long> {
@@ -11,4 +18,24 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrderMode
 
     // ✅ Fetch all orders by their status
     List<PurchaseOrderModel> findByStatus(PurchaseOrderModel.Status status);
+
+    // ✅ Date-range lookup (uses idx_purchase_orders_order_date)
+    List<PurchaseOrderModel> findByOrderDateBetween(LocalDateTime start, LocalDateTime end);
+
+    // ✅ [purchaseOrderId, itemCount] for the orders in range
+    @Query("SELECT i.purchaseOrder.purchaseOrderId, COUNT(i) FROM PurchaseOrderItemModel i " +
+            "WHERE i.purchaseOrder.orderDate BETWEEN :start AND :end GROUP BY i.purchaseOrder.purchaseOrderId")
+    List<Object[]> countItemsByOrderDateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // ✅ Order row locked until commit: a status transition (receive / complete) waits for this transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM PurchaseOrderModel o WHERE o.purchaseOrderId = :id")
+    Optional<PurchaseOrderModel> lockById(@Param("id") Long id);
+
+    // ✅ Status change only from the expected status (0 = someone else got there first)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE PurchaseOrderModel o SET o.status = :to WHERE o.purchaseOrderId = :id AND o.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") PurchaseOrderModel.Status from,
+                   @Param("to") PurchaseOrderModel.Status to);
 }
@@ -2,14 +2,14 @@ package com.company.retail.purchaseorder;
 
 import com.company.retail.expense.ExpenseModel;
 import com.company.retail.expense.ExpenseRepository;
-import com.company.retail.product.ProductModel;
 import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
 import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
-import com.company.retail.ShopStock.ShopStockModel;
-import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.replenishment.ReplenishmentService;
+import com.company.retail.replenishment.dto.ReplenishmentResultDTO;
 import com.company.retail.shop.ShopModel;
 import com.company.retail.shop.ShopRepository;
 import com.company.retail.user.UserModel;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,21 +19,25 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
+@Timed("retail.service")
 @RequiredArgsConstructor
 public class PurchaseOrderService {
 
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final PurchaseOrderItemRepository purchaseOrderItemRepository;
     private final ExpenseRepository expenseRepository;
-    private final ShopStockRepository shopStockRepository;
     private final ShopRepository shopRepository;
+    private final PurchaseOrderReceiver receiver;
+    private final ReplenishmentService replenishmentService;
 
     // ✅ Get all orders
+    @Transactional(readOnly = true)
     public List<PurchaseOrderModel> getAllOrders() {
         return purchaseOrderRepository.findAll();
     }
 
     // ✅ Get orders by shop
+    @Transactional(readOnly = true)
     public List<PurchaseOrderModel> getOrdersByShop(Long shopId) {
         ShopModel shop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found with ID: " + shopId));
@@ -41,12 +45,14 @@ public class PurchaseOrderService {
     }
 
     // ✅ Get one order
+    @Transactional(readOnly = true)
     public PurchaseOrderModel getOrderById(Long id) {
         return purchaseOrderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Purchase Order not found with ID " + id));
     }
 
     // ✅ Create new order
+    @Transactional
     public PurchaseOrderModel createOrder(PurchaseOrderModel order) {
         if (order.getShop() == null) {
             throw new RuntimeException("Shop must be specified when creating a purchase order.");
@@ -63,6 +69,7 @@ public class PurchaseOrderService {
     }
 
     // ✅ Update order details (supplier, totals, etc.)
+    @Transactional
     public PurchaseOrderModel updateOrder(Long id, PurchaseOrderModel updatedOrder) {
         PurchaseOrderModel existing = getOrderById(id);
 
@@ -77,6 +84,7 @@ public class PurchaseOrderService {
     }
 
     // ✅ Delete order
+    @Transactional
     public void deleteOrder(Long id) {
         if (!purchaseOrderRepository.existsById(id)) {
             throw new RuntimeException("Purchase Order not found");
@@ -85,11 +93,13 @@ public class PurchaseOrderService {
     }
 
     // ✅ Get all expenses linked to this order
+    @Transactional(readOnly = true)
     public List<ExpenseModel> getOrderExpenses(Long orderId) {
         return expenseRepository.findByPurchaseOrder_PurchaseOrderId(orderId);
     }
 
     // ✅ Get total expenses for this order
+    @Transactional(readOnly = true)
     public double getTotalExpenses(Long orderId) {
         return expenseRepository.findByPurchaseOrder_PurchaseOrderId(orderId)
                 .stream()
@@ -97,78 +107,30 @@ public class PurchaseOrderService {
                 .sum();
     }
 
-    // ✅ Compute landing cost and update shop stock
-    @Transactional
+    // ✅ Landing cost totals (items + expenses) for any order; stock only moves on completion / receiving
+    @Transactional(readOnly = true)
     public PurchaseOrderModel calculateLandingCost(Long orderId) {
         PurchaseOrderModel order = getOrderById(orderId);
-        List<PurchaseOrderItemModel> items = purchaseOrderItemRepository.findByPurchaseOrder_PurchaseOrderId(orderId);
-        List<ExpenseModel> expenses = expenseRepository.findByPurchaseOrder_PurchaseOrderId(orderId);
+        List<PurchaseOrderItemModel> items = purchaseOrderItemRepository.findWithProductByOrderId(orderId);
 
         if (items.isEmpty()) {
             throw new RuntimeException("Cannot calculate landing cost — no items in order.");
         }
-
-        double totalExpenseUSD = expenses.stream()
-                .mapToDouble(e -> e.getAmountUSD() == null ? 0.0 : e.getAmountUSD())
-                .sum();
-
-        double totalExpenseZWL = expenses.stream()
-                .mapToDouble(e -> e.getAmountZWL() == null ? 0.0 : e.getAmountZWL())
-                .sum();
-
-        double totalItemCostUSD = items.stream().mapToDouble(PurchaseOrderItemModel::getTotalCostUSD).sum();
-        double totalItemCostZWL = items.stream().mapToDouble(PurchaseOrderItemModel::getTotalCostZWL).sum();
-
-        // ✅ Store totals in PurchaseOrder
-        order.setExpensesUSD(totalExpenseUSD);
-        order.setExpensesZWL(totalExpenseZWL);
-        order.setTotalCostUSD(totalItemCostUSD);
-        order.setTotalCostZWL(totalItemCostZWL);
-
-        // ✅ Compute landing costs for each item
-        for (PurchaseOrderItemModel item : items) {
-            ProductModel product = item.getProduct();
-
-            double itemShareUSD = totalItemCostUSD == 0 ? 0 : item.getTotalCostUSD() / totalItemCostUSD;
-            double itemShareZWL = totalItemCostZWL == 0 ? 0 : item.getTotalCostZWL() / totalItemCostZWL;
-
-            double allocatedExpenseUSD = totalExpenseUSD * itemShareUSD;
-            double allocatedExpenseZWL = totalExpenseZWL * itemShareZWL;
-
-            double landingUSD = (item.getTotalCostUSD() + allocatedExpenseUSD) / item.getQuantity();
-            double landingZWL = (item.getTotalCostZWL() + allocatedExpenseZWL) / item.getQuantity();
-
-            ShopStockModel shopStock = shopStockRepository
-                    .findByShopAndProduct(order.getShop(), product)
-                    .orElseGet(() -> new ShopStockModel(order.getShop(), product));
-
-            double existingQty = shopStock.getQuantityInStock() == null ? 0.0 : shopStock.getQuantityInStock();
-            double existingCostUSD = shopStock.getAvgLandingCostUSD() == null ? 0.0 : shopStock.getAvgLandingCostUSD();
-            double existingCostZWL = shopStock.getAvgLandingCostZWL() == null ? 0.0 : shopStock.getAvgLandingCostZWL();
-
-            double totalQty = existingQty + item.getQuantity();
-
-            double newAvgCostUSD = totalQty == 0 ? landingUSD :
-                    ((existingCostUSD * existingQty) + (landingUSD * item.getQuantity())) / totalQty;
-            double newAvgCostZWL = totalQty == 0 ? landingZWL :
-                    ((existingCostZWL * existingQty) + (landingZWL * item.getQuantity())) / totalQty;
-
-            shopStock.setAvgLandingCostUSD(newAvgCostUSD);
-            shopStock.setAvgLandingCostZWL(newAvgCostZWL);
-            shopStock.setQuantityInStock((int) totalQty);
-
-            shopStockRepository.save(shopStock);
-        }
-
-        // ✅ Save and return updated order
-        return purchaseOrderRepository.save(order);
+        applyTotals(order, PurchaseOrderReceiver.Totals.of(items, expenseRepository.findByPurchaseOrder_PurchaseOrderId(orderId)));
+        return order;
     }
 
     // ✅ Mark order as completed — actually increment stock
     @Transactional
     public PurchaseOrderModel markOrderAsCompleted(Long orderId) {
         PurchaseOrderModel order = getOrderById(orderId);
-        List<PurchaseOrderItemModel> items = purchaseOrderItemRepository.findByPurchaseOrder_PurchaseOrderId(orderId);
+        if (order.getStatus() == PurchaseOrderModel.Status.COMPLETED) {
+            return order; // ✅ a retried completion changes nothing
+        }
+        if (order.getStatus() != PurchaseOrderModel.Status.PENDING) {
+            throw new RuntimeException("Cannot complete order — it is " + order.getStatus() + ".");
+        }
+        List<PurchaseOrderItemModel> items = purchaseOrderItemRepository.findWithProductByOrderId(orderId);
         List<ExpenseModel> expenses = expenseRepository.findByPurchaseOrder_PurchaseOrderId(orderId);
 
         if (items.isEmpty()) {
@@ -178,21 +140,39 @@ public class PurchaseOrderService {
             throw new RuntimeException("Cannot complete order — no expenses recorded.");
         }
 
-        // ✅ 1. Calculate landing cost and update stocks (updates average cost also).
-        calculateLandingCost(orderId);
+        // ✅ 1. Claim the order (PENDING -> COMPLETED); a concurrent completion waits on the row, then gets 0
+        if (purchaseOrderRepository.transition(orderId, PurchaseOrderModel.Status.PENDING,
+                PurchaseOrderModel.Status.COMPLETED) == 0) {
+            throw new RuntimeException("Order is already being completed.");
+        }
+        order.setStatus(PurchaseOrderModel.Status.COMPLETED);
 
+        // ✅ 2. Calculate landing cost and update stocks (updates average cost also).
+        receive(order, items, expenses);
 
-        // ✅ 2. Mark order as complete and set received date
-        order.setStatus(PurchaseOrderModel.Status.COMPLETED);
+        // ✅ 3. Set received date
         order.setReceivedDate(java.time.LocalDateTime.now());
         return purchaseOrderRepository.save(order);
     }
 
-    // ✅ Auto-generate order (placeholder)
-    public PurchaseOrderModel autoGenerateOrder() {
-        PurchaseOrderModel order = new PurchaseOrderModel();
-        order.setStatus(PurchaseOrderModel.Status.PENDING);
-        order.setOrderDate(java.time.LocalDateTime.now());
-        return purchaseOrderRepository.save(order);
+    // ✅ Order totals, then the lines into shop stock in one go
+    private void receive(PurchaseOrderModel order, List<PurchaseOrderItemModel> items, List<ExpenseModel> expenses) {
+        PurchaseOrderReceiver.Totals totals = PurchaseOrderReceiver.Totals.of(items, expenses);
+        applyTotals(order, totals);
+        receiver.receive(order.getShop(), order.getPurchaseOrderId(), items, totals);
+    }
+
+    // ✅ Store totals in PurchaseOrder
+    private static void applyTotals(PurchaseOrderModel order, PurchaseOrderReceiver.Totals totals) {
+        order.setExpensesUSD(totals.expenseUSD());
+        order.setExpensesZWL(totals.expenseZWL());
+        order.setTotalCostUSD(totals.itemCostUSD());
+        order.setTotalCostZWL(totals.itemCostZWL());
+    }
+
+    // ✅ Auto-generate draft (PENDING) orders from sales velocity and reorder levels, one per shop
+    @Transactional
+    public ReplenishmentResultDTO autoGenerateOrder(Long shopId) {
+        return replenishmentService.generate(shopId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.company.retail.replenishment;
+
+import com.company.retail.replenishment.dto.ReplenishmentLineDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for replenishment suggestions and sales velocity.
+ * Draft orders are generated through POST /api/purchase-orders/auto-generate.
+ */
+@RestController
+@RequestMapping("/api/replenishment")
+@RequiredArgsConstructor
+public class ReplenishmentController {
+
+    private final ReplenishmentService replenishmentService;
+    private final SalesVelocityService velocityService;
+
+    /**
+     * ✅ What auto-generate would order right now (all shops unless shopId is given)
+     */
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<ReplenishmentLineDTO>> getSuggestions(@RequestParam(required = false) Long shopId) {
+        return ResponseEntity.ok(replenishmentService.suggest(shopId));
+    }
+
+    /**
+     * ✅ Current sales velocity (units/day) of a product in a shop
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/velocity")
+    public ResponseEntity<?> getVelocity(@RequestParam Long shopId, @RequestParam Long productId) {
+        Double unitsPerDay = velocityService.getUnitsPerDay(shopId, productId);
+        if (unitsPerDay == null) {
+            return ResponseEntity.status(404).body("❌ No sales recorded for this product in this shop");
+        }
+        return ResponseEntity.ok(unitsPerDay);
+    }
+
+    /**
+     * ✅ Seed velocities from the last N days of sales (after importing history)
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PostMapping("/velocity/rebuild")
+    public ResponseEntity<?> rebuildVelocity(@RequestParam(defaultValue = "56") int days) {
+        if (days < 1) {
+            return ResponseEntity.badRequest().body("❌ days must be at least 1");
+        }
+        return ResponseEntity.ok(velocityService.rebuild(days));
+    }
+}
@@ -0,0 +1,208 @@
+package com.company.retail.replenishment;
+
+import com.company.retail.configs.DatabaseSequences;
+import com.company.retail.observability.RetailMetrics;
+import com.company.retail.purchaseorder.PurchaseOrderModel;
+import com.company.retail.purchaseorder.PurchaseOrderRepository;
+import com.company.retail.replenishment.dto.ReplenishmentLineDTO;
+import com.company.retail.replenishment.dto.ReplenishmentResultDTO;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.user.UserModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * ✅ Automatic replenishment: which shop/product pairs to reorder, and draft purchase
+ * orders for them.
+ *
+ * One streaming query joins shop stock, product reorder levels, sales velocity and the
+ * quantities already on open (PENDING / RECEIVING) orders. A pair is reordered when its
+ * position (on hand + on order) would fall to the reorder level within the lead time;
+ * the quantity tops it up to cover lead time + cover period at the current velocity.
+ * Lines already on order count, so running again before receiving orders nothing twice.
+ *
+ * Writes are one PENDING order per shop and one JDBC batch for all of their lines.
+ * A run holds the 'replenishment' job_locks row until it commits, so a second run (on
+ * any instance) waits and then sees the first run's orders as on order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReplenishmentService {
+
+    static final String SUPPLIER = "Auto replenishment";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSequences sequences;
+    private final SalesVelocityService velocityService;
+    private final ShopRepository shopRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final RetailMetrics metrics;
+
+    @Value("${app.replenishment.lead-time-days:7}")
+    private int leadTimeDays;
+
+    @Value("${app.replenishment.cover-days:14}")
+    private int coverDays;
+
+    // ✅ Preview: what a run would order now (shopId null = all shops)
+    @Transactional(readOnly = true)
+    public List<ReplenishmentLineDTO> suggest(Long shopId) {
+        return plan(shopId, new int[1]);
+    }
+
+    // ✅ Create the draft orders (shopId null = all shops)
+    @Transactional
+    public ReplenishmentResultDTO generate(Long shopId) {
+        if (shopId != null && !shopRepository.existsById(shopId)) {
+            throw new RuntimeException("Shop not found with ID: " + shopId);
+        }
+        // ✅ Held until commit: runs never overlap, even across instances
+        jdbcTemplate.queryForList("SELECT name FROM job_locks WHERE name = 'replenishment' FOR UPDATE", String.class);
+
+        long started = System.currentTimeMillis();
+        int[] pairs = new int[1];
+        List<ReplenishmentLineDTO> lines = plan(shopId, pairs);
+
+        ReplenishmentResultDTO result = ReplenishmentResultDTO.builder()
+                .leadTimeDays(leadTimeDays)
+                .coverDays(coverDays)
+                .pairs(pairs[0])
+                .lines(lines.size())
+                .build();
+        if (!lines.isEmpty()) {
+            createOrders(lines, result);
+        }
+        result.setDurationMs(System.currentTimeMillis() - started);
+        metrics.recordReplenishmentRun(result.getDurationMs(), result.getPairs(), result.getLines(), result.getOrders());
+        log.info("Replenishment run: {} pairs, {} lines on {} order(s) ({} ms)",
+                result.getPairs(), result.getLines(), result.getOrders(), result.getDurationMs());
+        return result;
+    }
+
+    // ============================================================
+    // 📈 One pass over shop stock
+    // ============================================================
+
+    private List<ReplenishmentLineDTO> plan(Long shopId, int[] pairs) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReplenishmentLineDTO> lines = new ArrayList<>();
+        String sql = """
+                SELECT ss.shop_id, ss.product_id, p.product_name, ss.quantity_in_stock, p.reorder_level,
+                       ss.avg_landing_costusd, ss.avg_landing_costzwl, v.units_per_day, v.updated_at,
+                       COALESCE(o.on_order, 0)
+                FROM shop_stock ss
+                JOIN products p ON p.product_id = ss.product_id
+                LEFT JOIN sales_velocity v ON v.shop_id = ss.shop_id AND v.product_id = ss.product_id
+                LEFT JOIN (SELECT po.shop_id, i.product_id, SUM(i.quantity) AS on_order
+                           FROM purchase_order_items i JOIN purchase_orders po ON po.purchase_order_id = i.purchase_order_id
+                           WHERE po.status IN ('PENDING', 'RECEIVING')
+                           GROUP BY po.shop_id, i.product_id) o ON o.shop_id = ss.shop_id AND o.product_id = ss.product_id
+                WHERE (v.units_per_day > 0 OR p.reorder_level > 0)
+                """ + (shopId != null ? " AND ss.shop_id = ?" : "") + " ORDER BY ss.shop_id, ss.product_id";
+
+        jdbcTemplate.query(sql, rs -> {
+            pairs[0]++;
+            int onHand = Math.max(rs.getInt(4), 0);
+            Integer reorderLevel = integer(rs, 5);
+            double safety = reorderLevel != null ? Math.max(reorderLevel, 0) : 0;
+            double unitsPerDay = rs.getTimestamp(9) == null ? 0
+                    : velocityService.unitsPerDay(rs.getDouble(8), rs.getTimestamp(9).toLocalDateTime(), now);
+            int onOrder = rs.getInt(10);
+            int position = onHand + onOrder;
+
+            double reorderPoint = unitsPerDay * leadTimeDays + safety;
+            if (position > reorderPoint) {
+                return;
+            }
+            int quantity = (int) Math.ceil(unitsPerDay * (leadTimeDays + coverDays) + safety - position);
+            if (quantity < 1) {
+                return;
+            }
+            lines.add(ReplenishmentLineDTO.builder()
+                    .shopId(rs.getLong(1))
+                    .productId(rs.getLong(2))
+                    .productName(rs.getString(3))
+                    .onHand(onHand)
+                    .onOrder(onOrder)
+                    .reorderLevel(reorderLevel)
+                    .unitsPerDay(unitsPerDay)
+                    .coverDays(unitsPerDay > 0 ? position / unitsPerDay : null)
+                    .reorderPoint(reorderPoint)
+                    .suggestedQuantity(quantity)
+                    .unitCostUSD(number(rs, 6))
+                    .unitCostZWL(number(rs, 7))
+                    .build());
+        }, shopId != null ? new Object[]{shopId} : new Object[0]);
+        return lines;
+    }
+
+    // ============================================================
+    // 🧾 Draft orders: one per shop, lines in one batch
+    // ============================================================
+
+    private void createOrders(List<ReplenishmentLineDTO> lines, ReplenishmentResultDTO result) {
+        LocalDateTime now = LocalDateTime.now();
+        UserModel user = currentUser();
+        Map<Long, PurchaseOrderModel> orderByShop = new LinkedHashMap<>();
+        for (ReplenishmentLineDTO line : lines) {
+            PurchaseOrderModel order = orderByShop.computeIfAbsent(line.getShopId(), id -> PurchaseOrderModel.builder()
+                    .shop(shopRepository.getReferenceById(id))
+                    .supplierName(SUPPLIER)
+                    .status(PurchaseOrderModel.Status.PENDING)
+                    .orderDate(now)
+                    .createdBy(user)
+                    .totalCostUSD(0.0)
+                    .totalCostZWL(0.0)
+                    .build());
+            order.setTotalCostUSD(order.getTotalCostUSD() + cost(line.getUnitCostUSD(), line.getSuggestedQuantity()));
+            order.setTotalCostZWL(order.getTotalCostZWL() + cost(line.getUnitCostZWL(), line.getSuggestedQuantity()));
+        }
+        purchaseOrderRepository.saveAll(orderByShop.values());
+        purchaseOrderRepository.flush(); // the lines below reference the orders
+
+        List<Object[]> rows = new ArrayList<>(lines.size());
+        for (ReplenishmentLineDTO line : lines) {
+            int quantity = line.getSuggestedQuantity();
+            rows.add(new Object[]{orderByShop.get(line.getShopId()).getPurchaseOrderId(), line.getProductId(), quantity,
+                    line.getUnitCostUSD(), line.getUnitCostZWL(),
+                    cost(line.getUnitCostUSD(), quantity), cost(line.getUnitCostZWL(), quantity)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO purchase_order_items (purchase_order_item_id, purchase_order_id, product_id, "
+                + "quantity, unit_purchase_priceusd, unit_purchase_pricezwl, total_costusd, total_costzwl) "
+                + "VALUES (" + sequences.nextValue("purchase_order_items_seq") + ", ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        result.setOrders(orderByShop.size());
+        orderByShop.values().forEach(o -> result.getOrderIds().add(o.getPurchaseOrderId()));
+    }
+
+    private static double cost(Double unitCost, int quantity) {
+        return unitCost != null ? unitCost * quantity : 0.0;
+    }
+
+    private static Double number(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Integer integer(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static UserModel currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserModel user ? user : null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.retail.replenishment;
+
+import com.company.retail.sales.SaleRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * ✅ Feeds committed sales into the sales velocity table.
+ *
+ * Runs after the sale committed, so the sale never waits on (or fails because of) the
+ * velocity update. Two first sales of the same product in a shop can race on the insert;
+ * the loser retries once and then finds the row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesVelocityListener {
+
+    private final SalesVelocityService velocityService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSale(SaleRecordedEvent event) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                velocityService.recordCommitted(event.shopId(), event.saleDate(), event.quantities());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == 2) {
+                    log.warn("Sales velocity not updated for shop {}: {}", event.shopId(), e.getMessage());
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Sales velocity not updated for shop {}: {}", event.shopId(), e.getMessage());
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.company.retail.replenishment;
+
+import com.company.retail.configs.DatabaseSequences;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * ✅ Sales velocity per shop/product: an exponentially weighted rate in units per day.
+ *
+ * Each sale decays the stored rate to the sale time and adds quantity / window, so the
+ * rate follows a steady seller to its daily units and fades when a product stops
+ * selling. One row per pair, updated in O(1) per sale line — sales history is never
+ * rescanned (except by {@link #rebuild}, to seed the table from existing sales).
+ *
+ * A rebuild holds the 'sales_velocity' job_locks row until it commits; sale updates take
+ * the same row shared, so they run side by side but never between the rebuild's delete
+ * and its inserts.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesVelocityService {
+
+    private static final double MILLIS_PER_DAY = 86_400_000d;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSequences sequences;
+
+    @Value("${app.replenishment.velocity-window-days:14}")
+    private double windowDays;
+
+    // ✅ After a sale committed: own transaction, so a failure here never touches the sale
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordCommitted(Long shopId, LocalDateTime saleDate, Map<Long, Integer> quantities) {
+        apply(shopId, saleDate, quantities);
+    }
+
+    // ✅ Rate decayed from the time it was stored to now
+    public double unitsPerDay(double storedRate, LocalDateTime storedAt, LocalDateTime now) {
+        double days = Duration.between(storedAt, now).toMillis() / MILLIS_PER_DAY;
+        return days <= 0 ? storedRate : storedRate * Math.exp(-days / windowDays);
+    }
+
+    @Transactional(readOnly = true)
+    public Double getUnitsPerDay(Long shopId, Long productId) {
+        List<Double> rates = jdbcTemplate.query(
+                "SELECT units_per_day, updated_at FROM sales_velocity WHERE shop_id = ? AND product_id = ?",
+                (rs, i) -> unitsPerDay(rs.getDouble(1), rs.getTimestamp(2).toLocalDateTime(), LocalDateTime.now()),
+                shopId, productId);
+        return rates.isEmpty() ? null : rates.get(0);
+    }
+
+    // ============================================================
+    // 🔄 Seed from sales history (one streaming pass)
+    // ============================================================
+    @Transactional
+    public int rebuild(int days) {
+        // ✅ Held until commit: waits for sale updates in flight, holds off new ones
+        jdbcTemplate.queryForList("SELECT name FROM job_locks WHERE name = 'sales_velocity' FOR UPDATE", String.class);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Map<Long, double[]>> rates = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT s.shop_id, si.product_id, s.sale_date, si.quantity
+                FROM sale_items si JOIN sales s ON s.sale_id = si.sale_id
+                WHERE s.sale_date >= ? AND si.quantity > 0
+                """, rs -> {
+            double rate = unitsPerDay(rs.getInt(4) / windowDays, rs.getTimestamp(3).toLocalDateTime(), now);
+            rates.computeIfAbsent(rs.getLong(1), k -> new HashMap<>())
+                    .computeIfAbsent(rs.getLong(2), k -> new double[1])[0] += rate;
+        }, Timestamp.valueOf(now.minusDays(days)));
+
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp at = Timestamp.valueOf(now);
+        rates.forEach((shopId, byProduct) -> byProduct.forEach((productId, rate) ->
+                rows.add(new Object[]{shopId, productId, rate[0], at})));
+        jdbcTemplate.update("DELETE FROM sales_velocity");
+        jdbcTemplate.batchUpdate("INSERT INTO sales_velocity (shop_id, product_id, units_per_day, updated_at) "
+                + "VALUES (?, ?, ?, ?)", rows);
+        return rows.size();
+    }
+
+    // In the caller's transaction
+    void apply(Long shopId, LocalDateTime saleDate, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        // Shared with other sales, exclusive of a rebuild (H2 has no FOR SHARE)
+        jdbcTemplate.queryForList("SELECT name FROM job_locks WHERE name = 'sales_velocity' "
+                + (sequences.isPostgres() ? "FOR SHARE" : "FOR UPDATE"), String.class);
+        // Lock the existing rows in product order, so two baskets never wait on each other in a cycle
+        List<Long> productIds = quantities.keySet().stream().sorted().toList();
+        List<Object> args = new ArrayList<>(productIds.size() + 1);
+        args.add(shopId);
+        args.addAll(productIds);
+        Map<Long, Object[]> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT product_id, units_per_day, updated_at FROM sales_velocity WHERE shop_id = ? "
+                        + "AND product_id IN (" + String.join(", ", Collections.nCopies(productIds.size(), "?")) + ") "
+                        + "ORDER BY product_id FOR UPDATE",
+                rs -> {
+                    stored.put(rs.getLong(1), new Object[]{rs.getDouble(2), rs.getTimestamp(3).toLocalDateTime()});
+                }, args.toArray());
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (Long productId : productIds) {
+            double added = quantities.get(productId) / windowDays;
+            Object[] row = stored.get(productId);
+            if (row == null) {
+                if (added <= 0) {
+                    continue; // nothing to take back from
+                }
+                inserts.add(new Object[]{shopId, productId, added, Timestamp.valueOf(saleDate)});
+                continue;
+            }
+            double rate = (double) row[0];
+            LocalDateTime storedAt = (LocalDateTime) row[1];
+            if (saleDate.isBefore(storedAt)) {
+                // A sale older than the stored rate (out of order): decay the sale instead
+                updates.add(new Object[]{Math.max(0, rate + unitsPerDay(added, saleDate, storedAt)), Timestamp.valueOf(storedAt),
+                        shopId, productId});
+            } else {
+                updates.add(new Object[]{Math.max(0, unitsPerDay(rate, storedAt, saleDate) + added), Timestamp.valueOf(saleDate),
+                        shopId, productId});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE sales_velocity SET units_per_day = ?, updated_at = ? "
+                    + "WHERE shop_id = ? AND product_id = ?", updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO sales_velocity (shop_id, product_id, units_per_day, updated_at) "
+                    + "VALUES (?, ?, ?, ?)", inserts);
+        }
+    }
+}
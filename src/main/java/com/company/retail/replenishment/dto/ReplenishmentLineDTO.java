@@ -0,0 +1,28 @@
+package com.company.retail.replenishment.dto;
+
+import lombok.*;
+
+/**
+ * ✅ One shop/product pair that needs ordering.
+ * reorderPoint = unitsPerDay × lead time + reorderLevel; suggestedQuantity brings
+ * onHand + onOrder up to that plus the cover period. coverDays is null with no sales.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplenishmentLineDTO {
+    private Long shopId;
+    private Long productId;
+    private String productName;
+    private int onHand;
+    private int onOrder;
+    private Integer reorderLevel;
+    private double unitsPerDay;
+    private Double coverDays;
+    private double reorderPoint;
+    private int suggestedQuantity;
+    private Double unitCostUSD;
+    private Double unitCostZWL;
+}
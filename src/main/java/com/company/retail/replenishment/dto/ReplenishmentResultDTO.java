@@ -0,0 +1,26 @@
+package com.company.retail.replenishment.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ One replenishment run: pairs looked at, lines ordered and the draft (PENDING)
+ * purchase orders created, one per shop.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplenishmentResultDTO {
+    private int leadTimeDays;
+    private int coverDays;
+    private int pairs;
+    private int lines;
+    private int orders;
+    @Builder.Default
+    private List<Long> orderIds = new ArrayList<>();
+    private long durationMs;
+}
@@ -12,8 +12,11 @@ import com.company.retail.saleItem.SaleItemModel;
 import com.company.retail.saleItem.SaleItemRepository;
 import com.company.retail.sales.SalesModel;
 import com.company.retail.sales.SalesRepository;
+import io.micrometer.core.annotation.Timed;
+import com.company.retail.observability.RetailMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,7 +24,9 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("retail.service")
 @RequiredArgsConstructor
+@Transactional(readOnly = true) // ✅ report scans go to the read replica when one is configured
 public class ReportService {
 
     private final SalesRepository saleRepository;
@@ -33,6 +38,7 @@ public class ReportService {
 
     private final ReportExcelExporter excelExporter;
     private final ReportPdfExporter pdfExporter;
+    private final RetailMetrics metrics;
 
     // ============================================================
     // 🧾 SALES REPORT
@@ -41,11 +47,13 @@ public class ReportService {
         LocalDateTime startTime = start.atStartOfDay();
         LocalDateTime endTime = end.atTime(23, 59, 59);
 
-        return saleRepository.findAll().stream()
-                .filter(s -> (shopId == null || s.getShop().getId().equals(shopId)) &&
-                        !s.getSaleDate().isBefore(startTime) && !s.getSaleDate().isAfter(endTime))
+        // ✅ One query for all lines in range instead of one per sale
+        Map<Long, List<SaleItemModel>> itemsBySale = saleItemsInRange(startTime, endTime, shopId).stream()
+                .collect(Collectors.groupingBy(i -> i.getSale().getSaleId()));
+
+        return rows("sales", salesInRange(startTime, endTime, shopId).stream()
                 .map(sale -> {
-                    List<SaleItemModel> items = saleItemRepository.findBySale_SaleId(sale.getSaleId());
+                    List<SaleItemModel> items = itemsBySale.getOrDefault(sale.getSaleId(), List.of());
                     double profitUSD = items.stream().mapToDouble(SaleItemModel::getProfitUSD).sum();
                     double profitZWL = items.stream().mapToDouble(SaleItemModel::getProfitZWL).sum();
                     int totalItems = items.stream().mapToInt(SaleItemModel::getQuantity).sum();
@@ -62,7 +70,7 @@ public class ReportService {
                             .saleDate(sale.getSaleDate())
                             .build();
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     // ============================================================
@@ -73,7 +81,7 @@ public class ReportService {
                 ? shopStockRepository.findAll()
                 : shopStockRepository.findByShop_Id(shopId);
 
-        return stocks.stream()
+        return rows("stock", stocks.stream()
                 .map(s -> {
                     ProductModel p = s.getProduct();
 
@@ -105,7 +113,7 @@ public class ReportService {
                             .totalValueAtSellingZWL(sellValZWL)
                             .build();
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     // ============================================================
@@ -115,9 +123,7 @@ public class ReportService {
         LocalDateTime startTime = start.atStartOfDay();
         LocalDateTime endTime = end.atTime(23, 59, 59);
 
-        return expenseRepository.findAll().stream()
-                .filter(e -> (shopId == null || e.getShop().getId().equals(shopId)) &&
-                        !e.getDate().isBefore(startTime) && !e.getDate().isAfter(endTime))
+        return rows("expenses", expensesInRange(startTime, endTime, shopId).stream()
                 .map(e -> ExpenseReportDTO.builder()
                         .expenseId(e.getExpenseId())
                         .shopName(e.getShop().getShopName())
@@ -127,7 +133,7 @@ public class ReportService {
                         .amountZWL(e.getAmountZWL())
                         .date(e.getDate())
                         .build())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     // ============================================================
@@ -137,8 +143,13 @@ public class ReportService {
         LocalDateTime startTime = start.atStartOfDay();
         LocalDateTime endTime = end.atTime(23, 59, 59);
 
-        return purchaseOrderRepository.findAll().stream()
-                .filter(o -> !o.getOrderDate().isBefore(startTime) && !o.getOrderDate().isAfter(endTime))
+        // ✅ Line counts in one grouped query instead of initializing each order's items
+        Map<Long, Long> itemCounts = new HashMap<>();
+        for (Object[] row : purchaseOrderRepository.countItemsByOrderDateBetween(startTime, endTime)) {
+            itemCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        return rows("purchases", purchaseOrderRepository.findByOrderDateBetween(startTime, endTime).stream()
                 .map(o -> PurchaseReportDTO.builder()
                         .purchaseOrderId(o.getPurchaseOrderId())
                         .shopName(o.getShop().getShopName())
@@ -148,9 +159,9 @@ public class ReportService {
                         .orderDate(o.getOrderDate())
                         .receivedDate(o.getReceivedDate())
                         .status(o.getStatus().toString())
-                        .totalItems(o.getItems().size())
+                        .totalItems(itemCounts.getOrDefault(o.getPurchaseOrderId(), 0L).intValue())
                         .build())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     // ============================================================
@@ -160,32 +171,22 @@ public class ReportService {
         LocalDateTime startTime = start.atStartOfDay();
         LocalDateTime endTime = end.atTime(23, 59, 59);
 
-        var sales = saleRepository.findAll().stream()
-                .filter(s -> (shopId == null || s.getShop().getId().equals(shopId)) &&
-                        !s.getSaleDate().isBefore(startTime) && !s.getSaleDate().isAfter(endTime))
+        var sales = salesInRange(startTime, endTime, shopId).stream()
                 .toList();
 
         double totalSalesUSD = sales.stream().mapToDouble(SalesModel::getTotalAmountUSD).sum();
         double totalSalesZWL = sales.stream().mapToDouble(SalesModel::getTotalAmountZWL).sum();
 
-        double totalCostUSD = saleItemRepository.findAll().stream()
-                .filter(i -> (shopId == null || i.getSale().getShop().getId().equals(shopId)) &&
-                        !i.getSale().getSaleDate().isBefore(startTime) && !i.getSale().getSaleDate().isAfter(endTime))
+        double totalCostUSD = saleItemsInRange(startTime, endTime, shopId).stream()
                 .mapToDouble(i -> i.getCostPriceUSD() * i.getQuantity()).sum();
 
-        double totalCostZWL = saleItemRepository.findAll().stream()
-                .filter(i -> (shopId == null || i.getSale().getShop().getId().equals(shopId)) &&
-                        !i.getSale().getSaleDate().isBefore(startTime) && !i.getSale().getSaleDate().isAfter(endTime))
+        double totalCostZWL = saleItemsInRange(startTime, endTime, shopId).stream()
                 .mapToDouble(i -> i.getCostPriceZWL() * i.getQuantity()).sum();
 
-        double totalExpensesUSD = expenseRepository.findAll().stream()
-                .filter(e -> (shopId == null || e.getShop().getId().equals(shopId)) &&
-                        !e.getDate().isBefore(startTime) && !e.getDate().isAfter(endTime))
+        double totalExpensesUSD = expensesInRange(startTime, endTime, shopId).stream()
                 .mapToDouble(ExpenseModel::getAmountUSD).sum();
 
-        double totalExpensesZWL = expenseRepository.findAll().stream()
-                .filter(e -> (shopId == null || e.getShop().getId().equals(shopId)) &&
-                        !e.getDate().isBefore(startTime) && !e.getDate().isAfter(endTime))
+        double totalExpensesZWL = expensesInRange(startTime, endTime, shopId).stream()
                 .mapToDouble(ExpenseModel::getAmountZWL).sum();
 
         double grossProfitUSD = totalSalesUSD - totalCostUSD;
@@ -247,35 +248,29 @@ public class ReportService {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(23, 59, 59);
 
-        var sales = saleRepository.findAll().stream()
-                .filter(s -> !s.getSaleDate().isBefore(start) && !s.getSaleDate().isAfter(end))
+        var sales = salesInRange(start, end, null).stream()
                 .toList();
 
         double totalSalesUSD = sales.stream().mapToDouble(SalesModel::getTotalAmountUSD).sum();
         double totalSalesZWL = sales.stream().mapToDouble(SalesModel::getTotalAmountZWL).sum();
 
-        double totalProfitUSD = saleItemRepository.findAll().stream()
-                .filter(i -> !i.getSale().getSaleDate().isBefore(start) && !i.getSale().getSaleDate().isAfter(end))
+        double totalProfitUSD = saleItemsInRange(start, end, null).stream()
                 .mapToDouble(SaleItemModel::getProfitUSD).sum();
 
-        double totalProfitZWL = saleItemRepository.findAll().stream()
-                .filter(i -> !i.getSale().getSaleDate().isBefore(start) && !i.getSale().getSaleDate().isAfter(end))
+        double totalProfitZWL = saleItemsInRange(start, end, null).stream()
                 .mapToDouble(SaleItemModel::getProfitZWL).sum();
 
-        double totalExpensesUSD = expenseRepository.findAll().stream()
-                .filter(e -> !e.getDate().isBefore(start) && !e.getDate().isAfter(end))
+        double totalExpensesUSD = expensesInRange(start, end, null).stream()
                 .mapToDouble(ExpenseModel::getAmountUSD).sum();
 
-        double totalExpensesZWL = expenseRepository.findAll().stream()
-                .filter(e -> !e.getDate().isBefore(start) && !e.getDate().isAfter(end))
+        double totalExpensesZWL = expensesInRange(start, end, null).stream()
                 .mapToDouble(ExpenseModel::getAmountZWL).sum();
 
         long lowStockItems = shopStockRepository.findAll().stream()
                 .filter(s -> s.getQuantityInStock() <= Optional.ofNullable(s.getProduct().getReorderLevel()).orElse(0))
                 .count();
 
-        Optional<Map.Entry<String, Integer>> topProduct = saleItemRepository.findAll().stream()
-                .filter(i -> !i.getSale().getSaleDate().isBefore(start) && !i.getSale().getSaleDate().isAfter(end))
+        Optional<Map.Entry<String, Integer>> topProduct = saleItemsInRange(start, end, null).stream()
                 .collect(Collectors.groupingBy(i -> i.getProduct().getProductName(),
                         Collectors.summingInt(SaleItemModel::getQuantity)))
                 .entrySet().stream()
@@ -297,6 +292,32 @@ public class ReportService {
                 .build();
     }
 
+    // ============================================================
+    // 🔎 DATE-RANGE LOOKUPS (served by the V3 composite indexes)
+    // ============================================================
+    private List<SalesModel> salesInRange(LocalDateTime start, LocalDateTime end, Long shopId) {
+        return (shopId == null)
+                ? saleRepository.findBySaleDateBetween(start, end)
+                : saleRepository.findByShop_IdAndSaleDateBetween(shopId, start, end);
+    }
+
+    private List<SaleItemModel> saleItemsInRange(LocalDateTime start, LocalDateTime end, Long shopId) {
+        return (shopId == null)
+                ? saleItemRepository.findBySale_SaleDateBetween(start, end)
+                : saleItemRepository.findBySale_Shop_IdAndSale_SaleDateBetween(shopId, start, end);
+    }
+
+    private List<ExpenseModel> expensesInRange(LocalDateTime start, LocalDateTime end, Long shopId) {
+        return (shopId == null)
+                ? expenseRepository.findByDateBetween(start, end)
+                : expenseRepository.findByShop_IdAndDateBetween(shopId, start, end);
+    }
+
+    private <T> List<T> rows(String report, List<T> rows) {
+        metrics.recordReportRows(report, rows.size());
+        return rows;
+    }
+
     // ============================================================
     // 📤 EXPORT
     // ============================================================
@@ -311,7 +332,9 @@ public class ReportService {
             case "dashboard" -> List.of(generateDashboardSummary(start));
             default -> throw new IllegalArgumentException("Unknown report type: " + type);
         };
-        return excelExporter.export(type, data);
+        byte[] file = excelExporter.export(type, data);
+        metrics.recordExportBytes(type.toLowerCase(), "xlsx", file.length);
+        return file;
     }
 
     public byte[] exportToPdf(String type, LocalDate start, LocalDate end) {
@@ -325,6 +348,8 @@ public class ReportService {
             case "dashboard" -> List.of(generateDashboardSummary(start));
             default -> throw new IllegalArgumentException("Unknown report type: " + type);
         };
-        return pdfExporter.export(type, data);
+        byte[] file = pdfExporter.export(type, data);
+        metrics.recordExportBytes(type.toLowerCase(), "pdf", file.length);
+        return file;
     }
 }
\ No newline at end of file
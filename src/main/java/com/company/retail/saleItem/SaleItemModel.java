@@ -17,7 +17,8 @@ import lombok.*;
 public class SaleItemModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sale_items_seq")
+    @SequenceGenerator(name = "sale_items_seq", sequenceName = "sale_items_seq", allocationSize = 50)
     private Long saleItemId;
 
     @ManyToOne(fetch = FetchType.LAZY)
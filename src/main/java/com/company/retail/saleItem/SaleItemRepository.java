@@ -1,9 +1,12 @@
 package com.company.retail.saleItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface SaleItemRepository extends JpaRepository<SaleItemModel, Long> {
     List<SaleItemModel> findBySale_SaleId(Long saleId);
+    List<SaleItemModel> findBySale_SaleDateBetween(LocalDateTime start, LocalDateTime end);
+    List<SaleItemModel> findBySale_Shop_IdAndSale_SaleDateBetween(Long shopId, LocalDateTime start, LocalDateTime end);
 }
\ No newline at end of file
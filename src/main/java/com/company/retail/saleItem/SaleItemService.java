@@ -1,7 +1,10 @@
 package com.company.retail.saleItem;
 
+import com.company.retail.pricing.EffectivePrice;
+import com.company.retail.pricing.PriceResolver;
 import com.company.retail.product.ProductModel;
 import com.company.retail.product.ProductRepository;
+import com.company.retail.sales.SaleRecordedEvent;
 import com.company.retail.sales.SalesModel;
 import com.company.retail.sales.SalesRepository;
 import com.company.retail.shop.ShopModel;
@@ -9,12 +12,14 @@ import com.company.retail.ShopStock.ShopStockModel;
 import com.company.retail.ShopStock.ShopStockRepository;
 import com.company.retail.stock.StockModel;
 import com.company.retail.stock.StockRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -26,10 +31,13 @@ public class SaleItemService {
     private final ProductRepository productRepository;
     private final ShopStockRepository shopStockRepository;
     private final StockRepository stockRepository;
+    private final PriceResolver priceResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * ✅ Get all sale items
      */
+    @Transactional(readOnly = true)
     public List<SaleItemModel> getAllSaleItems() {
         return saleItemRepository.findAll();
     }
@@ -37,6 +45,7 @@ public class SaleItemService {
     /**
      * ✅ Get a single sale item
      */
+    @Transactional(readOnly = true)
     public Optional<SaleItemModel> getSaleItemById(Long id) {
         return saleItemRepository.findById(id);
     }
@@ -44,6 +53,7 @@ public class SaleItemService {
     /**
      * ✅ Get all items for a given sale
      */
+    @Transactional(readOnly = true)
     public List<SaleItemModel> getItemsBySale(Long saleId) {
         return saleItemRepository.findBySale_SaleId(saleId);
     }
@@ -67,9 +77,10 @@ public class SaleItemService {
             throw new RuntimeException("Insufficient stock for " + product.getProductName());
         }
 
-        // 🔹 Calculate financials
-        double sellUSD = product.getSellingPriceUSD();
-        double sellZWL = product.getSellingPriceZWL();
+        // 🔹 Calculate financials (shop override or global selling price)
+        EffectivePrice price = priceResolver.resolve(shop.getId(), product, shopStock);
+        double sellUSD = price.sellingPriceUSD();
+        double sellZWL = price.sellingPriceZWL();
         double costUSD = shopStock.getAvgLandingCostUSD();
         double costZWL = shopStock.getAvgLandingCostZWL();
 
@@ -111,6 +122,9 @@ public class SaleItemService {
                 .build();
 
         stockRepository.save(log);
+
+        // Sales velocity (replenishment) is updated once the item commits
+        recorded(sale, product, item.getQuantity());
         return savedItem;
     }
 
@@ -167,6 +181,7 @@ public class SaleItemService {
                     .build();
 
             stockRepository.save(log);
+            recorded(sale, product, diff);
         }
 
         return saved;
@@ -209,5 +224,12 @@ public class SaleItemService {
         stockRepository.save(log);
 
         saleItemRepository.delete(item);
+        recorded(sale, product, -item.getQuantity());
+    }
+
+    // A correction (negative) takes back what the original sale added, as of the sale date
+    private void recorded(SalesModel sale, ProductModel product, int quantity) {
+        eventPublisher.publishEvent(new SaleRecordedEvent(sale.getShop().getId(), sale.getSaleDate(),
+                Map.of(product.getProductId(), quantity)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.company.retail.sales;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * ✅ A sale was written (published by SalesService and SaleItemService; sales velocity is
+ * updated from it once the transaction commits). quantities = units sold per product id,
+ * negative when a sale item was reduced or deleted.
+ */
+public record SaleRecordedEvent(Long shopId, LocalDateTime saleDate, Map<Long, Integer> quantities) {
+}
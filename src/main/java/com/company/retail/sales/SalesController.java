@@ -1,5 +1,6 @@
 package com.company.retail.sales;
 
+import com.company.retail.sales.dto.SaleSummaryView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -28,21 +29,21 @@ public class SalesController {
     // ONLY ADMIN + SUPERADMIN
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
     @GetMapping
-    public ResponseEntity<List<SalesModel>> getAllSales() {
+    public ResponseEntity<List<SaleSummaryView>> getAllSales() {
         return ResponseEntity.ok(salesService.getAllSales());
     }
 
     // ADMIN + SUPERVISOR
     @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
     @GetMapping("/shop/{shopId}")
-    public ResponseEntity<List<SalesModel>> getSalesByShop(@PathVariable Long shopId) {
+    public ResponseEntity<List<SaleSummaryView>> getSalesByShop(@PathVariable Long shopId) {
         return ResponseEntity.ok(salesService.getSalesByShop(shopId));
     }
 
     // ADMIN + SUPERVISOR
     @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
     @GetMapping("/range")
-    public ResponseEntity<List<SalesModel>> getSalesByRange(
+    public ResponseEntity<List<SaleSummaryView>> getSalesByRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
         return ResponseEntity.ok(salesService.getSalesBetween(start, end));
@@ -51,7 +52,7 @@ public class SalesController {
     // CASHIER sees ONLY his daily; others can see ALL users
     @PreAuthorize("hasAnyRole('CASHIER','SUPERVISOR','ADMIN','SUPERADMIN')")
     @GetMapping("/user/{userId}/daily")
-    public ResponseEntity<List<SalesModel>> getUserDailySales(
+    public ResponseEntity<List<SaleSummaryView>> getUserDailySales(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
 
@@ -22,7 +22,8 @@ import java.util.List;
 public class SalesModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_seq")
+    @SequenceGenerator(name = "sales_seq", sequenceName = "sales_seq", allocationSize = 50)
     private Long saleId;
 
     @ManyToOne(fetch = FetchType.LAZY)
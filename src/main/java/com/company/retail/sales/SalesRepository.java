@@ -1,6 +1,9 @@
 package com.company.retail.sales;
 
+import com.company.retail.sales.dto.SaleSummaryView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,4 +12,27 @@ import java.util.List;
 public interface SalesRepository extends JpaRepository<SalesModel, Long> {
     List<SalesModel> findByShop_Id(Long shopId);
     List<SalesModel> findBySaleDateBetween(LocalDateTime start, LocalDateTime end);
+    List<SalesModel> findByShop_IdAndSaleDateBetween(Long shopId, LocalDateTime start, LocalDateTime end);
+
+    // ============================================================
+    // 📋 READ MODELS (single query, no entity graph)
+    // ============================================================
+    String SALE_SUMMARY_VIEW = "SELECT new com.company.retail.sales.dto.SaleSummaryView(" +
+            "s.saleId, sh.id, sh.shopName, c.userId, c.username, s.saleDate, " +
+            "s.totalAmountUSD, s.totalAmountZWL, s.paymentMethod, size(s.saleItems)) " +
+            "FROM SalesModel s JOIN s.shop sh JOIN s.cashier c ";
+
+    @Query(SALE_SUMMARY_VIEW + "ORDER BY s.saleDate DESC")
+    List<SaleSummaryView> findAllViews();
+
+    @Query(SALE_SUMMARY_VIEW + "WHERE sh.id = :shopId ORDER BY s.saleDate DESC")
+    List<SaleSummaryView> findViewsByShopId(@Param("shopId") Long shopId);
+
+    @Query(SALE_SUMMARY_VIEW + "WHERE s.saleDate BETWEEN :start AND :end ORDER BY s.saleDate DESC")
+    List<SaleSummaryView> findViewsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(SALE_SUMMARY_VIEW + "WHERE c.userId = :cashierId AND s.saleDate BETWEEN :start AND :end ORDER BY s.saleDate DESC")
+    List<SaleSummaryView> findViewsByCashierBetween(@Param("cashierId") Long cashierId,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.company.retail.sales;
 
+import com.company.retail.pricing.EffectivePrice;
+import com.company.retail.pricing.PriceResolver;
 import com.company.retail.product.ProductModel;
 import com.company.retail.product.ProductRepository;
 import com.company.retail.saleItem.SaleItemModel;
@@ -8,18 +10,29 @@ import com.company.retail.shop.ShopModel;
 import com.company.retail.shop.ShopRepository;
 import com.company.retail.ShopStock.ShopStockModel;
 import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.ShopStock.availability.AvailabilityService;
+import com.company.retail.ShopStock.dto.ShopAvailabilityDTO;
 import com.company.retail.stock.StockModel;
 import com.company.retail.stock.StockRepository;
 import com.company.retail.user.UserModel;
 import com.company.retail.user.UserRepository;
+import com.company.retail.sales.dto.SaleSummaryView;
+import io.micrometer.core.annotation.Timed;
+import com.company.retail.observability.RetailMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("retail.service")
 @RequiredArgsConstructor
 public class SalesService {
 
@@ -30,6 +43,10 @@ public class SalesService {
     private final ShopStockRepository shopStockRepository;
     private final StockRepository stockRepository;
     private final UserRepository userRepository;
+    private final RetailMetrics metrics;
+    private final PriceResolver priceResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AvailabilityService availabilityService;
 
     @Transactional
     public SalesModel createSale(SalesModel saleRequest, Long shopId, Long cashierId) {
@@ -48,33 +65,49 @@ public class SalesService {
 
         double totalUSD = 0.0;
         double totalZWL = 0.0;
+        Map<Long, Integer> soldByProduct = new HashMap<>();
 
         // Save sale header FIRST
         SalesModel savedSale = salesRepository.save(sale);
 
+        // Load and lock the shop stock rows for the whole basket in one query, so a delivery
+        // or transfer landing meanwhile is not overwritten by the quantities saved below.
+        // (A query per line would auto-flush the pending inserts and defeat JDBC batching.)
+        List<Long> productIds = saleRequest.getSaleItems().stream()
+                .map(i -> i.getProduct().getProductId())
+                .toList();
+        Map<Long, ShopStockModel> stockByProduct = shopStockRepository
+                .lockByShopIdAndProductIds(shopId, productIds).stream()
+                .collect(Collectors.toMap(s -> s.getProduct().getProductId(), Function.identity()));
+
         // Process each item
         for (SaleItemModel item : saleRequest.getSaleItems()) {
 
             ProductModel product = productRepository.findById(item.getProduct().getProductId())
                     .orElseThrow(() -> new RuntimeException("Product not found"));
 
-            ShopStockModel shopStock = shopStockRepository.findByShopAndProduct(shop, product)
-                    .orElseThrow(() -> new RuntimeException("No stock for product: " + product.getProductName()));
+            ShopStockModel shopStock = stockByProduct.get(product.getProductId());
+            if (shopStock == null) {
+                throw new RuntimeException("No stock for product: " + product.getProductName());
+            }
 
             // Ensure stock is enough
             if (shopStock.getQuantityInStock() < item.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for: " + product.getProductName());
+                metrics.recordStockInsufficient("checkout");
+                throw new RuntimeException("Insufficient stock for: " + product.getProductName()
+                        + elsewhere(product.getProductId(), shopId, item.getQuantity()));
             }
 
             // Reduce stock
             shopStock.setQuantityInStock(shopStock.getQuantityInStock() - item.getQuantity());
             shopStockRepository.save(shopStock);
 
-            // Capture prices
+            // Capture prices (selling price = shop override or global, from the in-memory price table)
             double costUSD = shopStock.getAvgLandingCostUSD();
             double costZWL = shopStock.getAvgLandingCostZWL();
-            double sellUSD = product.getSellingPriceUSD();
-            double sellZWL = product.getSellingPriceZWL();
+            EffectivePrice price = priceResolver.resolve(shopId, product, shopStock);
+            double sellUSD = price.sellingPriceUSD();
+            double sellZWL = price.sellingPriceZWL();
 
             // Attach sale reference (IMPORTANT FIX)
             item.setSale(savedSale);
@@ -97,6 +130,7 @@ public class SalesService {
             // Add to sale totals
             totalUSD += lineTotalUSD;
             totalZWL += lineTotalZWL;
+            soldByProduct.merge(product.getProductId(), item.getQuantity(), Integer::sum);
 
             // Save item (AFTER sale is set)
             saleItemRepository.save(item);
@@ -121,41 +155,62 @@ public class SalesService {
         savedSale.setTotalAmountUSD(totalUSD);
         savedSale.setTotalAmountZWL(totalZWL);
 
+        metrics.recordBasket(saleRequest.getSaleItems().size(),
+                saleRequest.getSaleItems().stream().mapToInt(SaleItemModel::getQuantity).sum());
+
+        // Sales velocity (replenishment) is updated once the sale commits
+        eventPublisher.publishEvent(new SaleRecordedEvent(shopId, savedSale.getSaleDate(), soldByProduct));
+
         return salesRepository.save(savedSale);
     }
 
-    public List<SalesModel> getAllSales() {
-        return salesRepository.findAll();
+    // " (available at: Branch B 12, Branch C 7)" from the in-memory availability index, or ""
+    private String elsewhere(Long productId, Long shopId, int quantity) {
+        List<ShopAvailabilityDTO> shops = availabilityService
+                .findShopsWithStock(List.of(productId), quantity, shopId, null, null, 3).get(productId);
+        if (shops.isEmpty()) {
+            return "";
+        }
+        return shops.stream()
+                .map(s -> (s.getShopName() != null ? s.getShopName() : "Shop #" + s.getShopId()) + " " + s.getQuantity())
+                .collect(Collectors.joining(", ", " (available at: ", ")"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SaleSummaryView> getAllSales() {
+        return salesRepository.findAllViews();
     }
 
+    @Transactional(readOnly = true)
     public SalesModel getSaleById(Long id) {
         return salesRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Sale not found"));
     }
 
-    public List<SalesModel> getSalesByShop(Long shopId) {
-        return salesRepository.findByShop_Id(shopId);
+    @Transactional(readOnly = true)
+    public List<SaleSummaryView> getSalesByShop(Long shopId) {
+        return salesRepository.findViewsByShopId(shopId);
     }
 
-    public List<SalesModel> getSalesBetween(LocalDateTime start, LocalDateTime end) {
-        return salesRepository.findBySaleDateBetween(start, end);
+    @Transactional(readOnly = true)
+    public List<SaleSummaryView> getSalesBetween(LocalDateTime start, LocalDateTime end) {
+        return salesRepository.findViewsBetween(start, end);
     }
 
+    @Transactional
     public void deleteSale(Long id) {
         salesRepository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<SalesModel> getSalesForShopOnDate(Long shopId, LocalDateTime start, LocalDateTime end) {
         return salesRepository.findByShop_Id(shopId).stream()
                 .filter(s -> !s.getSaleDate().isBefore(start) && !s.getSaleDate().isAfter(end))
                 .toList();
     }
 
-    public List<SalesModel> getSalesForUserOnDate(Long userId, LocalDateTime start, LocalDateTime end) {
-        return salesRepository.findAll().stream()
-                .filter(s -> s.getCashier().getUserId().equals(userId)
-                        && !s.getSaleDate().isBefore(start)
-                        && !s.getSaleDate().isAfter(end))
-                .toList();
+    @Transactional(readOnly = true)
+    public List<SaleSummaryView> getSalesForUserOnDate(Long userId, LocalDateTime start, LocalDateTime end) {
+        return salesRepository.findViewsByCashierBetween(userId, start, end);
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.company.retail.sales.dto;
+
+import com.company.retail.sales.SalesModel;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ Flat read model for sales listings (header only, line count instead of lines).
+ * Filled directly by JPQL constructor queries in SalesRepository.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaleSummaryView {
+
+    private Long saleId;
+
+    private Long shopId;
+    private String shopName;
+
+    private Long cashierId;
+    private String cashierName;
+
+    private LocalDateTime saleDate;
+    private Double totalAmountUSD;
+    private Double totalAmountZWL;
+    private SalesModel.PaymentMethod paymentMethod;
+
+    private Integer itemCount;
+}
@@ -0,0 +1,11 @@
+package com.company.retail.shop;
+
+/**
+ * ✅ Published by ShopService on create/update/delete; shop is null when deleted.
+ */
+public record ShopChangedEvent(Long shopId, ShopModel shop) {
+
+    public static ShopChangedEvent deleted(Long shopId) {
+        return new ShopChangedEvent(shopId, null);
+    }
+}
@@ -5,11 +5,16 @@ import com.company.retail.stock.StockModel;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "shops")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "retail.shops")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +23,8 @@ import java.util.List;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class ShopModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shops_seq")
+    @SequenceGenerator(name = "shops_seq", sequenceName = "shops_seq", allocationSize = 50)
     private Long id;
 
     private String shopName;
@@ -27,6 +33,10 @@ public class ShopModel {
     private String managerName;
     private LocalDateTime dateCreated;
 
+    // 📍 Optional, WGS84 degrees (nearest-shop stock lookups)
+    private Double latitude;
+    private Double longitude;
+
     @OneToMany(mappedBy = "shop", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<com.company.retail.ShopStock.ShopStockModel> shopStocks;
 
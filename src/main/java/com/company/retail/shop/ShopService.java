@@ -1,38 +1,58 @@
 package com.company.retail.shop;
 
+import com.company.retail.ShopStock.ShopStockInitializer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
 public class ShopService {
 
     private final ShopRepository repo;
+    private final ShopStockInitializer shopStockInitializer;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ShopService(ShopRepository repo) {
+    public ShopService(ShopRepository repo, ShopStockInitializer shopStockInitializer,
+                       ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
+        this.shopStockInitializer = shopStockInitializer;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<ShopModel> getAllShops() {
         return repo.findAll();
     }
 
+    @Transactional(readOnly = true)
     public ShopModel getShopById(Long id) {
         return repo.findById(id).orElse(null);
     }
 
+    @Transactional
     public ShopModel createShop(ShopModel shop) {
         if (repo.existsByShopNameIgnoreCase(shop.getShopName())) {
             throw new IllegalArgumentException("Shop with name '" + shop.getShopName() + "' already exists.");
         }
-        return repo.save(shop);
+        ShopModel saved = repo.saveAndFlush(shop);
+        // ✅ Zero-quantity stock row for every existing product, one INSERT ... SELECT
+        shopStockInitializer.initializeForShop(saved.getId());
+        eventPublisher.publishEvent(new ShopChangedEvent(saved.getId(), saved));
+        return saved;
     }
 
 
+    @Transactional
     public ShopModel updateShop(ShopModel shop) {
-        return repo.save(shop);
+        ShopModel saved = repo.save(shop);
+        eventPublisher.publishEvent(new ShopChangedEvent(saved.getId(), saved));
+        return saved;
     }
 
+    @Transactional
     public void deleteShop(Long id) {
         repo.deleteById(id);
+        eventPublisher.publishEvent(ShopChangedEvent.deleted(id));
     }
 }
@@ -1,5 +1,6 @@
 package com.company.retail.stock;
 
+import com.company.retail.stock.dto.StockLogView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -45,7 +46,7 @@ public class StockController {
      * Example: GET /api/stocks/shop/1
      */
     @GetMapping("/shop/{shopId}")
-    public ResponseEntity<List<StockModel>> getStockLogsByShop(@PathVariable Long shopId) {
+    public ResponseEntity<List<StockLogView>> getStockLogsByShop(@PathVariable Long shopId) {
         return ResponseEntity.ok(stockService.getStockLogsByShop(shopId));
     }
 
@@ -54,7 +55,7 @@ public class StockController {
      * Example: GET /api/stocks/product/5
      */
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<StockModel>> getStockLogsByProduct(@PathVariable Long productId) {
+    public ResponseEntity<List<StockLogView>> getStockLogsByProduct(@PathVariable Long productId) {
         return ResponseEntity.ok(stockService.getStockLogsByProduct(productId));
     }
 
@@ -63,7 +64,7 @@ public class StockController {
      * Example: GET /api/stocks
      */
     @GetMapping
-    public ResponseEntity<List<StockModel>> getAllStockLogs() {
+    public ResponseEntity<List<StockLogView>> getAllStockLogs() {
         return ResponseEntity.ok(stockService.getStockLogsByShop(null));
     }
 
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class StockModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_logs_seq")
+    @SequenceGenerator(name = "stock_logs_seq", sequenceName = "stock_logs_seq", allocationSize = 50)
     private Long stockLogId;
 
     @ManyToOne(fetch = FetchType.LAZY)
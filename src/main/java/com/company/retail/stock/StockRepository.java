@@ -1,6 +1,9 @@
 package com.company.retail.stock;
 
+import com.company.retail.stock.dto.StockLogView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +15,21 @@ public interface StockRepository extends JpaRepository<StockModel, Long> {
 
     List<StockModel> findByProduct_ProductId(Long productId);
 
+    // ============================================================
+    // 📋 READ MODELS (single query, no entity graph)
+    // ============================================================
+    String STOCK_LOG_VIEW = "SELECT new com.company.retail.stock.dto.StockLogView(" +
+            "l.stockLogId, p.productId, p.productName, sh.id, sh.shopName, l.quantityChanged, " +
+            "l.transactionType, l.reason, l.referenceId, l.date, " +
+            "l.unitCostUSD, l.unitCostZWL, l.totalCostUSD, l.totalCostZWL) " +
+            "FROM StockModel l JOIN l.product p JOIN l.shop sh ";
+
+    @Query(STOCK_LOG_VIEW + "ORDER BY l.date DESC")
+    List<StockLogView> findAllViews();
+
+    @Query(STOCK_LOG_VIEW + "WHERE sh.id = :shopId ORDER BY l.date DESC")
+    List<StockLogView> findViewsByShopId(@Param("shopId") Long shopId);
+
+    @Query(STOCK_LOG_VIEW + "WHERE p.productId = :productId ORDER BY l.date DESC")
+    List<StockLogView> findViewsByProductId(@Param("productId") Long productId);
 }
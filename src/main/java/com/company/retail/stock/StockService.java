@@ -6,6 +6,9 @@ import com.company.retail.shop.ShopModel;
 import com.company.retail.shop.ShopRepository;
 import com.company.retail.ShopStock.ShopStockModel;
 import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.stock.dto.StockLogView;
+import io.micrometer.core.annotation.Timed;
+import com.company.retail.observability.RetailMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("retail.service")
 @RequiredArgsConstructor
 public class StockService {
 
@@ -21,6 +25,7 @@ public class StockService {
     private final ProductRepository productRepository;
     private final ShopRepository shopRepository;
     private final ShopStockRepository shopStockRepository;
+    private final RetailMetrics metrics;
 
     /**
      * ✅ Record any stock movement (IN, OUT, ADJUSTMENT, TRANSFER)
@@ -51,6 +56,7 @@ public class StockService {
         int newQty = currentQty + qty;
 
         if (newQty < 0) {
+            metrics.recordStockInsufficient("stock_movement");
             throw new RuntimeException("Insufficient stock at " + shop.getShopName());
         }
 
@@ -91,17 +97,21 @@ public class StockService {
     }
 
     /**
-     * ✅ Get all stock logs for a given shop
+     * ✅ Get all stock logs for a given shop (all shops when shopId is null)
      */
-    public List<StockModel> getStockLogsByShop(Long shopId) {
-        return stockRepository.findByShop_Id(shopId);
+    @Transactional(readOnly = true)
+    public List<StockLogView> getStockLogsByShop(Long shopId) {
+        return (shopId == null)
+                ? stockRepository.findAllViews()
+                : stockRepository.findViewsByShopId(shopId);
     }
 
     /**
      * ✅ Get all stock logs for a given product
      */
-    public List<StockModel> getStockLogsByProduct(Long productId) {
-        return stockRepository.findByProduct_ProductId(productId);
+    @Transactional(readOnly = true)
+    public List<StockLogView> getStockLogsByProduct(Long productId) {
+        return stockRepository.findViewsByProductId(productId);
     }
 
     /**
@@ -0,0 +1,37 @@
+package com.company.retail.stock.dto;
+
+import com.company.retail.stock.StockModel;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ Flat read model for stock movement log listings.
+ * Filled directly by JPQL constructor queries in StockRepository.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLogView {
+
+    private Long stockLogId;
+
+    private Long productId;
+    private String productName;
+
+    private Long shopId;
+    private String shopName;
+
+    private Integer quantityChanged;
+    private StockModel.TransactionType transactionType;
+    private String reason;
+    private String referenceId;
+    private LocalDateTime date;
+
+    private Double unitCostUSD;
+    private Double unitCostZWL;
+    private Double totalCostUSD;
+    private Double totalCostZWL;
+}
@@ -1,7 +1,9 @@
 package com.company.retail.stocktransfer;
 
+import com.company.retail.stocktransfer.dto.StockTransferDocumentRequestDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,6 +18,7 @@ import java.util.List;
 public class StockTransferController {
 
     private final StockTransferService stockTransferService;
+    private final StockTransferDocumentService documentService;
 
     /**
      * ✅ Create a pending stock transfer request
@@ -81,4 +84,73 @@ public class StockTransferController {
         stockTransferService.deleteTransfer(transferId);
         return ResponseEntity.noContent().build();
     }
+
+    // ============================================================
+    // 📦 Multi-line transfer documents
+    // ============================================================
+
+    /**
+     * ✅ Create a pending multi-line transfer
+     * Example: POST /api/stock-transfers/documents
+     * { "fromShopId": 1, "toShopId": 2, "lines": [ { "productId": 5, "quantity": 10 }, ... ] }
+     */
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
+    @PostMapping("/documents")
+    public ResponseEntity<?> createDocument(@RequestBody StockTransferDocumentRequestDTO request) {
+        try {
+            return ResponseEntity.ok(documentService.createDocument(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Approve a transfer: all lines move in one transaction, or none do
+     * Example: PUT /api/stock-transfers/documents/{id}/approve?approverId=3
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    @PutMapping("/documents/{documentId}/approve")
+    public ResponseEntity<?> approveDocument(@PathVariable Long documentId,
+                                             @RequestParam(required = false) Long approverId) {
+        try {
+            return ResponseEntity.ok(documentService.approve(documentId, approverId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Cancel a pending transfer
+     */
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN', 'SUPERADMIN')")
+    @PutMapping("/documents/{documentId}/cancel")
+    public ResponseEntity<?> cancelDocument(@PathVariable Long documentId) {
+        try {
+            return ResponseEntity.ok(documentService.cancel(documentId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ One transfer document with its lines
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/documents/{documentId}")
+    public ResponseEntity<?> getDocument(@PathVariable Long documentId) {
+        try {
+            return ResponseEntity.ok(documentService.getById(documentId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body("❌ " + e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Transfer documents of a shop (as source or destination)
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/documents/shop/{shopId}")
+    public ResponseEntity<List<StockTransferDocumentModel>> getDocumentsByShop(@PathVariable Long shopId) {
+        return ResponseEntity.ok(documentService.getByShop(shopId));
+    }
 }
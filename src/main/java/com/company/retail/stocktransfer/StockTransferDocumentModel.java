@@ -0,0 +1,71 @@
+package com.company.retail.stocktransfer;
+
+import com.company.retail.shop.ShopModel;
+import com.company.retail.user.UserModel;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ A multi-line stock transfer between two shops, approved as a whole in one transaction.
+ * Line unit costs (and the document totals) are frozen when it is approved.
+ */
+@Entity
+@Table(name = "stock_transfer_documents")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTransferDocumentModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_transfer_documents_seq")
+    @SequenceGenerator(name = "stock_transfer_documents_seq", sequenceName = "stock_transfer_documents_seq", allocationSize = 50)
+    private Long documentId;
+
+    @Column(nullable = false, length = 32)
+    private String referenceCode; // e.g. "TXD-1A2B3C4D"
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "from_shop_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private ShopModel fromShop;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "to_shop_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private ShopModel toShop;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private StockTransferModel.Status status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private UserModel createdBy;
+
+    private LocalDateTime createdAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "approved_by")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private UserModel approvedBy;
+
+    private LocalDateTime approvedAt;
+
+    private Double totalCostUSD;
+    private Double totalCostZWL;
+
+    private String remarks;
+
+    @OneToMany(mappedBy = "document", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("lineId")
+    @Builder.Default
+    private List<StockTransferLineModel> lines = new ArrayList<>();
+}
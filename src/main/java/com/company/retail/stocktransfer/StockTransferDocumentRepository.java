@@ -0,0 +1,31 @@
+package com.company.retail.stocktransfer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockTransferDocumentRepository extends JpaRepository<StockTransferDocumentModel, Long> {
+
+    // ✅ Document with its lines and their products in one query
+    @Query("SELECT DISTINCT d FROM StockTransferDocumentModel d LEFT JOIN FETCH d.lines l LEFT JOIN FETCH l.product "
+            + "WHERE d.documentId = :id")
+    Optional<StockTransferDocumentModel> findWithLinesById(@Param("id") Long id);
+
+    // ✅ A shop's documents (as source or destination), lines included
+    @Query("SELECT DISTINCT d FROM StockTransferDocumentModel d LEFT JOIN FETCH d.lines l LEFT JOIN FETCH l.product "
+            + "WHERE d.fromShop.id = :shopId OR d.toShop.id = :shopId ORDER BY d.createdAt DESC")
+    List<StockTransferDocumentModel> findByShopId(@Param("shopId") Long shopId);
+
+    // ✅ Status change only from the expected status (0 = someone else got there first)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockTransferDocumentModel d SET d.status = :to WHERE d.documentId = :id AND d.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") StockTransferModel.Status from,
+                   @Param("to") StockTransferModel.Status to);
+}
@@ -0,0 +1,155 @@
+package com.company.retail.stocktransfer;
+
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.stocktransfer.dto.StockTransferDocumentRequestDTO;
+import com.company.retail.user.UserModel;
+import com.company.retail.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ✅ Multi-line stock transfers: a document is created PENDING, then approved (all lines
+ * move in one transaction, see StockTransferMover) or cancelled.
+ */
+@Service
+@Timed("retail.service")
+@RequiredArgsConstructor
+public class StockTransferDocumentService {
+
+    private final StockTransferDocumentRepository documentRepository;
+    private final ShopRepository shopRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final StockTransferMover mover;
+
+    @Transactional
+    public StockTransferDocumentModel createDocument(StockTransferDocumentRequestDTO request) {
+        if (request.getFromShopId() == null || request.getToShopId() == null) {
+            throw new RuntimeException("fromShopId and toShopId are required");
+        }
+        if (request.getFromShopId().equals(request.getToShopId())) {
+            throw new RuntimeException("Source and destination shops cannot be the same.");
+        }
+        if (request.getLines() == null || request.getLines().isEmpty()) {
+            throw new RuntimeException("A transfer needs at least one line.");
+        }
+
+        // ✅ Same product twice -> one line
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (StockTransferDocumentRequestDTO.Line line : request.getLines()) {
+            if (line.getProductId() == null || line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new RuntimeException("Every line needs a productId and a positive quantity.");
+            }
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        if (quantities.size() > StockTransferMover.MAX_LINES) {
+            throw new RuntimeException("A transfer can move at most " + StockTransferMover.MAX_LINES + " products.");
+        }
+
+        ShopModel fromShop = shopRepository.findById(request.getFromShopId())
+                .orElseThrow(() -> new RuntimeException("Source shop not found"));
+        ShopModel toShop = shopRepository.findById(request.getToShopId())
+                .orElseThrow(() -> new RuntimeException("Destination shop not found"));
+        Map<Long, ProductModel> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(ProductModel::getProductId, Function.identity()));
+        if (products.size() < quantities.size()) {
+            throw new RuntimeException("Product not found: " + quantities.keySet().stream()
+                    .filter(id -> !products.containsKey(id)).map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+
+        StockTransferDocumentModel document = StockTransferDocumentModel.builder()
+                .referenceCode("TXD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                .fromShop(fromShop)
+                .toShop(toShop)
+                .status(StockTransferModel.Status.PENDING)
+                .createdBy(currentUser())
+                .createdAt(LocalDateTime.now())
+                .remarks(request.getRemarks())
+                .build();
+        quantities.forEach((productId, quantity) -> document.getLines().add(StockTransferLineModel.builder()
+                .document(document)
+                .product(products.get(productId))
+                .quantity(quantity)
+                .build()));
+        return documentRepository.save(document);
+    }
+
+    /**
+     * ✅ Approve: every line moves, or none does (insufficient stock on any line rolls it all back)
+     */
+    @Transactional
+    public StockTransferDocumentModel approve(Long documentId, Long approverId) {
+        StockTransferDocumentModel document = getById(documentId);
+        if (document.getStatus() != StockTransferModel.Status.PENDING) {
+            throw new RuntimeException("Cannot approve transfer — it is " + document.getStatus() + ".");
+        }
+        // ✅ Claim it first: a concurrent approval waits on the row, then gets 0
+        if (documentRepository.transition(documentId, StockTransferModel.Status.PENDING,
+                StockTransferModel.Status.COMPLETED) == 0) {
+            throw new RuntimeException("Transfer is already being approved.");
+        }
+        document.setStatus(StockTransferModel.Status.COMPLETED);
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        document.getLines().forEach(l -> quantities.put(l.getProduct().getProductId(), l.getQuantity()));
+        Map<Long, StockTransferMover.UnitCost> costs = mover.move(document.getFromShop().getId(),
+                document.getToShop().getId(), quantities, document.getReferenceCode());
+
+        // ✅ Freeze costs on the lines and the document
+        double totalUSD = 0.0;
+        double totalZWL = 0.0;
+        for (StockTransferLineModel line : document.getLines()) {
+            StockTransferMover.UnitCost cost = costs.get(line.getProduct().getProductId());
+            line.setUnitCostUSD(cost.usd());
+            line.setUnitCostZWL(cost.zwl());
+            line.setTotalCostUSD(cost.usd() * line.getQuantity());
+            line.setTotalCostZWL(cost.zwl() * line.getQuantity());
+            totalUSD += line.getTotalCostUSD();
+            totalZWL += line.getTotalCostZWL();
+        }
+        document.setTotalCostUSD(totalUSD);
+        document.setTotalCostZWL(totalZWL);
+        document.setApprovedBy(approverId != null ? userRepository.findById(approverId).orElse(null) : currentUser());
+        document.setApprovedAt(LocalDateTime.now());
+        return documentRepository.save(document);
+    }
+
+    @Transactional
+    public StockTransferDocumentModel cancel(Long documentId) {
+        StockTransferDocumentModel document = getById(documentId);
+        if (documentRepository.transition(documentId, StockTransferModel.Status.PENDING,
+                StockTransferModel.Status.CANCELLED) == 0) {
+            throw new RuntimeException("Only pending transfers can be cancelled (this one is " + document.getStatus() + ")");
+        }
+        document.setStatus(StockTransferModel.Status.CANCELLED);
+        return document;
+    }
+
+    @Transactional(readOnly = true)
+    public StockTransferDocumentModel getById(Long documentId) {
+        return documentRepository.findWithLinesById(documentId)
+                .orElseThrow(() -> new RuntimeException("Transfer document not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockTransferDocumentModel> getByShop(Long shopId) {
+        return documentRepository.findByShopId(shopId);
+    }
+
+    private static UserModel currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserModel user ? user : null;
+    }
+}
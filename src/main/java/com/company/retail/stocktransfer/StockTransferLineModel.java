@@ -0,0 +1,44 @@
+package com.company.retail.stocktransfer;
+
+import com.company.retail.product.ProductModel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * ✅ One product on a transfer document. Costs are the source shop's average landing
+ * cost at approval (null while the document is pending).
+ */
+@Entity
+@Table(name = "stock_transfer_lines")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTransferLineModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_transfer_lines_seq")
+    @SequenceGenerator(name = "stock_transfer_lines_seq", sequenceName = "stock_transfer_lines_seq", allocationSize = 50)
+    private Long lineId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_id", nullable = false)
+    @JsonIgnore
+    private StockTransferDocumentModel document;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private ProductModel product;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    private Double unitCostUSD;
+    private Double unitCostZWL;
+    private Double totalCostUSD;
+    private Double totalCostZWL;
+}
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class StockTransferModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_transfers_seq")
+    @SequenceGenerator(name = "stock_transfers_seq", sequenceName = "stock_transfers_seq", allocationSize = 50)
     private Long Id;
 
     // 🔹 Source Shop
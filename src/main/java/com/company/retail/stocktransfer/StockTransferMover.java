@@ -0,0 +1,166 @@
+package com.company.retail.stocktransfer;
+
+import com.company.retail.ShopStock.ShopStockInitializer;
+import com.company.retail.ShopStock.dto.StockDelta;
+import com.company.retail.ShopStock.stream.ShopStockChangedEvent;
+import com.company.retail.configs.DatabaseSequences;
+import com.company.retail.observability.RetailMetrics;
+import com.company.retail.stock.StockModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * ✅ Moves stock between two shops for any number of products, in the caller's transaction.
+ *
+ * Every shop_stock row involved (source and destination) is locked by one
+ * SELECT ... FOR UPDATE in (shop_id, product_id) order, so two transfers touching the same
+ * rows — in either direction — queue behind each other instead of deadlocking. Quantities
+ * and costs are then written with one JDBC batch, plus one batch of TRANSFER_OUT /
+ * TRANSFER_IN stock_logs rows. The destination's average cost becomes the weighted
+ * average of what it had and what arrived.
+ *
+ * Rows are written with plain JDBC, so ShopStockModel entities loaded earlier in the same
+ * transaction are stale afterwards; the stock stream events are published here.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockTransferMover {
+
+    // One lock statement per move: its IN list stays below driver/database parameter limits
+    public static final int MAX_LINES = ShopStockInitializer.CHUNK;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSequences sequences;
+    private final ShopStockInitializer shopStockInitializer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetailMetrics metrics;
+
+    // Source average cost per unit at the time of the move
+    public record UnitCost(double usd, double zwl) {
+    }
+
+    @Transactional
+    public Map<Long, UnitCost> move(Long fromShopId, Long toShopId, Map<Long, Integer> quantities, String reference) {
+        if (quantities.size() > MAX_LINES) {
+            throw new RuntimeException("A transfer can move at most " + MAX_LINES + " products at once.");
+        }
+        List<Long> productIds = quantities.keySet().stream().sorted().toList();
+
+        // ✅ 1. Zero rows for products the destination has never stocked (sorted; a concurrent insert wins quietly)
+        shopStockInitializer.initializeForShopProducts(toShopId, productIds);
+
+        // ✅ 2. Lock source and destination rows together, in canonical order
+        List<Object> args = new ArrayList<>(productIds.size() + 2);
+        args.add(fromShopId);
+        args.add(toShopId);
+        args.addAll(productIds);
+        Map<Long, Row> source = new HashMap<>();
+        Map<Long, Row> destination = new HashMap<>();
+        jdbcTemplate.query("SELECT shop_stock_id, shop_id, product_id, quantity_in_stock, avg_landing_costusd, "
+                        + "avg_landing_costzwl, change_version FROM shop_stock WHERE shop_id IN (?, ?) AND product_id IN ("
+                        + String.join(", ", Collections.nCopies(productIds.size(), "?")) + ") "
+                        + "ORDER BY shop_id, product_id FOR UPDATE",
+                rs -> {
+                    Row row = new Row(rs.getLong(1), rs.getLong(3), rs.getInt(4), rs.getDouble(5), rs.getDouble(6),
+                            rs.getInt(7));
+                    (rs.getLong(2) == fromShopId ? source : destination).put(row.productId, row);
+                }, args.toArray());
+
+        // ✅ 3. Everything must be available before anything moves
+        if (!destination.keySet().containsAll(productIds)) {
+            throw new RuntimeException("Product not found");
+        }
+        List<Long> shortages = productIds.stream()
+                .filter(id -> source.get(id) == null || source.get(id).quantity < quantities.get(id))
+                .toList();
+        if (!shortages.isEmpty()) {
+            metrics.recordStockInsufficient("transfer");
+            throw new RuntimeException("Insufficient stock in source shop for product ID(s): "
+                    + shortages.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+
+        // ✅ 4. New quantities / costs and the log rows, written in batches
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, UnitCost> costs = new HashMap<>();
+        List<Object[]> updates = new ArrayList<>(productIds.size() * 2);
+        List<Object[]> logs = new ArrayList<>(productIds.size() * 2);
+        List<ShopStockChangedEvent> events = new ArrayList<>(productIds.size() * 2);
+        for (Long productId : productIds) {
+            int qty = quantities.get(productId);
+            Row from = source.get(productId);
+            Row to = destination.get(productId);
+            costs.put(productId, new UnitCost(from.costUSD, from.costZWL));
+
+            int held = Math.max(to.quantity, 0); // a negative balance weighs nothing in the cost...
+            to.costUSD = weighted(held, to.costUSD, qty, from.costUSD);
+            to.costZWL = weighted(held, to.costZWL, qty, from.costZWL);
+            to.quantity += qty; // ...but still nets against what arrives
+            from.quantity -= qty;
+
+            for (Row row : List.of(from, to)) {
+                row.version++;
+                updates.add(new Object[]{row.quantity, row.costUSD, row.costZWL, row.version, row.shopStockId});
+            }
+            logs.add(log(productId, fromShopId, -qty, StockModel.TransactionType.TRANSFER_OUT,
+                    "Transfer to shop #" + toShopId, reference, now, from));
+            logs.add(log(productId, toShopId, qty, StockModel.TransactionType.TRANSFER_IN,
+                    "Transfer from shop #" + fromShopId, reference, now, from));
+            events.add(changed(fromShopId, from));
+            events.add(changed(toShopId, to));
+        }
+        jdbcTemplate.batchUpdate("UPDATE shop_stock SET quantity_in_stock = ?, avg_landing_costusd = ?, "
+                + "avg_landing_costzwl = ?, change_version = ? WHERE shop_stock_id = ?", updates);
+        jdbcTemplate.batchUpdate("INSERT INTO stock_logs (stock_log_id, product_id, shop_id, quantity_changed, "
+                + "transaction_type, reason, reference_id, date, unit_costusd, unit_costzwl, total_costusd, total_costzwl) "
+                + "VALUES (" + sequences.nextValue("stock_logs_seq") + ", ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", logs);
+        events.forEach(eventPublisher::publishEvent);
+        return costs;
+    }
+
+    // Weighted average of what the destination holds and what arrives
+    private static double weighted(int held, double heldCost, int arriving, double arrivingCost) {
+        int total = held + arriving;
+        return total == 0 ? heldCost : (held * heldCost + arriving * arrivingCost) / total;
+    }
+
+    private static Object[] log(Long productId, Long shopId, int quantity, StockModel.TransactionType type,
+                                String reason, String reference, Timestamp at, Row source) {
+        return new Object[]{productId, shopId, quantity, type.name(), reason, reference, at,
+                source.costUSD, source.costZWL, source.costUSD * Math.abs(quantity), source.costZWL * Math.abs(quantity)};
+    }
+
+    private static ShopStockChangedEvent changed(Long shopId, Row row) {
+        return new ShopStockChangedEvent(shopId, StockDelta.builder()
+                .productId(row.productId)
+                .quantity(row.quantity)
+                .avgCostUSD(row.costUSD)
+                .avgCostZWL(row.costZWL)
+                .build(), row.version);
+    }
+
+    private static final class Row {
+        final long shopStockId;
+        final long productId;
+        int quantity;
+        double costUSD;
+        double costZWL;
+        int version;
+
+        Row(long shopStockId, long productId, int quantity, double costUSD, double costZWL, int version) {
+            this.shopStockId = shopStockId;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.costUSD = costUSD;
+            this.costZWL = costZWL;
+            this.version = version;
+        }
+    }
+}
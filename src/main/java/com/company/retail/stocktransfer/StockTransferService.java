@@ -8,15 +8,19 @@ import com.company.retail.shop.ShopModel;
 import com.company.retail.shop.ShopRepository;
 import com.company.retail.user.UserModel;
 import com.company.retail.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import com.company.retail.observability.RetailMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
+@Timed("retail.service")
 @RequiredArgsConstructor
 public class StockTransferService {
 
@@ -25,10 +29,13 @@ public class StockTransferService {
     private final ShopRepository shopRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final RetailMetrics metrics;
+    private final StockTransferMover mover;
 
     /**
      * ✅ Create a pending stock transfer request
      */
+    @Transactional
     public StockTransferModel createTransfer(Long fromShopId, Long toShopId, Long productId, Integer quantity) {
         if (fromShopId.equals(toShopId)) {
             throw new RuntimeException("Source and destination shops cannot be the same.");
@@ -46,6 +53,7 @@ public class StockTransferService {
                 .orElseThrow(() -> new RuntimeException("No stock record for product in source shop"));
 
         if (fromStock.getQuantityInStock() < quantity) {
+            metrics.recordStockInsufficient("transfer");
             throw new RuntimeException("Insufficient stock in source shop.");
         }
 
@@ -87,38 +95,9 @@ public class StockTransferService {
             throw new RuntimeException("This transfer is already completed.");
         }
 
-        ProductModel product = transfer.getProduct();
-        ShopModel fromShop = transfer.getFromShop();
-        ShopModel toShop = transfer.getToShop();
-        int qty = transfer.getQuantity();
-
-        // ✅ Get per-shop stock
-        ShopStockModel fromStock = shopStockRepository.findByShopAndProduct(fromShop, product)
-                .orElseThrow(() -> new RuntimeException("No stock found in source shop."));
-        ShopStockModel toStock = shopStockRepository.findByShopAndProduct(toShop, product)
-                .orElse(ShopStockModel.builder()
-                        .shop(toShop)
-                        .product(product)
-                        .quantityInStock(0)
-                        .avgLandingCostUSD(0.0)
-                        .avgLandingCostZWL(0.0)
-                        .build());
-
-        if (fromStock.getQuantityInStock() < qty) {
-            throw new RuntimeException("Insufficient stock to transfer.");
-        }
-
-        // ✅ Adjust stock quantities
-        fromStock.setQuantityInStock(fromStock.getQuantityInStock() - qty);
-        toStock.setQuantityInStock(toStock.getQuantityInStock() + qty);
-
-        // ✅ Copy cost values
-        toStock.setAvgLandingCostUSD(fromStock.getAvgLandingCostUSD());
-        toStock.setAvgLandingCostZWL(fromStock.getAvgLandingCostZWL());
-
-        // ✅ Save updates
-        shopStockRepository.save(fromStock);
-        shopStockRepository.save(toStock);
+        // ✅ Move the stock (rows locked in a fixed order, logged as TRANSFER_OUT / TRANSFER_IN)
+        mover.move(transfer.getFromShop().getId(), transfer.getToShop().getId(),
+                Map.of(transfer.getProduct().getProductId(), transfer.getQuantity()), transfer.getReferenceCode());
 
         // ✅ Update transfer record
         UserModel approver = userRepository.findById(approverId)
@@ -133,6 +112,7 @@ public class StockTransferService {
     /**
      * ✅ Get all stock transfers
      */
+    @Transactional(readOnly = true)
     public List<StockTransferModel> getAllTransfers() {
         return stockTransferRepository.findAll();
     }
@@ -140,6 +120,7 @@ public class StockTransferService {
     /**
      * ✅ Get transfers related to a specific shop
      */
+    @Transactional(readOnly = true)
     public List<StockTransferModel> getTransfersByShop(Long shopId) {
         ShopModel shop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
@@ -149,6 +130,7 @@ public class StockTransferService {
     /**
      * ✅ Delete a transfer record (if still pending)
      */
+    @Transactional
     public void deleteTransfer(Long id) {
         StockTransferModel transfer = stockTransferRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transfer not found"));
@@ -163,6 +145,7 @@ public class StockTransferService {
     /**
      * ✅ Utility: Fetch transfer by ID
      */
+    @Transactional(readOnly = true)
     public StockTransferModel getById(Long id) {
         return stockTransferRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transfer not found"));
@@ -0,0 +1,32 @@
+package com.company.retail.stocktransfer.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ✅ New transfer document: source, destination and the products to move.
+ * Lines for the same product are added together.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTransferDocumentRequestDTO {
+
+    private Long fromShopId;
+    private Long toShopId;
+    private String remarks;
+    private List<Line> lines;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Line {
+        private Long productId;
+        private Integer quantity;
+    }
+}
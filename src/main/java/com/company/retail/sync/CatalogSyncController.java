@@ -0,0 +1,37 @@
+package com.company.retail.sync;
+
+import com.company.retail.sync.dto.CatalogSyncResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class CatalogSyncController {
+
+    private final CatalogSyncService catalogSyncService;
+
+    /**
+     * ✅ Catalog delta for POS clients.
+     * First call without since (full catalog), then pass back "version" as ?since=.
+     * The ETag is the shop's current catalog version: with If-None-Match an
+     * unchanged catalog answers 304 with no body.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/catalog")
+    public ResponseEntity<CatalogSyncResponse> catalog(@RequestParam(defaultValue = "0") long since,
+                                                       @RequestParam(required = false) Long shopId,
+                                                       WebRequest request) {
+        long version = catalogSyncService.currentVersion(shopId);
+        String etag = "W/\"" + (shopId == null ? "all" : shopId) + "-" + version + "\"";
+        if (since > 0 && request.checkNotModified(etag)) {
+            return null; // ✅ 304 already written
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(catalogSyncService.changesSince(shopId, Math.min(since, version), version));
+    }
+}
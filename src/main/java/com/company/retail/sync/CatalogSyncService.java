@@ -0,0 +1,47 @@
+package com.company.retail.sync;
+
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.priceadjustment.PricingAdjustmentRepository;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.sync.dto.CatalogSyncResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CatalogSyncService {
+
+    private final CatalogVersions versions;
+    private final ProductRepository productRepository;
+    private final ShopStockRepository shopStockRepository;
+    private final PricingAdjustmentRepository pricingAdjustmentRepository;
+
+    // ✅ Cheap check used for ETag / 304 before building any delta
+    public long currentVersion(Long shopId) {
+        return versions.current(shopId);
+    }
+
+    /**
+     * ✅ Catalog changes in (since, upTo]. since = 0 returns the whole catalog
+     * (current products and shop prices; adjustment history only comes with deltas).
+     */
+    public CatalogSyncResponse changesSince(Long shopId, long since, long upTo) {
+        boolean full = since <= 0;
+        long from = full ? -1 : since;
+
+        return CatalogSyncResponse.builder()
+                .version(upTo)
+                .full(full ? Boolean.TRUE : null)
+                .products(productRepository.findCatalogChanges(from, upTo))
+                .shopPrices(shopId == null ? List.of() : shopStockRepository.findCatalogPriceChanges(shopId, from, upTo))
+                .adjustments(full ? List.of() : pricingAdjustmentRepository.findCatalogChanges(shopId, from, upTo))
+                .deletedProducts(full ? List.of() : versions.deletedSince(CatalogVersions.PRODUCT, shopId, from, upTo))
+                .deletedShopPrices(full || shopId == null ? List.of()
+                        : versions.deletedSince(CatalogVersions.SHOP_PRICE, shopId, from, upTo))
+                .build();
+    }
+}
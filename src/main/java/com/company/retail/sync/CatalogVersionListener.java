@@ -0,0 +1,64 @@
+package com.company.retail.sync;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import com.company.retail.pricing.ShopPriceChangedEvent;
+import com.company.retail.product.ProductModel;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ Stamps catalog rows with the transaction's catalog version on every change (taken once
+ * per transaction, so stamping a row costs no round trip), and records
+ * a tombstone when one is deleted. Shop stock only counts as a catalog change when its
+ * selling price moves; quantity changes go out on the stock stream instead (price moves
+ * are also announced to the price table).
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionListener {
+
+    private final CatalogVersions versions;
+    private final ApplicationEventPublisher publisher;
+
+    @PrePersist
+    public void created(Object entity) {
+        if (entity instanceof ProductModel product) {
+            if (product.getChangeVersion() == null) { // bulk creates stamp one version up front
+                product.setChangeVersion(versions.next());
+            }
+        } else if (entity instanceof ShopStockModel stock) {
+            stock.setPriceVersion(versions.next());
+            stock.rememberPrices();
+        } else if (entity instanceof PricingAdjustmentModel adjustment) {
+            adjustment.setChangeVersion(versions.next());
+        }
+    }
+
+    @PreUpdate
+    public void updated(Object entity) {
+        if (entity instanceof ProductModel product) {
+            product.setChangeVersion(versions.next());
+        } else if (entity instanceof ShopStockModel stock && stock.pricesChanged()) {
+            stock.setPriceVersion(versions.next());
+            stock.rememberPrices();
+            publisher.publishEvent(new ShopPriceChangedEvent(stock.getShop().getId(), stock.getProduct().getProductId(),
+                    stock.getSellingPriceUSD(), stock.getSellingPriceZWL()));
+        } else if (entity instanceof PricingAdjustmentModel adjustment) {
+            adjustment.setChangeVersion(versions.next());
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof ProductModel product) {
+            versions.tombstone(CatalogVersions.PRODUCT, product.getProductId(), null);
+        } else if (entity instanceof ShopStockModel stock) {
+            versions.tombstone(CatalogVersions.SHOP_PRICE, stock.getProduct().getProductId(), stock.getShop().getId());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.company.retail.sync;
+
+import com.company.retail.configs.DatabaseSequences;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * ✅ Global catalog change counter (catalog_version_seq) and deletion tombstones.
+ * Runs on the caller's transaction/connection, so versions and tombstones commit
+ * or roll back together with the catalog change itself.
+ *
+ * A transaction takes one version, on its first catalog change, and stamps every row
+ * it changes with it. Versions are taken before commit, so a transaction holding 100 can
+ * commit after one holding 101. To keep "everything up to N" final, a writer first marks
+ * itself open with a floor below its version, and current() never goes past the lowest
+ * open floor. The mark lives on the writer's own connection and goes away with its
+ * transaction: a PostgreSQL transaction-scoped advisory lock, or (H2, embedded in this
+ * JVM) an in-memory entry.
+ *
+ * A writer idle for longer than app.sync.max-writer-seconds stops holding readers back;
+ * if it then commits, its rows are restamped with a fresh version first, so they are
+ * still ahead of every client that moved on meanwhile.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogVersions {
+
+    public static final String PRODUCT = "PRODUCT";
+    public static final String SHOP_PRICE = "SHOP_PRICE";
+
+    private static final String SEQUENCE = "catalog_version_seq";
+    private static final Object WRITER = CatalogVersions.class.getName() + ".writer";
+
+    // Every column stamped with a catalog version
+    private static final List<String> STAMPED = List.of(
+            "products SET change_version = ? WHERE change_version = ?",
+            "shop_stock SET price_version = ? WHERE price_version = ?",
+            "pricing_adjustments SET change_version = ? WHERE change_version = ?",
+            "catalog_tombstones SET change_version = ? WHERE change_version = ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSequences sequences;
+
+    // H2 only: open floors of this JVM's writers -> when they were marked (ms)
+    private final Map<Long, Long> openFloors = new ConcurrentSkipListMap<>();
+
+    @Value("${app.sync.max-writer-seconds:120}")
+    private long maxWriterSeconds;
+
+    // ✅ This transaction's version (one per transaction); a fresh one outside a transaction
+    public long next() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return sequences.next(SEQUENCE);
+        }
+        Writer writer = (Writer) TransactionSynchronizationManager.getResource(WRITER);
+        if (writer == null) {
+            writer = open();
+        }
+        return writer.version;
+    }
+
+    public void tombstone(String kind, Long entityId, Long shopId) {
+        jdbcTemplate.update("INSERT INTO catalog_tombstones (change_version, kind, entity_id, shop_id, deleted_at) "
+                + "VALUES (?, ?, ?, ?, ?)", next(), kind, entityId, shopId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // ✅ Highest version a till of this shop can safely sync up to (products, shop prices, adjustments, deletions)
+    public long current(Long shopId) {
+        Long value = jdbcTemplate.queryForObject("""
+                SELECT MAX(v) FROM (
+                    SELECT MAX(change_version) AS v FROM products
+                    UNION ALL SELECT MAX(price_version) FROM shop_stock WHERE shop_id = ?
+                    UNION ALL SELECT MAX(change_version) FROM pricing_adjustments WHERE shop_id IS NULL OR shop_id = ?
+                    UNION ALL SELECT MAX(change_version) FROM catalog_tombstones WHERE shop_id IS NULL OR shop_id = ?
+                ) versions
+                """, Long.class, shopId, shopId, shopId);
+        return belowOpenWriters(value == null ? 0 : value);
+    }
+
+    // ✅ Highest safe version across all shops, for the products / shop prices / deletions caches
+    public long current() {
+        Long value = jdbcTemplate.queryForObject("""
+                SELECT MAX(v) FROM (
+                    SELECT MAX(change_version) AS v FROM products
+                    UNION ALL SELECT MAX(price_version) FROM shop_stock
+                    UNION ALL SELECT MAX(change_version) FROM catalog_tombstones
+                ) versions
+                """, Long.class);
+        return belowOpenWriters(value == null ? 0 : value);
+    }
+
+    // ✅ Ids deleted in (since, upTo]; SHOP_PRICE tombstones are per shop
+    public List<Long> deletedSince(String kind, Long shopId, long since, long upTo) {
+        return jdbcTemplate.queryForList("SELECT entity_id FROM catalog_tombstones "
+                        + "WHERE kind = ? AND (shop_id IS NULL OR shop_id = ?) AND change_version > ? AND change_version <= ? "
+                        + "ORDER BY change_version",
+                Long.class, kind, shopId, since, upTo);
+    }
+
+    // ============================================================
+    // 🔒 Open writers
+    // ============================================================
+
+    /*
+     * Must run after the highest version was read: any version at or below it that is not
+     * visible yet belongs to a writer whose floor was marked before that read.
+     * The caller's own floors are skipped (its own changes are visible to it).
+     */
+    private long belowOpenWriters(long version) {
+        Long floor;
+        if (sequences.isPostgres()) {
+            // Key of a bigint advisory lock = classid (high 32 bits) and objid (low 32 bits), objsubid 1
+            floor = jdbcTemplate.queryForObject("""
+                    SELECT MIN((l.classid::bigint << 32) | l.objid::bigint)
+                    FROM pg_locks l JOIN pg_stat_activity a ON a.pid = l.pid
+                    WHERE l.locktype = 'advisory' AND l.objsubid = 1 AND l.granted
+                      AND l.database = (SELECT oid FROM pg_database WHERE datname = current_database())
+                      AND l.pid <> pg_backend_pid()
+                      AND a.query_start > now() - make_interval(secs => ?)
+                    """, Long.class, (double) maxWriterSeconds);
+        } else {
+            Writer own = (Writer) TransactionSynchronizationManager.getResource(WRITER);
+            long since = System.currentTimeMillis() - maxWriterSeconds * 1000;
+            floor = openFloors.entrySet().stream()
+                    .filter(e -> e.getValue() > since && (own == null || !own.floors.contains(e.getKey())))
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElse(null);
+        }
+        return floor == null ? version : Math.min(version, floor);
+    }
+
+    // Once per transaction, before its first version
+    private Writer open() {
+        Writer writer = new Writer();
+        mark(writer);
+        writer.version = sequences.next(SEQUENCE);
+        TransactionSynchronizationManager.bindResource(WRITER, writer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (System.currentTimeMillis() - writer.markedAt >= maxWriterSeconds * 1000) {
+                    restamp(writer);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITER);
+                writer.floors.forEach(openFloors::remove);
+            }
+        });
+        return writer;
+    }
+
+    // New floor, marked open on the caller's connection; every version taken after it is above it
+    private void mark(Writer writer) {
+        long floor = sequences.next(SEQUENCE);
+        if (sequences.isPostgres()) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock_shared(?)", rs -> {
+            }, floor);
+        } else {
+            openFloors.put(floor, System.currentTimeMillis());
+        }
+        writer.floors.add(floor);
+        writer.markedAt = System.currentTimeMillis();
+    }
+
+    /*
+     * Readers may have gone past a writer that stayed open too long. Move its rows to a
+     * version above anything they can have seen, under a fresh floor; entities flushed
+     * after this (at commit) are stamped with the new version by the listener.
+     */
+    private void restamp(Writer writer) {
+        long old = writer.version;
+        mark(writer);
+        writer.version = sequences.next(SEQUENCE);
+        for (String stamped : STAMPED) {
+            jdbcTemplate.update("UPDATE " + stamped, writer.version, old);
+        }
+        log.warn("Catalog writer open for over {} s: version {} restamped as {}", maxWriterSeconds, old, writer.version);
+    }
+
+    private static final class Writer {
+        final List<Long> floors = new ArrayList<>(1);
+        long version;
+        long markedAt;
+    }
+}
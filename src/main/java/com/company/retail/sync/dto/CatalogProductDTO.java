@@ -0,0 +1,21 @@
+package com.company.retail.sync.dto;
+
+import lombok.*;
+
+/**
+ * ✅ Product as a till needs it (no audit timestamps).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogProductDTO {
+
+    private Long productId;
+    private String productName;
+    private String category;
+    private String unit;
+    private Double sellingPriceUSD;
+    private Double sellingPriceZWL;
+}
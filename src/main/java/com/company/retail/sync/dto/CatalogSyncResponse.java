@@ -0,0 +1,30 @@
+package com.company.retail.sync.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ✅ Catalog changes after a client's version. Empty lists are left out,
+ * so an up-to-date client gets little more than {"version":n}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class CatalogSyncResponse {
+
+    // Send back as ?since= on the next sync
+    private Long version;
+    // true = snapshot; the client should replace its catalog rather than merge
+    private Boolean full;
+
+    private List<CatalogProductDTO> products;
+    private List<ShopPriceDTO> shopPrices;
+    private List<PriceAdjustmentDTO> adjustments;
+    private List<Long> deletedProducts;
+    private List<Long> deletedShopPrices;
+}
@@ -0,0 +1,25 @@
+package com.company.retail.sync.dto;
+
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ✅ Price adjustment event (shopId null = all shops).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceAdjustmentDTO {
+
+    private Long adjustmentId;
+    private Long productId;
+    private Long shopId;
+    private Double newPriceUSD;
+    private Double newPriceZWL;
+    private PricingAdjustmentModel.AdjustmentType reason;
+    private LocalDateTime adjustmentDate;
+}
@@ -0,0 +1,18 @@
+package com.company.retail.sync.dto;
+
+import lombok.*;
+
+/**
+ * ✅ Shop-level selling price for one product.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShopPriceDTO {
+
+    private Long productId;
+    private Double sellingPriceUSD;
+    private Double sellingPriceZWL;
+}
@@ -1,10 +1,15 @@
 package com.company.retail.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserModel, Long> {
+    // ✅ Resolved on every authenticated request (JwtAuthFilter) → served from the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserModel> findByUsername(String username);
     boolean existsByUsername(String username);
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.company.retail.user.dto.UserRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -23,6 +24,7 @@ public class UserService {
     /**
      * ✅ Get all users
      */
+    @Transactional(readOnly = true)
     public List<UserModel> getAllUsers() {
         return userRepository.findAll();
     }
@@ -30,6 +32,7 @@ public class UserService {
     /**
      * ✅ Get user by ID
      */
+    @Transactional(readOnly = true)
     public UserModel getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -38,6 +41,7 @@ public class UserService {
     /**
      * ✅ Create new user using DTO (UserRequest)
      */
+    @Transactional
     public UserModel createUser(UserRequest req) {
         if (userRepository.existsByUsername(req.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -80,6 +84,7 @@ public class UserService {
     /**
      * ✅ Update user (using DTO)
      */
+    @Transactional
     public UserModel updateUser(Long id, UserRequest req) {
         UserModel existing = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -121,6 +126,7 @@ public class UserService {
     /**
      * ✅ Delete user
      */
+    @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
     }
@@ -128,6 +134,7 @@ public class UserService {
     /**
      * ✅ Login - validate credentials, return JWT token & user details
      */
+    @Transactional
     public Map<String, Object> login(String username, String password) {
         UserModel user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Invalid username or password"));
@@ -165,6 +172,7 @@ public class UserService {
     /**
      * ✅ Logout (set status offline)
      */
+    @Transactional
     public void logout(Long id) {
         userRepository.findById(id).ifPresent(user -> {
             user.setStatus("Offline");
@@ -175,6 +183,7 @@ public class UserService {
    /*
    * Reset password
    * */
+    @Transactional
     public String resetPassword(Long id) {
         UserModel user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
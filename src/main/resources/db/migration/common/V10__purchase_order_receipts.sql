@@ -0,0 +1,34 @@
+-- =====================================================================
+-- Asynchronous purchase order receiving: one job per order, processed
+-- in chunks of lines. last_item_id is the checkpoint, committed with the
+-- stock written for each chunk.
+-- =====================================================================
+
+CREATE SEQUENCE IF NOT EXISTS purchase_order_receipts_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS purchase_order_receipts (
+    receipt_id        BIGINT       NOT NULL,
+    purchase_order_id BIGINT       NOT NULL,
+    status            VARCHAR(16)  NOT NULL,
+    total_lines       INTEGER      NOT NULL,
+    processed_lines   INTEGER      NOT NULL,
+    last_item_id      BIGINT       NOT NULL,
+    item_costusd      DOUBLE PRECISION,
+    item_costzwl      DOUBLE PRECISION,
+    expenseusd        DOUBLE PRECISION,
+    expensezwl        DOUBLE PRECISION,
+    attempts          INTEGER      NOT NULL,
+    error             VARCHAR(1000),
+    queued_at         TIMESTAMP(6),
+    started_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    finished_at       TIMESTAMP(6),
+    version           BIGINT,
+    CONSTRAINT pk_purchase_order_receipts PRIMARY KEY (receipt_id),
+    CONSTRAINT uk_purchase_order_receipts_order UNIQUE (purchase_order_id),
+    CONSTRAINT fk_purchase_order_receipts_order FOREIGN KEY (purchase_order_id)
+        REFERENCES purchase_orders (purchase_order_id) ON DELETE CASCADE
+);
+
+-- Worker poll: queued jobs and running ones that stopped heart-beating
+CREATE INDEX IF NOT EXISTS idx_purchase_order_receipts_status ON purchase_order_receipts (status, updated_at);
@@ -0,0 +1,16 @@
+-- =====================================================================
+-- Replenishment: sales velocity per shop/product as an exponentially
+-- weighted rate (units per day), updated on every sale. units_per_day is
+-- the value as of updated_at; readers decay it to "now".
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS sales_velocity (
+    shop_id       BIGINT           NOT NULL,
+    product_id    BIGINT           NOT NULL,
+    units_per_day DOUBLE PRECISION NOT NULL,
+    updated_at    TIMESTAMP(6)     NOT NULL,
+    CONSTRAINT pk_sales_velocity PRIMARY KEY (shop_id, product_id),
+    CONSTRAINT fk_sales_velocity_shop FOREIGN KEY (shop_id) REFERENCES shops (id) ON DELETE CASCADE,
+    CONSTRAINT fk_sales_velocity_product FOREIGN KEY (product_id) REFERENCES products (product_id) ON DELETE CASCADE
+);
+
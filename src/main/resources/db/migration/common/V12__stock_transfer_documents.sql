@@ -0,0 +1,47 @@
+-- =====================================================================
+-- Multi-line stock transfers: one document per shop-to-shop movement,
+-- with a line per product. Unit costs are frozen on approval.
+-- =====================================================================
+
+CREATE SEQUENCE IF NOT EXISTS stock_transfer_documents_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stock_transfer_lines_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS stock_transfer_documents (
+    document_id    BIGINT       NOT NULL,
+    reference_code VARCHAR(32)  NOT NULL,
+    from_shop_id   BIGINT       NOT NULL,
+    to_shop_id     BIGINT       NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    created_by     BIGINT,
+    created_at     TIMESTAMP(6),
+    approved_by    BIGINT,
+    approved_at    TIMESTAMP(6),
+    total_costusd  DOUBLE PRECISION,
+    total_costzwl  DOUBLE PRECISION,
+    remarks        VARCHAR(255),
+    CONSTRAINT pk_stock_transfer_documents PRIMARY KEY (document_id),
+    CONSTRAINT uk_stock_transfer_documents_reference UNIQUE (reference_code),
+    CONSTRAINT fk_stock_transfer_documents_from_shop FOREIGN KEY (from_shop_id) REFERENCES shops (id),
+    CONSTRAINT fk_stock_transfer_documents_to_shop FOREIGN KEY (to_shop_id) REFERENCES shops (id),
+    CONSTRAINT fk_stock_transfer_documents_created_by FOREIGN KEY (created_by) REFERENCES users (user_id),
+    CONSTRAINT fk_stock_transfer_documents_approved_by FOREIGN KEY (approved_by) REFERENCES users (user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_transfer_documents_from_shop ON stock_transfer_documents (from_shop_id);
+CREATE INDEX IF NOT EXISTS idx_stock_transfer_documents_to_shop   ON stock_transfer_documents (to_shop_id);
+
+CREATE TABLE IF NOT EXISTS stock_transfer_lines (
+    line_id       BIGINT  NOT NULL,
+    document_id   BIGINT  NOT NULL,
+    product_id    BIGINT  NOT NULL,
+    quantity      INTEGER NOT NULL,
+    unit_costusd  DOUBLE PRECISION,
+    unit_costzwl  DOUBLE PRECISION,
+    total_costusd DOUBLE PRECISION,
+    total_costzwl DOUBLE PRECISION,
+    CONSTRAINT pk_stock_transfer_lines PRIMARY KEY (line_id),
+    CONSTRAINT uk_stock_transfer_lines_product UNIQUE (document_id, product_id),
+    CONSTRAINT fk_stock_transfer_lines_document FOREIGN KEY (document_id)
+        REFERENCES stock_transfer_documents (document_id) ON DELETE CASCADE,
+    CONSTRAINT fk_stock_transfer_lines_product FOREIGN KEY (product_id) REFERENCES products (product_id)
+);
@@ -0,0 +1,7 @@
+-- =====================================================================
+-- Shop coordinates (WGS84 degrees), used to rank shops by distance in
+-- stock availability lookups. Optional: shops without them rank last.
+-- =====================================================================
+
+ALTER TABLE shops ADD COLUMN IF NOT EXISTS latitude  DOUBLE PRECISION;
+ALTER TABLE shops ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
@@ -0,0 +1,15 @@
+-- =====================================================================
+-- Invoice imports per purchase order, keyed by a hash of the file's
+-- cell contents. A re-upload of the same invoice (e.g. a retry after a
+-- client timeout) hits the primary key instead of adding its lines twice.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS purchase_order_imports (
+    purchase_order_id BIGINT       NOT NULL,
+    content_hash      VARCHAR(64)  NOT NULL,
+    filename          VARCHAR(255),
+    imported_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_purchase_order_imports PRIMARY KEY (purchase_order_id, content_hash),
+    CONSTRAINT fk_purchase_order_imports_order FOREIGN KEY (purchase_order_id)
+        REFERENCES purchase_orders (purchase_order_id) ON DELETE CASCADE
+);
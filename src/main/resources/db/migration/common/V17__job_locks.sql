@@ -0,0 +1,13 @@
+-- =====================================================================
+-- Lock rows for jobs that must not overlap, across every instance.
+-- A run takes SELECT ... FOR UPDATE on its row and holds it until its
+-- transaction commits, so the next run sees everything the last one wrote.
+-- (Unlike locking shops rows, this never blocks inserts referencing a shop.)
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS job_locks (
+    name VARCHAR(64) NOT NULL,
+    CONSTRAINT pk_job_locks PRIMARY KEY (name)
+);
+
+INSERT INTO job_locks (name) VALUES ('replenishment');
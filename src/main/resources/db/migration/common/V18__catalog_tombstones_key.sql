@@ -0,0 +1,8 @@
+-- =====================================================================
+-- A transaction stamps all of its catalog changes with one version, so
+-- several tombstones can share a change_version: it is no longer the key.
+-- =====================================================================
+
+ALTER TABLE catalog_tombstones DROP CONSTRAINT pk_catalog_tombstones;
+
+CREATE INDEX IF NOT EXISTS idx_catalog_tombstones_change_version ON catalog_tombstones (change_version);
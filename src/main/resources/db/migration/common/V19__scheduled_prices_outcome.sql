@@ -0,0 +1,6 @@
+-- =====================================================================
+-- Why a scheduled price was SKIPPED (no stock row in its shop) or
+-- FAILED (applying it threw); applied entries leave it empty.
+-- =====================================================================
+
+ALTER TABLE scheduled_prices ADD COLUMN IF NOT EXISTS error VARCHAR(1000);
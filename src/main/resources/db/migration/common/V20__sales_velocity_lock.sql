@@ -0,0 +1,6 @@
+-- =====================================================================
+-- Sales velocity rebuilds take this row FOR UPDATE; per-sale updates take
+-- it shared, so they never land between a rebuild's delete and its inserts.
+-- =====================================================================
+
+INSERT INTO job_locks (name) VALUES ('sales_velocity');
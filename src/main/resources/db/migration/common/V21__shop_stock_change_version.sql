@@ -0,0 +1,7 @@
+-- =====================================================================
+-- Bumped by every write to a shop_stock row (JPA and JDBC alike) while
+-- the row is locked, so it orders a row's changes as they committed.
+-- The availability index ignores change events older than what it has.
+-- =====================================================================
+
+ALTER TABLE shop_stock ADD COLUMN IF NOT EXISTS change_version INTEGER NOT NULL DEFAULT 0;
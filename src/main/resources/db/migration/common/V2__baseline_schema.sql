@@ -0,0 +1,234 @@
+-- =====================================================================
+-- Baseline schema (replaces spring.jpa.hibernate.ddl-auto=update).
+--
+-- Every statement is IF NOT EXISTS so databases previously created by
+-- Hibernate are adopted as-is, while fresh databases get the full schema.
+-- Portable between PostgreSQL (production) and H2 (test profile).
+-- =====================================================================
+
+-- ---------- Id sequences (pooled optimizer, allocationSize = 50) ----------
+CREATE SEQUENCE IF NOT EXISTS shops_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS expense_categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS shop_stock_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS purchase_orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS purchase_order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS expenses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sales_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sale_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stock_logs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stock_transfers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pricing_adjustments_seq START WITH 1 INCREMENT BY 50;
+
+-- ---------- Shops ----------
+CREATE TABLE IF NOT EXISTS shops (
+    id             BIGINT       NOT NULL,
+    shop_name      VARCHAR(255),
+    location       VARCHAR(255),
+    contact_number VARCHAR(255),
+    manager_name   VARCHAR(255),
+    date_created   TIMESTAMP(6),
+    CONSTRAINT pk_shops PRIMARY KEY (id)
+);
+
+-- ---------- Users ----------
+CREATE TABLE IF NOT EXISTS users (
+    user_id      BIGINT       NOT NULL,
+    username     VARCHAR(255) NOT NULL,
+    password     VARCHAR(255),
+    full_name    VARCHAR(255),
+    email        VARCHAR(255),
+    phone_number VARCHAR(255),
+    status       VARCHAR(255),
+    id           BIGINT,                 -- shop the user belongs to (UserModel.shop)
+    created_at   TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT fk_users_shop FOREIGN KEY (id) REFERENCES shops (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role    VARCHAR(255),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+-- ---------- Catalogue ----------
+CREATE TABLE IF NOT EXISTS expense_categories (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    CONSTRAINT pk_expense_categories PRIMARY KEY (id),
+    CONSTRAINT uk_expense_categories_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    product_id        BIGINT       NOT NULL,
+    product_name      VARCHAR(255) NOT NULL,
+    category          VARCHAR(255),
+    unit              VARCHAR(255),
+    reorder_level     INTEGER,
+    selling_priceusd  DOUBLE PRECISION,
+    selling_pricezwl  DOUBLE PRECISION,
+    date_created      TIMESTAMP(6),
+    date_updated      TIMESTAMP(6),
+    CONSTRAINT pk_products PRIMARY KEY (product_id),
+    CONSTRAINT uk_products_product_name UNIQUE (product_name)
+);
+
+CREATE TABLE IF NOT EXISTS shop_stock (
+    shop_stock_id        BIGINT NOT NULL,
+    shop_id              BIGINT NOT NULL,
+    product_id           BIGINT NOT NULL,
+    quantity_in_stock    INTEGER,
+    avg_landing_costusd  DOUBLE PRECISION,
+    avg_landing_costzwl  DOUBLE PRECISION,
+    selling_priceusd     DOUBLE PRECISION,
+    selling_pricezwl     DOUBLE PRECISION,
+    CONSTRAINT pk_shop_stock PRIMARY KEY (shop_stock_id),
+    CONSTRAINT uk_shop_stock_shop_product UNIQUE (shop_id, product_id),
+    CONSTRAINT fk_shop_stock_shop FOREIGN KEY (shop_id) REFERENCES shops (id),
+    CONSTRAINT fk_shop_stock_product FOREIGN KEY (product_id) REFERENCES products (product_id)
+);
+
+-- ---------- Purchasing ----------
+CREATE TABLE IF NOT EXISTS purchase_orders (
+    purchase_order_id BIGINT NOT NULL,
+    supplier_name     VARCHAR(255),
+    order_date        TIMESTAMP(6),
+    received_date     TIMESTAMP(6),
+    status            VARCHAR(255),
+    total_costusd     DOUBLE PRECISION,
+    total_costzwl     DOUBLE PRECISION,
+    expensesusd       DOUBLE PRECISION,
+    expenseszwl       DOUBLE PRECISION,
+    created_by        BIGINT,
+    shop_id           BIGINT,
+    CONSTRAINT pk_purchase_orders PRIMARY KEY (purchase_order_id),
+    CONSTRAINT fk_purchase_orders_created_by FOREIGN KEY (created_by) REFERENCES users (user_id),
+    CONSTRAINT fk_purchase_orders_shop FOREIGN KEY (shop_id) REFERENCES shops (id)
+);
+
+CREATE TABLE IF NOT EXISTS purchase_order_items (
+    purchase_order_item_id BIGINT NOT NULL,
+    purchase_order_id      BIGINT,
+    product_id             BIGINT,
+    quantity               INTEGER,
+    unit_purchase_priceusd DOUBLE PRECISION,
+    unit_purchase_pricezwl DOUBLE PRECISION,
+    total_costusd          DOUBLE PRECISION,
+    total_costzwl          DOUBLE PRECISION,
+    CONSTRAINT pk_purchase_order_items PRIMARY KEY (purchase_order_item_id),
+    CONSTRAINT fk_purchase_order_items_order FOREIGN KEY (purchase_order_id) REFERENCES purchase_orders (purchase_order_id),
+    CONSTRAINT fk_purchase_order_items_product FOREIGN KEY (product_id) REFERENCES products (product_id)
+);
+
+CREATE TABLE IF NOT EXISTS expenses (
+    expense_id        BIGINT NOT NULL,
+    shop_id           BIGINT,
+    expense_type      VARCHAR(255),
+    purchase_order_id BIGINT,
+    amountusd         DOUBLE PRECISION,
+    amountzwl         DOUBLE PRECISION,
+    category_id       BIGINT,
+    date              TIMESTAMP(6),
+    recorded_by       BIGINT,
+    description       VARCHAR(255),
+    CONSTRAINT pk_expenses PRIMARY KEY (expense_id),
+    CONSTRAINT fk_expenses_shop FOREIGN KEY (shop_id) REFERENCES shops (id),
+    CONSTRAINT fk_expenses_purchase_order FOREIGN KEY (purchase_order_id) REFERENCES purchase_orders (purchase_order_id),
+    CONSTRAINT fk_expenses_category FOREIGN KEY (category_id) REFERENCES expense_categories (id),
+    CONSTRAINT fk_expenses_recorded_by FOREIGN KEY (recorded_by) REFERENCES users (user_id)
+);
+
+-- ---------- Sales ----------
+CREATE TABLE IF NOT EXISTS sales (
+    sale_id         BIGINT NOT NULL,
+    shop_id         BIGINT NOT NULL,
+    cashier_id      BIGINT NOT NULL,
+    sale_date       TIMESTAMP(6),
+    total_amountusd DOUBLE PRECISION,
+    total_amountzwl DOUBLE PRECISION,
+    payment_method  VARCHAR(255),
+    CONSTRAINT pk_sales PRIMARY KEY (sale_id),
+    CONSTRAINT fk_sales_shop FOREIGN KEY (shop_id) REFERENCES shops (id),
+    CONSTRAINT fk_sales_cashier FOREIGN KEY (cashier_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS sale_items (
+    sale_item_id     BIGINT NOT NULL,
+    sale_id          BIGINT NOT NULL,
+    product_id       BIGINT NOT NULL,
+    quantity         INTEGER,
+    selling_priceusd DOUBLE PRECISION,
+    selling_pricezwl DOUBLE PRECISION,
+    cost_priceusd    DOUBLE PRECISION,
+    cost_pricezwl    DOUBLE PRECISION,
+    totalusd         DOUBLE PRECISION,
+    totalzwl         DOUBLE PRECISION,
+    profitusd        DOUBLE PRECISION,
+    profitzwl        DOUBLE PRECISION,
+    CONSTRAINT pk_sale_items PRIMARY KEY (sale_item_id),
+    CONSTRAINT fk_sale_items_sale FOREIGN KEY (sale_id) REFERENCES sales (sale_id),
+    CONSTRAINT fk_sale_items_product FOREIGN KEY (product_id) REFERENCES products (product_id)
+);
+
+-- ---------- Stock movement ----------
+CREATE TABLE IF NOT EXISTS stock_logs (
+    stock_log_id     BIGINT NOT NULL,
+    product_id       BIGINT NOT NULL,
+    shop_id          BIGINT NOT NULL,
+    quantity_changed INTEGER,
+    transaction_type VARCHAR(255),
+    reason           VARCHAR(255),
+    reference_id     VARCHAR(255),
+    date             TIMESTAMP(6),
+    unit_costusd     DOUBLE PRECISION,
+    unit_costzwl     DOUBLE PRECISION,
+    total_costusd    DOUBLE PRECISION,
+    total_costzwl    DOUBLE PRECISION,
+    CONSTRAINT pk_stock_logs PRIMARY KEY (stock_log_id),
+    CONSTRAINT fk_stock_logs_product FOREIGN KEY (product_id) REFERENCES products (product_id),
+    CONSTRAINT fk_stock_logs_shop FOREIGN KEY (shop_id) REFERENCES shops (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_transfers (
+    id                      BIGINT      NOT NULL,
+    from_shop_id            BIGINT      NOT NULL,
+    to_shop_id              BIGINT      NOT NULL,
+    product_id              BIGINT      NOT NULL,
+    quantity                INTEGER     NOT NULL,
+    transfer_date           TIMESTAMP(6),
+    status                  VARCHAR(20) NOT NULL,
+    approved_by             BIGINT,
+    transfer_unit_cost_usd  DOUBLE PRECISION,
+    transfer_unit_cost_zwl  DOUBLE PRECISION,
+    transfer_total_cost_usd DOUBLE PRECISION,
+    transfer_total_cost_zwl DOUBLE PRECISION,
+    reference_code          VARCHAR(255),
+    remarks                 VARCHAR(255),
+    CONSTRAINT pk_stock_transfers PRIMARY KEY (id),
+    CONSTRAINT fk_stock_transfers_from_shop FOREIGN KEY (from_shop_id) REFERENCES shops (id),
+    CONSTRAINT fk_stock_transfers_to_shop FOREIGN KEY (to_shop_id) REFERENCES shops (id),
+    CONSTRAINT fk_stock_transfers_product FOREIGN KEY (product_id) REFERENCES products (product_id),
+    CONSTRAINT fk_stock_transfers_approved_by FOREIGN KEY (approved_by) REFERENCES users (user_id)
+);
+
+-- ---------- Pricing ----------
+CREATE TABLE IF NOT EXISTS pricing_adjustments (
+    adjustment_id   BIGINT NOT NULL,
+    product_id      BIGINT NOT NULL,
+    shop_id         BIGINT,
+    adjusted_by     BIGINT,
+    old_priceusd    DOUBLE PRECISION,
+    new_priceusd    DOUBLE PRECISION,
+    old_pricezwl    DOUBLE PRECISION,
+    new_pricezwl    DOUBLE PRECISION,
+    reason          VARCHAR(255),
+    adjustment_date TIMESTAMP(6),
+    CONSTRAINT pk_pricing_adjustments PRIMARY KEY (adjustment_id),
+    CONSTRAINT fk_pricing_adjustments_product FOREIGN KEY (product_id) REFERENCES products (product_id),
+    CONSTRAINT fk_pricing_adjustments_shop FOREIGN KEY (shop_id) REFERENCES shops (id),
+    CONSTRAINT fk_pricing_adjustments_adjusted_by FOREIGN KEY (adjusted_by) REFERENCES users (user_id)
+);
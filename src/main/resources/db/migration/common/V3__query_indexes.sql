@@ -0,0 +1,42 @@
+-- =====================================================================
+-- Secondary indexes matched to the repository and report query patterns.
+-- (shop_stock (shop_id, product_id) is already covered by its unique key.)
+-- =====================================================================
+
+-- Sales: reports/dashboard filter by date range, optionally per shop or cashier
+CREATE INDEX IF NOT EXISTS idx_sales_sale_date         ON sales (sale_date);
+CREATE INDEX IF NOT EXISTS idx_sales_shop_sale_date    ON sales (shop_id, sale_date);
+CREATE INDEX IF NOT EXISTS idx_sales_cashier_sale_date ON sales (cashier_id, sale_date);
+
+-- Sale items: loaded per sale, aggregated per product (top product, profit)
+CREATE INDEX IF NOT EXISTS idx_sale_items_sale    ON sale_items (sale_id);
+CREATE INDEX IF NOT EXISTS idx_sale_items_product ON sale_items (product_id);
+
+-- Stock movement log: browsed per shop and per product, newest first
+CREATE INDEX IF NOT EXISTS idx_stock_logs_shop_date    ON stock_logs (shop_id, date);
+CREATE INDEX IF NOT EXISTS idx_stock_logs_product_date ON stock_logs (product_id, date);
+
+-- Shop stock: cross-shop lookups by product (shop lookups use the unique key)
+CREATE INDEX IF NOT EXISTS idx_shop_stock_product ON shop_stock (product_id);
+
+-- Expenses: date-range reports (all shops / per shop) and per purchase order
+CREATE INDEX IF NOT EXISTS idx_expenses_date           ON expenses (date);
+CREATE INDEX IF NOT EXISTS idx_expenses_shop_date      ON expenses (shop_id, date);
+CREATE INDEX IF NOT EXISTS idx_expenses_purchase_order ON expenses (purchase_order_id);
+
+-- Purchasing
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_shop       ON purchase_orders (shop_id);
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_status     ON purchase_orders (status);
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_order_date ON purchase_orders (order_date);
+CREATE INDEX IF NOT EXISTS idx_purchase_order_items_order_product ON purchase_order_items (purchase_order_id, product_id);
+
+-- Pricing history per product / per shop
+CREATE INDEX IF NOT EXISTS idx_pricing_adjustments_product ON pricing_adjustments (product_id);
+CREATE INDEX IF NOT EXISTS idx_pricing_adjustments_shop    ON pricing_adjustments (shop_id);
+
+-- Transfers listed per source / destination shop
+CREATE INDEX IF NOT EXISTS idx_stock_transfers_from_shop ON stock_transfers (from_shop_id);
+CREATE INDEX IF NOT EXISTS idx_stock_transfers_to_shop   ON stock_transfers (to_shop_id);
+
+-- Role lookup when loading users
+CREATE INDEX IF NOT EXISTS idx_user_roles_user ON user_roles (user_id);
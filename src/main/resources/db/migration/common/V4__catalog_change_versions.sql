@@ -0,0 +1,25 @@
+-- =====================================================================
+-- Catalog change versions for delta sync (GET /api/sync/catalog?since=).
+-- One global counter; every catalog write takes the next value, deletes
+-- leave a tombstone. Existing rows start at 0 (picked up by a full sync).
+-- =====================================================================
+
+CREATE SEQUENCE IF NOT EXISTS catalog_version_seq START WITH 1 INCREMENT BY 1;
+
+ALTER TABLE products            ADD COLUMN IF NOT EXISTS change_version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE shop_stock          ADD COLUMN IF NOT EXISTS price_version  BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE pricing_adjustments ADD COLUMN IF NOT EXISTS change_version BIGINT DEFAULT 0 NOT NULL;
+
+-- Deleted catalog entries: kind = PRODUCT (entity_id = product) or SHOP_PRICE (entity_id = product, per shop)
+CREATE TABLE IF NOT EXISTS catalog_tombstones (
+    change_version BIGINT      NOT NULL,
+    kind           VARCHAR(20) NOT NULL,
+    entity_id      BIGINT      NOT NULL,
+    shop_id        BIGINT,
+    deleted_at     TIMESTAMP(6),
+    CONSTRAINT pk_catalog_tombstones PRIMARY KEY (change_version)
+);
+
+CREATE INDEX IF NOT EXISTS idx_products_change_version            ON products (change_version);
+CREATE INDEX IF NOT EXISTS idx_shop_stock_shop_price_version      ON shop_stock (shop_id, price_version);
+CREATE INDEX IF NOT EXISTS idx_pricing_adjustments_change_version ON pricing_adjustments (change_version);
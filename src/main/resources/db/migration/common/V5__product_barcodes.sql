@@ -0,0 +1,18 @@
+-- =====================================================================
+-- Barcodes / SKUs: several per product, each code unique chain-wide.
+-- Looked up on every till scan (GET /api/products/scan/{code}).
+-- =====================================================================
+
+CREATE SEQUENCE IF NOT EXISTS product_barcodes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS product_barcodes (
+    barcode_id   BIGINT      NOT NULL,
+    code         VARCHAR(64) NOT NULL,
+    product_id   BIGINT      NOT NULL,
+    date_created TIMESTAMP(6),
+    CONSTRAINT pk_product_barcodes PRIMARY KEY (barcode_id),
+    CONSTRAINT uk_product_barcodes_code UNIQUE (code),
+    CONSTRAINT fk_product_barcodes_product FOREIGN KEY (product_id) REFERENCES products (product_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_barcodes_product ON product_barcodes (product_id);
@@ -0,0 +1,31 @@
+-- =====================================================================
+-- Effective-dated prices: a global or per-shop price that takes effect
+-- at effective_from (applied to products / shop_stock by the scheduler).
+-- =====================================================================
+
+CREATE SEQUENCE IF NOT EXISTS scheduled_prices_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS scheduled_prices (
+    price_id         BIGINT       NOT NULL,
+    product_id       BIGINT       NOT NULL,
+    shop_id          BIGINT,
+    selling_priceusd DOUBLE PRECISION,
+    selling_pricezwl DOUBLE PRECISION,
+    effective_from   TIMESTAMP(6) NOT NULL,
+    status           VARCHAR(16)  NOT NULL,
+    reason           VARCHAR(255),
+    created_by       BIGINT,
+    date_created     TIMESTAMP(6),
+    applied_at       TIMESTAMP(6),
+    CONSTRAINT pk_scheduled_prices PRIMARY KEY (price_id),
+    CONSTRAINT fk_scheduled_prices_product FOREIGN KEY (product_id) REFERENCES products (product_id) ON DELETE CASCADE,
+    CONSTRAINT fk_scheduled_prices_shop FOREIGN KEY (shop_id) REFERENCES shops (id) ON DELETE CASCADE,
+    CONSTRAINT fk_scheduled_prices_user FOREIGN KEY (created_by) REFERENCES users (user_id) ON DELETE SET NULL
+);
+
+-- Due entries: status = 'PENDING' AND effective_from <= now
+CREATE INDEX IF NOT EXISTS idx_scheduled_prices_due     ON scheduled_prices (status, effective_from);
+CREATE INDEX IF NOT EXISTS idx_scheduled_prices_product ON scheduled_prices (product_id);
+
+-- Price table catch-up reads shop price changes across all shops by version
+CREATE INDEX IF NOT EXISTS idx_shop_stock_price_version ON shop_stock (price_version);
@@ -0,0 +1,51 @@
+-- =====================================================================
+-- Expiry-dated stock batches (recorded on receipt) and the expiry
+-- markdowns the nightly markdown job applies to shop prices.
+-- =====================================================================
+
+ALTER TABLE purchase_order_items ADD COLUMN IF NOT EXISTS expiry_date  DATE;
+ALTER TABLE purchase_order_items ADD COLUMN IF NOT EXISTS batch_number VARCHAR(64);
+
+CREATE SEQUENCE IF NOT EXISTS stock_batches_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS stock_batches (
+    batch_id          BIGINT       NOT NULL,
+    shop_id           BIGINT       NOT NULL,
+    product_id        BIGINT       NOT NULL,
+    batch_number      VARCHAR(64),
+    quantity          INTEGER      NOT NULL,
+    expiry_date       DATE         NOT NULL,
+    received_at       TIMESTAMP(6) NOT NULL,
+    purchase_order_id BIGINT,
+    CONSTRAINT pk_stock_batches PRIMARY KEY (batch_id),
+    CONSTRAINT fk_stock_batches_shop FOREIGN KEY (shop_id) REFERENCES shops (id) ON DELETE CASCADE,
+    CONSTRAINT fk_stock_batches_product FOREIGN KEY (product_id) REFERENCES products (product_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_batches_shop_product ON stock_batches (shop_id, product_id, received_at);
+CREATE INDEX IF NOT EXISTS idx_stock_batches_expiry       ON stock_batches (expiry_date);
+
+CREATE SEQUENCE IF NOT EXISTS price_markdowns_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS price_markdowns (
+    markdown_id       BIGINT       NOT NULL,
+    shop_id           BIGINT       NOT NULL,
+    product_id        BIGINT       NOT NULL,
+    batch_id          BIGINT,
+    markdown_percent  INTEGER      NOT NULL,
+    base_priceusd     DOUBLE PRECISION,
+    base_pricezwl     DOUBLE PRECISION,
+    markdown_priceusd DOUBLE PRECISION,
+    markdown_pricezwl DOUBLE PRECISION,
+    original_priceusd DOUBLE PRECISION,
+    original_pricezwl DOUBLE PRECISION,
+    started_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6),
+    ended_at          TIMESTAMP(6),
+    CONSTRAINT pk_price_markdowns PRIMARY KEY (markdown_id),
+    CONSTRAINT fk_price_markdowns_shop FOREIGN KEY (shop_id) REFERENCES shops (id) ON DELETE CASCADE,
+    CONSTRAINT fk_price_markdowns_product FOREIGN KEY (product_id) REFERENCES products (product_id) ON DELETE CASCADE
+);
+
+-- Active markdown per shop/product: ended_at IS NULL
+CREATE INDEX IF NOT EXISTS idx_price_markdowns_shop_product ON price_markdowns (shop_id, product_id, ended_at);
@@ -0,0 +1,7 @@
+-- =====================================================================
+-- Price history series: one product's adjustments over a date range,
+-- read in (adjustment_date, adjustment_id) order for keyset paging.
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_pricing_adjustments_product_date
+    ON pricing_adjustments (product_id, adjustment_date, adjustment_id);
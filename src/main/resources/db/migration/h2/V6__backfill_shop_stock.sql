@@ -0,0 +1,9 @@
+-- =====================================================================
+-- H2 twin of postgresql/V6__backfill_shop_stock.sql (sequence syntax only).
+-- =====================================================================
+INSERT INTO shop_stock (shop_stock_id, shop_id, product_id, quantity_in_stock,
+                        avg_landing_costusd, avg_landing_costzwl, selling_priceusd, selling_pricezwl)
+SELECT NEXT VALUE FOR shop_stock_seq, s.id, p.product_id, 0, 0, 0, 0, 0
+FROM shops s
+CROSS JOIN products p
+WHERE NOT EXISTS (SELECT 1 FROM shop_stock x WHERE x.shop_id = s.id AND x.product_id = p.product_id);
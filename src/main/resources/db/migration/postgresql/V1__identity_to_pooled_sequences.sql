@@ -0,0 +1,45 @@
+-- =====================================================================
+-- Move every primary key from IDENTITY columns to pooled sequences.
+--
+-- IDENTITY keys force Hibernate to execute each INSERT immediately to
+-- read back the generated id, which disables JDBC insert batching.
+-- Sequences incremented by 50 match @SequenceGenerator(allocationSize = 50)
+-- so Hibernate's pooled optimizer hands out 50 ids per nextval() call.
+--
+-- Safe on both a fresh database (tables are created afterwards) and on an
+-- existing one created by ddl-auto=update (sequences start past MAX(id)).
+-- =====================================================================
+DO $$
+DECLARE
+    r RECORD;
+BEGIN
+    FOR r IN
+        SELECT *
+        FROM (VALUES
+                  ('shops',                'id',                     'shops_seq'),
+                  ('users',                'user_id',                'users_seq'),
+                  ('products',             'product_id',             'products_seq'),
+                  ('shop_stock',           'shop_stock_id',          'shop_stock_seq'),
+                  ('expense_categories',   'id',                     'expense_categories_seq'),
+                  ('expenses',             'expense_id',             'expenses_seq'),
+                  ('purchase_orders',      'purchase_order_id',      'purchase_orders_seq'),
+                  ('purchase_order_items', 'purchase_order_item_id', 'purchase_order_items_seq'),
+                  ('sales',                'sale_id',                'sales_seq'),
+                  ('sale_items',           'sale_item_id',           'sale_items_seq'),
+                  ('stock_logs',           'stock_log_id',           'stock_logs_seq'),
+                  ('stock_transfers',      'id',                     'stock_transfers_seq'),
+                  ('pricing_adjustments',  'adjustment_id',          'pricing_adjustments_seq')
+             ) AS t(table_name, id_column, sequence_name)
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', r.sequence_name);
+
+        IF to_regclass(r.table_name) IS NOT NULL THEN
+            -- Drop the identity default so ids only come from the sequence
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP IDENTITY IF EXISTS', r.table_name, r.id_column);
+
+            -- Pooled optimizer uses [nextval - 49, nextval], so start one block past the current max id
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(%I) FROM %I), 0) + 50, false)',
+                           r.sequence_name, r.id_column, r.table_name);
+        END IF;
+    END LOOP;
+END $$;
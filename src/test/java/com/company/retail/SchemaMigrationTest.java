@@ -0,0 +1,53 @@
+package com.company.retail;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Runs the Flyway migrations against the H2 test database.
+ * The context only starts if Hibernate's ddl-auto=validate accepts the migrated schema.
+ */
+class SchemaMigrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allMigrationsApplied() {
+        MigrationInfo[] pending = flyway.info().pending();
+        assertEquals(0, pending.length, "Pending migrations: " + Arrays.toString(pending));
+
+        MigrationInfo current = flyway.info().current();
+        assertNotNull(current);
+        assertTrue(current.getVersion().getMajor().intValue() >= 3);
+    }
+
+    @Test
+    void queryIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes", String.class);
+
+        for (String expected : List.of(
+                "idx_sales_shop_sale_date",
+                "idx_sales_sale_date",
+                "idx_sale_items_sale",
+                "idx_stock_logs_shop_date",
+                "idx_stock_logs_product_date",
+                "idx_expenses_date",
+                "idx_expenses_shop_date",
+                "idx_pricing_adjustments_product")) {
+            assertTrue(indexes.contains(expected), "Missing index " + expected);
+        }
+    }
+}
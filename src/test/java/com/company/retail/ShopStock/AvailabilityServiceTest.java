@@ -0,0 +1,157 @@
+package com.company.retail.ShopStock;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.availability.AvailabilityIndex;
+import com.company.retail.ShopStock.availability.AvailabilityService;
+import com.company.retail.ShopStock.dto.ShopAvailabilityDTO;
+import com.company.retail.ShopStock.dto.StockDelta;
+import com.company.retail.ShopStock.stream.ShopStockChangedEvent;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.shop.ShopChangedEvent;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AvailabilityServiceTest extends BaseIntegrationTest {
+
+    @Autowired private AvailabilityService availabilityService;
+    @Autowired private AvailabilityIndex availabilityIndex;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private EntityManager entityManager;
+
+    private ShopModel harare;
+    private ShopModel chitungwiza;
+    private ShopModel bulawayo;
+    private ShopModel unlocated;
+    private ProductModel oil;
+    private ProductModel salt;
+
+    @BeforeEach
+    void seed() {
+        harare = shop("Availability Harare", -17.8292, 31.0522);
+        chitungwiza = shop("Availability Chitungwiza", -18.0127, 31.0756);
+        bulawayo = shop("Availability Bulawayo", -20.1325, 28.6265);
+        unlocated = shop("Availability Unlocated", null, null);
+        oil = product("Availability Oil 2L");
+        salt = product("Availability Salt 1kg");
+
+        stock(harare, oil, 3);
+        stock(chitungwiza, oil, 5);
+        stock(bulawayo, oil, 50);
+        stock(unlocated, oil, 100);
+        stock(bulawayo, salt, 10);
+        entityManager.flush();
+        availabilityIndex.reload();
+    }
+
+    @Test
+    void nearestShopsFirstExcludingTheAskingShop() {
+        Map<Long, List<ShopAvailabilityDTO>> result = availabilityService.findShopsWithStock(
+                List.of(oil.getProductId(), salt.getProductId()), 5, harare.getId(), null, null, 5);
+
+        assertThat(result.get(oil.getProductId())).extracting(ShopAvailabilityDTO::getShopId)
+                .containsExactly(chitungwiza.getId(), bulawayo.getId(), unlocated.getId());
+        assertThat(result.get(oil.getProductId()).get(0).getDistanceKm()).isBetween(15.0, 25.0);
+        assertThat(result.get(oil.getProductId()).get(2).getDistanceKm()).isNull();
+        assertThat(result.get(salt.getProductId())).extracting(ShopAvailabilityDTO::getShopId)
+                .containsExactly(bulawayo.getId());
+
+        assertThat(availabilityService.findShopsWithStock(List.of(oil.getProductId()), 10, harare.getId(), null, null, 1)
+                .get(oil.getProductId())).extracting(ShopAvailabilityDTO::getShopId)
+                .containsExactly(bulawayo.getId());
+    }
+
+    @Test
+    void withoutAnOriginMostUnitsComeFirst() {
+        assertThat(availabilityService.findShopsWithStock(List.of(oil.getProductId()), 1, null, null, null, 2)
+                .get(oil.getProductId())).extracting(ShopAvailabilityDTO::getQuantity)
+                .containsExactly(100, 50);
+
+        assertThatThrownBy(() -> availabilityService.findShopsWithStock(List.of(oil.getProductId()), 1, null, 1.0, null, 5))
+                .hasMessageContaining("latitude and longitude");
+    }
+
+    @Test
+    void committedChangesUpdateTheIndexWithoutAReload() {
+        assertThat(availabilityService.onHand(List.of(oil.getProductId(), salt.getProductId())))
+                .containsEntry(oil.getProductId(), 158L)
+                .containsEntry(salt.getProductId(), 10L);
+
+        // What the after-commit listeners receive once a sale or a transfer commits
+        availabilityIndex.onStockChanged(new ShopStockChangedEvent(chitungwiza.getId(),
+                new StockDelta(oil.getProductId(), 0, null, null), 1));
+        availabilityIndex.onStockChanged(new ShopStockChangedEvent(harare.getId(),
+                new StockDelta(salt.getProductId(), 7, null, null), 1));
+        availabilityIndex.onShopChanged(ShopChangedEvent.deleted(unlocated.getId()));
+
+        assertThat(availabilityService.onHand(List.of(oil.getProductId(), salt.getProductId())))
+                .containsEntry(oil.getProductId(), 53L)
+                .containsEntry(salt.getProductId(), 17L);
+        assertThat(availabilityService.findShopsWithStock(List.of(oil.getProductId()), 1, harare.getId(), null, null, 5)
+                .get(oil.getProductId())).extracting(ShopAvailabilityDTO::getShopId)
+                .containsExactly(bulawayo.getId());
+    }
+
+    @Test
+    void aChangeDeliveredAfterALaterOneIsIgnored() {
+        // Two sales of salt in Bulawayo commit 10 -> 8 -> 5, but their listeners run in reverse
+        availabilityIndex.onStockChanged(new ShopStockChangedEvent(bulawayo.getId(),
+                new StockDelta(salt.getProductId(), 5, null, null), 2));
+        availabilityIndex.onStockChanged(new ShopStockChangedEvent(bulawayo.getId(),
+                new StockDelta(salt.getProductId(), 8, null, null), 1));
+        assertThat(availabilityIndex.quantity(salt.getProductId(), bulawayo.getId())).isEqualTo(5);
+
+        // A deleted row applies whatever it held, and the row can start over from version 0
+        availabilityIndex.onStockChanged(new ShopStockChangedEvent(bulawayo.getId(),
+                new StockDelta(salt.getProductId(), 0, null, null), ShopStockChangedEvent.REMOVED));
+        availabilityIndex.onStockChanged(new ShopStockChangedEvent(bulawayo.getId(),
+                new StockDelta(salt.getProductId(), 4, null, null), 0));
+        assertThat(availabilityIndex.quantity(salt.getProductId(), bulawayo.getId())).isEqualTo(4);
+    }
+
+    @Test
+    void everyWriteOfARowBumpsItsChangeVersion() {
+        ShopStockModel row = shopStockRepository.findByShopAndProduct(bulawayo, salt).orElseThrow();
+        int before = row.getChangeVersion();
+        row.setQuantityInStock(9);
+        entityManager.flush();
+        row.setQuantityInStock(8);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(shopStockRepository.findByShopAndProduct(bulawayo, salt).orElseThrow().getChangeVersion())
+                .isEqualTo(before + 2);
+    }
+
+    private ShopModel shop(String name, Double latitude, Double longitude) {
+        ShopModel shop = new ShopModel();
+        shop.setShopName(name);
+        shop.setLatitude(latitude);
+        shop.setLongitude(longitude);
+        return shopRepository.save(shop);
+    }
+
+    private ProductModel product(String name) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        return productRepository.save(product);
+    }
+
+    private void stock(ShopModel shop, ProductModel product, int quantity) {
+        ShopStockModel row = new ShopStockModel(shop, product);
+        row.setQuantityInStock(quantity);
+        shopStockRepository.save(row);
+    }
+}
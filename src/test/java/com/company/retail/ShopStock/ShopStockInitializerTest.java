@@ -0,0 +1,92 @@
+package com.company.retail.ShopStock;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.ProductService;
+import com.company.retail.product.dto.BulkProductResultDTO;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.shop.ShopService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShopStockInitializerTest extends BaseIntegrationTest {
+
+    @Autowired private ShopService shopService;
+    @Autowired private ProductService productService;
+    @Autowired private ShopStockInitializer initializer;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+
+    @Test
+    void newShopsAndProductsGetARowForEveryPair() {
+        ProductModel rice = productService.createProduct(product("Init Rice 2kg"));
+        ShopModel harare = shopService.createShop(shop("Init Harare"));
+        ShopModel bulawayo = shopService.createShop(shop("Init Bulawayo"));
+        ProductModel oil = productService.createProduct(product("Init Oil 2L"));
+
+        long shops = shopRepository.count();
+        long products = productRepository.count();
+        assertThat(shopStockRepository.findByShop_Id(harare.getId())).hasSize((int) products);
+        assertThat(shopStockRepository.findByShop_Id(bulawayo.getId()))
+                .extracting(s -> s.getProduct().getProductId())
+                .contains(rice.getProductId(), oil.getProductId());
+        assertThat(shopStockRepository.findByProduct(oil)).hasSize((int) shops)
+                .allSatisfy(s -> assertThat(s.getQuantityInStock()).isZero());
+
+        // ✅ Repeating is a no-op
+        assertThat(initializer.initializeForShop(harare.getId())).isZero();
+        assertThat(initializer.initializeForProduct(oil.getProductId())).isZero();
+    }
+
+    @Test
+    void bulkCreateInsertsProductsTimesShops() {
+        shopService.createShop(shop("Bulk Shop A"));
+        shopService.createShop(shop("Bulk Shop B"));
+        long shops = shopRepository.count();
+
+        List<ProductModel> products = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            products.add(product("Bulk Item " + i));
+        }
+        products.get(0).setBarcodes(List.of("BULK-0"));
+
+        BulkProductResultDTO result = productService.createProducts(products);
+
+        assertThat(result.getProducts()).isEqualTo(120);
+        assertThat(result.getShopStockRows()).isEqualTo(120 * (int) shops);
+        assertThat(products).allSatisfy(p -> assertThat(p.getChangeVersion()).isEqualTo(products.get(0).getChangeVersion()));
+    }
+
+    @Test
+    void bulkCreateRejectsNamesThatAlreadyExist() {
+        productService.createProduct(product("Bulk Existing"));
+
+        assertThatThrownBy(() -> productService.createProducts(List.of(product("bulk existing"))))
+                .hasMessageContaining("already exists");
+        assertThatThrownBy(() -> productService.createProducts(List.of(product("Bulk X"), product("BULK X"))))
+                .hasMessageContaining("Duplicate");
+    }
+
+    private static ProductModel product(String name) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        product.setSellingPriceUSD(1.0);
+        product.setSellingPriceZWL(36.0);
+        return product;
+    }
+
+    private static ShopModel shop(String name) {
+        ShopModel shop = new ShopModel();
+        shop.setShopName(name);
+        return shop;
+    }
+}
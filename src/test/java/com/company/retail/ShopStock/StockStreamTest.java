@@ -0,0 +1,171 @@
+package com.company.retail.ShopStock;
+
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.security.JwtService;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.user.UserModel;
+import com.company.retail.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ SSE stock stream over a real connection: live deltas after commit, coalescing, resume.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class StockStreamTest {
+
+    @LocalServerPort private int port;
+    @Autowired private ShopStockService shopStockService;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtService jwtService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ShopModel shop;
+    private ProductModel product;
+    private UserModel user;
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        shop = new ShopModel();
+        shop.setShopName("Stream Shop");
+        shop = shopRepository.save(shop);
+        product = new ProductModel();
+        product.setProductName("Stream Product");
+        product = productRepository.save(product);
+        ShopStockModel stock = new ShopStockModel(shop, product);
+        stock.setQuantityInStock(10);
+        shopStockRepository.save(stock);
+        user = UserModel.builder().username("stream-user").password("x").build();
+        user.setRoles(Set.of(UserModel.Role.ROLE_ADMIN));
+        user = userRepository.save(user);
+        token = jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        shopStockRepository.deleteAll(shopStockRepository.findByShop_Id(shop.getId()));
+        productRepository.delete(product);
+        shopRepository.delete(shop);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void pushesCoalescedDeltasAndResumesFromLastEventId() throws Exception {
+        String lastId;
+        try (Connection stream = connect(null)) {
+            Event ready = stream.next();
+            assertThat(ready.name()).isEqualTo("ready");
+
+            // Three quick sales-like decrements coalesce into the latest quantity
+            shopStockService.adjustStock(shop.getId(), product.getProductId(), 2, null, null);
+            shopStockService.adjustStock(shop.getId(), product.getProductId(), 3, null, null);
+            shopStockService.adjustStock(shop.getId(), product.getProductId(), 4, 1.25, null);
+
+            Event stock = stream.next();
+            while (!stock.data().contains("\"quantity\":1")) {
+                stock = stream.next();
+            }
+            assertThat(stock.name()).isEqualTo("stock");
+            assertThat(stock.data()).contains("\"productId\":" + product.getProductId())
+                    .contains("\"avgCostUSD\":1.25");
+            lastId = stock.id();
+        }
+
+        // Changed while disconnected: the reconnect only gets what it missed
+        shopStockService.adjustStock(shop.getId(), product.getProductId(), -5, null, null);
+        try (Connection resumed = connect(lastId)) {
+            Event missed = resumed.next();
+            assertThat(missed.name()).isEqualTo("stock");
+            assertThat(missed.data()).contains("\"quantity\":6");
+        }
+
+        // An id from another server run cannot be resumed
+        try (Connection stale = connect("1:42")) {
+            assertThat(stale.next().name()).isEqualTo("reset");
+        }
+    }
+
+    private Connection connect(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/shop-stock/shop/" + shop.getId() + "/stream"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new Connection(response.body());
+    }
+
+    private record Event(String id, String name, String data) { }
+
+    // Reads SSE frames off the line stream on a background thread
+    private static final class Connection implements AutoCloseable {
+        private final Stream<String> lines;
+        private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+
+        Connection(Stream<String> lines) {
+            this.lines = lines;
+            Thread reader = new Thread(() -> {
+                String id = null, name = null;
+                StringBuilder data = new StringBuilder();
+                try {
+                    for (String line : (Iterable<String>) lines::iterator) {
+                        if (line.isEmpty()) {
+                            if (name != null) events.add(new Event(id, name, data.toString()));
+                            id = null;
+                            name = null;
+                            data.setLength(0);
+                        } else if (line.startsWith("id:")) {
+                            id = line.substring(3);
+                        } else if (line.startsWith("event:")) {
+                            name = line.substring(6);
+                        } else if (line.startsWith("data:")) {
+                            data.append(line.substring(5));
+                        }
+                    }
+                } catch (RuntimeException closed) {
+                    // stream closed by the test
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        Event next() throws InterruptedException {
+            Event event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("SSE event within 5s").isNotNull();
+            return event;
+        }
+
+        @Override
+        public void close() {
+            lines.close();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.company.retail.benchmark;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.expense.ExpenseModel;
+import com.company.retail.expense.ExpenseRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.ProductService;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import com.company.retail.purchaseorder.PurchaseOrderModel;
+import com.company.retail.purchaseorder.PurchaseOrderRepository;
+import com.company.retail.purchaseorder.PurchaseOrderService;
+import com.company.retail.saleItem.SaleItemModel;
+import com.company.retail.sales.SalesModel;
+import com.company.retail.sales.SalesService;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.user.UserModel;
+import com.company.retail.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement count + latency of the write-heavy paths with and without JDBC batching.
+ *
+ * Sequence ids (pooled, allocationSize = 50) are what make batching possible at all;
+ * the "unbatched" column forces a JDBC batch size of 1 on the session, which is what
+ * every insert looked like with GenerationType.IDENTITY.
+ *
+ * Inputs (e.g. the order to complete) are prepared in their own transactions before
+ * the clock starts, so only the operation itself is counted and timed.
+ *
+ * Run with: mvn test -Pbenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WriteBatchingBenchmarkTest {
+
+    private static final int SHOPS = 20;
+    private static final int BASKET_LINES = 15;
+    private static final int ORDER_LINES = 200;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired private ProductService productService;
+    @Autowired private SalesService salesService;
+    @Autowired private PurchaseOrderService purchaseOrderService;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private PurchaseOrderItemRepository purchaseOrderItemRepository;
+    @Autowired private ExpenseRepository expenseRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private ShopModel shop;
+    private UserModel cashier;
+    private final List<ProductModel> catalogue = new ArrayList<>();
+    private int productSeq;
+
+    @BeforeAll
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < SHOPS; i++) {
+                ShopModel s = shopRepository.save(ShopModel.builder().shopName("Bench Shop " + i).build());
+                if (shop == null) shop = s;
+            }
+            cashier = userRepository.findByUsername("admin").orElseThrow();
+        });
+
+        for (int i = 0; i < ORDER_LINES; i++) {
+            catalogue.add(productService.createProduct(newProduct()));
+        }
+
+        // Plenty of stock in the benchmark shop so checkouts never run dry
+        tx.executeWithoutResult(status -> shopStockRepository.findByShop_Id(shop.getId()).forEach(s -> {
+            s.setQuantityInStock(1_000_000);
+            s.setAvgLandingCostUSD(1.0);
+            s.setAvgLandingCostZWL(10.0);
+        }));
+    }
+
+    @Test
+    void createProduct() {
+        report("ProductService.createProduct (" + SHOPS + " shops)",
+                this::newProduct, productService::createProduct);
+    }
+
+    @Test
+    void createSale() {
+        report("SalesService.createSale (" + BASKET_LINES + " lines)",
+                this::basket, sale -> salesService.createSale(sale, shop.getId(), cashier.getUserId()));
+    }
+
+    @Test
+    void completeOrder() {
+        report("PurchaseOrderService.markOrderAsCompleted (" + ORDER_LINES + " lines)",
+                () -> tx.execute(status -> seedOrder().getPurchaseOrderId()), purchaseOrderService::markOrderAsCompleted);
+    }
+
+    // ------------------------------------------------------------------
+
+    private <T> void report(String name, Supplier<T> input, Consumer<T> operation) {
+        Result unbatched = measure(input, operation, 1);
+        Result batched = measure(input, operation, null);
+
+        log.info("{}: JDBC statements / op {} unbatched, {} batched; mean latency {} ms unbatched, {} ms batched",
+                name, unbatched.statements, batched.statements,
+                String.format("%.2f", unbatched.millis), String.format("%.2f", batched.millis));
+
+        assertThat(batched.statements).isGreaterThan(0);
+        assertThat(batched.statements).isLessThanOrEqualTo(unbatched.statements);
+    }
+
+    private <T> Result measure(Supplier<T> input, Consumer<T> operation, Integer jdbcBatchSize) {
+        for (int i = 0; i < WARMUP; i++) {
+            run(operation, input.get(), jdbcBatchSize);
+        }
+        List<T> inputs = new ArrayList<>(ITERATIONS);
+        for (int i = 0; i < ITERATIONS; i++) {
+            inputs.add(input.get());
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (T value : inputs) {
+            run(operation, value, jdbcBatchSize);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(
+                (double) statistics.getPrepareStatementCount() / ITERATIONS,
+                elapsed / 1_000_000.0 / ITERATIONS);
+    }
+
+    private <T> void run(Consumer<T> operation, T value, Integer jdbcBatchSize) {
+        tx.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            operation.accept(value);
+        });
+    }
+
+    private ProductModel newProduct() {
+        return ProductModel.builder()
+                .productName("Bench Product " + (productSeq++))
+                .category("Bench")
+                .unit("each")
+                .reorderLevel(5)
+                .sellingPriceUSD(2.0)
+                .sellingPriceZWL(20.0)
+                .build();
+    }
+
+    private SalesModel basket() {
+        SalesModel sale = new SalesModel();
+        for (int i = 0; i < BASKET_LINES; i++) {
+            SaleItemModel item = new SaleItemModel();
+            item.setProduct(new ProductModel(catalogue.get(i).getProductId()));
+            item.setQuantity(1 + i % 3);
+            sale.getSaleItems().add(item);
+        }
+        return sale;
+    }
+
+    private PurchaseOrderModel seedOrder() {
+        PurchaseOrderModel order = purchaseOrderRepository.save(PurchaseOrderModel.builder()
+                .supplierName("Bench Supplier")
+                .shop(shop)
+                .status(PurchaseOrderModel.Status.PENDING)
+                .build());
+        List<PurchaseOrderItemModel> items = new ArrayList<>();
+        for (ProductModel product : catalogue) {
+            items.add(PurchaseOrderItemModel.builder()
+                    .purchaseOrder(order)
+                    .product(product)
+                    .quantity(10)
+                    .unitPurchasePriceUSD(1.5)
+                    .unitPurchasePriceZWL(15.0)
+                    .totalCostUSD(15.0)
+                    .totalCostZWL(150.0)
+                    .build());
+        }
+        purchaseOrderItemRepository.saveAll(items);
+        expenseRepository.save(ExpenseModel.builder().shop(shop).purchaseOrder(order).amountUSD(150.0).amountZWL(1500.0).build());
+        return order;
+    }
+
+    private record Result(double statements, double millis) { }
+}
@@ -0,0 +1,78 @@
+package com.company.retail.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Read-only transactions use the replica pool; read-write ones (and reads while
+ * the replica is considered lagging) use the primary pool.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @BeforeEach
+    void refreshLag() {
+        replicaLagMonitor.checkLag();
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertEquals("replica", poolUsedBy(true));
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        assertEquals("primary", poolUsedBy(false));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        ReplicaLagMonitor lagging = new ReplicaLagMonitor(replica, "SELECT 120", 30);
+        lagging.checkLag();
+        assertFalse(lagging.isReplicaUsable());
+
+        ReplicaLagMonitor broken = new ReplicaLagMonitor(replica, "SELECT no_such_column", 30);
+        broken.checkLag();
+        assertFalse(broken.isReplicaUsable());
+    }
+
+    private String poolUsedBy(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shops", Long.class);
+            if (replica.getHikariPoolMXBean().getActiveConnections() > 0) return replica.getPoolName();
+            if (primary.getHikariPoolMXBean().getActiveConnections() > 0) return primary.getPoolName();
+            return "none";
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.retail.datagen;
+
+import com.company.retail.loadtest.LoadDriver;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ Small generator run on its own in-memory database, then a short load-driver run against it.
+ *
+ * Run with: mvn test -Pload
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:retail_datagen;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "app.datasource.replica.url=jdbc:h2:mem:retail_datagen;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "app.datagen.shops=3",
+                "app.datagen.products=200",
+                "app.datagen.cashiers-per-shop=2",
+                "app.datagen.sales=3000",
+                "app.datagen.days=30",
+                "app.datagen.batch-size=500",
+                "logging.level.com.company.retail=info"
+        })
+@ActiveProfiles({"test", "datagen"})
+class SyntheticDataGeneratorTest {
+
+    @LocalServerPort private int port;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ShopRepository shopRepository;
+
+    @Test
+    void generatesRealisticVolumesAndKeepsSequencesUsable() throws Exception {
+        assertThat(count("SELECT COUNT(*) FROM shops WHERE shop_name LIKE 'LT Shop %'")).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM users WHERE username LIKE 'lt-cashier-%'")).isEqualTo(6);
+        assertThat(count("SELECT COUNT(*) FROM shop_stock")).isEqualTo(600);
+        assertThat(count("SELECT COUNT(*) FROM sales")).isEqualTo(3000);
+        assertThat(count("SELECT COUNT(*) FROM expenses")).isEqualTo(3 * 30 * 2);
+
+        long lines = count("SELECT COUNT(*) FROM sale_items");
+        assertThat(lines / 3000.0).isBetween(2.0, 4.0);
+        assertThat(count("SELECT COUNT(*) FROM stock_logs")).isEqualTo(lines);
+
+        // Zipf shop traffic: the first shop is the busiest
+        long first = count("SELECT COUNT(*) FROM sales s JOIN shops sh ON sh.id = s.shop_id WHERE sh.shop_name = 'LT Shop 1'");
+        long last = count("SELECT COUNT(*) FROM sales s JOIN shops sh ON sh.id = s.shop_id WHERE sh.shop_name = 'LT Shop 3'");
+        assertThat(first).isGreaterThan(last);
+
+        // Hibernate ids continue above the generated rows
+        ShopModel shop = new ShopModel();
+        shop.setShopName("After Datagen");
+        assertThat(shopRepository.save(shop).getId()).isGreaterThan(count("SELECT MAX(id) FROM shops WHERE shop_name <> 'After Datagen'"));
+
+        LoadDriver.Report report;
+        try (LoadDriver driver = new LoadDriver(new LoadDriver.Config(
+                "http://localhost:" + port, 20, Duration.ofSeconds(3), Duration.ZERO,
+                3, 2, "loadtest", 100, 1))) {
+            report = driver.run();
+        }
+        report.print();
+        assertThat(report.requests()).isGreaterThan(40);
+        assertThat(report.errorRate()).isZero();
+        assertThat(report.endpoint("POST /api/sales/{shop}/{cashier}").count()).isPositive();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
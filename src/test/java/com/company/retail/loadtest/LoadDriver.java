@@ -0,0 +1,355 @@
+package com.company.retail.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ Open-model HTTP load driver for a running retail backend seeded by the "datagen" profile.
+ *
+ * Requests are started on a fixed schedule (target rate) whatever the server's response times,
+ * and latency is measured from the scheduled start, so a stalled server shows up as queueing
+ * delay instead of silently lowering the offered load.
+ *
+ * Mix (weights): checkout 35, product lookup 30, stock view 15, dashboard 10, login 10.
+ *
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.baseUrl=http://localhost:8080 -Dloadtest.rate=100 -Dloadtest.duration=120
+ */
+public class LoadDriver implements AutoCloseable {
+
+    public record Config(String baseUrl, double ratePerSecond, Duration duration, Duration warmup,
+                         int shops, int cashiersPerShop, String password, int maxInFlight, long seed) {
+
+        static Config fromSystemProperties() {
+            return new Config(
+                    System.getProperty("loadtest.baseUrl", "http://localhost:8080"),
+                    Double.parseDouble(System.getProperty("loadtest.rate", "50")),
+                    Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.duration", "60"))),
+                    Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.warmup", "10"))),
+                    Integer.parseInt(System.getProperty("loadtest.shops", "20")),
+                    Integer.parseInt(System.getProperty("loadtest.cashiersPerShop", "4")),
+                    System.getProperty("loadtest.password", "loadtest"),
+                    Integer.parseInt(System.getProperty("loadtest.maxInFlight", "2000")),
+                    Long.parseLong(System.getProperty("loadtest.seed", "7")));
+        }
+    }
+
+    private enum Operation {
+        CHECKOUT("POST /api/sales/{shop}/{cashier}", 35),
+        PRODUCT_LOOKUP("GET /api/products/{id}", 30),
+        STOCK_VIEW("GET /api/shop-stock/shop/{shop}", 15),
+        DASHBOARD("GET /api/reports/dashboard", 10),
+        LOGIN("POST /api/users/login", 10);
+
+        final String label;
+        final int weight;
+
+        Operation(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    // Logged-in cashier: token plus the shop/user ids returned by /api/users/login
+    private record Session(String username, String token, long shopId, long userId) { }
+
+    private static final String[] PAYMENT_METHODS = {"CASH", "ECOCASH", "CARD", "SWIPE"};
+
+    private final Config config;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final HttpClient client;
+    private final Random random;
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+    private final Map<Long, long[]> productsByShop = new ConcurrentHashMap<>();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    public LoadDriver(Config config) {
+        this.config = config;
+        this.random = new Random(config.seed());
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        for (Operation op : Operation.values()) {
+            stats.put(op, new EndpointStats(op.label));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Report report;
+        try (LoadDriver driver = new LoadDriver(Config.fromSystemProperties())) {
+            report = driver.run();
+        }
+        report.print();
+        System.exit(report.errorRate() > 0.01 ? 1 : 0);
+    }
+
+    public Report run() throws Exception {
+        logInAllCashiers();
+        System.out.printf("Logged in %d cashiers; warmup %ds, then %ds at %.0f req/s%n",
+                sessions.size(), config.warmup().toSeconds(), config.duration().toSeconds(), config.ratePerSecond());
+
+        if (!config.warmup().isZero()) {
+            drive(config.warmup(), false);
+        }
+        long started = System.nanoTime();
+        drive(config.duration(), true);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        return new Report(new ArrayList<>(stats.values()), dropped.get(), elapsedSeconds, config.ratePerSecond());
+    }
+
+    // ✅ The client's response threads; HttpClient itself has no close() before Java 21
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    // ============================================================
+    // 🚦 Open-model scheduler
+    // ============================================================
+    private void drive(Duration duration, boolean record) throws InterruptedException {
+        long periodNanos = (long) (1_000_000_000L / config.ratePerSecond());
+        long total = (long) (duration.toNanos() / (double) periodNanos);
+        long start = System.nanoTime();
+        Phaser pending = new Phaser(1);
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * periodNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (inFlight.get() >= config.maxInFlight()) {
+                if (record) dropped.incrementAndGet();
+                continue;
+            }
+            Operation op = pickOperation();
+            inFlight.incrementAndGet();
+            pending.register();
+            send(op).whenComplete((status, error) -> {
+                long latency = System.nanoTime() - intended;
+                inFlight.decrementAndGet();
+                if (record) {
+                    stats.get(op).record(latency, error == null && status >= 200 && status < 300);
+                }
+                pending.arriveAndDeregister();
+            });
+        }
+        try {
+            pending.awaitAdvanceInterruptibly(pending.arrive(), 60, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            System.out.println("⚠️ " + inFlight.get() + " requests still in flight after 60s");
+        }
+    }
+
+    private Operation pickOperation() {
+        int total = Arrays.stream(Operation.values()).mapToInt(op -> op.weight).sum();
+        int roll = random.nextInt(total);
+        for (Operation op : Operation.values()) {
+            roll -= op.weight;
+            if (roll < 0) return op;
+        }
+        return Operation.CHECKOUT;
+    }
+
+    private CompletableFuture<Integer> send(Operation op) {
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        return switch (op) {
+            case CHECKOUT -> post("/api/sales/" + session.shopId() + "/" + session.userId(), basket(session), session.token());
+            case PRODUCT_LOOKUP -> get("/api/products/" + randomProduct(session), session.token());
+            case STOCK_VIEW -> get("/api/shop-stock/shop/" + session.shopId(), session.token());
+            case DASHBOARD -> get("/api/reports/dashboard?date=" + LocalDate.now(), session.token());
+            case LOGIN -> login(session.username()).thenApply(fresh -> {
+                int index = sessions.indexOf(session);
+                if (index >= 0) sessions.set(index, fresh);
+                return 200;
+            });
+        };
+    }
+
+    // ============================================================
+    // 🛒 Request bodies
+    // ============================================================
+    private String basket(Session session) {
+        int lines = 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(0.65));
+        Set<Long> products = new LinkedHashSet<>();
+        while (products.size() < Math.min(lines, 30)) {
+            products.add(randomProduct(session));
+        }
+        StringJoiner items = new StringJoiner(",");
+        for (long productId : products) {
+            items.add("{\"product\":{\"productId\":" + productId + "},\"quantity\":" + (random.nextDouble() < 0.7 ? 1 : 2) + "}");
+        }
+        return "{\"paymentMethod\":\"" + PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]
+                + "\",\"saleItems\":[" + items + "]}";
+    }
+
+    // Skewed towards the front of the shop's list, like real best-sellers
+    private long randomProduct(Session session) {
+        long[] products = productsByShop.get(session.shopId());
+        double u = random.nextDouble();
+        return products[(int) (u * u * products.length)];
+    }
+
+    // ============================================================
+    // 🔐 Sessions
+    // ============================================================
+    private void logInAllCashiers() throws Exception {
+        for (int s = 1; s <= config.shops(); s++) {
+            for (int c = 1; c <= config.cashiersPerShop(); c++) {
+                Session session = login("lt-cashier-" + s + "-" + c).get(30, TimeUnit.SECONDS);
+                sessions.add(session);
+                if (!productsByShop.containsKey(session.shopId())) {
+                    productsByShop.put(session.shopId(), stockedProducts(session));
+                }
+            }
+        }
+    }
+
+    private long[] stockedProducts(Session session) throws Exception {
+        HttpResponse<String> response = client.send(request("/api/shop-stock/shop/" + session.shopId(), session.token())
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode row : mapper.readTree(response.body())) {
+            if (row.path("quantityInStock").asInt() > 100) {
+                ids.add(row.path("productId").asLong());
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Shop " + session.shopId() + " has no stock — run the datagen profile first");
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private CompletableFuture<Session> login(String username) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + config.password() + "\"}";
+        return client.sendAsync(request("/api/users/login", null)
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode());
+                    }
+                    try {
+                        JsonNode json = mapper.readTree(response.body());
+                        return new Session(username, json.get("token").asText(),
+                                json.get("shopId").asLong(), json.get("userId").asLong());
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Unreadable login response for " + username, e);
+                    }
+                });
+    }
+
+    // ============================================================
+    // 🌐 HTTP
+    // ============================================================
+    private CompletableFuture<Integer> get(String path, String token) {
+        return client.sendAsync(request(path, token).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private CompletableFuture<Integer> post(String path, String body, String token) {
+        return client.sendAsync(request(path, token).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                        HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // ============================================================
+    // 📊 Results
+    // ============================================================
+    public record Report(List<EndpointStats> endpoints, int dropped, double elapsedSeconds, double targetRate) {
+
+        public long requests() {
+            return endpoints.stream().mapToLong(EndpointStats::count).sum();
+        }
+
+        public double errorRate() {
+            long requests = requests();
+            return requests == 0 ? 0 : (double) endpoints.stream().mapToLong(EndpointStats::errors).sum() / requests;
+        }
+
+        public EndpointStats endpoint(String label) {
+            return endpoints.stream().filter(e -> e.label().equals(label)).findFirst().orElseThrow();
+        }
+
+        public void print() {
+            System.out.printf("%n%-36s %8s %7s %9s %9s %9s %9s %9s%n",
+                    "Endpoint", "Count", "Err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (EndpointStats e : endpoints) {
+                System.out.printf("%-36s %8d %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                        e.label(), e.count(), e.errorRate() * 100, e.percentileMillis(50), e.percentileMillis(90),
+                        e.percentileMillis(99), e.percentileMillis(99.9), e.percentileMillis(100));
+            }
+            System.out.printf("%nTotal %d requests in %.1fs (%.1f req/s, target %.1f), error rate %.2f%%, dropped %d%n",
+                    requests(), elapsedSeconds, requests() / elapsedSeconds, targetRate, errorRate() * 100, dropped);
+        }
+    }
+
+    public static final class EndpointStats {
+
+        private final String label;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        EndpointStats(String label) {
+            this.label = label;
+        }
+
+        synchronized void record(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) errors++;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public synchronized long count() {
+            return count;
+        }
+
+        public synchronized long errors() {
+            return errors;
+        }
+
+        public synchronized double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        public synchronized double percentileMillis(double percentile) {
+            if (count == 0) return 0;
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.company.retail.markdown;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.ShopStock.StockBatchModel;
+import com.company.retail.ShopStock.StockBatchRepository;
+import com.company.retail.markdown.dto.MarkdownRunResultDTO;
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import com.company.retail.priceadjustment.PricingAdjustmentRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductService;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownServiceTest extends BaseIntegrationTest {
+
+    @Autowired private MarkdownService markdownService;
+    @Autowired private MarkdownRepository markdownRepository;
+    @Autowired private ProductService productService;
+    @Autowired private ShopService shopService;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private StockBatchRepository stockBatchRepository;
+    @Autowired private PricingAdjustmentRepository pricingAdjustmentRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManager entityManager;
+
+    private final LocalDate today = LocalDate.now();
+    private ShopModel shop;
+    private ProductModel yoghurt;
+    private ShopStockModel stock;
+
+    @BeforeEach
+    void seed() {
+        ShopModel newShop = new ShopModel();
+        newShop.setShopName("Markdown Shop");
+        shop = shopService.createShop(newShop);
+
+        ProductModel product = new ProductModel();
+        product.setProductName("Markdown Yoghurt 500ml");
+        product.setSellingPriceUSD(2.00);
+        product.setSellingPriceZWL(60.0);
+        yoghurt = productService.createProduct(product);
+
+        stock = shopStockRepository.findByShop_IdAndProduct_ProductId(shop.getId(), yoghurt.getProductId())
+                .orElseGet(() -> new ShopStockModel(shop, yoghurt));
+        stock.setQuantityInStock(10);
+        stock = shopStockRepository.save(stock);
+    }
+
+    @Test
+    void tiersFollowDaysLeftAndRerunsChangeNothing() {
+        batch(10, today.plusDays(5), LocalDateTime.now().minusDays(1));
+
+        MarkdownRunResultDTO first = markdownService.run(today);
+        assertThat(first.getStarted()).isEqualTo(1);
+        assertThat(shopPrice()).containsExactly(1.30, 39.0); // 35% off with 5 days left
+
+        MarkdownRunResultDTO again = markdownService.run(today);
+        assertThat(again.getStarted() + again.getRepriced() + again.getEnded()).isZero();
+        assertThat(again.getUnchanged()).isEqualTo(1);
+
+        // 2 days left: 50% off the original price, not off the 35% price
+        assertThat(markdownService.run(today.plusDays(3)).getRepriced()).isEqualTo(1);
+        assertThat(shopPrice()).containsExactly(1.00, 30.0);
+
+        // Sold through: markdown ends and the shop goes back to the global price
+        jdbcTemplate.update("UPDATE shop_stock SET quantity_in_stock = 0 WHERE shop_stock_id = ?", stock.getShopStockId());
+        assertThat(markdownService.run(today.plusDays(3)).getEnded()).isEqualTo(1);
+        assertThat(shopPrice()).containsExactly(0.0, 0.0);
+        assertThat(markdownService.getActive(shop.getId())).isEmpty();
+        assertThat(markdownService.getHistory(shop.getId(), yoghurt.getProductId()))
+                .singleElement()
+                .satisfies(m -> assertThat(m.getMarkdownPercent()).isEqualTo(50));
+        assertThat(pricingAdjustmentRepository.findByProduct_ProductId(yoghurt.getProductId()))
+                .extracting(PricingAdjustmentModel::getReason)
+                .hasSize(3)
+                .containsOnly(PricingAdjustmentModel.AdjustmentType.EXPIRY);
+    }
+
+    @Test
+    void stockFromNewerBatchesIsNotMarkedDownAndManualPricesAreKept() {
+        batch(5, today.plusDays(5), LocalDateTime.now().minusDays(3));
+        batch(10, today.plusDays(60), LocalDateTime.now().minusDays(1));
+
+        // The 10 on hand are all from the newer batch
+        assertThat(markdownService.run(today).getStarted()).isZero();
+        assertThat(markdownRepository.findByShopIdAndEndedAtIsNullOrderByProductId(shop.getId())).isEmpty();
+
+        jdbcTemplate.update("UPDATE shop_stock SET quantity_in_stock = 12 WHERE shop_stock_id = ?", stock.getShopStockId());
+        assertThat(markdownService.run(today).getStarted()).isEqualTo(1);
+        assertThat(shopPrice()).containsExactly(1.30, 39.0);
+
+        // Someone reprices by hand: the markdown ends and leaves their price alone
+        jdbcTemplate.update("UPDATE shop_stock SET selling_priceusd = 1.10 WHERE shop_stock_id = ?", stock.getShopStockId());
+        assertThat(markdownService.run(today.plusDays(3)).getEnded()).isEqualTo(1);
+        assertThat(shopPrice()).containsExactly(1.10, 39.0);
+    }
+
+    private void batch(int quantity, LocalDate expiry, LocalDateTime receivedAt) {
+        stockBatchRepository.save(StockBatchModel.builder()
+                .shop(shop).product(yoghurt).quantity(quantity).expiryDate(expiry).receivedAt(receivedAt).build());
+        entityManager.flush(); // the job reads through JDBC
+    }
+
+    private Double[] shopPrice() {
+        return jdbcTemplate.queryForObject("SELECT selling_priceusd, selling_pricezwl FROM shop_stock WHERE shop_stock_id = ?",
+                (rs, i) -> new Double[]{rs.getDouble(1), rs.getDouble(2)}, stock.getShopStockId());
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.retail.observability;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.saleItem.SaleItemModel;
+import com.company.retail.sales.SalesModel;
+import com.company.retail.sales.SalesRepository;
+import com.company.retail.sales.SalesService;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.stock.StockRepository;
+import com.company.retail.user.UserModel;
+import com.company.retail.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ✅ Checkout metrics end up on /actuator/prometheus (scrape account over HTTP Basic; anonymous
+ * is refused). /actuator/metrics is guarded the same way: a cashier does not get in.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class PrometheusMetricsTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private SalesService salesService;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private SalesRepository salesRepository;
+    @Autowired private StockRepository stockRepository;
+
+    private ShopModel shop;
+    private UserModel cashier;
+    private ProductModel product;
+
+    @Test
+    void checkoutMetricsAreScrapeable() throws Exception {
+        shop = new ShopModel();
+        shop.setShopName("Metrics Shop");
+        shop = shopRepository.save(shop);
+        cashier = userRepository.save(UserModel.builder()
+                .username("metrics-cashier")
+                .password("x")
+                .shop(shop)
+                .build());
+        product = new ProductModel();
+        product.setProductName("Metrics Product");
+        product.setSellingPriceUSD(2.0);
+        product.setSellingPriceZWL(0.0);
+        product = productRepository.save(product);
+        ShopStockModel stock = new ShopStockModel(shop, product);
+        stock.setQuantityInStock(3);
+        shopStockRepository.save(stock);
+
+        Long shopId = shop.getId();
+        Long cashierId = cashier.getUserId();
+        ProductModel sold = product;
+
+        assertThatThrownBy(() -> salesService.createSale(basket(sold, 5), shopId, cashierId))
+                .hasMessageContaining("Insufficient stock");
+        salesService.createSale(basket(sold, 2), shopId, cashierId);
+
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        String body = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "test-scrape")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+                .contains("retail_service_seconds_bucket{")
+                .contains("method=\"createSale\"")
+                .contains("retail_checkout_basket_lines_count")
+                .contains("retail_stock_insufficient_total{")
+                .contains("operation=\"checkout\"")
+                .contains("retail_tx_rollbacks_total{")
+                .contains("name=\"SalesService.createSale\"")
+                .contains("retail_db_pool_saturation{");
+
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics/retail.service").with(user("metrics-cashier").roles("CASHIER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/retail.service").with(user("metrics-admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("prometheus", "test-scrape")))
+                .andExpect(status().isOk());
+    }
+
+    // ✅ createSale commits for real, so clean up for the other integration tests
+    @AfterEach
+    void cleanUp() {
+        if (shop == null) return;
+        salesRepository.deleteAll(salesRepository.findByShop_Id(shop.getId()));
+        stockRepository.deleteAll(stockRepository.findByShop_Id(shop.getId()));
+        shopStockRepository.deleteAll(shopStockRepository.findByShop_Id(shop.getId()));
+        productRepository.delete(product);
+        userRepository.delete(cashier);
+        shopRepository.delete(shop);
+    }
+
+    private SalesModel basket(ProductModel product, int quantity) {
+        SaleItemModel item = new SaleItemModel();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        SalesModel sale = new SalesModel();
+        sale.getSaleItems().add(item);
+        return sale;
+    }
+}
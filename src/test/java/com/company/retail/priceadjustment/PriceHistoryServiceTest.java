@@ -0,0 +1,106 @@
+package com.company.retail.priceadjustment;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.configs.DatabaseSequences;
+import com.company.retail.priceadjustment.dto.PriceHistoryDTO;
+import com.company.retail.priceadjustment.dto.PricePointDTO;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceHistoryServiceTest extends BaseIntegrationTest {
+
+    @Autowired private PriceHistoryService priceHistoryService;
+    @Autowired private ProductService productService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DatabaseSequences sequences;
+
+    // Monday
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    private Long productId;
+
+    @BeforeEach
+    void seed() {
+        ProductModel product = new ProductModel();
+        product.setProductName("History Bread");
+        product.setSellingPriceUSD(1.00);
+        productId = productService.createProduct(product).getProductId();
+
+        // Three changes a day for ten days: 1.00 -> 1.01 -> ... -> 1.30
+        double price = 1.00;
+        for (int day = 0; day < 10; day++) {
+            for (int hour = 0; hour < 3; hour++) {
+                double next = Math.round((price + 0.01) * 100) / 100.0;
+                jdbcTemplate.update("INSERT INTO pricing_adjustments (adjustment_id, product_id, shop_id, old_priceusd, "
+                                + "new_priceusd, reason, adjustment_date, change_version) VALUES ("
+                                + sequences.nextValue("pricing_adjustments_seq") + ", ?, NULL, ?, ?, 'MANUAL', ?, 1)",
+                        productId, price, next, Timestamp.valueOf(START.plusDays(day).plusHours(hour)));
+                price = next;
+            }
+        }
+    }
+
+    @Test
+    void rawSeriesPagesByKeysetWithoutGapsOrRepeats() {
+        List<PricePointDTO> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PriceHistoryDTO page = priceHistoryService.getHistory(productId, null, null, null, null, cursor, 7);
+            all.addAll(page.getPoints());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(all).hasSize(30);
+        assertThat(all.get(0).getOldPriceUSD()).isEqualTo(1.00);
+        assertThat(all.get(29).getNewPriceUSD()).isEqualTo(1.30);
+        for (int i = 1; i < all.size(); i++) {
+            assertThat(all.get(i).getOldPriceUSD()).isEqualTo(all.get(i - 1).getNewPriceUSD());
+        }
+
+        PriceHistoryDTO range = priceHistoryService.getHistory(productId, null,
+                START.plusDays(2), START.plusDays(3), null, null, null);
+        assertThat(range.getPoints()).hasSize(3);
+        assertThat(range.getNextCursor()).isNull();
+        assertThat(priceHistoryService.getHistory(productId, 999_999L, null, null, null, null, null).getPoints()).isEmpty();
+    }
+
+    @Test
+    void downsamplesToLastValuePerDayAndWeek() {
+        PriceHistoryDTO firstDays = priceHistoryService.getHistory(productId, null, null, null,
+                PriceHistoryService.Bucket.DAY, null, 4);
+        assertThat(firstDays.getPoints()).hasSize(4);
+        assertThat(firstDays.getPoints().get(0).getBucket()).isEqualTo(START.toLocalDate());
+        assertThat(firstDays.getPoints().get(0).getOldPriceUSD()).isEqualTo(1.00);
+        assertThat(firstDays.getPoints().get(0).getNewPriceUSD()).isEqualTo(1.03);
+        assertThat(firstDays.getPoints().get(0).getChanges()).isEqualTo(3);
+
+        PriceHistoryDTO rest = priceHistoryService.getHistory(productId, null, null, null,
+                PriceHistoryService.Bucket.DAY, firstDays.getNextCursor(), 100);
+        assertThat(rest.getPoints()).hasSize(6);
+        assertThat(rest.getPoints().get(0).getOldPriceUSD()).isEqualTo(1.12);
+        assertThat(rest.getNextCursor()).isNull();
+
+        List<PricePointDTO> weeks = priceHistoryService.getHistory(productId, null, null, null,
+                PriceHistoryService.Bucket.WEEK, null, null).getPoints();
+        assertThat(weeks).extracting(PricePointDTO::getChanges).containsExactly(21, 9);
+        assertThat(weeks).extracting(PricePointDTO::getNewPriceUSD).containsExactly(1.21, 1.30);
+
+        assertThatThrownBy(() -> priceHistoryService.getHistory(productId, null, null, null, null, "nope", null))
+                .hasMessageContaining("Invalid cursor");
+    }
+}
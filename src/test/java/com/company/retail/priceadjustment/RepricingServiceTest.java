@@ -0,0 +1,145 @@
+package com.company.retail.priceadjustment;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.priceadjustment.dto.RepricingRequestDTO;
+import com.company.retail.priceadjustment.dto.RepricingRequestDTO.Rounding;
+import com.company.retail.priceadjustment.dto.RepricingRequestDTO.RuleType;
+import com.company.retail.priceadjustment.dto.RepricingResultDTO;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductService;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepricingServiceTest extends BaseIntegrationTest {
+
+    @Autowired private RepricingService repricingService;
+    @Autowired private ProductService productService;
+    @Autowired private ShopService shopService;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private ShopModel shop;
+    private ProductModel sugar;
+    private ProductModel flour;
+
+    @BeforeEach
+    void seed() {
+        ShopModel newShop = new ShopModel();
+        newShop.setShopName("Reprice Shop");
+        shop = shopService.createShop(newShop);
+        sugar = productService.createProduct(product("Reprice Sugar 2kg", "Reprice Groceries", 2.00, 60.0));
+        flour = productService.createProduct(product("Reprice Flour 2kg", "Reprice Groceries", 3.10, null));
+        productService.createProduct(product("Reprice Soap", "Reprice Toiletries", 1.00, 30.0));
+
+        ShopStockModel stock = shopStockRepository.findByShop_IdAndProduct_ProductId(shop.getId(), sugar.getProductId()).orElseThrow();
+        stock.setAvgLandingCostUSD(3.00);
+        shopStockRepository.saveAndFlush(stock);
+    }
+
+    @Test
+    void previewChangesNothingAndApplyWritesPricesAndAudit() {
+        RepricingRequestDTO request = RepricingRequestDTO.builder()
+                .type(RuleType.PERCENT).value(10.0).rounding(Rounding.END_99).category("reprice groceries").build();
+
+        RepricingResultDTO preview = repricingService.preview(request);
+        assertThat(preview.isApplied()).isFalse();
+        assertThat(preview.getMatched()).isEqualTo(2);
+        assertThat(preview.getChanged()).isEqualTo(2);
+        assertThat(preview.getBelowCost()).isEqualTo(1); // sugar 2.99 < 3.00 landing cost
+        assertThat(preview.getLines()).extracting(l -> l.getNewPriceUSD()).containsExactlyInAnyOrder(2.99, 3.99);
+        assertThat(globalPriceUSD(sugar)).isEqualTo(2.00);
+
+        RepricingResultDTO applied = repricingService.apply(request, null);
+        assertThat(applied.getChanged()).isEqualTo(2);
+        assertThat(globalPriceUSD(sugar)).isEqualTo(2.99);
+        assertThat(globalPriceUSD(flour)).isEqualTo(3.99);
+        assertThat(jdbcTemplate.queryForObject("SELECT selling_pricezwl FROM products WHERE product_id = ?",
+                Double.class, sugar.getProductId())).isEqualTo(66.99);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pricing_adjustments WHERE change_version = ?",
+                Integer.class, applied.getCatalogVersion())).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT change_version FROM products WHERE product_id = ?",
+                Long.class, flour.getProductId())).isEqualTo(applied.getCatalogVersion());
+
+        // ✅ A rule that moves nothing writes nothing
+        assertThat(repricingService.apply(RepricingRequestDTO.builder().type(RuleType.AMOUNT).value(0.0)
+                .category("Reprice Groceries").build(), null).getChanged()).isZero();
+    }
+
+    @Test
+    void shopMarginRepricesOverLandingCostAndSkipsProductsWithoutOne() {
+        RepricingResultDTO result = repricingService.apply(RepricingRequestDTO.builder()
+                .type(RuleType.MARGIN).value(25.0).shopId(shop.getId())
+                .productIds(List.of(sugar.getProductId(), flour.getProductId())).build(), null);
+
+        assertThat(result.getMatched()).isEqualTo(2);
+        assertThat(result.getChanged()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT selling_priceusd FROM shop_stock WHERE shop_id = ? AND product_id = ?",
+                Double.class, shop.getId(), sugar.getProductId())).isEqualTo(4.00);
+        assertThat(globalPriceUSD(sugar)).isEqualTo(2.00);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pricing_adjustments WHERE shop_id = ?",
+                Integer.class, shop.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void globalMarginWorksFromTheCostOfWhatIsOnTheShelves() {
+        ShopModel other = new ShopModel();
+        other.setShopName("Reprice Other Shop");
+        other = shopService.createShop(other);
+        stock(shop, sugar, 10, 3.00);
+        stock(other, sugar, 30, 1.00);
+        stock(shop, flour, 0, 2.00); // nothing on hand anywhere: plain average of the known costs
+        stock(other, flour, 0, 4.00);
+
+        repricingService.apply(RepricingRequestDTO.builder()
+                .type(RuleType.MARGIN).value(25.0).category("Reprice Groceries").build(), null);
+
+        assertThat(globalPriceUSD(sugar)).isEqualTo(2.00); // (10 x 3.00 + 30 x 1.00) / 40 = 1.50
+        assertThat(globalPriceUSD(flour)).isEqualTo(4.00); // (2.00 + 4.00) / 2 = 3.00
+    }
+
+    @Test
+    void roundingRulesAndValidation() {
+        assertThat(RepricingService.round(new BigDecimal("4.23"), Rounding.FIVE_CENTS)).isEqualByComparingTo("4.25");
+        assertThat(RepricingService.round(new BigDecimal("4.24"), Rounding.TEN_CENTS)).isEqualByComparingTo("4.20");
+        assertThat(RepricingService.round(new BigDecimal("4.99"), Rounding.END_99)).isEqualByComparingTo("4.99");
+        assertThat(RepricingService.round(new BigDecimal("5.00"), Rounding.END_99)).isEqualByComparingTo("5.99");
+
+        assertThatThrownBy(() -> repricingService.preview(RepricingRequestDTO.builder().type(RuleType.MARGIN).value(100.0).build()))
+                .hasMessageContaining("margin");
+    }
+
+    private Double globalPriceUSD(ProductModel product) {
+        return jdbcTemplate.queryForObject("SELECT selling_priceusd FROM products WHERE product_id = ?",
+                Double.class, product.getProductId());
+    }
+
+    private void stock(ShopModel in, ProductModel product, int quantity, double costUSD) {
+        ShopStockModel stock = shopStockRepository.findByShop_IdAndProduct_ProductId(in.getId(), product.getProductId())
+                .orElseThrow();
+        stock.setQuantityInStock(quantity);
+        stock.setAvgLandingCostUSD(costUSD);
+        shopStockRepository.saveAndFlush(stock);
+    }
+
+    private static ProductModel product(String name, String category, Double usd, Double zwl) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        product.setCategory(category);
+        product.setSellingPriceUSD(usd);
+        product.setSellingPriceZWL(zwl);
+        return product;
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.retail.pricing;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.priceadjustment.PricingAdjustmentModel;
+import com.company.retail.priceadjustment.PricingAdjustmentRepository;
+import com.company.retail.pricing.dto.ScheduledPriceRequestDTO;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.ProductService;
+import com.company.retail.saleItem.SaleItemModel;
+import com.company.retail.sales.SalesModel;
+import com.company.retail.sales.SalesService;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopService;
+import com.company.retail.user.UserModel;
+import com.company.retail.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceResolverTest extends BaseIntegrationTest {
+
+    @Autowired private PriceResolver priceResolver;
+    @Autowired private ScheduledPriceService scheduledPriceService;
+    @Autowired private ScheduledPriceRepository scheduledPriceRepository;
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopService shopService;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private PricingAdjustmentRepository pricingAdjustmentRepository;
+    @Autowired private SalesService salesService;
+    @Autowired private UserRepository userRepository;
+
+    private ShopModel shop;
+    private ProductModel milk;
+
+    @BeforeEach
+    void seed() {
+        ShopModel newShop = new ShopModel();
+        newShop.setShopName("Price Shop");
+        shop = shopService.createShop(newShop);
+
+        ProductModel product = new ProductModel();
+        product.setProductName("Price Milk 1L");
+        product.setSellingPriceUSD(1.20);
+        product.setSellingPriceZWL(40.0);
+        milk = productService.createProduct(product);
+    }
+
+    @Test
+    void tableUsesShopOverridePerCurrencyAndFollowsGlobalChanges() {
+        PriceTable table = new PriceTable();
+        table.putGlobal(1, 1.00, 30.0);
+        table.putShopPrice(7, 1, 0.0, 0.0);
+        table.putShopPrice(8, 1, 1.10, 0.0);
+        assertThat(table.get(7L, 1L)).isEqualTo(new EffectivePrice(1.00, 30.0));
+        assertThat(table.get(8L, 1L)).isEqualTo(new EffectivePrice(1.10, 30.0));
+
+        table.putGlobal(1, 1.05, 31.0);
+        assertThat(table.get(7L, 1L)).isEqualTo(new EffectivePrice(1.05, 31.0));
+        assertThat(table.get(8L, 1L)).isEqualTo(new EffectivePrice(1.10, 31.0));
+        assertThat(table.get(null, 1L)).isEqualTo(new EffectivePrice(1.05, 31.0));
+
+        table.removeProduct(1);
+        assertThat(table.get(8L, 1L)).isNull();
+    }
+
+    @Test
+    void dueScheduledPricesAreAppliedAndCheckoutChargesTheShopPrice() {
+        ScheduledPriceModel global = scheduledPriceService.schedule(ScheduledPriceRequestDTO.builder()
+                .productId(milk.getProductId()).sellingPriceUSD(1.30).effectiveFrom(LocalDateTime.now().minusMinutes(1)).build());
+        ScheduledPriceModel shopPrice = scheduledPriceService.schedule(ScheduledPriceRequestDTO.builder()
+                .productId(milk.getProductId()).shopId(shop.getId()).sellingPriceUSD(1.15)
+                .effectiveFrom(LocalDateTime.now().minusSeconds(30)).build());
+        ScheduledPriceModel later = scheduledPriceService.schedule(ScheduledPriceRequestDTO.builder()
+                .productId(milk.getProductId()).sellingPriceUSD(2.00).effectiveFrom(LocalDateTime.now().plusDays(1)).build());
+
+        assertThat(scheduledPriceService.applyDue()).isEqualTo(2);
+        assertThat(scheduledPriceService.applyDue()).isZero();
+
+        assertThat(scheduledPriceRepository.findById(global.getPriceId()).orElseThrow().getStatus())
+                .isEqualTo(ScheduledPriceModel.Status.APPLIED);
+        assertThat(scheduledPriceRepository.findById(later.getPriceId()).orElseThrow().getStatus())
+                .isEqualTo(ScheduledPriceModel.Status.PENDING);
+        assertThat(productRepository.findById(milk.getProductId()).orElseThrow().getSellingPriceUSD()).isEqualTo(1.30);
+        ShopStockModel stock = shopStockRepository.findByShop_IdAndProduct_ProductId(shop.getId(), milk.getProductId()).orElseThrow();
+        assertThat(stock.getSellingPriceUSD()).isEqualTo(1.15);
+        assertThat(pricingAdjustmentRepository.findByProduct_ProductId(milk.getProductId()))
+                .extracting(PricingAdjustmentModel::getReason)
+                .containsOnly(PricingAdjustmentModel.AdjustmentType.SCHEDULED);
+
+        // ✅ Test transactions never commit, so catch the table up the way other instances do
+        priceResolver.refresh();
+        assertThat(priceResolver.resolve(shop.getId(), milk.getProductId())).isEqualTo(new EffectivePrice(1.15, 40.0));
+        assertThat(priceResolver.resolve(null, milk.getProductId())).isEqualTo(new EffectivePrice(1.30, 40.0));
+
+        stock.setQuantityInStock(10);
+        shopStockRepository.save(stock);
+        UserModel cashier = userRepository.save(UserModel.builder().username("price-cashier").password("x").shop(shop).build());
+        SaleItemModel item = new SaleItemModel();
+        item.setProduct(milk);
+        item.setQuantity(2);
+        SalesModel basket = new SalesModel();
+        basket.getSaleItems().add(item);
+
+        salesService.createSale(basket, shop.getId(), cashier.getUserId());
+        assertThat(item.getSellingPriceUSD()).isEqualTo(1.15);
+        assertThat(item.getTotalZWL()).isEqualTo(80.0);
+
+        scheduledPriceService.cancel(later.getPriceId());
+        assertThatThrownBy(() -> scheduledPriceService.cancel(shopPrice.getPriceId()))
+                .hasMessageContaining("Only pending");
+    }
+}
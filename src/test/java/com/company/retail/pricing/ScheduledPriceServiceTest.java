@@ -0,0 +1,144 @@
+package com.company.retail.pricing;
+
+import com.company.retail.pricing.dto.ScheduledPriceRequestDTO;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.ProductService;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.shop.ShopService;
+import com.company.retail.sync.CatalogVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ Each due entry commits on its own: one that cannot be applied is parked (SKIPPED /
+ * FAILED) while the others still go through. Real commits, so not @Transactional; rows
+ * are removed afterwards. The poller is held off so only the test applies entries.
+ */
+@SpringBootTest(properties = "app.scheduled-prices.check-interval-ms=86400000")
+@ActiveProfiles("test")
+class ScheduledPriceServiceTest {
+
+    @Autowired private ScheduledPriceService scheduledPriceService;
+    @Autowired private ScheduledPriceRepository scheduledPriceRepository;
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopService shopService;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private ShopModel shop;
+    private ProductModel bread;
+    private ProductModel jam;
+
+    @BeforeEach
+    void seed() {
+        ShopModel newShop = new ShopModel();
+        newShop.setShopName("Scheduled Shop");
+        shop = shopService.createShop(newShop);
+        bread = product("Scheduled Bread", 1.00);
+        jam = product("Scheduled Jam", 2.00);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (ProductModel product : List.of(bread, jam)) {
+            jdbcTemplate.update("DELETE FROM scheduled_prices WHERE product_id = ?", product.getProductId());
+            jdbcTemplate.update("DELETE FROM pricing_adjustments WHERE product_id = ?", product.getProductId());
+            jdbcTemplate.update("DELETE FROM shop_stock WHERE product_id = ?", product.getProductId());
+            productRepository.deleteById(product.getProductId());
+            jdbcTemplate.update("DELETE FROM catalog_tombstones WHERE kind = ? AND entity_id = ?",
+                    CatalogVersions.PRODUCT, product.getProductId());
+        }
+        shopRepository.deleteById(shop.getId());
+    }
+
+    @Test
+    void anEntryThatCannotBeAppliedDoesNotHoldUpTheOthers() throws Exception {
+        // The shop stopped stocking jam after its price was scheduled
+        ScheduledPriceModel noStock = schedule(jam, shop, 2.50, 3);
+        jdbcTemplate.update("DELETE FROM shop_stock WHERE shop_id = ? AND product_id = ?", shop.getId(), jam.getProductId());
+        ScheduledPriceModel locked = schedule(bread, null, 1.10, 2);
+        ScheduledPriceModel fine = schedule(jam, null, 2.20, 1);
+
+        // Someone holds the bread row for longer than the lock timeout
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.queryForList("SELECT product_id FROM products WHERE product_id = ? FOR UPDATE",
+                            bread.getProductId());
+                    holding.countDown();
+                    await(release);
+                }));
+        assertThat(holding.await(10, TimeUnit.SECONDS)).isTrue();
+        int applied;
+        try {
+            applied = scheduledPriceService.applyDue();
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(status(noStock)).isEqualTo(ScheduledPriceModel.Status.SKIPPED);
+        assertThat(status(locked)).isEqualTo(ScheduledPriceModel.Status.FAILED);
+        assertThat(status(fine)).isEqualTo(ScheduledPriceModel.Status.APPLIED);
+        assertThat(scheduledPriceRepository.findById(locked.getPriceId()).orElseThrow().getError()).isNotBlank();
+        assertThat(productRepository.findById(jam.getProductId()).orElseThrow().getSellingPriceUSD()).isEqualTo(2.20);
+        assertThat(productRepository.findById(bread.getProductId()).orElseThrow().getSellingPriceUSD()).isEqualTo(1.00);
+
+        // Parked entries are not picked up again
+        assertThat(scheduledPriceService.applyDue()).isZero();
+        assertThat(status(locked)).isEqualTo(ScheduledPriceModel.Status.FAILED);
+    }
+
+    private ScheduledPriceModel schedule(ProductModel product, ShopModel shop, double priceUSD, int minutesAgo) {
+        return scheduledPriceService.schedule(ScheduledPriceRequestDTO.builder()
+                .productId(product.getProductId())
+                .shopId(shop == null ? null : shop.getId())
+                .sellingPriceUSD(priceUSD)
+                .effectiveFrom(LocalDateTime.now().minusMinutes(minutesAgo))
+                .build());
+    }
+
+    private ScheduledPriceModel.Status status(ScheduledPriceModel entry) {
+        return scheduledPriceRepository.findById(entry.getPriceId()).orElseThrow().getStatus();
+    }
+
+    private ProductModel product(String name, double priceUSD) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        product.setSellingPriceUSD(priceUSD);
+        product.setSellingPriceZWL(0.0);
+        return productService.createProduct(product);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.retail.product.barcode;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductService;
+import com.company.retail.product.dto.BarcodeImportResultDTO;
+import com.company.retail.product.dto.ProductBarcodeDTO;
+import com.company.retail.product.dto.ScanResultDTO;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductBarcodeServiceTest extends BaseIntegrationTest {
+
+    @Autowired private ProductBarcodeService barcodeService;
+    @Autowired private ProductService productService;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+
+    private ShopModel shop;
+    private ProductModel sugar;
+
+    @BeforeEach
+    void seed() {
+        shop = new ShopModel();
+        shop.setShopName("Scan Shop");
+        shop = shopRepository.save(shop);
+
+        ProductModel product = new ProductModel();
+        product.setProductName("Scan Sugar 2kg");
+        product.setUnit("each");
+        product.setSellingPriceUSD(2.50);
+        product.setSellingPriceZWL(90.0);
+        product.setBarcodes(List.of("4006381333931", " sku-sugar-2 "));
+        sugar = productService.createProduct(product);
+
+        ShopStockModel stock = shopStockRepository.findByShop_Id(shop.getId()).stream()
+                .filter(s -> s.getProduct().getProductId().equals(sugar.getProductId()))
+                .findFirst().orElseThrow();
+        stock.setQuantityInStock(17);
+    }
+
+    @Test
+    void scanResolvesEveryCodeToProductPriceAndShopQuantity() {
+        ScanResultDTO scan = barcodeService.scan("4006381333931", shop.getId());
+        assertThat(scan.getProductId()).isEqualTo(sugar.getProductId());
+        assertThat(scan.getProductName()).isEqualTo("Scan Sugar 2kg");
+        assertThat(scan.getSellingPriceUSD()).isEqualTo(2.50);
+        assertThat(scan.getQuantityInStock()).isEqualTo(17);
+
+        assertThat(barcodeService.scan("SKU-SUGAR-2", shop.getId()).getProductId()).isEqualTo(sugar.getProductId());
+        assertThat(barcodeService.getBarcodes(sugar.getProductId())).containsExactly("4006381333931", "SKU-SUGAR-2");
+        assertThatThrownBy(() -> barcodeService.scan("5901234123457", shop.getId()))
+                .hasMessageContaining("Barcode not found");
+    }
+
+    @Test
+    void rejectsBadCheckDigitsAndCodesAlreadyInUse() {
+        assertThatThrownBy(() -> barcodeService.addBarcodes(sugar.getProductId(), List.of("4006381333932")))
+                .hasMessageContaining("check digit");
+        assertThatThrownBy(() -> barcodeService.addBarcodes(sugar.getProductId(), List.of("4006381333931")))
+                .hasMessageContaining("already assigned");
+    }
+
+    @Test
+    void importSavesValidRowsAndReportsTheRest() {
+        BarcodeImportResultDTO result = barcodeService.importBarcodes(List.of(
+                ProductBarcodeDTO.builder().code("96385074").productName("scan sugar 2KG").build(),
+                ProductBarcodeDTO.builder().code("5901234123457").productId(sugar.getProductId()).build(),
+                ProductBarcodeDTO.builder().code("96385074").productId(sugar.getProductId()).build(),
+                ProductBarcodeDTO.builder().code("4006381333931").productId(sugar.getProductId()).build(),
+                ProductBarcodeDTO.builder().code("12345670").productName("No Such Product").build(),
+                ProductBarcodeDTO.builder().code("bad code!").productId(sugar.getProductId()).build()));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).hasSize(4);
+        assertThat(barcodeService.scan("96385074", null).getProductId()).isEqualTo(sugar.getProductId());
+    }
+
+    @Test
+    void deletingTheProductRemovesItsBarcodes() {
+        productService.deleteProduct(sugar.getProductId());
+
+        assertThat(barcodeService.getBarcodes(sugar.getProductId())).isEmpty();
+        assertThatThrownBy(() -> barcodeService.scan("4006381333931", shop.getId()))
+                .hasMessageContaining("Barcode not found");
+    }
+}
@@ -0,0 +1,135 @@
+package com.company.retail.product.importer;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.importer.dto.ImportRowErrorDTO;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.barcode.ProductBarcodeService;
+import com.company.retail.product.dto.CatalogImportResultDTO;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogImportServiceTest extends BaseIntegrationTest {
+
+    @Autowired private CatalogImportService importService;
+    @Autowired private ProductBarcodeService barcodeService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+
+    @BeforeEach
+    void seed() {
+        ShopModel shop = new ShopModel();
+        shop.setShopName("Import Shop");
+        shopRepository.save(shop);
+
+        ProductModel existing = new ProductModel();
+        existing.setProductName("Import Existing Tea");
+        productRepository.save(existing);
+    }
+
+    @Test
+    void csvImportsValidRowsAndReportsTheRest() throws Exception {
+        String csv = "\uFEFFProduct Name;Category;Unit;Selling Price USD;Selling Price ZWL;Reorder Level;Barcode\n"
+                + "\"Import Maize; 10kg\";Groceries;bag;8.50;306;5;4006381333931|IMP-MAIZE\n"
+                + "Import Beans 500g;Groceries;each;1.20;;;\n"
+                + "import existing tea;Beverages;each;2;;;\n"
+                + "Import Beans 500g;Groceries;each;1.25;;;\n"
+                + "Import Rice;Groceries;each;abc;;;\n"
+                + ";Groceries;each;1;;;\n"
+                + "Import Salt;Groceries;each;0.40;;;4006381333932\n";
+
+        CatalogImportResultDTO result = importService.importCatalog(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "range.csv");
+
+        assertThat(result.getRows()).isEqualTo(7);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getBarcodes()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(4, 5, 6, 7, 8);
+        assertThat(result.getErrors().get(0).getMessage()).contains("already exists");
+        assertThat(result.getErrors().get(2).getMessage()).contains("sellingpriceusd");
+        assertThat(result.getErrors().get(4).getMessage()).contains("check digit");
+
+        int shops = (int) shopRepository.count();
+        assertThat(result.getShopStockRows()).isEqualTo(2 * shops);
+
+        ProductModel maize = productRepository.findAll().stream()
+                .filter(p -> p.getProductName().equals("Import Maize; 10kg")).findFirst().orElseThrow();
+        assertThat(maize.getSellingPriceUSD()).isEqualTo(8.50);
+        assertThat(maize.getReorderLevel()).isEqualTo(5);
+        assertThat(shopStockRepository.findByProduct(maize)).hasSize(shops);
+        assertThat(barcodeService.scan("IMP-MAIZE", null).getProductId()).isEqualTo(maize.getProductId());
+    }
+
+    @Test
+    void xlsxIsReadWithTheStreamingReader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Range");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("productName");
+            header.createCell(2).setCellValue("sellingPriceUSD");
+            for (int i = 1; i <= 3; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Import Xlsx Item " + i);
+                row.createCell(2).setCellValue(1.5 * i);
+            }
+            workbook.write(out);
+        }
+
+        CatalogImportResultDTO result = importService.importCatalog(new ByteArrayInputStream(out.toByteArray()), "range.xlsx");
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(productRepository.findAll()).filteredOn(p -> p.getProductName().equals("Import Xlsx Item 2"))
+                .singleElement().satisfies(p -> assertThat(p.getSellingPriceUSD()).isEqualTo(3.0));
+    }
+
+    @Test
+    void numbersAreParsedStrictlyWithTheFilesDecimalSeparator() throws Exception {
+        String commaFile = "productName,sellingPriceUSD,reorderLevel\n"
+                + "Import Strict A,$ 1.50,5\n"
+                + "Import Strict B,\"1,250.00\",\"1,000\"\n"
+                + "Import Strict C,12abc,\n"
+                + "Import Strict D,1.2.3,\n"
+                + "Import Strict E,\"1,50\",\n"
+                + "Import Strict F,2,5.7\n";
+        CatalogImportResultDTO comma = importService.importCatalog(
+                new ByteArrayInputStream(commaFile.getBytes(StandardCharsets.UTF_8)), "strict.csv");
+        assertThat(comma.getImported()).isEqualTo(2);
+        assertThat(comma.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(4, 5, 6, 7);
+        assertThat(comma.getErrors().get(3).getMessage()).contains("reorderlevel");
+        assertThat(price("Import Strict A")).isEqualTo(1.5);
+        assertThat(price("Import Strict B")).isEqualTo(1250.0);
+
+        String semicolonFile = "productName;sellingPriceUSD;sellingPriceZWL\n"
+                + "Import Strict G;1,50;1.234,50 ZWL\n"
+                + "Import Strict H;1.500;\n";
+        CatalogImportResultDTO semicolon = importService.importCatalog(
+                new ByteArrayInputStream(semicolonFile.getBytes(StandardCharsets.UTF_8)), "strict.csv");
+        assertThat(semicolon.getImported()).isEqualTo(1);
+        assertThat(semicolon.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(3); // thousands or decimals?
+        ProductModel g = productRepository.findAll().stream()
+                .filter(p -> p.getProductName().equals("Import Strict G")).findFirst().orElseThrow();
+        assertThat(g.getSellingPriceUSD()).isEqualTo(1.5);
+        assertThat(g.getSellingPriceZWL()).isEqualTo(1234.5);
+    }
+
+    private Double price(String name) {
+        return productRepository.findAll().stream()
+                .filter(p -> p.getProductName().equals(name)).findFirst().orElseThrow().getSellingPriceUSD();
+    }
+}
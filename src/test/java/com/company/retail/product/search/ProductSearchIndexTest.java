@@ -0,0 +1,95 @@
+package com.company.retail.product.search;
+
+import com.company.retail.product.dto.ProductSearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.put(product(1L, "Coca-Cola 500ml", "Beverages", "bottle"));
+        index.put(product(2L, "Diet Coke 2L", "Beverages", "bottle"));
+        index.put(product(3L, "Dairibord Milk 1L", "Dairy", "each"));
+        index.put(product(4L, "Milkshake Chocolate", "Dairy", "each"));
+        index.put(product(5L, "Crème Brûlée", "Bakery", "each"));
+    }
+
+    @Test
+    void prefixOnAnyWordRanksExactAndLeadingMatchesFirst() {
+        assertThat(ids(index.search("milk", null, 10))).containsExactly(3L, 4L);
+        assertThat(ids(index.search("co", null, 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("coke 2", null, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void categoryUnitAccentsAndTypos() {
+        assertThat(ids(index.search("dairy", null, 10))).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(ids(index.search("bottle", null, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search("creme brulee", null, 10))).containsExactly(5L);
+        assertThat(ids(index.search("chocolte", null, 10))).containsExactly(4L);
+        assertThat(ids(index.search("mlk", null, 10))).containsExactly(3L);
+        assertThat(ids(index.search("milk", "dairy", 10))).containsExactly(3L, 4L);
+        assertThat(index.search("milk", "Beverages", 10)).isEmpty();
+        assertThat(index.search("zzz", null, 10)).isEmpty();
+    }
+
+    @Test
+    void updatesAndRemovesAreReflectedImmediately() {
+        index.put(product(3L, "Dairibord Yoghurt", "Dairy", "each"));
+        assertThat(ids(index.search("milk", null, 10))).containsExactly(4L);
+        assertThat(ids(index.search("yog", null, 10))).containsExactly(3L);
+
+        index.remove(4L);
+        assertThat(index.search("milk", null, 10)).isEmpty();
+        assertThat(index.search("chocolate", null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void filtersAreCheckedWhileWalkingSoLateCandidatesAreNotMissed() {
+        // Far more "c..." products than get scored before settling; the one in Spices sorts last
+        for (long id = 100; id < 100 + ProductSearchIndex.MIN_SCORED * 2; id++) {
+            index.put(product(id, "Candle " + id, "Household", "each"));
+        }
+        index.put(product(99_999L, "Cinnamonroll Sticks Ceylon", "Spices", "each"));
+
+        ProductSearchIndex.Hits hits = index.find("c", "Spices", 10);
+        assertThat(ids(hits.products())).containsExactly(99_999L);
+        assertThat(hits.partial()).isFalse();
+        assertThat(ids(index.search("c ceylon", null, 10))).containsExactly(99_999L);
+        assertThat(index.find("c", null, 10).products()).hasSize(10);
+    }
+
+    @Test
+    void aSearchCutOffBeforeLimitHitsIsReportedAsPartial() {
+        ProductSearchIndex small = new ProductSearchIndex(5, 20);
+        for (long id = 1; id <= 50; id++) {
+            small.put(product(id, "Candle " + id, "Household", "each"));
+        }
+        small.put(product(99L, "Cinnamonroll", "Spices", "each"));
+
+        ProductSearchIndex.Hits cutOff = small.find("c", "Spices", 10);
+        assertThat(cutOff.products()).isEmpty();
+        assertThat(cutOff.partial()).isTrue();
+
+        ProductSearchIndex.Hits enough = small.find("c", "Household", 3);
+        assertThat(enough.products()).hasSize(3);
+        assertThat(enough.partial()).isFalse();
+    }
+
+    private static ProductSearchResult product(Long id, String name, String category, String unit) {
+        return ProductSearchResult.builder().productId(id).productName(name).category(category).unit(unit).build();
+    }
+
+    private static List<Long> ids(List<ProductSearchResult> results) {
+        return results.stream().map(ProductSearchResult::getProductId).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.retail.purchaseOrderItem;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.expense.ExpenseModel;
+import com.company.retail.expense.ExpenseService;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.purchaseorder.PurchaseOrderModel;
+import com.company.retail.purchaseorder.PurchaseOrderRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PurchaseOrderItemServiceTest extends BaseIntegrationTest {
+
+    @Autowired private PurchaseOrderItemService itemService;
+    @Autowired private ExpenseService expenseService;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private PurchaseOrderItemRepository purchaseOrderItemRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopRepository shopRepository;
+
+    private ShopModel shop;
+    private PurchaseOrderModel order;
+    private ProductModel sugar;
+    private PurchaseOrderItemModel line;
+
+    @BeforeEach
+    void seed() {
+        ShopModel newShop = new ShopModel();
+        newShop.setShopName("Item Guard Shop");
+        shop = shopRepository.save(newShop);
+        order = purchaseOrderRepository.save(PurchaseOrderModel.builder()
+                .shop(shop).supplierName("Item Guard Supplier").status(PurchaseOrderModel.Status.PENDING).build());
+        ProductModel product = new ProductModel();
+        product.setProductName("Item Guard Sugar 2kg");
+        sugar = productRepository.save(product);
+        line = itemService.createPurchaseOrderItem(item(4));
+    }
+
+    @Test
+    void linesAndExpensesChangeWhileTheOrderIsPending() {
+        assertThat(itemService.createPurchaseOrderItem(item(6)).getQuantity()).isEqualTo(10);
+        assertThat(itemService.updatePurchaseOrderItem(line.getPurchaseOrderItemId(), item(8)).getTotalCostUSD())
+                .isEqualTo(16.0);
+        assertThat(expenseService.addExpense(expense()).getExpenseId()).isNotNull();
+        itemService.deletePurchaseOrderItem(line.getPurchaseOrderItemId());
+        assertThat(purchaseOrderItemRepository.findById(line.getPurchaseOrderItemId())).isEmpty();
+    }
+
+    @Test
+    void linesAndExpensesAreFrozenOnceReceivingStarts() {
+        for (PurchaseOrderModel.Status status : new PurchaseOrderModel.Status[]{
+                PurchaseOrderModel.Status.RECEIVING, PurchaseOrderModel.Status.COMPLETED, PurchaseOrderModel.Status.CANCELLED}) {
+            order.setStatus(status);
+            purchaseOrderRepository.saveAndFlush(order);
+
+            assertThatThrownBy(() -> itemService.createPurchaseOrderItem(item(1))).hasMessageContaining(status.name());
+            assertThatThrownBy(() -> itemService.updatePurchaseOrderItem(line.getPurchaseOrderItemId(), item(9)))
+                    .hasMessageContaining(status.name());
+            assertThatThrownBy(() -> itemService.deletePurchaseOrderItem(line.getPurchaseOrderItemId()))
+                    .hasMessageContaining(status.name());
+            assertThatThrownBy(() -> expenseService.addExpense(expense())).hasMessageContaining(status.name());
+        }
+        assertThat(purchaseOrderItemRepository.findById(line.getPurchaseOrderItemId()).orElseThrow().getQuantity())
+                .isEqualTo(4);
+
+        // Shop running costs are not tied to an order
+        ExpenseModel rent = ExpenseModel.builder().shop(shop).expenseType(ExpenseModel.ExpenseType.OPERATIONAL)
+                .amountUSD(100.0).amountZWL(0.0).build();
+        assertThat(expenseService.addExpense(rent).getExpenseId()).isNotNull();
+    }
+
+    private PurchaseOrderItemModel item(int quantity) {
+        return PurchaseOrderItemModel.builder()
+                .purchaseOrder(order).product(sugar).quantity(quantity)
+                .unitPurchasePriceUSD(2.0).unitPurchasePriceZWL(0.0).build();
+    }
+
+    private ExpenseModel expense() {
+        return ExpenseModel.builder().shop(shop).purchaseOrder(order).expenseType(ExpenseModel.ExpenseType.PURCHASE)
+                .amountUSD(5.0).amountZWL(0.0).build();
+    }
+}
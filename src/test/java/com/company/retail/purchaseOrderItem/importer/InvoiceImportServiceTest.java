@@ -0,0 +1,227 @@
+package com.company.retail.purchaseOrderItem.importer;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.importer.dto.ImportRowErrorDTO;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.barcode.ProductBarcodeService;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import com.company.retail.purchaseOrderItem.dto.InvoiceImportResultDTO;
+import com.company.retail.purchaseorder.PurchaseOrderModel;
+import com.company.retail.purchaseorder.PurchaseOrderRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.support.QueryBudget;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class InvoiceImportServiceTest extends BaseIntegrationTest {
+
+    @Autowired private InvoiceImportService importService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ProductBarcodeService barcodeService;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private PurchaseOrderItemRepository purchaseOrderItemRepository;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private EntityManager entityManager;
+
+    private PurchaseOrderModel order;
+    private ProductModel flour;
+    private ProductModel oil;
+
+    @BeforeEach
+    void seed() {
+        ShopModel shop = new ShopModel();
+        shop.setShopName("Invoice Shop");
+        shop = shopRepository.save(shop);
+        order = purchaseOrderRepository.save(PurchaseOrderModel.builder()
+                .shop(shop).supplierName("Invoice Supplier").status(PurchaseOrderModel.Status.PENDING).build());
+
+        flour = product("Invoice Flour 2kg");
+        oil = product("Invoice Cooking Oil 2L");
+        barcodeService.addBarcodes(oil.getProductId(), List.of("6001234500018"));
+
+        // Already on the order: 10 flour at 1.00
+        purchaseOrderItemRepository.save(PurchaseOrderItemModel.builder()
+                .purchaseOrder(order).product(flour).quantity(10)
+                .unitPurchasePriceUSD(1.0).totalCostUSD(10.0).unitPurchasePriceZWL(0.0).totalCostZWL(0.0).build());
+        entityManager.flush(); // imports are recorded through JDBC
+    }
+
+    @Test
+    void resolvesNamesAndCodesMergesDuplicatesAndReportsBadRows() throws Exception {
+        String csv = "Description,SKU,Qty,Unit Cost USD,Expiry,Lot\n"
+                + "invoice flour 2kg,,10,1.20,,\n"
+                + ",6001234500018,6,3.00,2026-03-31,L1\n"
+                + "Invoice Cooking Oil 2L,6001234500018,4,3.50,31/03/2026,L1\n"
+                + ",6001234500018,5,3.00,2026-06-30,L2\n"
+                + "Invoice Mystery Item,,1,1,,\n"
+                + "invoice flour 2kg,,-3,1,,\n"
+                + "invoice flour 2kg,,2,,,\n";
+
+        InvoiceImportResultDTO result = importService.importInvoice(order.getPurchaseOrderId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "invoice.csv");
+
+        assertThat(result.getRows()).isEqualTo(7);
+        assertThat(result.getLinesAdded()).isEqualTo(2);    // oil L1, oil L2
+        assertThat(result.getLinesUpdated()).isEqualTo(1);  // flour
+        assertThat(result.getMerged()).isEqualTo(1);        // second oil L1 row
+        assertThat(result.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(6, 7, 8);
+        assertThat(result.getTotalCostUSD()).isCloseTo(22.0 + 32.0 + 15.0, within(1e-9));
+
+        entityManager.flush();
+        entityManager.clear();
+        List<PurchaseOrderItemModel> lines = purchaseOrderItemRepository.findWithProductByOrderId(order.getPurchaseOrderId());
+        assertThat(lines).hasSize(3);
+        PurchaseOrderItemModel flourLine = lines.stream()
+                .filter(l -> l.getProduct().getProductId().equals(flour.getProductId())).findFirst().orElseThrow();
+        assertThat(flourLine.getQuantity()).isEqualTo(20);
+        assertThat(flourLine.getUnitPurchasePriceUSD()).isCloseTo(1.10, within(1e-9));
+        PurchaseOrderItemModel oilL1 = lines.stream().filter(l -> "L1".equals(l.getBatchNumber())).findFirst().orElseThrow();
+        assertThat(oilL1.getQuantity()).isEqualTo(10);
+        assertThat(oilL1.getTotalCostUSD()).isCloseTo(32.0, within(1e-9));
+        assertThat(oilL1.getExpiryDate()).isEqualTo(LocalDate.of(2026, 3, 31));
+    }
+
+    @Test
+    void reUploadingTheSameInvoiceIsRejected() throws Exception {
+        String csv = "productName,quantity,unitPriceUSD\n"
+                + "Invoice Flour 2kg,5,1.20\n"
+                + "Invoice Cooking Oil 2L,4,3.50\n";
+        importService.importInvoice(order.getPurchaseOrderId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "invoice.csv");
+
+        // A retry after a client timeout, saved again with Windows line endings
+        String retry = csv.replace("\n", ",\r\n");
+        assertThatThrownBy(() -> importService.importInvoice(order.getPurchaseOrderId(),
+                new ByteArrayInputStream(retry.getBytes(StandardCharsets.UTF_8)), "invoice (1).csv"))
+                .hasMessageContaining("already imported");
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(purchaseOrderItemRepository.findWithProductByOrderId(order.getPurchaseOrderId()))
+                .extracting(PurchaseOrderItemModel::getQuantity)
+                .containsExactlyInAnyOrder(15, 4);
+    }
+
+    @Test
+    void quantitiesPricesAndDatesAreNeverGuessed() throws Exception {
+        String csv = "productName,quantity,unitPriceUSD,expiryDate\n"
+                + "Invoice Flour 2kg,\"1,5\",1.00,\n"          // not 15
+                + "Invoice Flour 2kg,2,1.2.3,\n"
+                + "Invoice Flour 2kg,2,US$ 1.10,03/04/2026\n"  // 3 April or 4 March?
+                + "Invoice Cooking Oil 2L,2,3.00,12/31/2026\n" // month first, clear from the value
+                + "Invoice Cooking Oil 2L,\"1,000\",3.00,31/12/2026\n";
+
+        InvoiceImportResultDTO result = importService.importInvoice(order.getPurchaseOrderId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "strict.csv");
+        assertThat(result.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(2, 3, 4);
+        assertThat(result.getErrors().get(2).getMessage()).contains("Ambiguous");
+        assertThat(result.getLinesAdded()).isEqualTo(1);
+
+        InvoiceImportResultDTO dayFirst = importService.importInvoice(order.getPurchaseOrderId(),
+                new ByteArrayInputStream("productName,quantity,unitPriceUSD,expiryDate\nInvoice Flour 2kg,2,US$ 1.10,03/04/2026\n"
+                        .getBytes(StandardCharsets.UTF_8)), "strict.csv", InvoiceImportService.DateOrder.DAY_FIRST);
+        assertThat(dayFirst.getRejected()).isZero();
+
+        entityManager.flush();
+        entityManager.clear();
+        List<PurchaseOrderItemModel> lines = purchaseOrderItemRepository.findWithProductByOrderId(order.getPurchaseOrderId());
+        assertThat(lines).filteredOn(l -> l.getProduct().getProductId().equals(oil.getProductId()))
+                .singleElement().satisfies(l -> {
+                    assertThat(l.getQuantity()).isEqualTo(1002);
+                    assertThat(l.getExpiryDate()).isEqualTo(LocalDate.of(2026, 12, 31));
+                });
+        assertThat(lines).filteredOn(l -> LocalDate.of(2026, 4, 3).equals(l.getExpiryDate()))
+                .singleElement().satisfies(l -> assertThat(l.getUnitPurchasePriceUSD()).isCloseTo(1.10, within(1e-9)));
+    }
+
+    @Test
+    void xlsxDateCellsAreReadAsDatesWhateverTheirDisplayFormat() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Invoice");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("productName");
+            header.createCell(1).setCellValue("quantity");
+            header.createCell(2).setCellValue("unitPriceUSD");
+            header.createCell(3).setCellValue("expiryDate");
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("Invoice Cooking Oil 2L");
+            row.createCell(1).setCellValue(3);
+            row.createCell(2).setCellValue(2.5);
+            CellStyle usShort = workbook.createCellStyle();
+            usShort.setDataFormat(workbook.createDataFormat().getFormat("m/d/yy"));
+            Cell expiry = row.createCell(3);
+            expiry.setCellValue(LocalDate.of(2026, 4, 3));
+            expiry.setCellStyle(usShort);
+            workbook.write(out);
+        }
+
+        InvoiceImportResultDTO result = importService.importInvoice(order.getPurchaseOrderId(),
+                new ByteArrayInputStream(out.toByteArray()), "invoice.xlsx");
+        assertThat(result.getRejected()).isZero();
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(purchaseOrderItemRepository.findWithProductByOrderId(order.getPurchaseOrderId()))
+                .filteredOn(l -> l.getProduct().getProductId().equals(oil.getProductId()))
+                .singleElement().satisfies(l -> assertThat(l.getExpiryDate()).isEqualTo(LocalDate.of(2026, 4, 3)));
+    }
+
+    @Test
+    void twoThousandLineInvoiceLoadsWithAHandfulOfStatements() throws Exception {
+        List<ProductModel> products = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ProductModel product = new ProductModel();
+            product.setProductName("Invoice Bulk " + i);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+        entityManager.flush();
+
+        StringBuilder csv = new StringBuilder("productName,quantity,unitPriceUSD\n");
+        for (int row = 0; row < 2000; row++) {
+            csv.append("Invoice Bulk ").append(row % 500).append(",2,1.50\n");
+        }
+        InvoiceImportResultDTO result = QueryBudget.expectAtMost(25, () -> {
+            try {
+                InvoiceImportResultDTO r = importService.importInvoice(order.getPurchaseOrderId(),
+                        new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), "bulk.csv");
+                entityManager.flush();
+                return r;
+            } catch (java.io.IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertThat(result.getLinesAdded()).isEqualTo(500);
+        assertThat(result.getMerged()).isEqualTo(1500);
+        assertThat(result.getRejected()).isZero();
+        assertThat(result.getTotalCostUSD()).isCloseTo(6000.0, within(1e-6));
+    }
+
+    private ProductModel product(String name) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        return productRepository.save(product);
+    }
+}
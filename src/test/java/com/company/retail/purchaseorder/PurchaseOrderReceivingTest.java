@@ -0,0 +1,205 @@
+package com.company.retail.purchaseorder;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.expense.ExpenseModel;
+import com.company.retail.expense.ExpenseRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.stock.StockRepository;
+import com.company.retail.sync.CatalogVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * ✅ Receiving with real commits: every chunk and checkpoint commits on its own, as in
+ * production. Not @Transactional; rows are removed afterwards. The background poller is
+ * slowed down so only the test drives the workers.
+ */
+@SpringBootTest(properties = "app.receiving.poll-interval-ms=86400000")
+@ActiveProfiles("test")
+class PurchaseOrderReceivingTest {
+
+    private static final int LINES = 7;
+
+    @Autowired private PurchaseOrderReceivingService receivingService;
+    @Autowired private PurchaseOrderReceiptProcessor processor;
+    @Autowired private PurchaseOrderService purchaseOrderService;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private PurchaseOrderItemRepository purchaseOrderItemRepository;
+    @Autowired private ExpenseRepository expenseRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private StockRepository stockRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private ShopModel shop;
+    private Long orderId;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        ShopModel newShop = new ShopModel();
+        newShop.setShopName("Async Receiving Shop");
+        shop = shopRepository.save(newShop);
+
+        PurchaseOrderModel order = purchaseOrderRepository.save(PurchaseOrderModel.builder()
+                .shop(shop).supplierName("Container Supplier").status(PurchaseOrderModel.Status.PENDING).build());
+        List<PurchaseOrderItemModel> items = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            ProductModel product = new ProductModel();
+            product.setProductName("Container Item " + i);
+            product = productRepository.save(product);
+            productIds.add(product.getProductId());
+            items.add(PurchaseOrderItemModel.builder()
+                    .purchaseOrder(order).product(product).quantity(10)
+                    .unitPurchasePriceUSD(2.0).totalCostUSD(20.0)
+                    .unitPurchasePriceZWL(0.0).totalCostZWL(0.0).build());
+        }
+        purchaseOrderItemRepository.saveAll(items);
+        // 5% freight: landing cost 2.10 a unit
+        expenseRepository.save(ExpenseModel.builder().shop(shop).purchaseOrder(order).amountUSD(7.0).amountZWL(0.0).build());
+        orderId = order.getPurchaseOrderId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM purchase_order_receipts WHERE purchase_order_id = ?", orderId);
+        jdbcTemplate.update("DELETE FROM expenses WHERE purchase_order_id = ?", orderId);
+        jdbcTemplate.update("DELETE FROM purchase_order_items WHERE purchase_order_id = ?", orderId);
+        jdbcTemplate.update("DELETE FROM purchase_orders WHERE purchase_order_id = ?", orderId);
+        for (String table : List.of("stock_batches", "stock_logs", "shop_stock")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE shop_id = ?", shop.getId());
+        }
+        for (Long productId : productIds) {
+            jdbcTemplate.update("DELETE FROM shop_stock WHERE product_id = ?", productId);
+            productRepository.deleteById(productId);
+            jdbcTemplate.update("DELETE FROM catalog_tombstones WHERE kind = ? AND entity_id = ?",
+                    CatalogVersions.PRODUCT, productId);
+        }
+        shopRepository.deleteById(shop.getId());
+    }
+
+    @Test
+    void crashedReceiptResumesFromCheckpointWithoutDoubleCounting() {
+        PurchaseOrderReceiptModel receipt = receivingService.queue(orderId);
+        assertThat(receivingService.queue(orderId).getReceiptId()).isEqualTo(receipt.getReceiptId());
+        assertThat(purchaseOrderRepository.findById(orderId).orElseThrow().getStatus())
+                .isEqualTo(PurchaseOrderModel.Status.RECEIVING);
+        assertThatThrownBy(() -> purchaseOrderService.markOrderAsCompleted(orderId))
+                .hasMessageContaining("RECEIVING");
+
+        // A worker receives one chunk of 3 lines, then dies
+        assertThat(processor.claim(receipt.getReceiptId(), LocalDateTime.now())).isTrue();
+        assertThat(processor.processChunk(receipt.getReceiptId(), 3)).isTrue();
+        assertThat(receivingService.getReceipt(orderId).getProgressPercent()).isEqualTo(42);
+
+        // Still heart-beating: nobody else takes it
+        receivingService.processQueued();
+        assertThat(receivingService.getReceipt(orderId).getStatus()).isEqualTo(PurchaseOrderReceiptModel.Status.RUNNING);
+
+        jdbcTemplate.update("UPDATE purchase_order_receipts SET updated_at = ? WHERE receipt_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), receipt.getReceiptId());
+        receivingService.processQueued();
+
+        PurchaseOrderReceiptModel done = receivingService.getReceipt(orderId);
+        assertThat(done.getStatus()).isEqualTo(PurchaseOrderReceiptModel.Status.COMPLETED);
+        assertThat(done.getProcessedLines()).isEqualTo(LINES);
+        assertThat(done.getAttempts()).isEqualTo(2);
+
+        List<ShopStockModel> stock = shopStockRepository.findByShop_Id(shop.getId());
+        assertThat(stock).hasSize(LINES).allSatisfy(s -> {
+            assertThat(s.getQuantityInStock()).isEqualTo(10);
+            assertThat(s.getAvgLandingCostUSD()).isCloseTo(2.10, within(1e-9));
+        });
+        assertThat(stockRepository.findViewsByShopId(shop.getId())).hasSize(LINES);
+
+        // Completion is idempotent from here on
+        PurchaseOrderModel order = purchaseOrderService.markOrderAsCompleted(orderId);
+        assertThat(order.getStatus()).isEqualTo(PurchaseOrderModel.Status.COMPLETED);
+        assertThat(order.getExpensesUSD()).isEqualTo(7.0);
+        assertThat(receivingService.queue(orderId).getReceiptId()).isEqualTo(receipt.getReceiptId());
+        assertThat(stockRepository.findViewsByShopId(shop.getId())).hasSize(LINES);
+    }
+
+    @Test
+    void aChunkTakenByTwoWorkersIsReceivedOnce() throws Exception {
+        PurchaseOrderReceiptModel receipt = receivingService.queue(orderId);
+        assertThat(processor.claim(receipt.getReceiptId(), LocalDateTime.now())).isTrue();
+
+        // Worker A receives the first chunk but has not committed yet...
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> a = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            processor.processChunk(receipt.getReceiptId(), 3);
+            received.countDown();
+            await(release);
+        }));
+        assertThat(received.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // ...when worker B (which took over the job) starts on the same checkpoint
+        CompletableFuture<Boolean> b = CompletableFuture.supplyAsync(() -> processor.processChunk(receipt.getReceiptId(), 3));
+        Thread.sleep(300);
+        release.countDown();
+
+        // Whichever commits second loses (stale checkpoint version or the rows the other created)
+        int failed = 0;
+        for (CompletableFuture<?> worker : List.of(a, b)) {
+            try {
+                worker.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+        assertThat(failed).isLessThanOrEqualTo(1);
+
+        while (processor.processChunk(receipt.getReceiptId(), 3)) {
+            // the rest
+        }
+        processor.complete(receipt.getReceiptId());
+        PurchaseOrderReceiptModel done = receivingService.getReceipt(orderId);
+        assertThat(done.getStatus()).isEqualTo(PurchaseOrderReceiptModel.Status.COMPLETED);
+        assertThat(done.getProcessedLines()).isEqualTo(LINES);
+        assertThat(shopStockRepository.findByShop_Id(shop.getId()))
+                .hasSize(LINES).allSatisfy(s -> assertThat(s.getQuantityInStock()).isEqualTo(10));
+        assertThat(stockRepository.findViewsByShopId(shop.getId())).hasSize(LINES);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.retail.purchaseorder;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.expense.ExpenseModel;
+import com.company.retail.expense.ExpenseRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.stock.StockRepository;
+import com.company.retail.support.QueryBudget;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PurchaseOrderServiceTest extends BaseIntegrationTest {
+
+    private static final int LINES = 200;
+
+    @Autowired private PurchaseOrderService purchaseOrderService;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private PurchaseOrderItemRepository purchaseOrderItemRepository;
+    @Autowired private ExpenseRepository expenseRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private StockRepository stockRepository;
+    @Autowired private EntityManager entityManager;
+
+    @Test
+    void receivingALargeOrderUsesBatchedWritesAndAveragesCosts() {
+        ShopModel shop = new ShopModel();
+        shop.setShopName("Receiving Shop");
+        shop = shopRepository.save(shop);
+
+        List<ProductModel> products = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            ProductModel product = new ProductModel();
+            product.setProductName("Receiving Item " + i);
+            products.add(product);
+        }
+        products = productRepository.saveAll(products);
+
+        // Half the products are already stocked: 10 units at 1.00
+        List<ShopStockModel> existing = new ArrayList<>();
+        for (int i = 0; i < LINES / 2; i++) {
+            ShopStockModel stock = new ShopStockModel(shop, products.get(i));
+            stock.setQuantityInStock(10);
+            stock.setAvgLandingCostUSD(1.0);
+            existing.add(stock);
+        }
+        shopStockRepository.saveAll(existing);
+
+        PurchaseOrderModel order = purchaseOrderRepository.save(PurchaseOrderModel.builder()
+                .shop(shop).supplierName("Bulk Supplier").status(PurchaseOrderModel.Status.PENDING).build());
+        List<PurchaseOrderItemModel> items = new ArrayList<>();
+        for (ProductModel product : products) {
+            items.add(PurchaseOrderItemModel.builder()
+                    .purchaseOrder(order).product(product).quantity(10)
+                    .unitPurchasePriceUSD(2.0).totalCostUSD(20.0)
+                    .unitPurchasePriceZWL(0.0).totalCostZWL(0.0).build());
+        }
+        purchaseOrderItemRepository.saveAll(items);
+        // 5% freight on 4000 of goods: landing cost 2.10 a unit
+        expenseRepository.save(ExpenseModel.builder().shop(shop).purchaseOrder(order).amountUSD(200.0).amountZWL(0.0).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Long orderId = order.getPurchaseOrderId();
+        QueryBudget.expectAtMost(20, () -> {
+            purchaseOrderService.markOrderAsCompleted(orderId);
+            entityManager.flush();
+        });
+        entityManager.clear();
+
+        Map<Long, ShopStockModel> stock = shopStockRepository.findByShop_Id(shop.getId()).stream()
+                .collect(Collectors.toMap(s -> s.getProduct().getProductId(), Function.identity()));
+        assertThat(stock).hasSize(LINES);
+        ShopStockModel topUp = stock.get(products.get(0).getProductId());
+        assertThat(topUp.getQuantityInStock()).isEqualTo(20);
+        assertThat(topUp.getAvgLandingCostUSD()).isCloseTo(1.55, within(1e-9));
+        ShopStockModel fresh = stock.get(products.get(LINES - 1).getProductId());
+        assertThat(fresh.getQuantityInStock()).isEqualTo(10);
+        assertThat(fresh.getAvgLandingCostUSD()).isCloseTo(2.10, within(1e-9));
+
+        assertThat(stockRepository.findViewsByShopId(shop.getId())).hasSize(LINES);
+        assertThat(purchaseOrderRepository.findById(orderId).orElseThrow().getStatus())
+                .isEqualTo(PurchaseOrderModel.Status.COMPLETED);
+
+        // ✅ Landing cost on a completed order only reports totals: no second receipt
+        assertThat(purchaseOrderService.calculateLandingCost(orderId).getExpensesUSD()).isCloseTo(200.0, within(1e-9));
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(shopStockRepository.findByShop_IdAndProduct_ProductId(shop.getId(), products.get(0).getProductId())
+                .orElseThrow().getQuantityInStock()).isEqualTo(20);
+    }
+}
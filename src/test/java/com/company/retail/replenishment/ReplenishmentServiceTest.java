@@ -0,0 +1,167 @@
+package com.company.retail.replenishment;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import com.company.retail.purchaseorder.PurchaseOrderModel;
+import com.company.retail.purchaseorder.PurchaseOrderRepository;
+import com.company.retail.replenishment.dto.ReplenishmentLineDTO;
+import com.company.retail.replenishment.dto.ReplenishmentResultDTO;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.support.QueryBudget;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ReplenishmentServiceTest extends BaseIntegrationTest {
+
+    @Autowired private ReplenishmentService replenishmentService;
+    @Autowired private SalesVelocityService velocityService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private PurchaseOrderItemRepository purchaseOrderItemRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManager entityManager;
+
+    private ShopModel shop;
+
+    @BeforeEach
+    void seed() {
+        ShopModel newShop = new ShopModel();
+        newShop.setShopName("Replenishment Shop");
+        shop = shopRepository.save(newShop);
+    }
+
+    @Test
+    void velocityFollowsDailySalesAndFadesWhenSalesStop() {
+        ProductModel bread = stocked("Replenishment Bread", null, 0);
+        LocalDateTime now = LocalDateTime.now();
+        for (int day = 60; day >= 1; day--) {
+            velocityService.apply(shop.getId(), now.minusDays(day), Map.of(bread.getProductId(), 4));
+        }
+        assertThat(velocityService.getUnitsPerDay(shop.getId(), bread.getProductId())).isCloseTo(4.0, within(0.3));
+
+        // Three quiet weeks later the rate has dropped to about a fifth
+        double later = velocityService.unitsPerDay(velocityService.getUnitsPerDay(shop.getId(), bread.getProductId()),
+                now, now.plusDays(21));
+        assertThat(later).isCloseTo(4.0 * Math.exp(-21 / 14.0), within(0.3));
+    }
+
+    @Test
+    void aCorrectedSaleTakesBackWhatItAdded() {
+        ProductModel salt = stocked("Replenishment Salt", null, 0);
+        LocalDateTime sold = LocalDateTime.now().minusHours(1);
+        velocityService.apply(shop.getId(), sold, Map.of(salt.getProductId(), 14));
+        velocityService.apply(shop.getId(), sold, Map.of(salt.getProductId(), -7));
+        assertThat(velocityService.getUnitsPerDay(shop.getId(), salt.getProductId())).isCloseTo(0.5, within(0.01));
+
+        // More taken back than was ever recorded: the rate bottoms out at zero
+        velocityService.apply(shop.getId(), sold, Map.of(salt.getProductId(), -70));
+        assertThat(velocityService.getUnitsPerDay(shop.getId(), salt.getProductId())).isZero();
+
+        ProductModel pepper = stocked("Replenishment Pepper", null, 0);
+        velocityService.apply(shop.getId(), sold, Map.of(pepper.getProductId(), -3));
+        assertThat(velocityService.getUnitsPerDay(shop.getId(), pepper.getProductId())).isNull();
+    }
+
+    @Test
+    void ordersWhatRunsOutWithinLeadTimeAndCountsWhatIsAlreadyOnOrder() {
+        ProductModel milk = stocked("Replenishment Milk", 5, 10);        // 4/day: 10 on hand won't last 7 days
+        ProductModel salt = stocked("Replenishment Salt", null, 100);    // 1/day: plenty
+        ProductModel matches = stocked("Replenishment Matches", 20, 8);  // no sales, below reorder level
+        stocked("Replenishment Candles", 0, 0);                          // nothing to go on: skipped
+        velocity(milk, 4.0);
+        velocity(salt, 1.0);
+
+        List<ReplenishmentLineDTO> suggestions = replenishmentService.suggest(shop.getId());
+        assertThat(suggestions).extracting(ReplenishmentLineDTO::getProductId)
+                .containsExactly(milk.getProductId(), matches.getProductId());
+        ReplenishmentLineDTO milkLine = suggestions.get(0);
+        assertThat(milkLine.getCoverDays()).isCloseTo(2.5, within(0.01));
+        assertThat(milkLine.getReorderPoint()).isCloseTo(4.0 * 7 + 5, within(0.01));
+        assertThat(milkLine.getSuggestedQuantity()).isEqualTo(4 * (7 + 14) + 5 - 10);
+        assertThat(suggestions.get(1).getSuggestedQuantity()).isEqualTo(12);
+
+        ReplenishmentResultDTO result = replenishmentService.generate(shop.getId());
+        assertThat(result.getOrders()).isEqualTo(1);
+        assertThat(result.getLines()).isEqualTo(2);
+
+        entityManager.clear();
+        PurchaseOrderModel order = purchaseOrderRepository.findById(result.getOrderIds().get(0)).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(PurchaseOrderModel.Status.PENDING);
+        assertThat(order.getSupplierName()).isEqualTo(ReplenishmentService.SUPPLIER);
+        assertThat(order.getTotalCostUSD()).isCloseTo(79 * 1.5 + 12 * 1.5, within(1e-9));
+        assertThat(purchaseOrderItemRepository.findWithProductByOrderId(order.getPurchaseOrderId()))
+                .extracting(PurchaseOrderItemModel::getQuantity).containsExactlyInAnyOrder(79, 12);
+
+        // Everything needed is now on order: a second run orders nothing
+        ReplenishmentResultDTO again = replenishmentService.generate(shop.getId());
+        assertThat(again.getLines()).isZero();
+        assertThat(again.getOrders()).isZero();
+    }
+
+    @Test
+    void thousandsOfPairsInAHandfulOfStatements() {
+        List<ProductModel> products = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            ProductModel product = new ProductModel();
+            product.setProductName("Replenishment Bulk " + i);
+            product.setReorderLevel(10);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+        List<ShopStockModel> stock = new ArrayList<>();
+        products.forEach(p -> {
+            ShopStockModel row = new ShopStockModel(shop, p);
+            row.setQuantityInStock(5);
+            stock.add(row);
+        });
+        shopStockRepository.saveAll(stock);
+        entityManager.flush();
+
+        ReplenishmentResultDTO result = QueryBudget.expectAtMost(10, () -> {
+            ReplenishmentResultDTO r = replenishmentService.generate(shop.getId());
+            entityManager.flush();
+            return r;
+        });
+        assertThat(result.getPairs()).isEqualTo(2000);
+        assertThat(result.getLines()).isEqualTo(2000);
+        assertThat(purchaseOrderItemRepository.findWithProductByOrderId(result.getOrderIds().get(0))).hasSize(2000);
+    }
+
+    private ProductModel stocked(String name, Integer reorderLevel, int onHand) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        product.setReorderLevel(reorderLevel);
+        product = productRepository.save(product);
+        ShopStockModel row = new ShopStockModel(shop, product);
+        row.setQuantityInStock(onHand);
+        row.setAvgLandingCostUSD(1.5);
+        shopStockRepository.save(row);
+        entityManager.flush();
+        return product;
+    }
+
+    private void velocity(ProductModel product, double unitsPerDay) {
+        jdbcTemplate.update("INSERT INTO sales_velocity (shop_id, product_id, units_per_day, updated_at) VALUES (?, ?, ?, ?)",
+                shop.getId(), product.getProductId(), unitsPerDay, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.retail.report;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemModel;
+import com.company.retail.purchaseOrderItem.PurchaseOrderItemRepository;
+import com.company.retail.purchaseorder.PurchaseOrderModel;
+import com.company.retail.purchaseorder.PurchaseOrderRepository;
+import com.company.retail.saleItem.SaleItemModel;
+import com.company.retail.sales.SalesModel;
+import com.company.retail.sales.SalesRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.support.QueryBudget;
+import com.company.retail.user.UserModel;
+import com.company.retail.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ReportControllerTest extends BaseIntegrationTest {
+
+    private static final int SALES = 10;
+    private static final int ORDERS = 5;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManager entityManager;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private SalesRepository salesRepository;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private PurchaseOrderItemRepository purchaseOrderItemRepository;
+
+    private final String today = LocalDate.now().toString();
+
+    @BeforeEach
+    void seed() {
+        ShopModel shop = new ShopModel();
+        shop.setShopName("Report Shop");
+        shop = shopRepository.save(shop);
+
+        UserModel cashier = userRepository.save(UserModel.builder()
+                .username("report-cashier")
+                .password("x")
+                .shop(shop)
+                .build());
+
+        List<ProductModel> products = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            ProductModel product = new ProductModel();
+            product.setProductName("Report Product " + p);
+            products.add(productRepository.save(product));
+        }
+
+        for (int s = 0; s < SALES; s++) {
+            SalesModel sale = new SalesModel();
+            sale.setShop(shop);
+            sale.setCashier(cashier);
+            sale.setTotalAmountUSD(30.0);
+            sale.setTotalAmountZWL(0.0);
+            for (ProductModel product : products) {
+                SaleItemModel item = new SaleItemModel();
+                item.setProduct(product);
+                item.setQuantity(1);
+                item.setProfitUSD(2.0);
+                item.setProfitZWL(0.0);
+                item.setCostPriceUSD(8.0);
+                item.setCostPriceZWL(0.0);
+                sale.addItem(item);
+            }
+            salesRepository.save(sale);
+        }
+
+        for (int o = 0; o < ORDERS; o++) {
+            PurchaseOrderModel order = new PurchaseOrderModel();
+            order.setShop(shop);
+            order.setSupplierName("Supplier " + o);
+            order.setOrderDate(LocalDateTime.now());
+            order.setStatus(PurchaseOrderModel.Status.PENDING);
+            order = purchaseOrderRepository.save(order);
+            for (ProductModel product : products) {
+                PurchaseOrderItemModel item = new PurchaseOrderItemModel();
+                item.setPurchaseOrder(order);
+                item.setProduct(product);
+                item.setQuantity(4);
+                purchaseOrderItemRepository.save(item);
+            }
+        }
+
+        // ✅ Start every request from an empty persistence context, like production
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void salesReportLoadsLinesInOneQuery() throws Exception {
+        // sales + sale lines + shop + cashier (was 1 + one line query per sale)
+        mockMvc.perform(get("/api/reports/sales").param("start", today).param("end", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SALES))
+                .andExpect(jsonPath("$[0].totalItemsSold").value(3))
+                .andExpect(QueryBudget.atMost(4));
+    }
+
+    @Test
+    void purchaseReportCountsItemsWithoutLoadingThem() throws Exception {
+        // item counts + orders + shop (was 1 + one items collection load per order)
+        mockMvc.perform(get("/api/reports/purchases").param("start", today).param("end", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ORDERS))
+                .andExpect(jsonPath("$[0].totalItems").value(3))
+                .andExpect(QueryBudget.atMost(3));
+    }
+}
@@ -0,0 +1,95 @@
+package com.company.retail.saleItem;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.sales.SaleRecordedEvent;
+import com.company.retail.sales.SalesModel;
+import com.company.retail.sales.SalesRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.user.UserModel;
+import com.company.retail.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ Item changes outside SalesService still reach sales velocity: each one publishes a
+ * SaleRecordedEvent for the quantity it added or took back.
+ */
+@RecordApplicationEvents
+class SaleItemServiceTest extends BaseIntegrationTest {
+
+    @Autowired private SaleItemService saleItemService;
+    @Autowired private SalesRepository salesRepository;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private ApplicationEvents events;
+
+    private ShopModel shop;
+    private SalesModel sale;
+    private ProductModel rice;
+
+    @BeforeEach
+    void seed() {
+        ShopModel newShop = new ShopModel();
+        newShop.setShopName("Sale Item Shop");
+        shop = shopRepository.save(newShop);
+        UserModel cashier = userRepository.save(UserModel.builder()
+                .username("sale-item-cashier")
+                .password("x")
+                .shop(shop)
+                .build());
+
+        ProductModel product = new ProductModel();
+        product.setProductName("Sale Item Rice 2kg");
+        product.setSellingPriceUSD(3.0);
+        product.setSellingPriceZWL(0.0);
+        rice = productRepository.save(product);
+        ShopStockModel stock = shopStockRepository.findByShopAndProduct(shop, rice)
+                .orElseGet(() -> new ShopStockModel(shop, rice));
+        stock.setQuantityInStock(20);
+        stock.setAvgLandingCostUSD(2.0);
+        shopStockRepository.save(stock);
+
+        SalesModel newSale = new SalesModel();
+        newSale.setShop(shop);
+        newSale.setCashier(cashier);
+        newSale.setTotalAmountUSD(0.0);
+        newSale.setTotalAmountZWL(0.0);
+        sale = salesRepository.save(newSale);
+    }
+
+    @Test
+    void createUpdateAndDeletePublishTheQuantityChange() {
+        SaleItemModel item = saleItemService.createSaleItem(SaleItemModel.builder()
+                .sale(sale).product(rice).quantity(3).build());
+        saleItemService.updateSaleItem(item.getSaleItemId(), SaleItemModel.builder()
+                .quantity(5).sellingPriceUSD(3.0).sellingPriceZWL(0.0).build());
+        saleItemService.updateSaleItem(item.getSaleItemId(), SaleItemModel.builder()
+                .quantity(5).sellingPriceUSD(2.5).sellingPriceZWL(0.0).build()); // price only
+        saleItemService.deleteSaleItem(item.getSaleItemId());
+
+        List<SaleRecordedEvent> recorded = events.stream(SaleRecordedEvent.class).toList();
+        assertThat(recorded).extracting(SaleRecordedEvent::quantities).containsExactly(
+                Map.of(rice.getProductId(), 3),
+                Map.of(rice.getProductId(), 2),
+                Map.of(rice.getProductId(), -5));
+        assertThat(recorded).allSatisfy(event -> {
+            assertThat(event.shopId()).isEqualTo(shop.getId());
+            assertThat(event.saleDate()).isEqualTo(sale.getSaleDate());
+        });
+    }
+}
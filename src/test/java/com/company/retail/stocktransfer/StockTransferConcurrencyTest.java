@@ -0,0 +1,165 @@
+package com.company.retail.stocktransfer;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.stocktransfer.dto.StockTransferDocumentRequestDTO;
+import com.company.retail.stocktransfer.dto.StockTransferDocumentRequestDTO.Line;
+import com.company.retail.sync.CatalogVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ Two approvals at once, committed for real: into the same branch (both creating its
+ * missing rows) and in opposite directions. Neither may fail on the unique key or deadlock.
+ * Not @Transactional; rows are removed afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StockTransferConcurrencyTest {
+
+    @Autowired private StockTransferDocumentService documentService;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private ShopModel north;
+    private ShopModel south;
+    private ShopModel branch;
+    private final List<ProductModel> products = new ArrayList<>();
+    private final List<Long> documents = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        north = shop("Concurrent North");
+        south = shop("Concurrent South");
+        branch = shop("Concurrent Branch");
+        for (int i = 0; i < 5; i++) {
+            ProductModel product = product("Concurrent Product " + i);
+            products.add(product);
+            stock(north, product, 100);
+            stock(south, product, 100);
+        }
+        // the branch has never stocked any of them
+        jdbcTemplate.update("DELETE FROM shop_stock WHERE shop_id = ?", branch.getId());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (Long id : documents) {
+            jdbcTemplate.update("DELETE FROM stock_logs WHERE reference_id = "
+                    + "(SELECT reference_code FROM stock_transfer_documents WHERE document_id = ?)", id);
+            jdbcTemplate.update("DELETE FROM stock_transfer_lines WHERE document_id = ?", id);
+            jdbcTemplate.update("DELETE FROM stock_transfer_documents WHERE document_id = ?", id);
+        }
+        for (ShopModel shop : List.of(north, south, branch)) {
+            jdbcTemplate.update("DELETE FROM shop_stock WHERE shop_id = ?", shop.getId());
+        }
+        for (ProductModel product : products) {
+            jdbcTemplate.update("DELETE FROM shop_stock WHERE product_id = ?", product.getProductId());
+            productRepository.deleteById(product.getProductId());
+            jdbcTemplate.update("DELETE FROM catalog_tombstones WHERE kind = ? AND entity_id = ?",
+                    CatalogVersions.PRODUCT, product.getProductId());
+        }
+        shopRepository.deleteAllById(List.of(north.getId(), south.getId(), branch.getId()));
+    }
+
+    @Test
+    void twoApprovalsIntoTheSameBranchBothCreateItsRows() throws Exception {
+        Long fromNorth = document(north, branch, 10);
+        Long fromSouth = document(south, branch, 7);
+
+        approveTogether(fromNorth, fromSouth);
+
+        for (ProductModel product : products) {
+            assertThat(quantity(branch, product)).isEqualTo(17);
+            assertThat(quantity(north, product)).isEqualTo(90);
+            assertThat(quantity(south, product)).isEqualTo(93);
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shop_stock WHERE shop_id = ?",
+                Integer.class, branch.getId())).isEqualTo(products.size());
+    }
+
+    @Test
+    void oppositeDirectionsDoNotDeadlock() throws Exception {
+        Long northToSouth = document(north, south, 10);
+        Long southToNorth = document(south, north, 4);
+
+        approveTogether(northToSouth, southToNorth);
+
+        for (ProductModel product : products) {
+            assertThat(quantity(north, product)).isEqualTo(94);
+            assertThat(quantity(south, product)).isEqualTo(106);
+        }
+    }
+
+    // Both approvals start at the same moment; each must commit
+    private void approveTogether(Long first, Long second) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(2);
+        CompletableFuture<?> a = CompletableFuture.runAsync(() -> approve(start, first));
+        CompletableFuture<?> b = CompletableFuture.runAsync(() -> approve(start, second));
+        CompletableFuture.allOf(a, b).get(30, TimeUnit.SECONDS);
+    }
+
+    private void approve(CyclicBarrier start, Long documentId) {
+        try {
+            start.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        documentService.approve(documentId, null);
+    }
+
+    private Long document(ShopModel from, ShopModel to, int quantity) {
+        List<Line> lines = products.stream().map(p -> new Line(p.getProductId(), quantity)).toList();
+        Long id = documentService.createDocument(StockTransferDocumentRequestDTO.builder()
+                .fromShopId(from.getId())
+                .toShopId(to.getId())
+                .lines(lines)
+                .build()).getDocumentId();
+        documents.add(id);
+        return id;
+    }
+
+    private ShopModel shop(String name) {
+        ShopModel shop = new ShopModel();
+        shop.setShopName(name);
+        return shopRepository.save(shop);
+    }
+
+    private ProductModel product(String name) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        return productRepository.save(product);
+    }
+
+    private void stock(ShopModel shop, ProductModel product, int quantity) {
+        ShopStockModel row = shopStockRepository.findByShop_IdAndProduct_ProductId(shop.getId(), product.getProductId())
+                .orElseGet(() -> new ShopStockModel(shop, product));
+        row.setQuantityInStock(quantity);
+        row.setAvgLandingCostUSD(1.0);
+        shopStockRepository.save(row);
+    }
+
+    private int quantity(ShopModel shop, ProductModel product) {
+        return jdbcTemplate.queryForObject("SELECT quantity_in_stock FROM shop_stock WHERE shop_id = ? AND product_id = ?",
+                Integer.class, shop.getId(), product.getProductId());
+    }
+}
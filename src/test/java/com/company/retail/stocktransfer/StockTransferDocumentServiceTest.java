@@ -0,0 +1,168 @@
+package com.company.retail.stocktransfer;
+
+import com.company.retail.BaseIntegrationTest;
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.company.retail.stocktransfer.dto.StockTransferDocumentRequestDTO;
+import com.company.retail.stocktransfer.dto.StockTransferDocumentRequestDTO.Line;
+import com.company.retail.support.QueryBudget;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class StockTransferDocumentServiceTest extends BaseIntegrationTest {
+
+    @Autowired private StockTransferDocumentService documentService;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManager entityManager;
+
+    private ShopModel warehouse;
+    private ShopModel branch;
+    private ProductModel rice;
+    private ProductModel beans;
+
+    @BeforeEach
+    void seed() {
+        warehouse = shop("Transfer Warehouse");
+        branch = shop("Transfer Branch");
+        rice = product("Transfer Rice 10kg");
+        beans = product("Transfer Beans 1kg");
+
+        stock(warehouse, rice, 50, 2.0);
+        stock(warehouse, beans, 20, 1.0);
+        stock(branch, rice, 10, 4.0); // the branch has never stocked beans
+        entityManager.flush();
+    }
+
+    @Test
+    void approvalMovesEveryLineAndLogsBothSides() {
+        StockTransferDocumentModel document = documentService.createDocument(request(
+                new Line(rice.getProductId(), 30), new Line(beans.getProductId(), 5), new Line(beans.getProductId(), 5)));
+        assertThat(document.getLines()).hasSize(2); // beans merged
+        entityManager.flush();
+
+        StockTransferDocumentModel approved = documentService.approve(document.getDocumentId(), null);
+        assertThat(approved.getStatus()).isEqualTo(StockTransferModel.Status.COMPLETED);
+        assertThat(approved.getTotalCostUSD()).isCloseTo(30 * 2.0 + 10 * 1.0, within(1e-9));
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(quantity(warehouse, rice)).isEqualTo(20);
+        assertThat(quantity(warehouse, beans)).isEqualTo(10);
+        assertThat(quantity(branch, beans)).isEqualTo(10);
+        ShopStockModel branchRice = row(branch, rice);
+        assertThat(branchRice.getQuantityInStock()).isEqualTo(40);
+        assertThat(branchRice.getAvgLandingCostUSD()).isCloseTo((10 * 4.0 + 30 * 2.0) / 40, within(1e-9));
+
+        assertThat(jdbcTemplate.queryForList("SELECT transaction_type FROM stock_logs WHERE reference_id = ?",
+                String.class, approved.getReferenceCode()))
+                .containsExactlyInAnyOrder("TRANSFER_OUT", "TRANSFER_IN", "TRANSFER_OUT", "TRANSFER_IN");
+
+        assertThatThrownBy(() -> documentService.approve(document.getDocumentId(), null))
+                .hasMessageContaining("COMPLETED");
+    }
+
+    @Test
+    void oneShortLineMovesNothing() {
+        StockTransferDocumentModel document = documentService.createDocument(request(
+                new Line(rice.getProductId(), 5), new Line(beans.getProductId(), 21)));
+        entityManager.flush();
+
+        assertThatThrownBy(() -> documentService.approve(document.getDocumentId(), null))
+                .hasMessageContaining("Insufficient stock")
+                .hasMessageContaining(String.valueOf(beans.getProductId()));
+        entityManager.clear();
+        assertThat(quantity(warehouse, rice)).isEqualTo(50);
+        assertThat(quantity(branch, rice)).isEqualTo(10);
+    }
+
+    @Test
+    void negativeDestinationBalanceNetsAgainstArrivingStock() {
+        ShopStockModel branchRice = row(branch, rice);
+        branchRice.setQuantityInStock(-5); // oversold at the till before the transfer arrived
+        entityManager.flush();
+
+        StockTransferDocumentModel document = documentService.createDocument(request(new Line(rice.getProductId(), 10)));
+        entityManager.flush();
+        documentService.approve(document.getDocumentId(), null);
+
+        entityManager.flush();
+        entityManager.clear();
+        ShopStockModel received = row(branch, rice);
+        assertThat(received.getQuantityInStock()).isEqualTo(5);
+        assertThat(received.getAvgLandingCostUSD()).isCloseTo(2.0, within(1e-9)); // only the arriving units carry cost
+        assertThat(quantity(warehouse, rice)).isEqualTo(40);
+    }
+
+    @Test
+    void hundredsOfLinesApproveInAHandfulOfStatements() {
+        List<Line> lines = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ProductModel product = product("Transfer Bulk " + i);
+            stock(warehouse, product, 10, 1.0);
+            lines.add(new Line(product.getProductId(), 3));
+        }
+        entityManager.flush();
+        StockTransferDocumentModel document = documentService.createDocument(request(lines.toArray(Line[]::new)));
+        entityManager.flush();
+        entityManager.clear();
+
+        QueryBudget.expectAtMost(15, () -> {
+            documentService.approve(document.getDocumentId(), null);
+            entityManager.flush();
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shop_stock WHERE shop_id = ? AND quantity_in_stock = 3",
+                Integer.class, branch.getId())).isEqualTo(300);
+    }
+
+    private StockTransferDocumentRequestDTO request(Line... lines) {
+        return StockTransferDocumentRequestDTO.builder()
+                .fromShopId(warehouse.getId())
+                .toShopId(branch.getId())
+                .lines(List.of(lines))
+                .build();
+    }
+
+    private ShopModel shop(String name) {
+        ShopModel shop = new ShopModel();
+        shop.setShopName(name);
+        return shopRepository.save(shop);
+    }
+
+    private ProductModel product(String name) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        return productRepository.save(product);
+    }
+
+    private void stock(ShopModel shop, ProductModel product, int quantity, double cost) {
+        ShopStockModel row = new ShopStockModel(shop, product);
+        row.setQuantityInStock(quantity);
+        row.setAvgLandingCostUSD(cost);
+        shopStockRepository.save(row);
+    }
+
+    private ShopStockModel row(ShopModel shop, ProductModel product) {
+        return shopStockRepository.findByShop_IdAndProduct_ProductId(shop.getId(), product.getProductId()).orElseThrow();
+    }
+
+    private int quantity(ShopModel shop, ProductModel product) {
+        return row(shop, product).getQuantityInStock();
+    }
+}
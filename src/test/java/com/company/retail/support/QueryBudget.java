@@ -0,0 +1,68 @@
+package com.company.retail.support;
+
+import com.company.retail.observability.SqlStatementCounter;
+import com.company.retail.observability.SqlStatementHeaderAdvice;
+import com.company.retail.observability.SqlStats;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * ✅ Query budget assertions for tests.
+ *
+ * Service / repository code:
+ *   QueryBudget.expectAtMost(2, () -> reportService.generateSalesReport(start, end, null));
+ *
+ * MockMvc (needs app.sql.response-header.enabled=true, set in the test profile):
+ *   mockMvc.perform(get("/api/sales")).andExpect(QueryBudget.atMost(1));
+ */
+public final class QueryBudget {
+
+    private static final int N_PLUS_ONE_THRESHOLD = 3;
+
+    private QueryBudget() {
+    }
+
+    public static <T> T expectAtMost(int maxStatements, Supplier<T> action) {
+        try (SqlStats stats = SqlStatementCounter.open()) {
+            T result = action.get();
+            check(maxStatements, stats.getStatementCount(), stats);
+            return result;
+        }
+    }
+
+    public static void expectAtMost(int maxStatements, Runnable action) {
+        expectAtMost(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementHeaderAdvice.STATEMENT_COUNT_HEADER);
+            assertNotNull(header, "No " + SqlStatementHeaderAdvice.STATEMENT_COUNT_HEADER
+                    + " header (is app.sql.response-header.enabled=true?)");
+            SqlStats stats = (SqlStats) result.getRequest().getAttribute(SqlStats.REQUEST_ATTRIBUTE);
+            check(maxStatements, Integer.parseInt(header), stats);
+        };
+    }
+
+    private static void check(int maxStatements, int actual, SqlStats stats) {
+        if (actual <= maxStatements) return;
+
+        StringBuilder message = new StringBuilder()
+                .append("Query budget exceeded: ").append(actual)
+                .append(" statements, budget ").append(maxStatements);
+        if (stats != null) {
+            stats.getRepeatedStatements(N_PLUS_ONE_THRESHOLD).forEach((sql, count) ->
+                    message.append("\n  N+1 suspect (").append(count).append("x): ").append(sql));
+            message.append("\n  Statements:");
+            stats.getStatements().forEach(sql -> message.append("\n    ").append(sql));
+        }
+        fail(message.toString());
+    }
+}
@@ -0,0 +1,145 @@
+package com.company.retail.sync;
+
+import com.company.retail.ShopStock.ShopStockModel;
+import com.company.retail.ShopStock.ShopStockRepository;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.shop.ShopModel;
+import com.company.retail.shop.ShopRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ✅ Delta sync across real commits: a transaction stamps all of its changes with one
+ * version, so each step commits on its own. Not @Transactional; rows are removed afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "CASHIER")
+class CatalogSyncControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ShopRepository shopRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ShopStockRepository shopStockRepository;
+
+    private ShopModel shop;
+    private ProductModel bread;
+    private ProductModel milk;
+    private ShopStockModel breadStock;
+
+    @BeforeEach
+    void seed() {
+        shop = new ShopModel();
+        shop.setShopName("Sync Shop");
+        shop = shopRepository.save(shop);
+
+        bread = product("Sync Bread", 1.20);
+        milk = product("Sync Milk", 0.90);
+
+        breadStock = new ShopStockModel(shop, bread);
+        breadStock.setQuantityInStock(20);
+        breadStock.setSellingPriceUSD(1.25);
+        breadStock = shopStockRepository.save(breadStock);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        shopStockRepository.deleteAll(shopStockRepository.findByShop_Id(shop.getId()));
+        productRepository.deleteAllById(List.of(bread.getProductId(), milk.getProductId()));
+        shopRepository.deleteById(shop.getId());
+        jdbcTemplate.update("DELETE FROM catalog_tombstones WHERE entity_id IN (?, ?)", bread.getProductId(), milk.getProductId());
+    }
+
+    @Test
+    void fullSyncThenNotModifiedThenSmallDelta() throws Exception {
+        MvcResult first = sync(0).andExpect(status().isOk()).andReturn();
+        JsonNode full = json(first);
+        long version = full.get("version").asLong();
+        String etag = first.getResponse().getHeader("ETag");
+
+        assertThat(full.get("full").asBoolean()).isTrue();
+        assertThat(full.get("products").findValuesAsText("productName")).contains("Sync Bread", "Sync Milk");
+        assertThat(full.get("shopPrices")).hasSize(1);
+
+        // ✅ Nothing changed: 304, no body
+        mockMvc.perform(get("/api/sync/catalog").param("since", String.valueOf(version))
+                        .param("shopId", shop.getId().toString())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // ✅ Quantity-only stock movement does not bump the catalog
+        breadStock.setQuantityInStock(5);
+        breadStock = shopStockRepository.save(breadStock);
+        sync(version).andExpect(status().isOk()).andExpect(header().string("ETag", etag));
+
+        // ✅ One product repriced -> delta carries just that product
+        milk.setSellingPriceUSD(0.95);
+        milk = productRepository.save(milk);
+        JsonNode delta = json(sync(version).andExpect(status().isOk()).andReturn());
+
+        assertThat(delta.get("version").asLong()).isGreaterThan(version);
+        assertThat(delta.has("full")).isFalse();
+        assertThat(delta.get("products")).hasSize(1);
+        assertThat(delta.get("products").get(0).get("productId").asLong()).isEqualTo(milk.getProductId());
+        assertThat(delta.has("shopPrices")).isFalse();
+    }
+
+    @Test
+    void shopPriceChangesAndDeletionsComeThroughAsDeltas() throws Exception {
+        long version = json(sync(0).andReturn()).get("version").asLong();
+
+        breadStock.setSellingPriceUSD(1.30);
+        breadStock = shopStockRepository.save(breadStock);
+        JsonNode priced = json(sync(version).andReturn());
+        assertThat(priced.get("shopPrices")).hasSize(1);
+        assertThat(priced.get("shopPrices").get(0).get("sellingPriceUSD").asDouble()).isEqualTo(1.30);
+
+        version = priced.get("version").asLong();
+        shopStockRepository.delete(breadStock);
+        productRepository.delete(bread);
+
+        JsonNode deleted = json(sync(version).andReturn());
+        assertThat(deleted.get("deletedProducts").get(0).asLong()).isEqualTo(bread.getProductId());
+        assertThat(deleted.get("deletedShopPrices").get(0).asLong()).isEqualTo(bread.getProductId());
+    }
+
+    private ProductModel product(String name, double priceUSD) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        product.setSellingPriceUSD(priceUSD);
+        return productRepository.save(product);
+    }
+
+    private ResultActions sync(long since) throws Exception {
+        return mockMvc.perform(get("/api/sync/catalog")
+                .param("since", String.valueOf(since))
+                .param("shopId", shop.getId().toString()));
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
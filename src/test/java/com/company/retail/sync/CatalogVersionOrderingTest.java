@@ -0,0 +1,206 @@
+package com.company.retail.sync;
+
+import com.company.retail.pricing.PriceResolver;
+import com.company.retail.product.ProductModel;
+import com.company.retail.product.ProductRepository;
+import com.company.retail.product.search.ProductSearchService;
+import com.company.retail.sync.dto.CatalogSyncResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ Catalog versions are taken at flush, not at commit: a change that commits after a
+ * later-numbered one must still reach a client (or a cache) that caught up in between.
+ * Real commits on two threads, so not @Transactional; rows are removed afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogVersionOrderingTest {
+
+    @Autowired private CatalogSyncService catalogSyncService;
+    @Autowired private PriceResolver priceResolver;
+    @Autowired private ProductSearchService productSearchService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired @Qualifier("primaryDataSource") private HikariDataSource primaryDataSource;
+
+    private ProductModel early;
+    private ProductModel late;
+    private final List<Long> created = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        early = product("Ordering Early");
+        late = product("Ordering Late");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        created.addAll(List.of(early.getProductId(), late.getProductId()));
+        productRepository.deleteAllById(created);
+        for (Long id : created) {
+            jdbcTemplate.update("DELETE FROM catalog_tombstones WHERE kind = ? AND entity_id = ?", CatalogVersions.PRODUCT, id);
+        }
+    }
+
+    @Test
+    void changeCommittedAfterALaterVersionIsNotSkipped() throws Exception {
+        long synced = catalogSyncService.currentVersion(null);
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // A takes its version first and stays open; B takes a later one and commits
+        CompletableFuture<Void> a = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            reprice(early.getProductId(), 2.0);
+            flushed.countDown();
+            await(release);
+        }));
+        await(flushed);
+        inTransaction(() -> reprice(late.getProductId(), 3.0));
+
+        // A client syncing now must not be told it is past A's version
+        long between = catalogSyncService.currentVersion(null);
+        CatalogSyncResponse first = catalogSyncService.changesSince(null, synced, between);
+        assertThat(first.getProducts()).extracting("productId").doesNotContain(early.getProductId());
+
+        release.countDown();
+        a.get(10, TimeUnit.SECONDS);
+
+        long after = catalogSyncService.currentVersion(null);
+        CatalogSyncResponse second = catalogSyncService.changesSince(null, between, after);
+        assertThat(second.getProducts()).extracting("productId")
+                .contains(early.getProductId(), late.getProductId());
+    }
+
+    @Test
+    void priceTableCatchesUpOnAChangeThatCommitsLate() throws Exception {
+        priceResolver.rebuild();
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> a = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            reprice(early.getProductId(), 2.0);
+            flushed.countDown();
+            await(release);
+        }));
+        await(flushed);
+        inTransaction(() -> reprice(late.getProductId(), 3.0));
+        priceResolver.refresh(); // another instance's refresh, between the two commits
+
+        release.countDown();
+        a.get(10, TimeUnit.SECONDS);
+        priceResolver.refresh();
+
+        assertThat(priceResolver.resolve(null, early.getProductId()).sellingPriceUSD()).isEqualTo(2.0);
+        assertThat(priceResolver.resolve(null, late.getProductId()).sellingPriceUSD()).isEqualTo(3.0);
+    }
+
+    @Test
+    void searchIndexCatchesUpOnAChangeThatCommitsLate() throws Exception {
+        productSearchService.rebuild();
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> a = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            reprice(early.getProductId(), 2.0);
+            flushed.countDown();
+            await(release);
+        }));
+        await(flushed);
+        inTransaction(() -> reprice(late.getProductId(), 3.0));
+        productSearchService.refresh();
+
+        release.countDown();
+        a.get(10, TimeUnit.SECONDS);
+        productSearchService.refresh();
+
+        assertThat(productSearchService.get(early.getProductId()).getSellingPriceUSD()).isEqualTo(2.0);
+        assertThat(productSearchService.get(late.getProductId()).getSellingPriceUSD()).isEqualTo(3.0);
+    }
+
+    @Test
+    void writersHoldingEveryPooledConnectionDoNotStall() throws Exception {
+        int writers = primaryDataSource.getMaximumPoolSize();
+        CyclicBarrier allHoldingAConnection = new CyclicBarrier(writers);
+        List<Long[]> versions = new CopyOnWriteArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<CompletableFuture<Void>> runs = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                String name = "Pool Writer " + i;
+                runs.add(CompletableFuture.runAsync(() -> inTransaction(() -> {
+                    jdbcTemplate.queryForObject("SELECT 1", Integer.class); // takes this transaction's connection
+                    try {
+                        allHoldingAConnection.await(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    ProductModel first = productRepository.saveAndFlush(newProduct(name + " A"));
+                    ProductModel second = productRepository.saveAndFlush(newProduct(name + " B"));
+                    created.addAll(List.of(first.getProductId(), second.getProductId()));
+                    versions.add(new Long[]{first.getChangeVersion(), second.getChangeVersion()});
+                }), pool));
+            }
+            // A writer needing a second connection would wait for the pool's connection timeout
+            CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).get(15, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // One version per transaction, distinct between transactions
+        assertThat(versions).hasSize(writers).allSatisfy(pair -> assertThat(pair[0]).isEqualTo(pair[1]));
+        assertThat(versions.stream().map(pair -> pair[0]).distinct()).hasSize(writers);
+    }
+
+    private void reprice(Long productId, double priceUSD) {
+        ProductModel product = productRepository.findById(productId).orElseThrow();
+        product.setSellingPriceUSD(priceUSD);
+        productRepository.saveAndFlush(product);
+    }
+
+    private ProductModel product(String name) {
+        return productRepository.save(newProduct(name));
+    }
+
+    private static ProductModel newProduct(String name) {
+        ProductModel product = new ProductModel();
+        product.setProductName(name);
+        product.setSellingPriceUSD(1.0);
+        return product;
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}